@@ -0,0 +1,57 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.codegen.lite.maven.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import software.amazon.awssdk.codegen.lite.regions.PartitionsGenerator;
+
+/**
+ * The Maven mojo to generate the partition metadata of the regions module from its endpoints.json file.
+ */
+@Mojo(name = "generate-regions", defaultPhase = LifecyclePhase.GENERATE_SOURCES)
+public class RegionGenerationMojo extends AbstractMojo {
+
+    @Parameter(property = "endpoints",
+               defaultValue = "${basedir}/src/main/resources/software/amazon/awssdk/regions/internal/region/endpoints.json")
+    private File endpoints;
+
+    @Parameter(property = "outputDirectory", defaultValue = "${project.build.directory}")
+    private String outputDirectory;
+
+    @Parameter(defaultValue = "${project}", readonly = true)
+    private MavenProject project;
+
+    public void execute() throws MojoExecutionException {
+        Path sourcesDirectory = Paths.get(outputDirectory).resolve("generated-sources").resolve("sdk");
+
+        getLog().info("Loading from: " + endpoints);
+        try {
+            PartitionsGenerator.fromFile(endpoints.toPath()).writeTo(sourcesDirectory);
+        } catch (IOException | RuntimeException e) {
+            throw new MojoExecutionException("Failed to generate partition metadata from " + endpoints, e);
+        }
+        project.addCompileSourceRoot(sourcesDirectory.toFile().getAbsolutePath());
+    }
+}
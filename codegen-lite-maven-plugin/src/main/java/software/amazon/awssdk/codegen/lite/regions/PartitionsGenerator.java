@@ -0,0 +1,319 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.codegen.lite.regions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.lang.model.element.Modifier;
+
+/**
+ * Generates a class that builds the partition metadata of the regions module with plain Java code, so that it does not have
+ * to be parsed from endpoints.json when the SDK starts. The generated class creates the same objects, through the same
+ * setters, as parsing the file does.
+ *
+ * <p>Every property of endpoints.json must be known to the generator, just as the parser of the regions module fails on
+ * unknown properties, so that none is silently dropped when the file is updated.
+ */
+public final class PartitionsGenerator {
+
+    private static final String PACKAGE = "software.amazon.awssdk.regions.internal";
+    private static final String MODEL_PACKAGE = PACKAGE + ".model";
+    private static final String CLASS_NAME = "GeneratedPartitions";
+
+    private static final ClassName PARTITION = ClassName.get(MODEL_PACKAGE, "Partition");
+    private static final ClassName PARTITION_REGION = ClassName.get(MODEL_PACKAGE, "PartitionRegion");
+    private static final ClassName SERVICE = ClassName.get(MODEL_PACKAGE, "Service");
+    private static final ClassName ENDPOINT = ClassName.get(MODEL_PACKAGE, "Endpoint");
+    private static final ClassName CREDENTIAL_SCOPE = ClassName.get(MODEL_PACKAGE, "CredentialScope");
+    private static final ClassName GENERATED = ClassName.get("software.amazon.awssdk.annotations", "Generated");
+    private static final ClassName SDK_INTERNAL_API = ClassName.get("software.amazon.awssdk.annotations", "SdkInternalApi");
+    private static final TypeName STRING_LIST = ParameterizedTypeName.get(List.class, String.class);
+
+    private static final Set<String> PARTITIONS_PROPERTIES = properties("version", "partitions");
+    private static final Set<String> PARTITION_PROPERTIES = properties("partition", "partitionName", "dnsSuffix", "regionRegex",
+                                                                       "defaults", "regions", "services");
+    private static final Set<String> REGION_PROPERTIES = properties("description");
+    private static final Set<String> SERVICE_PROPERTIES = properties("endpoints", "defaults", "partitionEndpoint",
+                                                                     "isRegionalized");
+    private static final Set<String> ENDPOINT_PROPERTIES = properties("hostname", "credentialScope", "protocols",
+                                                                      "signatureVersions", "sslCommonName");
+    private static final Set<String> CREDENTIAL_SCOPE_PROPERTIES = properties("region", "service");
+
+    private final JsonNode partitions;
+    private final List<MethodSpec> methods = new ArrayList<>();
+    private final Set<String> methodNames = new HashSet<>();
+
+    private PartitionsGenerator(JsonNode partitions) {
+        this.partitions = partitions;
+    }
+
+    /**
+     * @param endpoints The endpoints.json file to generate the partition metadata from.
+     */
+    public static PartitionsGenerator fromFile(Path endpoints) throws IOException {
+        return new PartitionsGenerator(new ObjectMapper().readTree(endpoints.toFile()));
+    }
+
+    /**
+     * Write the generated class into the given source directory.
+     */
+    public void writeTo(Path sourcesDirectory) throws IOException {
+        generate().writeTo(sourcesDirectory);
+    }
+
+    /**
+     * @return The generated class.
+     */
+    public JavaFile generate() {
+        methods.clear();
+        methodNames.clear();
+        checkProperties(partitions, PARTITIONS_PROPERTIES, "partitions file");
+
+        List<CodeBlock> partitionCalls = new ArrayList<>();
+        for (JsonNode partition : partitions.path("partitions")) {
+            partitionCalls.add(CodeBlock.of("$N()", partitionMethod(partition)));
+        }
+
+        MethodSpec partitionsMethod =
+            MethodSpec.methodBuilder("partitions")
+                      .addJavadoc("@return A new copy of the partitions of endpoints.json.\n")
+                      .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                      .returns(ParameterizedTypeName.get(ClassName.get(List.class), PARTITION))
+                      .addStatement("return $T.asList($L)", Arrays.class, CodeBlock.join(partitionCalls, ", "))
+                      .build();
+
+        TypeSpec type =
+            TypeSpec.classBuilder(CLASS_NAME)
+                    .addJavadoc("Partition metadata generated from endpoints.json when the regions module was built, so that it "
+                                + "does not have to be\nparsed at runtime.\n")
+                    .addAnnotation(AnnotationSpec.builder(GENERATED)
+                                                 .addMember("value", "$S", "software.amazon.awssdk:codegen-lite-maven-plugin")
+                                                 .build())
+                    .addAnnotation(SDK_INTERNAL_API)
+                    .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                    .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build())
+                    .addMethod(partitionsMethod)
+                    .addMethods(methods)
+                    .addMethod(endpointMethod())
+                    .addMethod(credentialScopeMethod())
+                    .build();
+
+        return JavaFile.builder(PACKAGE, type).skipJavaLangImports(true).build();
+    }
+
+    private MethodSpec partitionMethod(JsonNode partition) {
+        checkProperties(partition, PARTITION_PROPERTIES, "partition");
+        String partitionId = partition.path("partition").asText();
+        String methodName = methodName("", partitionId);
+        final int methodIndex = methods.size();
+
+        CodeBlock.Builder body = CodeBlock.builder();
+        body.addStatement("$T<String, $T> regions = new $T<>()", Map.class, PARTITION_REGION, LinkedHashMap.class);
+        for (Iterator<Map.Entry<String, JsonNode>> i = partition.path("regions").fields(); i.hasNext(); ) {
+            Map.Entry<String, JsonNode> region = i.next();
+            checkProperties(region.getValue(), REGION_PROPERTIES, "region " + region.getKey());
+            JsonNode description = region.getValue().get("description");
+            if (description == null) {
+                body.addStatement("regions.put($S, new $T())", region.getKey(), PARTITION_REGION);
+            } else {
+                body.addStatement("regions.put($S, new $T($S))", region.getKey(), PARTITION_REGION, description.asText());
+            }
+        }
+
+        body.addStatement("$T<String, $T> services = new $T<>()", Map.class, SERVICE, LinkedHashMap.class);
+        for (Iterator<Map.Entry<String, JsonNode>> i = partition.path("services").fields(); i.hasNext(); ) {
+            Map.Entry<String, JsonNode> service = i.next();
+            body.addStatement("services.put($S, $N())", service.getKey(),
+                              serviceMethod(methodName, service.getKey(), service.getValue()));
+        }
+
+        body.addStatement("$T partition = new $T()", PARTITION, PARTITION);
+        addSetter(body, "partition", "setPartition", partition.get("partition"));
+        addSetter(body, "partition", "setPartitionName", partition.get("partitionName"));
+        addSetter(body, "partition", "setDnsSuffix", partition.get("dnsSuffix"));
+        addSetter(body, "partition", "setRegionRegex", partition.get("regionRegex"));
+        if (partition.has("defaults")) {
+            body.addStatement("partition.setDefaults($L)", endpoint(partition.get("defaults"), partitionId + " defaults"));
+        }
+        body.addStatement("partition.setRegions(regions)");
+        body.addStatement("partition.setServices(services)");
+        body.addStatement("return partition");
+
+        // Place the partition before the services it was generated after
+        MethodSpec method = MethodSpec.methodBuilder(methodName)
+                                      .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                                      .returns(PARTITION)
+                                      .addCode(body.build())
+                                      .build();
+        methods.add(methodIndex, method);
+        return method;
+    }
+
+    private MethodSpec serviceMethod(String partitionMethodName, String serviceId, JsonNode service) {
+        checkProperties(service, SERVICE_PROPERTIES, "service " + serviceId);
+
+        CodeBlock.Builder body = CodeBlock.builder();
+        body.addStatement("$T<String, $T> endpoints = new $T<>()", Map.class, ENDPOINT, LinkedHashMap.class);
+        for (Iterator<Map.Entry<String, JsonNode>> i = service.path("endpoints").fields(); i.hasNext(); ) {
+            Map.Entry<String, JsonNode> endpoint = i.next();
+            body.addStatement("endpoints.put($S, $L)", endpoint.getKey(),
+                              endpoint(endpoint.getValue(), serviceId + " endpoint " + endpoint.getKey()));
+        }
+
+        body.addStatement("$T service = new $T()", SERVICE, SERVICE);
+        body.addStatement("service.setEndpoints(endpoints)");
+        if (service.has("defaults")) {
+            body.addStatement("service.setDefaults($L)", endpoint(service.get("defaults"), serviceId + " defaults"));
+        }
+        addSetter(body, "service", "setPartitionEndpoint", service.get("partitionEndpoint"));
+        if (service.has("isRegionalized")) {
+            body.addStatement("service.setIsRegionalized($L)", service.get("isRegionalized").asBoolean());
+        }
+        body.addStatement("return service");
+
+        MethodSpec method = MethodSpec.methodBuilder(methodName(partitionMethodName, serviceId))
+                                      .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                                      .returns(SERVICE)
+                                      .addCode(body.build())
+                                      .build();
+        methods.add(method);
+        return method;
+    }
+
+    private CodeBlock endpoint(JsonNode endpoint, String description) {
+        checkProperties(endpoint, ENDPOINT_PROPERTIES, description);
+        if (endpoint.size() == 0) {
+            return CodeBlock.of("new $T()", ENDPOINT);
+        }
+
+        CodeBlock credentialScope = CodeBlock.of("null");
+        JsonNode credentialScopeNode = endpoint.get("credentialScope");
+        if (credentialScopeNode != null) {
+            checkProperties(credentialScopeNode, CREDENTIAL_SCOPE_PROPERTIES, description + " credential scope");
+            credentialScope = CodeBlock.of("credentialScope($L, $L)",
+                                           string(credentialScopeNode.get("region")),
+                                           string(credentialScopeNode.get("service")));
+        }
+
+        return CodeBlock.of("endpoint($L, $L, $L, $L, $L)",
+                            string(endpoint.get("hostname")),
+                            credentialScope,
+                            stringList(endpoint.get("protocols")),
+                            stringList(endpoint.get("signatureVersions")),
+                            string(endpoint.get("sslCommonName")));
+    }
+
+    private MethodSpec endpointMethod() {
+        return MethodSpec.methodBuilder("endpoint")
+                         .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                         .returns(ENDPOINT)
+                         .addParameter(String.class, "hostname")
+                         .addParameter(CREDENTIAL_SCOPE, "credentialScope")
+                         .addParameter(STRING_LIST, "protocols")
+                         .addParameter(STRING_LIST, "signatureVersions")
+                         .addParameter(String.class, "sslCommonName")
+                         .addStatement("$T endpoint = new $T()", ENDPOINT, ENDPOINT)
+                         .addStatement("endpoint.setHostname(hostname)")
+                         .addStatement("endpoint.setCredentialScope(credentialScope)")
+                         .addStatement("endpoint.setProtocols(protocols)")
+                         .addStatement("endpoint.setSignatureVersions(signatureVersions)")
+                         .addStatement("endpoint.setSslCommonName(sslCommonName)")
+                         .addStatement("return endpoint")
+                         .build();
+    }
+
+    private MethodSpec credentialScopeMethod() {
+        return MethodSpec.methodBuilder("credentialScope")
+                         .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                         .returns(CREDENTIAL_SCOPE)
+                         .addParameter(String.class, "region")
+                         .addParameter(String.class, "service")
+                         .addStatement("$T credentialScope = new $T()", CREDENTIAL_SCOPE, CREDENTIAL_SCOPE)
+                         .addStatement("credentialScope.setRegion(region)")
+                         .addStatement("credentialScope.setService(service)")
+                         .addStatement("return credentialScope")
+                         .build();
+    }
+
+    private static void addSetter(CodeBlock.Builder body, String variable, String setter, JsonNode value) {
+        if (value != null) {
+            body.addStatement("$L.$L($S)", variable, setter, value.asText());
+        }
+    }
+
+    private static CodeBlock string(JsonNode value) {
+        return value == null ? CodeBlock.of("null") : CodeBlock.of("$S", value.asText());
+    }
+
+    private static CodeBlock stringList(JsonNode values) {
+        if (values == null) {
+            return CodeBlock.of("null");
+        }
+        List<CodeBlock> strings = new ArrayList<>();
+        values.forEach(value -> strings.add(string(value)));
+        return CodeBlock.of("$T.asList($L)", Arrays.class, CodeBlock.join(strings, ", "));
+    }
+
+    /**
+     * Create a unique method name by appending the words of the given id to the given prefix, e.g. "awsCn" and "api.pricing"
+     * give "awsCnApiPricing".
+     */
+    private String methodName(String prefix, String id) {
+        StringBuilder name = new StringBuilder(prefix);
+        for (String word : id.split("[^A-Za-z0-9]+")) {
+            if (!word.isEmpty()) {
+                name.append(name.length() == 0 ? Character.toLowerCase(word.charAt(0)) : Character.toUpperCase(word.charAt(0)))
+                    .append(word.substring(1));
+            }
+        }
+        String uniqueName = name.toString();
+        for (int i = 2; !methodNames.add(uniqueName); i++) {
+            uniqueName = name.toString() + i;
+        }
+        return uniqueName;
+    }
+
+    private static void checkProperties(JsonNode node, Set<String> knownProperties, String description) {
+        for (Iterator<String> i = node.fieldNames(); i.hasNext(); ) {
+            String property = i.next();
+            if (!knownProperties.contains(property)) {
+                throw new IllegalStateException("Unknown property '" + property + "' in " + description);
+            }
+        }
+    }
+
+    private static Set<String> properties(String... properties) {
+        return new HashSet<>(Arrays.asList(properties));
+    }
+}
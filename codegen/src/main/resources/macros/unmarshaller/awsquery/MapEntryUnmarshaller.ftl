@@ -2,6 +2,9 @@
     private static class ${memberModel.name}MapEntryUnmarshaller
            implements Unmarshaller<Map.Entry<${memberModel.mapModel.keyModel.variable.variableType}, ${memberModel.mapModel.valueModel.variable.variableType}>, StaxUnmarshallerContext> {
 
+        private static final StaxExpression KEY_PATH = StaxExpression.compile("${memberModel.mapModel.keyLocationName}");
+        private static final StaxExpression VALUE_PATH = StaxExpression.compile("${memberModel.mapModel.valueLocationName}");
+
         @Override
         public Entry<${memberModel.mapModel.keyModel.variable.variableType}, ${memberModel.mapModel.valueModel.variable.variableType}> unmarshall(StaxUnmarshallerContext context) throws Exception {
             int originalDepth = context.getCurrentDepth();
@@ -11,19 +14,19 @@
                 = new MapEntry<${memberModel.mapModel.keyModel.variable.variableType}, ${memberModel.mapModel.valueModel.variable.variableType}>();
 
             while (true) {
-                XMLEvent xmlEvent = context.nextEvent();
-                if (xmlEvent.isEndDocument()) return entry;
+                int xmlEvent = context.nextEvent();
+                if (xmlEvent == XMLStreamConstants.END_DOCUMENT) return entry;
 
-                if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
-                    if (context.testExpression("${memberModel.mapModel.keyLocationName}", targetDepth)) {
+                if (xmlEvent == XMLStreamConstants.ATTRIBUTE || xmlEvent == XMLStreamConstants.START_ELEMENT) {
+                    if (context.testExpression(KEY_PATH, targetDepth)) {
                         entry.setKey(${memberModel.mapModel.keyModel.variable.variableType}Unmarshaller.getInstance().unmarshall(context));
                         continue;
                     }
-                    if (context.testExpression("${memberModel.mapModel.valueLocationName}", targetDepth)) {
+                    if (context.testExpression(VALUE_PATH, targetDepth)) {
                         entry.setValue(${memberModel.mapModel.valueModel.variable.simpleType}Unmarshaller.getInstance().unmarshall(context));
                         continue;
                     }
-                } else if (xmlEvent.isEndElement()) {
+                } else if (xmlEvent == XMLStreamConstants.END_ELEMENT) {
                     if (context.getCurrentDepth() < originalDepth) return entry;
                 }
             }
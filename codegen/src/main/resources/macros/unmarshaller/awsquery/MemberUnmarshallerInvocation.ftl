@@ -1,29 +1,58 @@
-<#macro content shapeVarName memberModel >
-
-<#local unmarshallerLocationName = memberModel.http.unmarshallLocationName />
-<#if memberModel.http.additionalUnmarshallingPath?has_content>
-    <#local unmarshallerLocationName = unmarshallerLocationName + "/" + memberModel.http.additionalUnmarshallingPath />
-</#if>
+<#-- The name of the constant holding a compiled expression of the member, e.g. LIST_OF_STRUCTS_PATH_MEMBER -->
+<#function expressionConstant memberModel suffix>
+    <#return memberModel.variable.variableName?replace("([a-z0-9])([A-Z])", "$1_$2", "r")?upper_case + "_PATH" + suffix />
+</#function>
 
-<#if memberModel.list>
-    <#if memberModel.http.flattened>
-        <#local listMemberPath = memberModel.listModel.memberLocationName!memberModel.http.unmarshallLocationName!memberModel.name />
-    <#else>
-        <#local listMemberPath = unmarshallerLocationName + "/" + memberModel.listModel.memberLocationName!"member" />
+<#-- The expressions a member is unmarshalled from, keyed by the suffix of the constant each is compiled into -->
+<#function memberExpressions memberModel>
+    <#local unmarshallerLocationName = memberModel.http.unmarshallLocationName />
+    <#if memberModel.http.additionalUnmarshallingPath?has_content>
+        <#local unmarshallerLocationName = unmarshallerLocationName + "/" + memberModel.http.additionalUnmarshallingPath />
     </#if>
 
-    <#if memberModel.listModel.memberAdditionalUnmarshallingPath?has_content>
-        <#local listMemberPath = listMemberPath + "/" + memberModel.listModel.memberAdditionalUnmarshallingPath />
+    <#if memberModel.list>
+        <#if memberModel.http.flattened>
+            <#local listMemberPath = memberModel.listModel.memberLocationName!memberModel.http.unmarshallLocationName!memberModel.name />
+        <#else>
+            <#local listMemberPath = unmarshallerLocationName + "/" + memberModel.listModel.memberLocationName!"member" />
+        </#if>
+        <#if memberModel.listModel.memberAdditionalUnmarshallingPath?has_content>
+            <#local listMemberPath = listMemberPath + "/" + memberModel.listModel.memberAdditionalUnmarshallingPath />
+        </#if>
+        <#if memberModel.http.flattened>
+            <#return {"_MEMBER": listMemberPath} />
+        </#if>
+        <#return {"": unmarshallerLocationName, "_MEMBER": listMemberPath} />
+    <#elseif memberModel.map && (!memberModel.http.location?? || memberModel.http.location != "headers")>
+        <#if memberModel.http.flattened>
+            <#return {"_ENTRY": unmarshallerLocationName} />
+        </#if>
+        <#return {"_ENTRY": unmarshallerLocationName + "/entry"} />
+    <#elseif !memberModel.map>
+        <#return {"": unmarshallerLocationName} />
     </#if>
+    <#return {} />
+</#function>
+
+<#-- Declares the constants holding the compiled expressions of a member -->
+<#macro expressions memberModel >
+    <#local expressionsBySuffix = memberExpressions(memberModel) />
+    <#list expressionsBySuffix?keys as suffix>
+    private static final StaxExpression ${expressionConstant(memberModel, suffix)} = StaxExpression.compile("${expressionsBySuffix[suffix]}");
+    </#list>
+</#macro>
 
+<#macro content shapeVarName memberModel >
+
+<#if memberModel.list>
             <#if !memberModel.http.flattened>
-                if (context.testExpression("${unmarshallerLocationName}", targetDepth)) {
+                if (context.testExpression(${expressionConstant(memberModel, "")}, targetDepth)) {
                     ${memberModel.variable.variableName} = new ArrayList<${memberModel.listModel.memberType}>();
                     continue;
                 }
             </#if>
 
-                if (context.testExpression("${listMemberPath}", targetDepth)) {
+                if (context.testExpression(${expressionConstant(memberModel, "_MEMBER")}, targetDepth)) {
                     <#if memberModel.http.flattened>
                         if (${memberModel.variable.variableName} == null) {
                             ${memberModel.variable.variableName} = new ArrayList<>();
@@ -34,12 +63,7 @@
                 }
 
 <#elseif memberModel.map && (!memberModel.http.location?? || memberModel.http.location != "headers")>
-    <#local mapEntryPath = unmarshallerLocationName />
-
-    <#if !memberModel.http.flattened>
-        <#local mapEntryPath = "${unmarshallerLocationName}/entry" />
-    </#if>
-                if (context.testExpression("${mapEntryPath}", targetDepth)) {
+                if (context.testExpression(${expressionConstant(memberModel, "_ENTRY")}, targetDepth)) {
                     if (${memberModel.variable.variableName} == null) {
                         ${memberModel.variable.variableName} = new java.util.HashMap<>();
                     }
@@ -51,7 +75,7 @@
                 }
 
 <#elseif !memberModel.map>
-                if (context.testExpression("${unmarshallerLocationName}", targetDepth)) {
+                if (context.testExpression(${expressionConstant(memberModel, "")}, targetDepth)) {
                     ${shapeVarName}.${memberModel.fluentSetterMethodName}(${memberModel.variable.simpleType}Unmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
@@ -1,6 +1,5 @@
 <#macro content shapeVarName memberModel >
-if (context.testExpression("${memberModel.http.unmarshallLocationName}", targetDepth)) {
-    context.nextToken();
+case "${memberModel.http.unmarshallLocationName}":
     ${shapeVarName}Builder.${memberModel.fluentSetterMethodName}(<@MemberUnmarshallerDeclarationMacro.content memberModel />.unmarshall(context));
-}
+    break;
 </#macro>
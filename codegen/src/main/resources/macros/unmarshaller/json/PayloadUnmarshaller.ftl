@@ -1,8 +1,4 @@
 <#macro content shape>
-    int originalDepth = context.getCurrentDepth();
-    String currentParentElement = context.getCurrentParentElement();
-    int targetDepth = originalDepth + 1;
-
     JsonToken token = context.getCurrentToken();
     if (token == null) token = context.nextToken();
     if (token == VALUE_NULL) {
@@ -13,34 +9,37 @@
     </#if>
     }
 
-    while (true) {
-        if (token == null) break;
+<#-- When the payload is explicitly set to a member the entire payload is the serialized
+    content of that member-->
+    <#if shape.hasPayloadMember>
+        <#local payloadMember = shape.payloadMember />
+        <#if !payloadMember.shape?? || !payloadMember.shape.isEventStream() >
+    if (token != null) {
+        ${shape.variable.variableName}Builder.${payloadMember.fluentSetterMethodName}(<@MemberUnmarshallerDeclarationMacro.content payloadMember/>.unmarshall(context));
+    }
+        </#if>
 
-        <#-- When the payload is explicitly set to a member the entire payload is the serialized
-        content of that member-->
-        <#if shape.hasPayloadMember>
-            <#local payloadMember = shape.payloadMember />
+    <#-- When the payload is not explicitly set then every member which doesn't appear in the
+    Headers or the status code will be serialized in the payload response (wrapped in an
+    artificial container object). Each field name is read once and dispatched with a switch;
+    the unmarshaller of each member consumes its whole value, so the only tokens seen here are
+    the names of the fields of this object and its end. -->
+    <#else>
+    if (token == START_OBJECT) {
+        while (context.nextToken() == FIELD_NAME) {
+            String fieldName = context.readText();
+            context.nextToken();
+            switch (fieldName) {
+            <#list shape.unboundMembers as payloadMember>
+            <#-- The event stream is not a real member of the response so it shouldn't be unmarshalled -->
             <#if !payloadMember.shape?? || !payloadMember.shape.isEventStream() >
-                ${shape.variable.variableName}Builder.${payloadMember.fluentSetterMethodName}(<@MemberUnmarshallerDeclarationMacro.content payloadMember/>.unmarshall(context));
+                <@MemberUnmarshallerInvocationMacro.content shape.variable.variableName payloadMember />
             </#if>
-
-        <#-- When the payload is not explicitly set then every member which doesn't appear in the
-        Headers or the status code will be serialized in the payload response (wrapped in an
-        artificial container object) -->
-        <#else>
-            if (token == FIELD_NAME || token == START_OBJECT) {
-                <#list shape.unboundMembers as payloadMember>
-                <#-- The event stream is not a real member of the response so it shouldn't be unmarshalled -->
-                <#if !payloadMember.shape?? || !payloadMember.shape.isEventStream() >
-                    <@MemberUnmarshallerInvocationMacro.content shape.variable.variableName payloadMember />
-                </#if>
-                </#list>
-            } else if (token == END_ARRAY || token == END_OBJECT) {
-                if (context.getLastParsedParentElement() == null || context.getLastParsedParentElement().equals(currentParentElement)) {
-                    if (context.getCurrentDepth() <= originalDepth) break;
-                }
+            </#list>
+                default:
+                    context.skipValue();
             }
-        </#if>
-        token = context.nextToken();
+        }
     }
-</#macro>
\ No newline at end of file
+    </#if>
+</#macro>
@@ -6,10 +6,11 @@ import java.util.HashMap;
 import java.util.ArrayList;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 import javax.annotation.Generated;
 
 import ${metadata.fullModelPackageName}.*;
+import software.amazon.awssdk.awscore.protocol.xml.StaxExpression;
 import software.amazon.awssdk.awscore.protocol.xml.StaxUnmarshallerContext;
 import software.amazon.awssdk.awscore.protocol.xml.SimpleTypeStaxUnmarshallers.*;
 import software.amazon.awssdk.core.runtime.transform.Unmarshaller;
@@ -36,6 +37,15 @@ public class ${shape.shapeName}Unmarshaller implements Unmarshaller<${shape.shap
         <@MapEntryUnmarshallerMacro.content memberModel />
     </#if>
 </#list>
+</#if>
+
+<#-- The expressions the members are unmarshalled from are compiled once -->
+<#if hasPayload && !shape.hasStreamingMember && shape.members?has_content && !shape.customization.artificialResultWrapper?has_content>
+<#list shape.members as memberModel>
+    <#if !memberModel.http.isHeader() && !memberModel.http.isStatusCode() >
+        <@MemberUnmarshallerInvocationMacro.expressions memberModel />
+    </#if>
+</#list>
 </#if>
 
     public ${shape.shapeName} unmarshall(StaxUnmarshallerContext context) throws Exception {
@@ -123,8 +133,8 @@ public class ${shape.shapeName}Unmarshaller implements Unmarshaller<${shape.shap
 </#list>
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) {
+            int xmlEvent = context.nextEvent();
+            if (xmlEvent == XMLStreamConstants.END_DOCUMENT) {
             <#-- Set any map members we filled during unmarshalling -->
 <#list shape.members as memberModel>
     <#if memberModel.map || memberModel.list>
@@ -134,7 +144,7 @@ public class ${shape.shapeName}Unmarshaller implements Unmarshaller<${shape.shap
                 break;
             }
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (xmlEvent == XMLStreamConstants.ATTRIBUTE || xmlEvent == XMLStreamConstants.START_ELEMENT) {
 
 <#if shape.members?has_content>
   <#if shape.customization.artificialResultWrapper?has_content>
@@ -153,7 +163,7 @@ public class ${shape.shapeName}Unmarshaller implements Unmarshaller<${shape.shap
     </#list>
   </#if>
 </#if>
-            } else if (xmlEvent.isEndElement()) {
+            } else if (xmlEvent == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
 <#list shape.members as memberModel>
     <#if memberModel.map || memberModel.list>
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.credentials;
+
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * An {@link AwsCredentialsProvider} that can also load credentials without blocking the calling thread. Asynchronous clients
+ * use {@link #resolveCredentialsAsync()} when their credentials provider implements this interface, so that a request does
+ * not hold up the thread it is made from while the credentials are refreshed.
+ */
+@SdkPublicApi
+public interface AsyncAwsCredentialsProvider extends AwsCredentialsProvider {
+    /**
+     * Returns a future that is completed with {@link AwsCredentials} that can be used to authorize an AWS request, or
+     * completed exceptionally if the credentials could not be loaded. The future is already complete when the provider has
+     * usable credentials cached.
+     *
+     * @return A future for the AwsCredentials which the caller can use to authorize an AWS request.
+     * @see #resolveCredentials()
+     */
+    CompletableFuture<AwsCredentials> resolveCredentialsAsync();
+}
@@ -20,8 +20,10 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
 import software.amazon.awssdk.utils.IoUtils;
 import software.amazon.awssdk.utils.Logger;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
@@ -40,11 +42,14 @@ import software.amazon.awssdk.utils.Validate;
  * will continue to use that provider when credentials are requested in the future, instead of traversing the chain each time.
  * This behavior can be controlled through the {@link Builder#reuseLastProviderEnabled(Boolean)} method.</p>
  *
+ * <p>Credentials can also be requested without blocking with {@link #resolveCredentialsAsync()}, which asks the providers that
+ * implement {@link AsyncAwsCredentialsProvider} for their credentials asynchronously, in the same order.</p>
+ *
  * <p>This chain implements {@link AutoCloseable}. When closed, it will call the {@link AutoCloseable#close()} on any credential
  * providers in the chain that need to be closed.</p>
  */
 @SdkPublicApi
-public final class AwsCredentialsProviderChain implements AwsCredentialsProvider, SdkAutoCloseable {
+public final class AwsCredentialsProviderChain implements AsyncAwsCredentialsProvider, SdkAutoCloseable {
     private static final Logger log = Logger.loggerFor(AwsCredentialsProviderChain.class);
 
     private final List<AwsCredentialsProvider> credentialsProviders;
@@ -106,10 +111,58 @@ public final class AwsCredentialsProviderChain implements AwsCredentialsProvider
             }
         }
 
-        throw SdkClientException.builder()
-                                .message("Unable to load credentials from any of the providers in the chain " +
-                                         this + " : " + exceptionMessages)
-                                .build();
+        throw noCredentialsException(exceptionMessages);
+    }
+
+    @Override
+    public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+        if (reuseLastProviderEnabled && lastUsedProvider != null) {
+            return CredentialUtils.resolveCredentialsAsync(lastUsedProvider);
+        }
+        return resolveCredentialsAsync(0, new ArrayList<>());
+    }
+
+    /**
+     * Ask the provider at the given position in the chain for credentials, and move on to the next one if it cannot provide
+     * them.
+     */
+    private CompletableFuture<AwsCredentials> resolveCredentialsAsync(int providerIndex, List<String> exceptionMessages) {
+        if (providerIndex == credentialsProviders.size()) {
+            return CompletableFutureUtils.failedFuture(noCredentialsException(exceptionMessages));
+        }
+
+        AwsCredentialsProvider provider = credentialsProviders.get(providerIndex);
+        CompletableFuture<AwsCredentials> result = new CompletableFuture<>();
+        CompletableFuture<AwsCredentials> providerCredentials = CredentialUtils.resolveCredentialsAsync(provider);
+        CompletableFutureUtils.forwardExceptionTo(result, providerCredentials);
+        providerCredentials.whenComplete((credentials, error) -> {
+            if (result.isDone()) {
+                // Cancelled, so the rest of the chain is not asked
+                return;
+            }
+            if (error == null) {
+                log.debug(() -> "Loading credentials from " + provider);
+
+                lastUsedProvider = provider;
+                result.complete(credentials);
+                return;
+            }
+
+            // Ignore any exceptions and move onto the next provider
+            String message = provider + ": " + CompletableFutureUtils.unwrap(error).getMessage();
+            log.debug(() -> "Unable to load credentials from " + message, error);
+
+            exceptionMessages.add(message);
+            CompletableFutureUtils.forwardResultTo(resolveCredentialsAsync(providerIndex + 1, exceptionMessages), result);
+        });
+        return result;
+    }
+
+    private SdkClientException noCredentialsException(List<String> exceptionMessages) {
+        return SdkClientException.builder()
+                                 .message("Unable to load credentials from any of the providers in the chain " +
+                                          this + " : " + exceptionMessages)
+                                 .build();
     }
 
     @Override
@@ -15,7 +15,9 @@
 
 package software.amazon.awssdk.auth.credentials;
 
+import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
 
 @SdkProtectedApi
 public final class CredentialUtils {
@@ -30,4 +32,20 @@ public final class CredentialUtils {
     public static boolean isAnonymous(AwsCredentials credentials) {
         return credentials.secretAccessKey() == null && credentials.accessKeyId() == null;
     }
+
+    /**
+     * Resolve the credentials of the given provider without blocking if it is an {@link AsyncAwsCredentialsProvider}, or
+     * with {@link AwsCredentialsProvider#resolveCredentials()} on the calling thread otherwise. Failures are reported through
+     * the returned future in both cases.
+     */
+    public static CompletableFuture<AwsCredentials> resolveCredentialsAsync(AwsCredentialsProvider credentialsProvider) {
+        try {
+            if (credentialsProvider instanceof AsyncAwsCredentialsProvider) {
+                return ((AsyncAwsCredentialsProvider) credentialsProvider).resolveCredentialsAsync();
+            }
+            return CompletableFuture.completedFuture(credentialsProvider.resolveCredentials());
+        } catch (RuntimeException e) {
+            return CompletableFutureUtils.failedFuture(e);
+        }
+    }
 }
@@ -15,6 +15,7 @@
 
 package software.amazon.awssdk.auth.credentials;
 
+import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
 import software.amazon.awssdk.utils.ToString;
@@ -37,7 +38,7 @@ import software.amazon.awssdk.utils.ToString;
  * @see InstanceProfileCredentialsProvider
  */
 @SdkPublicApi
-public final class DefaultCredentialsProvider implements AwsCredentialsProvider, SdkAutoCloseable {
+public final class DefaultCredentialsProvider implements AsyncAwsCredentialsProvider, SdkAutoCloseable {
 
     private static final DefaultCredentialsProvider DEFAULT_CREDENTIALS_PROVIDER = new DefaultCredentialsProvider(builder());
 
@@ -92,6 +93,11 @@ public final class DefaultCredentialsProvider implements AwsCredentialsProvider,
         return providerChain.resolveCredentials();
     }
 
+    @Override
+    public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+        return providerChain.resolveCredentialsAsync();
+    }
+
     @Override
     public void close() {
         providerChain.close();
@@ -132,6 +138,9 @@ public final class DefaultCredentialsProvider implements AwsCredentialsProvider,
          * less likely to block when {@link #resolveCredentials()} is called, but additional resources are used to maintain the
          * provider.
          *
+         * <p>This applies to the container and instance profile credentials in the chain. Their background refreshes run on a
+         * small pool of threads that is shared by all credential providers in the JVM, rather than on a thread per provider.</p>
+         *
          * <p>By default, this is disabled.</p>
          */
         public Builder asyncCredentialUpdateEnabled(Boolean asyncCredentialUpdateEnabled) {
@@ -21,10 +21,11 @@ import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.auth.credentials.AsyncAwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
-import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
 import software.amazon.awssdk.auth.credentials.InstanceProfileCredentialsProvider;
 import software.amazon.awssdk.core.exception.SdkClientException;
@@ -32,6 +33,7 @@ import software.amazon.awssdk.core.util.json.JacksonUtils;
 import software.amazon.awssdk.regions.internal.util.HttpResourcesUtils;
 import software.amazon.awssdk.regions.internal.util.ResourcesEndpointProvider;
 import software.amazon.awssdk.utils.ComparableUtils;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
 import software.amazon.awssdk.utils.DateUtils;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
 import software.amazon.awssdk.utils.Validate;
@@ -42,9 +44,12 @@ import software.amazon.awssdk.utils.cache.RefreshResult;
 /**
  * Helper class that contains the common behavior of the CredentialsProviders that loads the credentials from a local endpoint on
  * a container (e.g. an EC2 instance).
+ *
+ * <p>When credentials are resolved with {@link #resolveCredentialsAsync()} and the cached credentials are stale, they are loaded
+ * on a thread shared by all providers instead of the calling thread.
  */
 @SdkInternalApi
-public abstract class HttpCredentialsProvider implements AwsCredentialsProvider, SdkAutoCloseable {
+public abstract class HttpCredentialsProvider implements AsyncAwsCredentialsProvider, SdkAutoCloseable {
     private final Optional<CachedSupplier<AwsCredentials>> credentialsCache;
 
     protected HttpCredentialsProvider(BuilderImpl<?, ?> builder) {
@@ -143,15 +148,28 @@ public abstract class HttpCredentialsProvider implements AwsCredentialsProvider,
     @Override
     public AwsCredentials resolveCredentials() {
         if (isLocalCredentialLoadingDisabled()) {
-            throw SdkClientException.builder()
-                                    .message("Loading credentials from local endpoint is disabled. Unable to load " +
-                                             "credentials from service endpoint.")
-                                    .build();
+            throw localCredentialLoadingDisabledException();
         }
         return credentialsCache.map(CachedSupplier::get).orElseThrow(() ->
                 SdkClientException.builder().message("Unable to load credentials from service endpoint").build());
     }
 
+    @Override
+    public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+        if (isLocalCredentialLoadingDisabled()) {
+            return CompletableFutureUtils.failedFuture(localCredentialLoadingDisabledException());
+        }
+        return credentialsCache.map(CachedSupplier::getAsync).orElseGet(() -> CompletableFutureUtils.failedFuture(
+                SdkClientException.builder().message("Unable to load credentials from service endpoint").build()));
+    }
+
+    private SdkClientException localCredentialLoadingDisabledException() {
+        return SdkClientException.builder()
+                                 .message("Loading credentials from local endpoint is disabled. Unable to load " +
+                                          "credentials from service endpoint.")
+                                 .build();
+    }
+
     @Override
     public void close() {
         credentialsCache.ifPresent(CachedSupplier::close);
@@ -164,6 +182,10 @@ public abstract class HttpCredentialsProvider implements AwsCredentialsProvider,
          * provider.
          *
          * <p>
+         * The credentials are fetched again every hour, or 15 minutes before the endpoint says they expire if that is sooner.
+         * The fetch runs on a pool of threads shared with the other credential providers in the JVM.
+         *
+         * <p>
          * By default, this is disabled.
          */
         BuilderT asyncCredentialUpdateEnabled(Boolean asyncCredentialUpdateEnabled);
@@ -36,6 +36,10 @@ import software.amazon.awssdk.utils.BinaryUtils;
 
 /**
  * AWS4 signer implementation for AWS S3
+ *
+ * <p>S3 requires the length of the request content before it is sent. If a request has content but no Content-Length
+ * header, the content is measured if it is no longer than 128 KiB, and rejected with an {@link SdkClientException}
+ * otherwise. Larger content of unknown length must be uploaded in parts with a multipart upload.
  */
 @SdkPublicApi
 public final class AwsS3V4Signer extends AbstractAws4Signer<AwsS3V4SignerParams, Aws4PresignerParams> {
@@ -71,14 +75,16 @@ public final class AwsS3V4Signer extends AbstractAws4Signer<AwsS3V4SignerParams,
      * @return A signed version of the input request
      */
     public SdkHttpFullRequest sign(SdkHttpFullRequest request, AwsS3V4SignerParams signingParams) {
+        final SdkHttpFullRequest requestWithLength = withContentLength(request);
+
         // anonymous credentials, don't sign
         if (CredentialUtils.isAnonymous(signingParams.awsCredentials())) {
-            return request;
+            return requestWithLength;
         }
 
         final Aws4SignerRequestParams requestParams = new Aws4SignerRequestParams(signingParams);
 
-        return doSign(request, requestParams, signingParams).build();
+        return doSign(requestWithLength, requestParams, signingParams).build();
     }
 
     private AwsS3V4SignerParams constructAwsS3SignerParams(ExecutionAttributes executionAttributes) {
@@ -161,30 +167,8 @@ public final class AwsS3V4Signer extends AbstractAws4Signer<AwsS3V4SignerParams,
 
         if (isPayloadSigningEnabled(mutableRequest, signerParams)) {
             if (useChunkEncoding(mutableRequest, signerParams)) {
-                final String contentLength = mutableRequest.firstMatchingHeader(CONTENT_LENGTH)
-                                                           .orElse(null);
-                final long originalContentLength;
-                if (contentLength != null) {
-                    originalContentLength = Long.parseLong(contentLength);
-                } else {
-                    /**
-                     * "Content-Length" header could be missing if the caller is
-                     * uploading a stream without setting Content-Length in
-                     * ObjectMetadata. Before using sigv4, we rely on HttpClient to
-                     * add this header by using BufferedHttpEntity when creating the
-                     * HttpRequest object. But now, we need this information
-                     * immediately for the signing process, so we have to cache the
-                     * stream here.
-                     */
-                    try {
-                        originalContentLength = getContentLength(mutableRequest);
-                    } catch (IOException e) {
-                        throw SdkClientException.builder()
-                                                .message("Cannot get the content-length of the request content.")
-                                                .cause(e)
-                                                .build();
-                    }
-                }
+                // The Content-Length header was set by sign() if the caller did not know it.
+                final long originalContentLength = Long.parseLong(mutableRequest.firstMatchingHeader(CONTENT_LENGTH).get());
                 mutableRequest.putHeader("x-amz-decoded-content-length", Long.toString(originalContentLength));
                 // Make sure "Content-Length" header is not empty so that HttpClient
                 // won't cache the stream again to recover Content-Length
@@ -199,6 +183,21 @@ public final class AwsS3V4Signer extends AbstractAws4Signer<AwsS3V4SignerParams,
         return UNSIGNED_PAYLOAD;
     }
 
+    /**
+     * S3 does not accept "Transfer-Encoding: chunked", and aws-chunked encoding needs the length of the content up front, so
+     * a request with content of unknown length is given a Content-Length header. The length is only measured for content
+     * that fits within the {@link #getReadLimit() read limit}, which can be reset without buffering the rest of the body.
+     * Larger content is rejected rather than copied in full before the first byte is sent.
+     */
+    private static SdkHttpFullRequest withContentLength(SdkHttpFullRequest request) {
+        if (!request.content().isPresent() || request.firstMatchingHeader(CONTENT_LENGTH).isPresent()) {
+            return request;
+        }
+        return request.toBuilder()
+                      .putHeader(CONTENT_LENGTH, Long.toString(getContentLengthWithinReadLimit(request.content().get())))
+                      .build();
+    }
+
     /**
      * Determine whether to use aws-chunked for signing
      */
@@ -231,20 +230,40 @@ public final class AwsS3V4Signer extends AbstractAws4Signer<AwsS3V4SignerParams,
     }
 
     /**
-     * Read the content of the request to get the length of the stream. This
-     * method will wrap the stream by SdkBufferedInputStream if it is not
-     * mark-supported.
+     * Read the content of the request to get the length of the stream, without reading more than the
+     * {@link #getReadLimit() read limit}, and reset it.
+     *
+     * @throws SdkClientException If the content is longer than the read limit allows, or cannot be read.
      */
-    private static long getContentLength(SdkHttpFullRequest.Builder requestBuilder) throws IOException {
-        final InputStream content = requestBuilder.content();
+    private static long getContentLengthWithinReadLimit(InputStream content) {
         validState(content.markSupported(), "Request input stream must have been made mark-and-resettable");
 
+        // The stream can be reset after reading up to the read limit, so the content is only measured if it ends before then.
+        final int readLimit = getReadLimit();
+        final long maxContentLength = readLimit - 1;
         long contentLength = 0;
         byte[] tmp = new byte[4096];
         int read;
-        content.mark(getReadLimit());
-        while ((read = content.read(tmp)) != -1) {
-            contentLength += read;
+        try {
+            content.mark(readLimit);
+            while (contentLength < readLimit
+                   && (read = content.read(tmp, 0, (int) Math.min(tmp.length, readLimit - contentLength))) != -1) {
+                contentLength += read;
+            }
+        } catch (IOException e) {
+            throw SdkClientException.builder()
+                                    .message("Cannot get the content-length of the request content.")
+                                    .cause(e)
+                                    .build();
+        }
+        if (contentLength > maxContentLength) {
+            throw SdkClientException.builder()
+                                    .message("The length of the request content is unknown, and it is larger than "
+                                             + maxContentLength + " bytes. S3 requires the length of an upload to be "
+                                             + "known before it is sent. Set the Content-Length of the request, or upload "
+                                             + "the content in parts with a multipart upload, such as with the "
+                                             + "S3TransferManager.")
+                                    .build();
         }
         try {
             content.reset();
@@ -253,4 +272,4 @@ public final class AwsS3V4Signer extends AbstractAws4Signer<AwsS3V4SignerParams,
         }
         return contentLength;
     }
-}
\ No newline at end of file
+}
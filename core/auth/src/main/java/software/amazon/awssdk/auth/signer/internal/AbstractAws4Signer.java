@@ -21,24 +21,28 @@ import static software.amazon.awssdk.utils.StringUtils.lowerCase;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.security.InvalidKeyException;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
 import software.amazon.awssdk.auth.signer.Aws4Signer;
 import software.amazon.awssdk.auth.signer.params.Aws4PresignerParams;
 import software.amazon.awssdk.auth.signer.params.Aws4SignerParams;
+import software.amazon.awssdk.core.SdkSystemSetting;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.signer.Presigner;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.utils.BinaryUtils;
 import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.awssdk.utils.http.SdkHttpUtils;
 
 /**
@@ -53,11 +57,39 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
     public static final String EMPTY_STRING_SHA256_HEX = BinaryUtils.toHex(hash(""));
 
     private static final Logger LOG = Logger.loggerFor(Aws4Signer.class);
-    private static final int SIGNER_CACHE_MAX_SIZE = 300;
-    private static final FifoCache<SignerKey> SIGNER_CACHE =
-        new FifoCache<>(SIGNER_CACHE_MAX_SIZE);
+    private static final SigningKeyCache SIGNER_CACHE = new SigningKeyCache(resolveSigningKeyCacheSize());
     private static final List<String> LIST_OF_HEADERS_TO_IGNORE_IN_LOWER_CASE = Arrays.asList("connection", "x-amzn-trace-id");
 
+    /**
+     * @return The cache of derived signing keys shared by all SigV4 signers, which exposes hit and miss counts for monitoring.
+     */
+    public static SigningKeyCache signingKeyCache() {
+        return SIGNER_CACHE;
+    }
+
+    private static int resolveSigningKeyCacheSize() {
+        return resolveSigningKeyCacheSize(SdkSystemSetting.AWS_SIGNING_KEY_CACHE_SIZE.getStringValueOrThrow());
+    }
+
+    /**
+     * Parse the configured size of the signing key cache. This runs while the class is initialized, where an exception would
+     * leave every signer unusable, so an invalid size is logged and replaced with the default instead.
+     */
+    static int resolveSigningKeyCacheSize(String size) {
+        int defaultSize = Integer.parseInt(SdkSystemSetting.AWS_SIGNING_KEY_CACHE_SIZE.defaultValue());
+        try {
+            int parsed = Integer.parseInt(size.trim());
+            if (parsed >= 1) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Logged below
+        }
+        LOG.warn(() -> SdkSystemSetting.AWS_SIGNING_KEY_CACHE_SIZE.property() + " must be a positive integer, but was '"
+                       + size + "'. Using the default of " + defaultSize + ".");
+        return defaultSize;
+    }
+
     protected SdkHttpFullRequest.Builder doSign(SdkHttpFullRequest request,
                                                 Aws4SignerRequestParams requestParams,
                                                 T signingParams) {
@@ -76,16 +108,18 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
                       .filter(h -> h.equals("required"))
                       .ifPresent(h -> mutableRequest.putHeader(SignerConstant.X_AMZ_CONTENT_SHA256, contentSha256));
 
-        final String canonicalRequest = createCanonicalRequest(mutableRequest, contentSha256, signingParams.doubleUrlEncode());
+        final Map<String, List<String>> headers = mutableRequest.headers();
+        final String[] signedHeaders = getSortedSignedHeaders(headers);
 
-        final String stringToSign = createStringToSign(canonicalRequest, requestParams);
+        final byte[] canonicalRequestHash = hashCanonicalRequest(mutableRequest, headers, signedHeaders, contentSha256,
+                                                                 signingParams.doubleUrlEncode());
 
         final byte[] signingKey = deriveSigningKey(sanitizedCredentials, requestParams);
 
-        final byte[] signature = computeSignature(stringToSign, signingKey);
+        final byte[] signature = computeSignature(canonicalRequestHash, requestParams, signingKey);
 
         mutableRequest.putHeader(SignerConstant.AUTHORIZATION,
-                                 buildAuthorizationHeader(signature, sanitizedCredentials, requestParams, mutableRequest));
+                                 buildAuthorizationHeader(signature, sanitizedCredentials, requestParams, signedHeaders));
 
         processRequestPayload(mutableRequest, signature, signingKey, requestParams, signingParams);
 
@@ -113,17 +147,20 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
         // Add the important parameters for v4 signing
         final String timeStamp = requestParams.getFormattedSigningDateTime();
 
-        addPreSignInformationToRequest(mutableRequest, sanitizedCredentials, requestParams, timeStamp, expirationInSeconds);
+        final Map<String, List<String>> headers = mutableRequest.headers();
+        final String[] signedHeaders = getSortedSignedHeaders(headers);
 
-        final String contentSha256 = calculateContentHashPresign(mutableRequest, signingParams);
+        addPreSignInformationToRequest(mutableRequest, sanitizedCredentials, requestParams, timeStamp, expirationInSeconds,
+                                       signedHeaders);
 
-        final String canonicalRequest = createCanonicalRequest(mutableRequest, contentSha256, signingParams.doubleUrlEncode());
+        final String contentSha256 = calculateContentHashPresign(mutableRequest, signingParams);
 
-        final String stringToSign = createStringToSign(canonicalRequest, requestParams);
+        final byte[] canonicalRequestHash = hashCanonicalRequest(mutableRequest, headers, signedHeaders, contentSha256,
+                                                                 signingParams.doubleUrlEncode());
 
         final byte[] signingKey = deriveSigningKey(sanitizedCredentials, requestParams);
 
-        final byte[] signature = computeSignature(stringToSign, signingKey);
+        final byte[] signature = computeSignature(canonicalRequestHash, requestParams, signingKey);
 
         mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_SIGNATURE, BinaryUtils.toHex(signature));
 
@@ -167,50 +204,41 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
     protected abstract String calculateContentHashPresign(SdkHttpFullRequest.Builder mutableRequest, U signerParams);
 
     /**
-     * Step 1 of the AWS Signature version 4 calculation. Refer to
+     * Steps 1 and 2 of the AWS Signature version 4 calculation. Refer to
      * http://docs.aws
      * .amazon.com/general/latest/gr/sigv4-create-canonical-request.html to
      * generate the canonical request.
+     *
+     * <p>The canonical request is streamed into the thread's SHA-256 digest rather than built as a string, and only its hash
+     * is returned for the string to sign.
      */
-    private String createCanonicalRequest(SdkHttpFullRequest.Builder request,
-                                          String contentSha256,
-                                          boolean doubleUrlEncode) {
-
-        String canonicalRequest = request.method().toString() +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  // This would optionally double url-encode the resource path
-                                  getCanonicalizedResourcePath(request.encodedPath(), doubleUrlEncode) +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  getCanonicalizedQueryString(request.rawQueryParameters()) +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  getCanonicalizedHeaderString(request.headers()) +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  getSignedHeadersString(request.headers()) +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  contentSha256;
-
-        LOG.trace(() -> "AWS4 Canonical Request: " + canonicalRequest);
-        return canonicalRequest;
-    }
-
-    /**
-     * Step 2 of the AWS Signature version 4 calculation. Refer to
-     * http://docs.aws
-     * .amazon.com/general/latest/gr/sigv4-create-string-to-sign.html.
-     */
-    private String createStringToSign(String canonicalRequest,
-                                      Aws4SignerRequestParams requestParams) {
-
-        final String stringToSign = requestParams.getSigningAlgorithm() +
-                                    SignerConstant.LINE_SEPARATOR +
-                                    requestParams.getFormattedSigningDateTime() +
-                                    SignerConstant.LINE_SEPARATOR +
-                                    requestParams.getScope() +
-                                    SignerConstant.LINE_SEPARATOR +
-                                    BinaryUtils.toHex(hash(canonicalRequest));
-
-        LOG.debug(() -> "AWS4 String to sign: " + stringToSign);
-        return stringToSign;
+    private byte[] hashCanonicalRequest(SdkHttpFullRequest.Builder request,
+                                        Map<String, List<String>> headers,
+                                        String[] signedHeaders,
+                                        String contentSha256,
+                                        boolean doubleUrlEncode) {
+        final boolean traceEnabled = LOG.isLoggingLevelEnabled("trace");
+        final SigningBuffer canonicalRequest = SigningBuffer.forDigest(getMessageDigestInstance(), traceEnabled);
+
+        canonicalRequest.append(request.method().name()).append(SignerConstant.LINE_SEPARATOR);
+        // This would optionally double url-encode the resource path
+        appendCanonicalizedResourcePath(canonicalRequest, request.encodedPath(), doubleUrlEncode);
+        canonicalRequest.append(SignerConstant.LINE_SEPARATOR);
+        Map<String, List<String>> queryParameters = request.rawQueryParameters();
+        if (!queryParameters.isEmpty()) {
+            canonicalRequest.append(getCanonicalizedQueryString(queryParameters));
+        }
+        canonicalRequest.append(SignerConstant.LINE_SEPARATOR);
+        appendCanonicalizedHeaders(canonicalRequest, headers, signedHeaders);
+        canonicalRequest.append(SignerConstant.LINE_SEPARATOR);
+        appendSignedHeaders(canonicalRequest, signedHeaders);
+        canonicalRequest.append(SignerConstant.LINE_SEPARATOR).append(contentSha256);
+
+        if (traceEnabled) {
+            String transcript = canonicalRequest.transcript();
+            LOG.trace(() -> "AWS4 Canonical Request: " + transcript);
+        }
+        return canonicalRequest.digest();
     }
 
     /**
@@ -222,10 +250,11 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
     private byte[] deriveSigningKey(AwsCredentials credentials,
                                     Aws4SignerRequestParams signerRequestParams) {
 
-        final String cacheKey = computeSigningCacheKeyName(credentials, signerRequestParams);
         final long daysSinceEpochSigningDate = numberOfDaysSinceEpoch(signerRequestParams.getSigningDateTimeMilli());
 
-        SignerKey signerKey = SIGNER_CACHE.get(cacheKey);
+        SignerKey signerKey = SIGNER_CACHE.get(credentials.secretAccessKey(),
+                                               signerRequestParams.getRegionName(),
+                                               signerRequestParams.getServiceSigningName());
 
         if (signerKey != null && daysSinceEpochSigningDate == signerKey.getNumberOfDaysSinceEpoch()) {
             return signerKey.getSigningKey();
@@ -237,28 +266,47 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
                                           signerRequestParams.getFormattedSigningDate(),
                                           signerRequestParams.getRegionName(),
                                           signerRequestParams.getServiceSigningName());
-        SIGNER_CACHE.add(cacheKey, new SignerKey(daysSinceEpochSigningDate, signingKey));
+        SIGNER_CACHE.add(credentials.secretAccessKey(),
+                         signerRequestParams.getRegionName(),
+                         signerRequestParams.getServiceSigningName(),
+                         new SignerKey(daysSinceEpochSigningDate, signingKey));
         return signingKey;
     }
 
-    /**
-     * Computes the name to be used to reference the signing key in the cache.
-     */
-    private String computeSigningCacheKeyName(AwsCredentials credentials,
-                                              Aws4SignerRequestParams signerRequestParams) {
-        return credentials.secretAccessKey() + "-" + signerRequestParams.getRegionName() + "-" +
-               signerRequestParams.getServiceSigningName();
-    }
-
     /**
      * Step 3 of the AWS Signature version 4 calculation. It involves deriving
      * the signing key and computing the signature. Refer to
      * http://docs.aws.amazon
      * .com/general/latest/gr/sigv4-calculate-signature.html
+     *
+     * <p>The string to sign is streamed into the MAC rather than built as a string.
      */
-    private byte[] computeSignature(String stringToSign, byte[] signingKey) {
-        return sign(stringToSign.getBytes(Charset.forName("UTF-8")), signingKey,
-                    SigningAlgorithm.HmacSHA256);
+    private byte[] computeSignature(byte[] canonicalRequestHash,
+                                    Aws4SignerRequestParams requestParams,
+                                    byte[] signingKey) {
+        final boolean debugEnabled = LOG.isLoggingLevelEnabled("debug");
+        final SigningBuffer stringToSign;
+        try {
+            Mac mac = SigningAlgorithm.HmacSHA256.getMac();
+            mac.init(new SecretKeySpec(signingKey, SigningAlgorithm.HmacSHA256.toString()));
+            stringToSign = SigningBuffer.forMac(mac, debugEnabled);
+        } catch (InvalidKeyException e) {
+            throw SdkClientException.builder()
+                                    .message("Unable to calculate a request signature: " + e.getMessage())
+                                    .cause(e)
+                                    .build();
+        }
+
+        stringToSign.append(requestParams.getSigningAlgorithm()).append(SignerConstant.LINE_SEPARATOR)
+                    .append(requestParams.getFormattedSigningDateTime()).append(SignerConstant.LINE_SEPARATOR)
+                    .append(requestParams.getScope()).append(SignerConstant.LINE_SEPARATOR)
+                    .appendHex(canonicalRequestHash);
+
+        if (debugEnabled) {
+            String transcript = stringToSign.transcript();
+            LOG.debug(() -> "AWS4 String to sign: " + transcript);
+        }
+        return stringToSign.doFinal();
     }
 
     /**
@@ -267,12 +315,11 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
     private String buildAuthorizationHeader(byte[] signature,
                                             AwsCredentials credentials,
                                             Aws4SignerRequestParams signerParams,
-                                            SdkHttpFullRequest.Builder mutableRequest) {
+                                            String[] signedHeaders) {
 
         String signingCredentials = credentials.accessKeyId() + "/" + signerParams.getScope();
         String credential = "Credential=" + signingCredentials;
-        String signerHeaders = "SignedHeaders=" +
-                               getSignedHeadersString(mutableRequest.headers());
+        String signerHeaders = "SignedHeaders=" + getSignedHeadersString(signedHeaders);
         String signatureHeader = "Signature=" + BinaryUtils.toHex(signature);
 
         return SignerConstant.AWS4_SIGNING_ALGORITHM + " " + credential + ", " + signerHeaders + ", " + signatureHeader;
@@ -285,94 +332,78 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
                                                 AwsCredentials sanitizedCredentials,
                                                 Aws4SignerRequestParams signerParams,
                                                 String timeStamp,
-                                                long expirationInSeconds) {
+                                                long expirationInSeconds,
+                                                String[] signedHeaders) {
 
         String signingCredentials = sanitizedCredentials.accessKeyId() + "/" + signerParams.getScope();
 
         mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_ALGORITHM, SignerConstant.AWS4_SIGNING_ALGORITHM);
         mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_DATE, timeStamp);
         mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_SIGNED_HEADER,
-                                            getSignedHeadersString(mutableRequest.headers()));
+                                            getSignedHeadersString(signedHeaders));
         mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_EXPIRES,
                                             Long.toString(expirationInSeconds));
         mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_CREDENTIAL, signingCredentials);
     }
 
 
-    private String getCanonicalizedHeaderString(Map<String, List<String>> headers) {
-        final List<String> sortedHeaders = new ArrayList<>(headers.keySet());
-        sortedHeaders.sort(String.CASE_INSENSITIVE_ORDER);
-
-        StringBuilder buffer = new StringBuilder();
-        for (String header : sortedHeaders) {
-            if (shouldExcludeHeaderFromSigning(header)) {
-                continue;
+    /**
+     * Returns the names of the headers to sign, sorted once for both the canonical request and the signed headers list.
+     */
+    private String[] getSortedSignedHeaders(Map<String, List<String>> headers) {
+        String[] sortedHeaders = new String[headers.size()];
+        int count = 0;
+        for (String header : headers.keySet()) {
+            if (!shouldExcludeHeaderFromSigning(header)) {
+                sortedHeaders[count++] = header;
             }
-            String key = lowerCase(header);
+        }
+        if (count < sortedHeaders.length) {
+            sortedHeaders = Arrays.copyOf(sortedHeaders, count);
+        }
+        Arrays.sort(sortedHeaders, String.CASE_INSENSITIVE_ORDER);
+        return sortedHeaders;
+    }
+
+    private void appendCanonicalizedResourcePath(SigningBuffer buffer, String resourcePath, boolean urlEncode) {
+        if (StringUtils.isEmpty(resourcePath)) {
+            buffer.append('/');
+            return;
+        }
+        if (resourcePath.charAt(0) != '/') {
+            buffer.append('/');
+        }
+        if (urlEncode) {
+            buffer.appendUrlEncoded(resourcePath, true);
+        } else {
+            buffer.append(resourcePath);
+        }
+    }
 
+    private void appendCanonicalizedHeaders(SigningBuffer buffer, Map<String, List<String>> headers, String[] signedHeaders) {
+        for (String header : signedHeaders) {
             for (String headerValue : headers.get(header)) {
-                appendCompactedString(buffer, key);
-                buffer.append(":");
+                buffer.appendCompacted(header, true).append(':');
                 if (headerValue != null) {
-                    appendCompactedString(buffer, headerValue);
+                    buffer.appendCompacted(headerValue, false);
                 }
-                buffer.append("\n");
+                buffer.append('\n');
             }
         }
-
-        return buffer.toString();
     }
 
-    /**
-     * This method appends a string to a string builder and collapses contiguous
-     * white space is a single space.
-     *
-     * This is equivalent to:
-     *      destination.append(source.replaceAll("\\s+", " "))
-     * but does not create a Pattern object that needs to compile the match
-     * string; it also prevents us from having to make a Matcher object as well.
-     *
-     */
-    private void appendCompactedString(final StringBuilder destination, final String source) {
-        boolean previousIsWhiteSpace = false;
-        int length = source.length();
-
-        for (int i = 0; i < length; i++) {
-            char ch = source.charAt(i);
-            if (isWhiteSpace(ch)) {
-                if (previousIsWhiteSpace) {
-                    continue;
-                }
-                destination.append(' ');
-                previousIsWhiteSpace = true;
-            } else {
-                destination.append(ch);
-                previousIsWhiteSpace = false;
+    private void appendSignedHeaders(SigningBuffer buffer, String[] signedHeaders) {
+        for (int i = 0; i < signedHeaders.length; i++) {
+            if (i > 0) {
+                buffer.append(';');
             }
+            buffer.appendLowerCase(signedHeaders[i]);
         }
     }
 
-    /**
-     * Tests a char to see if is it whitespace.
-     * This method considers the same characters to be white
-     * space as the Pattern class does when matching \s
-     *
-     * @param ch the character to be tested
-     * @return true if the character is white  space, false otherwise.
-     */
-    private boolean isWhiteSpace(final char ch) {
-        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000b' || ch == '\r' || ch == '\f';
-    }
-
-    private String getSignedHeadersString(Map<String, List<String>> headers) {
-        final List<String> sortedHeaders = new ArrayList<>(headers.keySet());
-        sortedHeaders.sort(String.CASE_INSENSITIVE_ORDER);
-
+    private String getSignedHeadersString(String[] signedHeaders) {
         StringBuilder buffer = new StringBuilder();
-        for (String header : sortedHeaders) {
-            if (shouldExcludeHeaderFromSigning(header)) {
-                continue;
-            }
+        for (String header : signedHeaders) {
             if (buffer.length() > 0) {
                 buffer.append(";");
             }
@@ -383,7 +414,12 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
     }
 
     private boolean shouldExcludeHeaderFromSigning(String header) {
-        return LIST_OF_HEADERS_TO_IGNORE_IN_LOWER_CASE.contains(lowerCase(header));
+        for (String headerToIgnore : LIST_OF_HEADERS_TO_IGNORE_IN_LOWER_CASE) {
+            if (headerToIgnore.equalsIgnoreCase(header)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private void addHostHeader(SdkHttpFullRequest.Builder mutableRequest) {
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import javax.crypto.Mac;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.StringUtils;
+
+/**
+ * A per-thread scratch buffer that encodes the parts of a SigV4 canonical request or string to sign as UTF-8 and feeds the
+ * bytes straight into a {@link MessageDigest} or {@link Mac}, so that signing a request does not build any intermediate
+ * strings. The buffer is flushed into its target whenever it fills up, so its size does not limit the size of the input.
+ *
+ * <p>Only one buffer is in use on a thread at any time: {@link #forDigest} and {@link #forMac} reset and return the same
+ * instance, which must be finished with {@link #digest()} or {@link #doFinal()} before it is reused.
+ */
+@SdkInternalApi
+@NotThreadSafe
+final class SigningBuffer {
+
+    private static final int CAPACITY = 1024;
+    private static final ThreadLocal<SigningBuffer> BUFFERS = ThreadLocal.withInitial(SigningBuffer::new);
+    private static final byte[] LOWER_HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] UPPER_HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] buffer = new byte[CAPACITY];
+    private final byte[] utf8 = new byte[4];
+    private int utf8Length;
+    private int position;
+
+    private MessageDigest messageDigest;
+    private Mac mac;
+    private ByteArrayOutputStream transcript;
+
+    private SigningBuffer() {
+    }
+
+    /**
+     * @param messageDigest The digest to feed, which must already have been reset.
+     * @param keepTranscript Whether to also keep a copy of the input, which can be retrieved with {@link #transcript()}. This
+     * is only intended for logging.
+     */
+    static SigningBuffer forDigest(MessageDigest messageDigest, boolean keepTranscript) {
+        SigningBuffer signingBuffer = reset(keepTranscript);
+        signingBuffer.messageDigest = messageDigest;
+        return signingBuffer;
+    }
+
+    /**
+     * @param mac The MAC to feed, which must already have been initialized with the signing key.
+     * @param keepTranscript Whether to also keep a copy of the input, which can be retrieved with {@link #transcript()}. This
+     * is only intended for logging.
+     */
+    static SigningBuffer forMac(Mac mac, boolean keepTranscript) {
+        SigningBuffer signingBuffer = reset(keepTranscript);
+        signingBuffer.mac = mac;
+        return signingBuffer;
+    }
+
+    private static SigningBuffer reset(boolean keepTranscript) {
+        SigningBuffer signingBuffer = BUFFERS.get();
+        signingBuffer.position = 0;
+        signingBuffer.messageDigest = null;
+        signingBuffer.mac = null;
+        signingBuffer.transcript = keepTranscript ? new ByteArrayOutputStream() : null;
+        return signingBuffer;
+    }
+
+    /**
+     * Append an ASCII character.
+     */
+    SigningBuffer append(char ch) {
+        writeByte((byte) ch);
+        return this;
+    }
+
+    SigningBuffer append(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; ) {
+            char ch = value.charAt(i);
+            if (ch < 0x80) {
+                writeByte((byte) ch);
+                i++;
+            } else {
+                i = encodeUtf8(value, i);
+                writeUtf8();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Append a string converted to lower case.
+     */
+    SigningBuffer appendLowerCase(String value) {
+        return append(value, false, true);
+    }
+
+    /**
+     * Append a string with every run of white space collapsed to a single space, optionally converted to lower case. This is
+     * equivalent to {@code value.replaceAll("\\s+", " ")} but does not create any objects.
+     */
+    SigningBuffer appendCompacted(String value, boolean toLowerCase) {
+        return append(value, true, toLowerCase);
+    }
+
+    private SigningBuffer append(String value, boolean compactWhiteSpace, boolean toLowerCase) {
+        if (toLowerCase && !isAscii(value)) {
+            // Lower-casing may change the length of non-ASCII strings, so leave those to String.
+            return append(StringUtils.lowerCase(value), compactWhiteSpace, false);
+        }
+
+        boolean previousIsWhiteSpace = false;
+        int length = value.length();
+        for (int i = 0; i < length; ) {
+            char ch = value.charAt(i);
+            if (compactWhiteSpace && isWhiteSpace(ch)) {
+                if (!previousIsWhiteSpace) {
+                    writeByte((byte) ' ');
+                    previousIsWhiteSpace = true;
+                }
+                i++;
+                continue;
+            }
+            previousIsWhiteSpace = false;
+            if (ch < 0x80) {
+                writeByte((byte) (toLowerCase && ch >= 'A' && ch <= 'Z' ? ch + ('a' - 'A') : ch));
+                i++;
+            } else {
+                i = encodeUtf8(value, i);
+                writeUtf8();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Append a string URL-encoded in the same way as {@link software.amazon.awssdk.utils.http.SdkHttpUtils#urlEncode} and
+     * {@link software.amazon.awssdk.utils.http.SdkHttpUtils#urlEncodeIgnoreSlashes}: everything but unreserved characters is
+     * percent-encoded.
+     */
+    SigningBuffer appendUrlEncoded(String value, boolean ignoreSlashes) {
+        int length = value.length();
+        for (int i = 0; i < length; ) {
+            char ch = value.charAt(i);
+            if (isUnreserved(ch) || (ignoreSlashes && ch == '/')) {
+                writeByte((byte) ch);
+                i++;
+            } else {
+                i = encodeUtf8(value, i);
+                for (int j = 0; j < utf8Length; j++) {
+                    int b = utf8[j] & 0xFF;
+                    writeByte((byte) '%');
+                    writeByte(UPPER_HEX[b >>> 4]);
+                    writeByte(UPPER_HEX[b & 0xF]);
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Append the lower-case hex encoding of the given bytes.
+     */
+    SigningBuffer appendHex(byte[] bytes) {
+        for (byte b : bytes) {
+            writeByte(LOWER_HEX[(b & 0xFF) >>> 4]);
+            writeByte(LOWER_HEX[b & 0xF]);
+        }
+        return this;
+    }
+
+    /**
+     * Finish feeding the message digest and return its result.
+     */
+    byte[] digest() {
+        flush();
+        MessageDigest target = messageDigest;
+        messageDigest = null;
+        return target.digest();
+    }
+
+    /**
+     * Finish feeding the MAC and return its result.
+     */
+    byte[] doFinal() {
+        flush();
+        Mac target = mac;
+        mac = null;
+        return target.doFinal();
+    }
+
+    /**
+     * @return Everything appended to this buffer, if it was created to keep a transcript.
+     */
+    String transcript() {
+        return transcript == null ? null : new String(transcript.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private void writeByte(byte b) {
+        if (position == CAPACITY) {
+            flush();
+        }
+        buffer[position++] = b;
+    }
+
+    private void writeUtf8() {
+        for (int j = 0; j < utf8Length; j++) {
+            writeByte(utf8[j]);
+        }
+    }
+
+    private void flush() {
+        if (messageDigest != null) {
+            messageDigest.update(buffer, 0, position);
+        } else {
+            mac.update(buffer, 0, position);
+        }
+        if (transcript != null) {
+            transcript.write(buffer, 0, position);
+        }
+        position = 0;
+    }
+
+    /**
+     * Encode the character at the given index as UTF-8 into the scratch array, replacing unpaired surrogates with '?' as
+     * {@link String#getBytes} does.
+     *
+     * @return The index of the next character.
+     */
+    private int encodeUtf8(String value, int index) {
+        char ch = value.charAt(index);
+        if (ch < 0x80) {
+            utf8[0] = (byte) ch;
+            utf8Length = 1;
+        } else if (ch < 0x800) {
+            utf8[0] = (byte) (0xC0 | (ch >> 6));
+            utf8[1] = (byte) (0x80 | (ch & 0x3F));
+            utf8Length = 2;
+        } else if (Character.isHighSurrogate(ch) && index + 1 < value.length()
+                   && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(ch, value.charAt(index + 1));
+            utf8[0] = (byte) (0xF0 | (codePoint >> 18));
+            utf8[1] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            utf8[2] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            utf8[3] = (byte) (0x80 | (codePoint & 0x3F));
+            utf8Length = 4;
+            return index + 2;
+        } else if (Character.isSurrogate(ch)) {
+            utf8[0] = (byte) '?';
+            utf8Length = 1;
+        } else {
+            utf8[0] = (byte) (0xE0 | (ch >> 12));
+            utf8[1] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+            utf8[2] = (byte) (0x80 | (ch & 0x3F));
+            utf8Length = 3;
+        }
+        return index + 1;
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tests a char to see if is it whitespace. This method considers the same characters to be white space as the Pattern
+     * class does when matching \s
+     */
+    private static boolean isWhiteSpace(char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000b' || ch == '\r' || ch == '\f';
+    }
+
+    private static boolean isUnreserved(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9')
+               || ch == '-' || ch == '_' || ch == '.' || ch == '~';
+    }
+}
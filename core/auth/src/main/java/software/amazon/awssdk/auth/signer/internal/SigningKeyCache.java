@@ -0,0 +1,244 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * A bounded cache of derived SigV4 signing keys, keyed by secret key, region and service.
+ *
+ * <p>Lookups are lock-free reads of a {@link ConcurrentHashMap}, so concurrent signers never contend with each other on a cache
+ * hit. Eviction is least-recently-used, where recency is measured in cache misses: every insertion advances a logical clock,
+ * and a hit stamps its entry with the current clock value only if it has moved since the entry was last stamped. A hot entry
+ * is therefore written to at most once per miss rather than once per request.
+ *
+ * <p>When the cache grows past its maximum size, one thread evicts the least recently used entries in a batch while other
+ * threads carry on, so the cache may briefly hold a few more entries than its maximum.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class SigningKeyCache {
+
+    /**
+     * Fraction of the maximum size that is evicted below the maximum in each batch, so that a cache under churn is not
+     * scanned on every miss.
+     */
+    private static final int EVICTION_BATCH_DIVISOR = 16;
+
+    private final int maxSize;
+    private final ConcurrentHashMap<CacheKey, CacheEntry> cache;
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxSize the maximum number of entries of the cache
+     */
+    public SigningKeyCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize " + maxSize + " must be at least 1");
+        }
+        this.maxSize = maxSize;
+        this.cache = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+    }
+
+    /**
+     * Returns the signing key cached for the given secret key, region and service; or null if no such entry exists.
+     */
+    public SignerKey get(String secretAccessKey, String regionName, String serviceSigningName) {
+        CacheEntry entry = cache.get(new CacheKey(secretAccessKey, regionName, serviceSigningName));
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.touch(clock.get());
+        return entry.signerKey;
+    }
+
+    /**
+     * Adds an entry to the cache, evicting the least recently used entries if necessary.
+     */
+    public void add(String secretAccessKey, String regionName, String serviceSigningName, SignerKey signerKey) {
+        cache.put(new CacheKey(secretAccessKey, regionName, serviceSigningName),
+                  new CacheEntry(signerKey, clock.incrementAndGet()));
+        if (cache.size() > maxSize) {
+            evict();
+        }
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // Entries added by other threads while this one was evicting are not evicted by them, so check again.
+            while (cache.size() > maxSize) {
+                evictBatch(cache.size() - maxSize + maxSize / EVICTION_BATCH_DIVISOR);
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private void evictBatch(int toEvict) {
+        // Hits keep stamping entries while they are sorted, so sort a snapshot of their access times.
+        List<EvictionCandidate> candidates = new ArrayList<>(cache.size());
+        for (Map.Entry<CacheKey, CacheEntry> entry : cache.entrySet()) {
+            candidates.add(new EvictionCandidate(entry.getKey(), entry.getValue()));
+        }
+        candidates.sort(Comparator.comparingLong(c -> c.lastAccess));
+        for (int i = 0; i < toEvict && i < candidates.size(); i++) {
+            EvictionCandidate eldest = candidates.get(i);
+            // Only remove the entry if it was not replaced by a concurrent add.
+            if (cache.remove(eldest.key, eldest.entry)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Returns the current size of the cache.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the maximum size of the cache.
+     */
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of lookups that found a signing key.
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that did not find a signing key.
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries removed to keep the cache within its maximum size.
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("SigningKeyCache")
+                       .add("size", size())
+                       .add("maxSize", maxSize)
+                       .add("hitCount", hitCount())
+                       .add("missCount", missCount())
+                       .add("evictionCount", evictionCount())
+                       .build();
+    }
+
+    /**
+     * Composite cache key. The hash code is computed once from the hash codes of its parts, which {@link String} caches, so
+     * a lookup does not need to build or hash a new string.
+     */
+    private static final class CacheKey {
+        private final String secretAccessKey;
+        private final String regionName;
+        private final String serviceSigningName;
+        private final int hashCode;
+
+        private CacheKey(String secretAccessKey, String regionName, String serviceSigningName) {
+            this.secretAccessKey = secretAccessKey;
+            this.regionName = regionName;
+            this.serviceSigningName = serviceSigningName;
+
+            int result = secretAccessKey.hashCode();
+            result = 31 * result + regionName.hashCode();
+            result = 31 * result + serviceSigningName.hashCode();
+            this.hashCode = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return hashCode == other.hashCode &&
+                   secretAccessKey.equals(other.secretAccessKey) &&
+                   regionName.equals(other.regionName) &&
+                   serviceSigningName.equals(other.serviceSigningName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class CacheEntry {
+        private final SignerKey signerKey;
+        private volatile long lastAccess;
+
+        private CacheEntry(SignerKey signerKey, long lastAccess) {
+            this.signerKey = signerKey;
+            this.lastAccess = lastAccess;
+        }
+
+        private void touch(long now) {
+            // Avoid writing to an entry that is shared by many threads unless the clock has moved.
+            if (lastAccess != now) {
+                lastAccess = now;
+            }
+        }
+    }
+
+    /**
+     * An entry of the cache together with its access time when eviction started.
+     */
+    private static final class EvictionCandidate {
+        private final CacheKey key;
+        private final CacheEntry entry;
+        private final long lastAccess;
+
+        private EvictionCandidate(CacheKey key, CacheEntry entry) {
+            this.key = key;
+            this.entry = entry;
+            this.lastAccess = entry.lastAccess;
+        }
+    }
+}
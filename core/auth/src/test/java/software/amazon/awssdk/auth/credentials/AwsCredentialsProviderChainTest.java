@@ -16,7 +16,12 @@
 package software.amazon.awssdk.auth.credentials;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -121,6 +126,64 @@ public class AwsCredentialsProviderChainTest {
         chain.resolveCredentials();
     }
 
+    /**
+     * Tests that resolving credentials asynchronously moves on to the next provider when a provider fails, and waits for an
+     * asynchronous provider without blocking.
+     */
+    @Test
+    public void testResolveCredentialsAsyncUsesNextProvider() throws Exception {
+        MockCredentialsProvider provider1 = new MockCredentialsProvider("Failed!");
+        CompletableFuture<AwsCredentials> provider2Credentials = new CompletableFuture<>();
+        AsyncAwsCredentialsProvider provider2 = new AsyncAwsCredentialsProvider() {
+            @Override
+            public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+                return provider2Credentials;
+            }
+
+            @Override
+            public AwsCredentials resolveCredentials() {
+                return provider2Credentials.join();
+            }
+        };
+        AwsCredentialsProviderChain chain = AwsCredentialsProviderChain.builder()
+                                                                       .credentialsProviders(provider1, provider2)
+                                                                       .build();
+
+        CompletableFuture<AwsCredentials> result = chain.resolveCredentialsAsync();
+        assertEquals(1, provider1.getCredentialsCallCount);
+        assertFalse(result.isDone());
+
+        AwsCredentials credentials = AwsBasicCredentials.create("accessKey", "secretKey");
+        provider2Credentials.complete(credentials);
+        assertSame(credentials, result.get());
+
+        // The last provider that provided credentials is reused.
+        assertSame(credentials, chain.resolveCredentialsAsync().get());
+        assertEquals(1, provider1.getCredentialsCallCount);
+    }
+
+    /**
+     * Tests that resolving credentials asynchronously fails with the messages of all providers if none of them can provide
+     * credentials.
+     */
+    @Test
+    public void testResolveCredentialsAsyncException() throws Exception {
+        MockCredentialsProvider provider1 = new MockCredentialsProvider("Failed!");
+        MockCredentialsProvider provider2 = new MockCredentialsProvider("Bad!");
+        AwsCredentialsProviderChain chain = AwsCredentialsProviderChain.builder()
+                                                                       .credentialsProviders(provider1, provider2)
+                                                                       .build();
+
+        try {
+            chain.resolveCredentialsAsync().get();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof SdkClientException);
+            assertTrue(e.getCause().getMessage().contains(provider1.exceptionMessage));
+            assertTrue(e.getCause().getMessage().contains(provider2.exceptionMessage));
+            return;
+        }
+        throw new AssertionError("Expected the credentials not to be resolved");
+    }
 
     private static final class MockCredentialsProvider implements AwsCredentialsProvider {
         private final StaticCredentialsProvider staticCredentialsProvider;
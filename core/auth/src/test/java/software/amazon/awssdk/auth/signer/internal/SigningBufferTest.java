@@ -0,0 +1,111 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import org.junit.Test;
+import software.amazon.awssdk.utils.StringUtils;
+import software.amazon.awssdk.utils.http.SdkHttpUtils;
+
+public class SigningBufferTest {
+
+    private static final String NON_ASCII = "café über € 😀 İstanbul";
+
+    @Test
+    public void appendEncodesUtf8() {
+        assertThat(transcript(b -> b.append(NON_ASCII))).isEqualTo(NON_ASCII);
+    }
+
+    @Test
+    public void unpairedSurrogatesAreReplacedLikeString() {
+        String value = "a\ud83db\ude00c";
+        assertThat(digest(b -> b.append(value))).isEqualTo(sha256(new String(value.getBytes(StandardCharsets.UTF_8),
+                                                                              StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void appendCompactedCollapsesWhiteSpace() {
+        String value = "  a \t\n b\r\f\u000bc  ";
+        assertThat(transcript(b -> b.appendCompacted(value, false))).isEqualTo(value.replaceAll("\\s+", " "));
+    }
+
+    @Test
+    public void appendCompactedLowerCase() {
+        assertThat(transcript(b -> b.appendCompacted("X-Amz-Date  Header", true))).isEqualTo("x-amz-date header");
+        assertThat(transcript(b -> b.appendCompacted(NON_ASCII, true)))
+            .isEqualTo(StringUtils.lowerCase(NON_ASCII).replaceAll("\\s+", " "));
+    }
+
+    @Test
+    public void appendLowerCaseKeepsWhiteSpace() {
+        assertThat(transcript(b -> b.appendLowerCase("X-Amz  Date"))).isEqualTo("x-amz  date");
+    }
+
+    @Test
+    public void appendUrlEncodedMatchesSdkHttpUtils() {
+        String value = "/path with spaces/~tilde*star+plus%percent/" + NON_ASCII;
+        assertThat(transcript(b -> b.appendUrlEncoded(value, true))).isEqualTo(SdkHttpUtils.urlEncodeIgnoreSlashes(value));
+        assertThat(transcript(b -> b.appendUrlEncoded(value, false))).isEqualTo(SdkHttpUtils.urlEncode(value));
+    }
+
+    @Test
+    public void appendHex() {
+        assertThat(transcript(b -> b.appendHex(new byte[] {0x00, 0x0f, (byte) 0xab, (byte) 0xff}))).isEqualTo("000fabff");
+    }
+
+    @Test
+    public void inputLargerThanBufferIsFlushed() {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            value.append("header-").append(i).append('é');
+        }
+        assertThat(digest(b -> b.append(value.toString()))).isEqualTo(sha256(value.toString()));
+    }
+
+    @Test
+    public void bufferIsResetBetweenUses() {
+        digest(b -> b.append("discarded"));
+        assertThat(digest(b -> b.append("kept"))).isEqualTo(sha256("kept"));
+    }
+
+    private static String transcript(BufferWriter writer) {
+        SigningBuffer buffer = SigningBuffer.forDigest(AbstractAwsSigner.getMessageDigestInstance(), true);
+        writer.write(buffer);
+        buffer.digest();
+        return buffer.transcript();
+    }
+
+    private static byte[] digest(BufferWriter writer) {
+        SigningBuffer buffer = SigningBuffer.forDigest(AbstractAwsSigner.getMessageDigestInstance(), false);
+        writer.write(buffer);
+        return buffer.digest();
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface BufferWriter {
+        void write(SigningBuffer buffer);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class SigningKeyCacheTest {
+
+    private static final SignerKey KEY_1 = new SignerKey(1, new byte[] {1});
+    private static final SignerKey KEY_2 = new SignerKey(1, new byte[] {2});
+    private static final SignerKey KEY_3 = new SignerKey(1, new byte[] {3});
+    private static final SignerKey KEY_4 = new SignerKey(1, new byte[] {4});
+
+    @Test
+    public void addAndGet() {
+        SigningKeyCache cache = new SigningKeyCache(3);
+        assertThat(cache.size()).isEqualTo(0);
+        cache.add("secret", "us-east-1", "s3", KEY_1);
+        assertThat(cache.size()).isEqualTo(1);
+        cache.add("secret", "us-east-1", "s3", KEY_2);
+        assertThat(cache.size()).isEqualTo(1);
+
+        assertThat(cache.get("secret", "us-east-1", "s3")).isSameAs(KEY_2);
+        assertThat(cache.get("secret", "us-west-2", "s3")).isNull();
+        assertThat(cache.get("secret", "us-east-1", "sqs")).isNull();
+        assertThat(cache.get("other-secret", "us-east-1", "s3")).isNull();
+    }
+
+    @Test
+    public void keyPartsAreNotConcatenated() {
+        SigningKeyCache cache = new SigningKeyCache(3);
+        cache.add("a-b", "c", "d", KEY_1);
+        assertThat(cache.get("a", "b-c", "d")).isNull();
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvicted() {
+        SigningKeyCache cache = new SigningKeyCache(3);
+        cache.add("secret", "region", "k1", KEY_1);
+        cache.add("secret", "region", "k2", KEY_2);
+        cache.add("secret", "region", "k3", KEY_3);
+        assertThat(cache.get("secret", "region", "k1")).isSameAs(KEY_1);
+
+        cache.add("secret", "region", "k4", KEY_4);
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get("secret", "region", "k2")).isNull();
+        assertThat(cache.get("secret", "region", "k1")).isSameAs(KEY_1);
+        assertThat(cache.get("secret", "region", "k3")).isSameAs(KEY_3);
+        assertThat(cache.get("secret", "region", "k4")).isSameAs(KEY_4);
+        assertThat(cache.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void singleEntry() {
+        SigningKeyCache cache = new SigningKeyCache(1);
+        cache.add("secret", "region", "k1", KEY_1);
+        cache.add("secret", "region", "k2", KEY_2);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get("secret", "region", "k2")).isSameAs(KEY_2);
+        assertThat(cache.get("secret", "region", "k1")).isNull();
+    }
+
+    @Test
+    public void hitsAndMissesAreCounted() {
+        SigningKeyCache cache = new SigningKeyCache(3);
+        cache.get("secret", "region", "k1");
+        cache.add("secret", "region", "k1", KEY_1);
+        cache.get("secret", "region", "k1");
+        cache.get("secret", "region", "k1");
+
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void concurrentChurnStaysBounded() throws Exception {
+        SigningKeyCache cache = new SigningKeyCache(100);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        String service = "service-" + thread + "-" + (i % 500);
+                        if (cache.get("secret", "region", service) == null) {
+                            cache.add("secret", "region", service, KEY_1);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // A concurrent eviction may leave a few entries over the maximum.
+        assertThat(cache.size()).isLessThanOrEqualTo(100 + 4);
+        assertThat(cache.hitCount() + cache.missCount()).isEqualTo(40_000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroSize() {
+        new SigningKeyCache(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeSize() {
+        new SigningKeyCache(-1);
+    }
+
+    @Test
+    public void configuredSize_invalid_fallsBackToDefault() {
+        assertThat(AbstractAws4Signer.resolveSigningKeyCacheSize("50")).isEqualTo(50);
+        assertThat(AbstractAws4Signer.resolveSigningKeyCacheSize("lots")).isEqualTo(300);
+        assertThat(AbstractAws4Signer.resolveSigningKeyCacheSize("0")).isEqualTo(300);
+        assertThat(AbstractAws4Signer.resolveSigningKeyCacheSize("-5")).isEqualTo(300);
+    }
+}
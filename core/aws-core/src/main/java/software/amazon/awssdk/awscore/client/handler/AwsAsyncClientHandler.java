@@ -19,6 +19,7 @@ import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.Immutable;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.awscore.internal.client.config.AwsClientOptionValidation;
 import software.amazon.awssdk.awscore.internal.client.handler.AwsClientHandlerUtils;
 import software.amazon.awssdk.core.SdkRequest;
@@ -29,6 +30,7 @@ import software.amazon.awssdk.core.client.handler.ClientExecutionParams;
 import software.amazon.awssdk.core.client.handler.SdkAsyncClientHandler;
 import software.amazon.awssdk.core.http.ExecutionContext;
 import software.amazon.awssdk.core.internal.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
 
 /**
  * Async client handler for AWS SDK clients.
@@ -64,4 +66,17 @@ public final class AwsAsyncClientHandler extends SdkAsyncClientHandler implement
         return AwsClientHandlerUtils.createExecutionContext(originalRequest, clientConfiguration);
     }
 
+    /**
+     * Resolve the credentials without blocking if the credentials provider supports it, before the request is handed to the
+     * interceptors and signed. Cancelling the returned future cancels the resolution of the credentials.
+     */
+    @Override
+    protected CompletableFuture<ExecutionContext> createExecutionContextAsync(SdkRequest originalRequest) {
+        CompletableFuture<AwsCredentials> credentials =
+            AwsClientHandlerUtils.resolveCredentialsAsync(originalRequest, clientConfiguration);
+        CompletableFuture<ExecutionContext> context =
+            credentials.thenApply(c -> AwsClientHandlerUtils.createExecutionContext(originalRequest, clientConfiguration, c));
+        return CompletableFutureUtils.forwardExceptionTo(context, credentials);
+    }
+
 }
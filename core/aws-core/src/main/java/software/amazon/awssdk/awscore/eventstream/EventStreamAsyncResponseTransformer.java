@@ -27,11 +27,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
@@ -44,12 +49,14 @@ import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.async.SdkPublisher;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.http.HttpResponseHandler;
+import software.amazon.awssdk.core.http.JsonResponseHandler;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
 import software.amazon.awssdk.core.internal.util.ThrowableUtils;
 import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
-import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.eventstream.HeaderValue;
 import software.amazon.eventstream.Message;
 import software.amazon.eventstream.MessageDecoder;
 
@@ -70,6 +77,12 @@ public class EventStreamAsyncResponseTransformer<ResponseT, EventT>
 
     private static final ExecutionAttributes EMPTY_EXECUTION_ATTRIBUTES = new ExecutionAttributes();
 
+    /**
+     * Executor used to deliver events when none is configured. It is shared by all event streams so that each open stream
+     * does not hold a thread of its own; threads are only created while events are being delivered.
+     */
+    private static final Executor DEFAULT_EXECUTOR = createDefaultExecutor();
+
     /**
      * {@link EventStreamResponseHandler} provided by customer.
      */
@@ -104,9 +117,10 @@ public class EventStreamAsyncResponseTransformer<ResponseT, EventT>
 
     /**
      * Event stream message decoder that decodes the binary data into "frames". These frames are then passed to the
-     * unmarshaller to produce the event POJO.
+     * unmarshaller to produce the event POJO. The frames refer to the received data instead of copying it, which is safe
+     * because {@link #handleMessage(Message)} unmarshalls each frame before returning.
      */
-    private final MessageDecoder decoder = new MessageDecoder(this::handleMessage);
+    private final MessageDecoder decoder = MessageDecoder.zeroCopy(this::handleMessage);
 
     /**
      * Tracks whether we have delivered a terminal notification to the subscriber and response handler
@@ -169,7 +183,7 @@ public class EventStreamAsyncResponseTransformer<ResponseT, EventT>
         HttpResponseHandler<? extends EventT> eventResponseHandler,
         HttpResponseHandler<? extends Throwable> exceptionResponseHandler) {
         this(eventStreamResponseHandler, initialResponseHandler, eventResponseHandler, exceptionResponseHandler,
-             Executors.newSingleThreadScheduledExecutor(), new CompletableFuture<>(), "");
+             DEFAULT_EXECUTOR, new CompletableFuture<>(), "");
     }
 
     private EventStreamAsyncResponseTransformer(
@@ -185,7 +199,7 @@ public class EventStreamAsyncResponseTransformer<ResponseT, EventT>
         this.initialResponseHandler = initialResponseHandler;
         this.eventResponseHandler = eventResponseHandler;
         this.exceptionResponseHandler = exceptionResponseHandler;
-        this.executor = executor;
+        this.executor = executor != null ? executor : DEFAULT_EXECUTOR;
         this.future = future;
         this.serviceName = serviceName;
     }
@@ -273,13 +287,10 @@ public class EventStreamAsyncResponseTransformer<ResponseT, EventT>
         try {
             if (isEvent(m)) {
                 if (m.getHeaders().get(":event-type").getString().equals("initial-response")) {
-                    eventStreamResponseHandler.responseReceived(
-                        initialResponseHandler.handle(adaptMessageToResponse(m, false),
-                                                      EMPTY_EXECUTION_ATTRIBUTES));
+                    eventStreamResponseHandler.responseReceived(unmarshallEvent(initialResponseHandler, m));
                 } else {
                     // Add to queue to be delivered later by the executor
-                    eventsToDeliver.add(eventResponseHandler.handle(adaptMessageToResponse(m, false),
-                                                                    EMPTY_EXECUTION_ATTRIBUTES));
+                    eventsToDeliver.add(unmarshallEvent(eventResponseHandler, m));
                 }
             } else if (isError(m) || isException(m)) {
                 SdkHttpFullResponse errorResponse = adaptMessageToResponse(m, true);
@@ -292,6 +303,44 @@ public class EventStreamAsyncResponseTransformer<ResponseT, EventT>
         }
     }
 
+    /**
+     * Unmarshalls an event or initial-response message. JSON response handlers parse the message payload in place and read
+     * its headers as they are needed, so that no {@link SdkHttpFullResponse} is created for each event unless the
+     * unmarshaller asks for one. Other response handlers are given a response adapted from the message.
+     *
+     * @param responseHandler Response handler to unmarshall the message with.
+     * @param m Message frame.
+     * @return Unmarshalled object.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T unmarshallEvent(HttpResponseHandler<T> responseHandler, Message m) throws Exception {
+        if (responseHandler instanceof JsonResponseHandler) {
+            JsonResponseHandler<T> jsonResponseHandler = (JsonResponseHandler<T>) responseHandler;
+            Supplier<SdkHttpFullResponse> adaptedResponse = () -> adaptMessageToResponse(m, false);
+            return jsonResponseHandler.handle(m.getPayloadBuffer(), header -> getHeader(m, header), adaptedResponse);
+        }
+        return responseHandler.handle(adaptMessageToResponse(m, false), EMPTY_EXECUTION_ATTRIBUTES);
+    }
+
+    /**
+     * @param m Message frame.
+     * @param header Name of the header.
+     * @return Value of the header as a string, or null if the message does not have it. Like HTTP headers, names are
+     * matched case-insensitively.
+     */
+    private String getHeader(Message m, String header) {
+        HeaderValue value = m.getHeaders().get(header);
+        if (value != null) {
+            return value.getString();
+        }
+        for (Map.Entry<String, HeaderValue> entry : m.getHeaders().entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(header)) {
+                return entry.getValue().getString();
+            }
+        }
+        return X_AMZN_REQUEST_ID_HEADER.equalsIgnoreCase(header) ? requestId : null;
+    }
+
     /**
      * @param m Message frame.
      * @return True if frame is an event frame, false if not.
@@ -371,7 +420,7 @@ public class EventStreamAsyncResponseTransformer<ResponseT, EventT>
                 return;
             }
             synchronized (eventsToDeliver) {
-                decoder.feed(BinaryUtils.copyBytesFrom(buffer));
+                decoder.feed(buffer);
                 // If we have things to deliver, do so.
                 if (!eventsToDeliver.isEmpty()) {
                     isRequesting.compareAndSet(true, false);
@@ -485,12 +534,43 @@ public class EventStreamAsyncResponseTransformer<ResponseT, EventT>
                 // Deliver the event and recursively call ourselves after it's delivered
                 Object event = eventsToDeliver.remove();
                 remainingDemand.decrementAndGet();
-                CompletableFuture.runAsync(() -> deliverEvent(event), executor)
-                                 .thenRunAsync(this::drainEvents, executor);
+                try {
+                    CompletableFuture.runAsync(() -> deliverEvent(event), executor)
+                                     .thenRunAsync(this::drainEvents, executor)
+                                     .whenComplete(this::failIfRejected);
+                } catch (RejectedExecutionException e) {
+                    failDelivery(e);
+                }
             }
         }
     }
 
+    /**
+     * Fails this stream if the executor refused to run the next delivery or drain. Errors thrown by the subscriber are
+     * not handled here, they are the subscriber's responsibility.
+     */
+    private void failIfRejected(Void ignored, Throwable t) {
+        Throwable cause = t instanceof CompletionException ? t.getCause() : t;
+        if (cause instanceof RejectedExecutionException) {
+            failDelivery(cause);
+        }
+    }
+
+    /**
+     * Fails the subscriber and the future when an event could not be handed to the executor. This must not throw
+     * because it may run on the thread reading the response.
+     */
+    private void failDelivery(Throwable cause) {
+        isDelivering.set(false);
+        SdkClientException exception = SdkClientException.builder()
+                                                         .message("Unable to deliver event stream event, the executor "
+                                                                  + "rejected the task.")
+                                                         .cause(cause)
+                                                         .build();
+        runAndLogError(log, "Error thrown from exceptionOccurred, ignoring.", () -> exceptionOccurred(exception));
+        future.completeExceptionally(exception);
+    }
+
     /**
      * Delivers the event to the downstream subscriber. We already know the type so the cast is safe.
      */
@@ -499,6 +579,22 @@ public class EventStreamAsyncResponseTransformer<ResponseT, EventT>
         subscriberRef.get().onNext((EventT) event);
     }
 
+    /**
+     * Every thread is a core thread so the pool grows to its maximum before anything is queued, and idle threads still
+     * time out so nothing is held while no events are flowing.
+     */
+    private static Executor createDefaultExecutor() {
+        ThreadPoolExecutor executor =
+            new ThreadPoolExecutor(50, 50,
+                                   10, TimeUnit.SECONDS,
+                                   new LinkedBlockingQueue<>(10_000),
+                                   new ThreadFactoryBuilder().threadNamePrefix("sdk-event-stream")
+                                                             .daemonThreads(true)
+                                                             .build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     /**
      * Creates a {@link Builder} used to create {@link EventStreamAsyncResponseTransformer}.
      *
@@ -569,7 +665,9 @@ public class EventStreamAsyncResponseTransformer<ResponseT, EventT>
         }
 
         /**
-         * @param executor Executor used to deliver events.
+         * @param executor Executor used to deliver events. Generated clients use the
+         * {@link software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption#FUTURE_COMPLETION_EXECUTOR} of the
+         * client, so that all event streams of a client share it. If not set, an executor shared by all event streams is used.
          * @return This object for method chaining.
          */
         public Builder<ResponseT, EventT> executor(Executor executor) {
@@ -15,6 +15,7 @@
 
 package software.amazon.awssdk.awscore.eventstream;
 
+import com.fasterxml.jackson.core.JsonToken;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -85,12 +86,21 @@ public class EventStreamExceptionJsonUnmarshaller<T extends AwsServiceException>
 
     private static String extractErrorMessageFromPayload(JsonUnmarshallerContext context) {
         try {
-            do {
-                if (context.testExpression("message", 1)) {
-                    context.nextToken();
+            JsonToken token = context.getCurrentToken();
+            if (token == null) {
+                token = context.nextToken();
+            }
+            if (token != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (context.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = context.readText();
+                context.nextToken();
+                if ("message".equals(fieldName)) {
                     return context.getUnmarshaller(String.class).unmarshall(context);
                 }
-            } while (context.nextToken() != null);
+                context.skipValue();
+            }
         } catch (IOException e) {
             log.info("Could not parse error message from content");
         } catch (Exception e) {
@@ -19,8 +19,8 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
-import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import software.amazon.awssdk.annotations.ReviewBeforeRelease;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.awscore.internal.protocol.xml.VoidStaxUnmarshaller;
@@ -90,10 +90,10 @@ public final class StaxResponseHandler<T> implements HttpResponseHandler<T> {
         InputStream content = response.content().orElse(
             AbortableInputStream.create(new ByteArrayInputStream("<eof/>".getBytes(StandardCharsets.UTF_8))));
 
-        XMLEventReader eventReader = XmlUtils.xmlInputFactory().createXMLEventReader(content);
+        XMLStreamReader reader = XmlUtils.xmlInputFactory().createXMLStreamReader(content);
 
         try {
-            StaxUnmarshallerContext unmarshallerContext = new StaxUnmarshallerContext(eventReader, response.headers());
+            StaxUnmarshallerContext unmarshallerContext = new StaxUnmarshallerContext(reader, response.headers());
             unmarshallerContext.registerMetadataExpression("ResponseMetadata/RequestId", 2, SdkResponseMetadata.AWS_REQUEST_ID);
             unmarshallerContext.registerMetadataExpression("requestId", 2, SdkResponseMetadata.AWS_REQUEST_ID);
             registerAdditionalMetadataExpressions(unmarshallerContext);
@@ -105,7 +105,7 @@ public final class StaxResponseHandler<T> implements HttpResponseHandler<T> {
             return result;
         } finally {
             try {
-                eventReader.close();
+                reader.close();
             } catch (XMLStreamException e) {
                 log.warn(() -> "Error closing XML parser.", e);
             }
@@ -179,11 +179,11 @@ public final class StaxResponseHandler<T> implements HttpResponseHandler<T> {
      */
     private static <ResponseT extends SdkResponse> ResponseT unmarshallStreaming(Unmarshaller<ResponseT,
         StaxUnmarshallerContext> unmarshaller, SdkHttpFullResponse response) throws Exception {
-        // Create a dummy event reader to make unmarshallers happy
-        XMLEventReader eventReader = XmlUtils.xmlInputFactory().createXMLEventReader(
+        // Create a dummy reader to make unmarshallers happy
+        XMLStreamReader reader = XmlUtils.xmlInputFactory().createXMLStreamReader(
             new ByteArrayInputStream("<eof/>".getBytes(StandardCharsets.UTF_8)));
 
-        StaxUnmarshallerContext unmarshallerContext = new StaxUnmarshallerContext(eventReader, response.headers());
+        StaxUnmarshallerContext unmarshallerContext = new StaxUnmarshallerContext(reader, response.headers());
         unmarshallerContext.registerMetadataExpression("ResponseMetadata/RequestId", 2, SdkResponseMetadata.AWS_REQUEST_ID);
         unmarshallerContext.registerMetadataExpression("requestId", 2, SdkResponseMetadata.AWS_REQUEST_ID);
 
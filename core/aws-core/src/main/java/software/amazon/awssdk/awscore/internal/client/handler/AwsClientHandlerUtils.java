@@ -15,9 +15,11 @@
 
 package software.amazon.awssdk.awscore.internal.client.handler;
 
+import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.CredentialUtils;
 import software.amazon.awssdk.auth.signer.internal.AwsSignerExecutionAttribute;
 import software.amazon.awssdk.awscore.AwsExecutionAttribute;
 import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
@@ -43,16 +45,22 @@ public final class AwsClientHandlerUtils {
 
     public static ExecutionContext createExecutionContext(SdkRequest originalRequest,
                                                    SdkClientConfiguration clientConfig) {
+        AwsCredentials credentials = credentialsProvider(originalRequest, clientConfig).resolveCredentials();
+        return createExecutionContext(originalRequest, clientConfig, credentials);
+    }
 
-        AwsCredentialsProvider clientCredentials = clientConfig.option(AwsClientOption.CREDENTIALS_PROVIDER);
-        AwsCredentialsProvider credentialsProvider = originalRequest.overrideConfiguration()
-                                                                    .filter(c -> c instanceof AwsRequestOverrideConfiguration)
-                                                                    .map(c -> (AwsRequestOverrideConfiguration) c)
-                                                                    .flatMap(AwsRequestOverrideConfiguration::credentialsProvider)
-                                                                    .orElse(clientCredentials);
-
-        AwsCredentials credentials = credentialsProvider.resolveCredentials();
+    /**
+     * Resolve the credentials for a request with {@link CredentialUtils#resolveCredentialsAsync}, so that they are loaded
+     * without blocking the calling thread if the credentials provider supports it.
+     */
+    public static CompletableFuture<AwsCredentials> resolveCredentialsAsync(SdkRequest originalRequest,
+                                                                            SdkClientConfiguration clientConfig) {
+        return CredentialUtils.resolveCredentialsAsync(credentialsProvider(originalRequest, clientConfig));
+    }
 
+    public static ExecutionContext createExecutionContext(SdkRequest originalRequest,
+                                                          SdkClientConfiguration clientConfig,
+                                                          AwsCredentials credentials) {
         Validate.validState(credentials != null, "Credential providers must never return null.");
 
         ExecutionAttributes executionAttributes = new ExecutionAttributes()
@@ -79,6 +87,17 @@ public final class AwsClientHandlerUtils {
                                .build();
     }
 
+    // Credentials provider at request level gets priority over client config credentials provider
+    private static AwsCredentialsProvider credentialsProvider(SdkRequest originalRequest,
+                                                              SdkClientConfiguration clientConfig) {
+        AwsCredentialsProvider clientCredentials = clientConfig.option(AwsClientOption.CREDENTIALS_PROVIDER);
+        return originalRequest.overrideConfiguration()
+                              .filter(c -> c instanceof AwsRequestOverrideConfiguration)
+                              .map(c -> (AwsRequestOverrideConfiguration) c)
+                              .flatMap(AwsRequestOverrideConfiguration::credentialsProvider)
+                              .orElse(clientCredentials);
+    }
+
     // Signer at request level gets priority over client config signer
     private static Signer computeSigner(SdkRequest originalRequest,
                                         SdkClientConfiguration clientConfiguration) {
@@ -15,6 +15,7 @@
 
 package software.amazon.awssdk.awscore.internal.protocol.xml;
 
+import javax.xml.stream.XMLStreamConstants;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.awscore.protocol.xml.StaxUnmarshallerContext;
 import software.amazon.awssdk.core.runtime.transform.Unmarshaller;
@@ -26,7 +27,7 @@ import software.amazon.awssdk.core.runtime.transform.Unmarshaller;
 @SdkInternalApi
 public class VoidStaxUnmarshaller<T> implements Unmarshaller<T, StaxUnmarshallerContext> {
     public T unmarshall(StaxUnmarshallerContext context) throws Exception {
-        while (!context.nextEvent().isEndDocument()) {
+        while (context.nextEvent() != XMLStreamConstants.END_DOCUMENT) {
         }
         return null;
     }
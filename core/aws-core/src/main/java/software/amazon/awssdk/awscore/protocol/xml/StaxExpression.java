@@ -0,0 +1,103 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.awscore.protocol.xml;
+
+import java.util.ArrayList;
+import java.util.List;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+
+/**
+ * A pseudo-xpath expression, such as {@code Items/member} or {@code Grantee/@type}, compiled once into the element names
+ * and attribute name it is made of so that {@link StaxUnmarshallerContext} can test it against the current position in
+ * the document without building or comparing path strings. Generated unmarshallers keep the expressions of their members
+ * in constants.
+ */
+@Immutable
+@SdkProtectedApi
+public final class StaxExpression {
+
+    private static final StaxExpression ANY = new StaxExpression(".", new String[0], null);
+
+    private final String expression;
+    private final String[] elementNames;
+    private final String attributeName;
+
+    private StaxExpression(String expression, String[] elementNames, String attributeName) {
+        this.expression = expression;
+        this.elementNames = elementNames;
+        this.attributeName = attributeName;
+    }
+
+    /**
+     * Compile an expression made of element names separated by slashes, optionally ending with an attribute name prefixed
+     * by {@code @}. The expression {@code .} matches any position.
+     */
+    public static StaxExpression compile(String expression) {
+        if (".".equals(expression)) {
+            return ANY;
+        }
+        List<String> elementNames = new ArrayList<>();
+        String attributeName = null;
+        for (String segment : expression.split("/")) {
+            if (segment.startsWith("@")) {
+                attributeName = segment.substring(1).intern();
+            } else {
+                elementNames.add(segment.intern());
+            }
+        }
+        return new StaxExpression(expression, elementNames.toArray(new String[0]), attributeName);
+    }
+
+    /**
+     * @return Whether this expression matches any position.
+     */
+    boolean matchesAny() {
+        return this == ANY;
+    }
+
+    /**
+     * @return How much deeper than the depth the expression starts matching at the element it ends with is. Attributes do
+     * not count as a level.
+     */
+    int depthOffset() {
+        return Math.max(elementNames.length - 1, 0);
+    }
+
+    /**
+     * Tests this expression against the end of the given stack of element names and, if the current position is an
+     * attribute, its name. The last element name is compared first, since it is the one most likely to differ.
+     */
+    boolean matches(String[] stack, int depth, String currentAttributeName) {
+        if (attributeName == null ? currentAttributeName != null : !attributeName.equals(currentAttributeName)) {
+            return false;
+        }
+        if (elementNames.length > depth) {
+            return false;
+        }
+        for (int i = elementNames.length - 1, j = depth - 1; i >= 0; i--, j--) {
+            if (!elementNames[i].equals(stack[j])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
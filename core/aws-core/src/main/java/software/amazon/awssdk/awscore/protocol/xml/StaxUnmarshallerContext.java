@@ -15,17 +15,20 @@
 
 package software.amazon.awssdk.awscore.protocol.xml;
 
+import static javax.xml.stream.XMLStreamConstants.ATTRIBUTE;
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Stack;
-import javax.xml.stream.XMLEventReader;
-import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.Attribute;
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamReader;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 
 /**
@@ -35,42 +38,63 @@ import software.amazon.awssdk.annotations.SdkProtectedApi;
  * response. It also tracks the current position and element depth of the
  * document being parsed and provides utilties for accessing the next XML event
  * from the parser, reading element text, handling attribute XML events, etc.
+ *
+ * <p>The document is read with the cursor API of an {@link XMLStreamReader}, so reading it does not create an object per
+ * event. The position in the document is kept as a stack of the names of the enclosing elements, which
+ * {@link StaxExpression}s are compared against. The attributes of an element are reported as {@link
+ * javax.xml.stream.XMLStreamConstants#ATTRIBUTE} events following its start.
  */
 @SdkProtectedApi
 public final class StaxUnmarshallerContext {
 
-    public final Stack<String> stack = new Stack<>();
-    private final XMLEventReader eventReader;
+    private static final int NO_EVENT = -1;
+
+    private final XMLStreamReader reader;
     private final Map<String, String> headers;
-    private XMLEvent currentEvent;
-    private String stackString = "";
-    private Map<String, String> metadata = new HashMap<>();
-    private List<MetadataExpression> metadataExpressions = new ArrayList<>();
-    private Iterator<?> attributeIterator;
+    private final Map<String, String> metadata = new HashMap<>();
+    private final List<MetadataExpression> metadataExpressions = new ArrayList<>();
     private String currentHeader;
 
+    private int currentEvent = NO_EVENT;
+    private String[] elementNames = new String[16];
+    private int depth;
+
+    /**
+     * The attributes of the last element started, which are reported one by one after it.
+     */
+    private String[] attributeNames = new String[0];
+    private String[] attributeValues = new String[0];
+    private int attributeCount;
+    private int currentAttribute = -1;
+
+    /**
+     * Whether {@link #readText()} has already moved the reader to the end of the current element, which is reported by
+     * the next call to {@link #nextEvent()}.
+     */
+    private boolean pendingEndElement;
+
     /**
      * Constructs a new unmarshaller context using the specified source of XML events.
      *
-     * @param eventReader
+     * @param reader
      *            The source of XML events for this unmarshalling context.
      */
-    public StaxUnmarshallerContext(XMLEventReader eventReader) {
-        this(eventReader, new HashMap<>());
+    public StaxUnmarshallerContext(XMLStreamReader reader) {
+        this(reader, new HashMap<>());
     }
 
     /**
      * Constructs a new unmarshaller context using the specified source of XML
      * events, and a set of response headers.
      *
-     * @param eventReader
+     * @param reader
      *            The source of XML events for this unmarshalling context.
      * @param headers
      *            The set of response headers associated with this unmarshaller
      *            context.
      */
-    public StaxUnmarshallerContext(XMLEventReader eventReader, Map<String, List<String>> headers) {
-        this.eventReader = eventReader;
+    public StaxUnmarshallerContext(XMLStreamReader reader, Map<String, List<String>> headers) {
+        this.reader = reader;
 
         this.headers = headers.entrySet().stream()
                               .collect(HashMap::new, (m, e) -> m.put(e.getKey(), e.getValue().get(0)),
@@ -82,7 +106,7 @@ public final class StaxUnmarshallerContext {
     }
 
     public boolean isInsideResponseHeader() {
-        return currentEvent == null;
+        return currentEvent == NO_EVENT;
     }
 
     /**
@@ -108,7 +132,7 @@ public final class StaxUnmarshallerContext {
     }
 
     /**
-     * Returns the text contents of the current element being parsed.
+     * Returns the text contents of the current element being parsed, or the value of the current attribute.
      *
      * @return The text contents of the current element being parsed.
      */
@@ -116,23 +140,15 @@ public final class StaxUnmarshallerContext {
         if (isInsideResponseHeader()) {
             return getHeader(currentHeader);
         }
-        if (currentEvent.isAttribute()) {
-            Attribute attribute = (Attribute) currentEvent;
-            return attribute.getValue();
+        if (currentEvent == ATTRIBUTE) {
+            return attributeValues[currentAttribute];
         }
 
-        StringBuilder sb = new StringBuilder();
-        while (true) {
-            XMLEvent event = eventReader.peek();
-            if (event.getEventType() == XMLStreamConstants.CHARACTERS) {
-                eventReader.nextEvent();
-                sb.append(event.asCharacters().getData());
-            } else if (event.getEventType() == XMLStreamConstants.END_ELEMENT) {
-                return sb.toString();
-            } else {
-                throw new RuntimeException("Encountered unexpected event: " + event.toString());
-            }
-        }
+        // This moves the reader to the end of the element, which is reported by the next call to nextEvent()
+        String text = reader.getElementText();
+        pendingEndElement = true;
+        collectMetadata(text);
+        return text;
     }
 
     /**
@@ -143,7 +159,7 @@ public final class StaxUnmarshallerContext {
      *         document being parsed.
      */
     public int getCurrentDepth() {
-        return stack.size();
+        return depth;
     }
 
     /**
@@ -156,16 +172,16 @@ public final class StaxUnmarshallerContext {
      *         otherwise false.
      */
     public boolean testExpression(String expression) {
-        if (expression.equals(".")) {
-            return true;
-        }
-        return stackString.endsWith(expression);
+        StaxExpression compiled = StaxExpression.compile(expression);
+        return compiled.matchesAny() || compiled.matches(elementNames, depth, currentAttributeName());
     }
 
     /**
      * Tests the specified expression against the current position in the XML
      * document being parsed, and restricts the expression to matching at the
-     * specified stack depth.
+     * specified stack depth. Generated unmarshallers use
+     * {@link #testExpression(StaxExpression, int)} instead, with expressions they
+     * compile once.
      *
      * @param expression
      *            The pseudo-xpath expression to test.
@@ -177,21 +193,29 @@ public final class StaxUnmarshallerContext {
      *         the XML document, starting from the specified depth.
      */
     public boolean testExpression(String expression, int startingStackDepth) {
-        if (expression.equals(".")) {
-            return true;
-        }
+        return testExpression(StaxExpression.compile(expression), startingStackDepth);
+    }
 
-        int index = -1;
-        while ((index = expression.indexOf('/', index + 1)) > -1) {
-            // Don't consider attributes a new depth level
-            if (expression.charAt(index + 1) != '@') {
-                startingStackDepth++;
-            }
+    /**
+     * Tests the specified compiled expression against the current position in
+     * the XML document being parsed, and restricts the expression to matching
+     * at the specified stack depth.
+     *
+     * @param expression
+     *            The compiled pseudo-xpath expression to test.
+     * @param startingStackDepth
+     *            The depth in the stack representing where the expression must
+     *            start matching in order for this method to return true.
+     *
+     * @return True if the specified expression matches the current position in
+     *         the XML document, starting from the specified depth.
+     */
+    public boolean testExpression(StaxExpression expression, int startingStackDepth) {
+        if (expression.matchesAny()) {
+            return true;
         }
-
-
-        return (startingStackDepth == getCurrentDepth()
-                && stackString.endsWith("/" + expression));
+        return startingStackDepth + expression.depthOffset() == depth
+               && expression.matches(elementNames, depth, currentAttributeName());
     }
 
     /**
@@ -202,41 +226,72 @@ public final class StaxUnmarshallerContext {
      *         source document (i.e. no data has been parsed from the document
      *         yet).
      */
-    public boolean isStartOfDocument() throws XMLStreamException {
-        return eventReader.peek().isStartDocument();
+    public boolean isStartOfDocument() {
+        return currentEvent == NO_EVENT;
     }
 
     /**
-     * Returns the next XML event for the document being parsed.
-     *
-     * @return The next XML event for the document being parsed.
+     * Moves to the next XML event of the document being parsed.
      *
+     * @return The type of the next XML event, one of the {@link javax.xml.stream.XMLStreamConstants}. The first event is
+     * always the start of the document, and the end of the document is returned for as long as this is called afterwards.
      */
-    public XMLEvent nextEvent() throws XMLStreamException {
-        if (attributeIterator != null && attributeIterator.hasNext()) {
-            currentEvent = (XMLEvent) attributeIterator.next();
-        } else {
-            currentEvent = eventReader.nextEvent();
+    public int nextEvent() throws XMLStreamException {
+        if (currentAttribute + 1 < attributeCount) {
+            currentAttribute++;
+            currentEvent = ATTRIBUTE;
+            return currentEvent;
+        }
+        attributeCount = 0;
+        currentAttribute = -1;
+
+        if (pendingEndElement) {
+            pendingEndElement = false;
+            currentEvent = END_ELEMENT;
+        } else if (currentEvent == NO_EVENT) {
+            currentEvent = reader.getEventType();
+        } else if (currentEvent != END_DOCUMENT) {
+            currentEvent = reader.next();
         }
 
-        if (currentEvent.isStartElement()) {
-            attributeIterator = currentEvent.asStartElement().getAttributes();
+        switch (currentEvent) {
+            case START_ELEMENT:
+                startElement();
+                break;
+            case END_ELEMENT:
+                depth--;
+                break;
+            case CHARACTERS:
+            case CDATA:
+                if (!metadataExpressions.isEmpty()) {
+                    collectMetadata(reader.getText());
+                }
+                break;
+            default:
+                break;
         }
+        return currentEvent;
+    }
 
-        updateContext(currentEvent);
+    private void startElement() {
+        if (depth == elementNames.length) {
+            elementNames = Arrays.copyOf(elementNames, depth * 2);
+        }
+        elementNames[depth++] = reader.getLocalName();
 
-        if (eventReader.hasNext()) {
-            XMLEvent nextEvent = eventReader.peek();
-            if (nextEvent != null && nextEvent.isCharacters()) {
-                for (MetadataExpression metadataExpression : metadataExpressions) {
-                    if (testExpression(metadataExpression.expression, metadataExpression.targetDepth)) {
-                        metadata.put(metadataExpression.key, nextEvent.asCharacters().getData());
-                    }
-                }
-            }
+        attributeCount = reader.getAttributeCount();
+        if (attributeCount > attributeNames.length) {
+            attributeNames = new String[attributeCount];
+            attributeValues = new String[attributeCount];
         }
+        for (int i = 0; i < attributeCount; i++) {
+            attributeNames[i] = reader.getAttributeLocalName(i);
+            attributeValues[i] = reader.getAttributeValue(i);
+        }
+    }
 
-        return currentEvent;
+    private String currentAttributeName() {
+        return currentEvent == ATTRIBUTE ? attributeNames[currentAttribute] : null;
     }
 
     /**
@@ -265,35 +320,17 @@ public final class StaxUnmarshallerContext {
      *            The key under which to store the matching element's data.
      */
     public void registerMetadataExpression(String expression, int targetDepth, String storageKey) {
-        metadataExpressions.add(new MetadataExpression(expression, targetDepth, storageKey));
+        metadataExpressions.add(new MetadataExpression(StaxExpression.compile(expression), targetDepth, storageKey));
     }
 
-
-    /*
-     * Private Interface
+    /**
+     * Stores the text of the current element under the key of every metadata expression it matches.
      */
-
-    private void updateContext(XMLEvent event) {
-        if (event == null) {
-            return;
-        }
-
-        if (event.isEndElement()) {
-            stack.pop();
-            stackString = "";
-            for (String s : stack) {
-                stackString += "/" + s;
-            }
-        } else if (event.isStartElement()) {
-            stack.push(event.asStartElement().getName().getLocalPart());
-            stackString += "/" + event.asStartElement().getName().getLocalPart();
-        } else if (event.isAttribute()) {
-            Attribute attribute = (Attribute) event;
-            stackString = "";
-            for (String s : stack) {
-                stackString += "/" + s;
+    private void collectMetadata(String text) {
+        for (MetadataExpression metadataExpression : metadataExpressions) {
+            if (testExpression(metadataExpression.expression, metadataExpression.targetDepth)) {
+                metadata.put(metadataExpression.key, text);
             }
-            stackString += "/@" + attribute.getName().getLocalPart();
         }
     }
 
@@ -302,11 +339,11 @@ public final class StaxUnmarshallerContext {
      * unmarshaller context is looking for.
      */
     private static final class MetadataExpression {
-        private String expression;
-        private int targetDepth;
-        private String key;
+        private final StaxExpression expression;
+        private final int targetDepth;
+        private final String key;
 
-        MetadataExpression(String expression, int targetDepth, String key) {
+        MetadataExpression(StaxExpression expression, int targetDepth, String key) {
             this.expression = expression;
             this.targetDepth = targetDepth;
             this.key = key;
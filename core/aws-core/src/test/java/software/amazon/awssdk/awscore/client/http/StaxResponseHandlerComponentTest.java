@@ -28,6 +28,7 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import javax.xml.stream.XMLStreamConstants;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -83,7 +84,7 @@ public class StaxResponseHandlerComponentTest {
 
     private Unmarshaller<EmptyAwsResponse, StaxUnmarshallerContext> dummyUnmarshaller() {
         return staxContext -> {
-            while(!staxContext.nextEvent().isEndDocument()) {
+            while (staxContext.nextEvent() != XMLStreamConstants.END_DOCUMENT) {
                 //read the whole document
             }
             return EmptyAwsResponse.builder().build();
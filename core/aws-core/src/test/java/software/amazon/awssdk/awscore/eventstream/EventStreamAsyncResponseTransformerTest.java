@@ -17,14 +17,23 @@ package software.amazon.awssdk.awscore.eventstream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static software.amazon.awssdk.core.http.HttpResponseHandler.X_AMZN_REQUEST_ID_HEADER;
+
+import com.fasterxml.jackson.core.JsonFactory;
 
 import io.reactivex.Flowable;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import org.junit.Test;
@@ -34,6 +43,10 @@ import software.amazon.awssdk.core.SdkResponse;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.async.SdkPublisher;
 import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.core.http.JsonResponseHandler;
+import software.amazon.awssdk.core.runtime.transform.JsonUnmarshallerContext;
+import software.amazon.awssdk.core.runtime.transform.Unmarshaller;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.utils.ImmutableMap;
 import software.amazon.eventstream.HeaderValue;
 import software.amazon.eventstream.Message;
@@ -91,6 +104,78 @@ public class EventStreamAsyncResponseTransformerTest {
             .hasValue(1);
     }
 
+    @Test
+    public void jsonEvent_UnmarshalledFromMessagePayloadAndHeaders() throws Exception {
+        Message eventMessage = new Message(ImmutableMap.of(":message-type", HeaderValue.fromString("event"),
+                                                           ":event-type", HeaderValue.fromString("foo")),
+                                           "{\"value\":\"bar\"}".getBytes(StandardCharsets.UTF_8));
+        Unmarshaller<Object, JsonUnmarshallerContext> unmarshaller = context -> {
+            context.nextToken();
+            context.nextToken();
+            context.nextToken();
+            return context.getHeader(":event-type") + "=" + context.readText() + ","
+                   + context.getHeader(X_AMZN_REQUEST_ID_HEADER);
+        };
+        JsonResponseHandler<Object> eventResponseHandler =
+            new JsonResponseHandler<>(unmarshaller, new HashMap<>(), new JsonFactory(), false, true);
+
+        CompletableFuture<Object> event = new CompletableFuture<>();
+        AsyncResponseTransformer<SdkResponse, Void> transformer =
+            EventStreamAsyncResponseTransformer.builder()
+                                               .eventStreamResponseHandler(onEventStream(p -> p.subscribe(event::complete)))
+                                               .eventResponseHandler(eventResponseHandler)
+                                               .executor(Executors.newSingleThreadExecutor())
+                                               .future(new CompletableFuture<>())
+                                               .build();
+        transformer.responseReceived(responseWithRequestId("request-id"));
+        transformer.onStream(SdkPublisher.adapt(Flowable.just(eventMessage.toByteBuffer())));
+
+        assertThat(event.get(5, TimeUnit.SECONDS)).isEqualTo("foo=bar,request-id");
+    }
+
+    @Test
+    public void executorRejectsDelivery_FailsStreamInsteadOfThrowing() throws Exception {
+        Message eventMessage = new Message(ImmutableMap.of(":message-type", HeaderValue.fromString("event"),
+                                                           ":event-type", HeaderValue.fromString("foo")),
+                                           new byte[0]);
+
+        CompletableFuture<Throwable> subscriberError = new CompletableFuture<>();
+        Subscriber<Object> subscriber = new Subscriber<Object>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Object o) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                subscriberError.complete(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        };
+        Executor rejectingExecutor = r -> {
+            throw new RejectedExecutionException("full");
+        };
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        AsyncResponseTransformer<SdkResponse, Void> transformer =
+            EventStreamAsyncResponseTransformer.builder()
+                                               .eventStreamResponseHandler(onEventStream(p -> p.subscribe(subscriber)))
+                                               .eventResponseHandler((r, e) -> new Object())
+                                               .executor(rejectingExecutor)
+                                               .future(future)
+                                               .build();
+        transformer.onStream(SdkPublisher.adapt(Flowable.just(eventMessage.toByteBuffer())));
+
+        assertThat(subscriberError.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS)).hasRootCauseInstanceOf(RejectedExecutionException.class);
+    }
+
     @Test
     public void unknownExceptionEventsThrowException() {
         Map<String, HeaderValue> headers = new HashMap<>();
@@ -129,6 +214,15 @@ public class EventStreamAsyncResponseTransformerTest {
         assertThatThrownBy(transformer::complete).isSameAs(exception);
     }
 
+    private static SdkResponse responseWithRequestId(String requestId) {
+        SdkResponse response = mock(SdkResponse.class);
+        when(response.sdkHttpResponse()).thenReturn(SdkHttpFullResponse.builder()
+                                                                       .statusCode(200)
+                                                                       .putHeader(X_AMZN_REQUEST_ID_HEADER, requestId)
+                                                                       .build());
+        return response;
+    }
+
     private static class SubscribingResponseHandler implements EventStreamResponseHandler<Object, Object> {
 
         @Override
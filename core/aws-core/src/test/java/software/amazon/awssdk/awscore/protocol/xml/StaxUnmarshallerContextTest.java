@@ -0,0 +1,123 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.awscore.protocol.xml;
+
+import static javax.xml.stream.XMLStreamConstants.ATTRIBUTE;
+import static javax.xml.stream.XMLStreamConstants.END_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import javax.xml.stream.XMLStreamException;
+import org.junit.Test;
+import software.amazon.awssdk.utils.XmlUtils;
+
+public class StaxUnmarshallerContextTest {
+
+    private static final String DOCUMENT =
+        "<Response xmlns=\"http://example.com/\">"
+        + "<Items><member id=\"1\">one</member><member>two</member></Items>"
+        + "<ResponseMetadata><RequestId>request-id</RequestId></ResponseMetadata>"
+        + "</Response>";
+
+    @Test
+    public void startOfDocument_isReportedBeforeFirstEvent() throws Exception {
+        StaxUnmarshallerContext context = context(DOCUMENT);
+
+        assertThat(context.isStartOfDocument()).isTrue();
+        assertThat(context.nextEvent()).isEqualTo(START_DOCUMENT);
+        assertThat(context.isStartOfDocument()).isFalse();
+    }
+
+    @Test
+    public void compiledExpression_matchesElementsAtDepth() throws Exception {
+        StaxUnmarshallerContext context = context(DOCUMENT);
+        StaxExpression itemsMember = StaxExpression.compile("Items/member");
+
+        advanceToStartOf(context, "member");
+
+        assertThat(context.getCurrentDepth()).isEqualTo(3);
+        assertThat(context.testExpression(itemsMember, 2)).isTrue();
+        assertThat(context.testExpression(itemsMember, 1)).isFalse();
+        assertThat(context.testExpression(StaxExpression.compile("member"), 3)).isTrue();
+        assertThat(context.testExpression(StaxExpression.compile("Other/member"), 2)).isFalse();
+        assertThat(context.testExpression(StaxExpression.compile("."), 7)).isTrue();
+    }
+
+    @Test
+    public void attributes_areReportedAfterTheirElement() throws Exception {
+        StaxUnmarshallerContext context = context(DOCUMENT);
+
+        advanceToStartOf(context, "member");
+
+        assertThat(context.testExpression(StaxExpression.compile("member/@id"), 3)).isFalse();
+        assertThat(context.nextEvent()).isEqualTo(ATTRIBUTE);
+        assertThat(context.testExpression(StaxExpression.compile("member/@id"), 3)).isTrue();
+        assertThat(context.testExpression(StaxExpression.compile("member"), 3)).isFalse();
+        assertThat(context.readText()).isEqualTo("1");
+    }
+
+    @Test
+    public void readText_reportsEndOfElementNext() throws Exception {
+        StaxUnmarshallerContext context = context(DOCUMENT);
+
+        advanceToStartOf(context, "member");
+
+        assertThat(context.readText()).isEqualTo("one");
+        assertThat(context.nextEvent()).isEqualTo(ATTRIBUTE);
+        assertThat(context.nextEvent()).isEqualTo(END_ELEMENT);
+        assertThat(context.getCurrentDepth()).isEqualTo(2);
+        assertThat(context.nextEvent()).isEqualTo(START_ELEMENT);
+        assertThat(context.readText()).isEqualTo("two");
+    }
+
+    @Test
+    public void metadata_isCollectedWhetherOrNotTextIsRead() throws Exception {
+        StaxUnmarshallerContext skipping = context(DOCUMENT);
+        skipping.registerMetadataExpression("ResponseMetadata/RequestId", 2, "requestId");
+        while (skipping.nextEvent() != END_DOCUMENT) {
+        }
+        assertThat(skipping.getMetadata()).containsEntry("requestId", "request-id");
+
+        StaxUnmarshallerContext reading = context(DOCUMENT);
+        reading.registerMetadataExpression("ResponseMetadata/RequestId", 2, "requestId");
+        advanceToStartOf(reading, "RequestId");
+        assertThat(reading.readText()).isEqualTo("request-id");
+        assertThat(reading.getMetadata()).containsEntry("requestId", "request-id");
+    }
+
+    @Test
+    public void endOfDocument_isReportedRepeatedly() throws Exception {
+        StaxUnmarshallerContext context = context("<eof/>");
+
+        while (context.nextEvent() != END_DOCUMENT) {
+        }
+
+        assertThat(context.nextEvent()).isEqualTo(END_DOCUMENT);
+        assertThat(context.getCurrentDepth()).isZero();
+    }
+
+    private static void advanceToStartOf(StaxUnmarshallerContext context, String elementName) throws XMLStreamException {
+        while (context.nextEvent() != START_ELEMENT || !context.testExpression(elementName)) {
+        }
+    }
+
+    private static StaxUnmarshallerContext context(String document) throws XMLStreamException {
+        return new StaxUnmarshallerContext(XmlUtils.xmlInputFactory().createXMLStreamReader(new StringReader(document)));
+    }
+}
@@ -55,10 +55,11 @@ public final class RegionMetadataLoader {
     }
 
     /**
-     * Loads the partition files from the {@link #PARTITIONS_OVERRIDE_RESOURCE_PATH}. If no files are present, then
-     * loads the partition files from the {@link #PARTITIONS_RESOURCE_PATH}
+     * Loads the partition file from the {@link #PARTITIONS_OVERRIDE_RESOURCE_PATH}. If no file is present, then uses the
+     * partitions of the {@link #PARTITIONS_RESOURCE_PATH} file, which were turned into code by {@link GeneratedPartitions}
+     * when this module was built, so that they do not have to be parsed.
      * <p>
-     * Builds the {@link RegionMetadata} from the partition files.
+     * Builds the {@link RegionMetadata} from the partitions.
      */
     public static RegionMetadata getRegionMetadata(Region region) {
         if (provider == null) {
@@ -85,16 +86,24 @@ public final class RegionMetadataLoader {
             provider = new PartitionMetadataProvider(
                     loadPartitionFromStream(stream, PARTITIONS_OVERRIDE_RESOURCE_PATH).getPartitions());
         } else {
-            stream = CLASS_LOADER.getResourceAsStream(PARTITIONS_RESOURCE_PATH);
-            if (stream == null) {
-                throw SdkClientException.builder()
-                                        .message("Unable to load partition metadata from " + PARTITIONS_RESOURCE_PATH)
-                                        .build();
-            }
-            provider = new PartitionMetadataProvider(loadPartitionFromStream(stream, PARTITIONS_RESOURCE_PATH).getPartitions());
+            provider = new PartitionMetadataProvider(GeneratedPartitions.partitions());
         }
     }
 
+    /**
+     * Loads the partitions by parsing the {@link #PARTITIONS_RESOURCE_PATH} file, which is what {@link GeneratedPartitions}
+     * was generated from.
+     */
+    public static Partitions loadPartitionsFromResource() {
+        InputStream stream = CLASS_LOADER.getResourceAsStream(PARTITIONS_RESOURCE_PATH);
+        if (stream == null) {
+            throw SdkClientException.builder()
+                                    .message("Unable to load partition metadata from " + PARTITIONS_RESOURCE_PATH)
+                                    .build();
+        }
+        return loadPartitionFromStream(stream, PARTITIONS_RESOURCE_PATH);
+    }
+
     private static Partitions loadPartitionFromStream(InputStream stream, String location) {
 
         try {
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.regions.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import software.amazon.awssdk.regions.internal.model.Partition;
+
+/**
+ * Tests that the partitions generated at build time are the same as the ones parsed from endpoints.json.
+ */
+public class GeneratedPartitionsTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void generatedPartitionsMatchParsedPartitions() {
+        List<Partition> parsed = RegionMetadataLoader.loadPartitionsFromResource().getPartitions();
+        List<Partition> generated = GeneratedPartitions.partitions();
+
+        assertThat(toTree(generated)).isEqualTo(toTree(parsed));
+    }
+
+    @Test
+    public void generatedPartitionsKeepTheOrderOfEndpointsJson() {
+        List<Partition> parsed = RegionMetadataLoader.loadPartitionsFromResource().getPartitions();
+        List<Partition> generated = GeneratedPartitions.partitions();
+
+        assertThat(generated).extracting(Partition::getPartition)
+                             .containsExactlyElementsOf(partitionIds(parsed));
+        for (int i = 0; i < parsed.size(); i++) {
+            assertThat(generated.get(i).getRegions().keySet()).containsExactlyElementsOf(parsed.get(i).getRegions().keySet());
+            assertThat(generated.get(i).getServices().keySet()).containsExactlyElementsOf(parsed.get(i).getServices().keySet());
+            Partition generatedPartition = generated.get(i);
+            parsed.get(i).getServices().forEach((id, service) -> {
+                assertThat(generatedPartition.getServices().get(id).getEndpoints().keySet())
+                    .containsExactlyElementsOf(service.getEndpoints().keySet());
+            });
+        }
+    }
+
+    @Test
+    public void eachCallReturnsNewPartitions() {
+        assertThat(GeneratedPartitions.partitions().get(0)).isNotSameAs(GeneratedPartitions.partitions().get(0));
+    }
+
+    private static List<String> partitionIds(List<Partition> partitions) {
+        List<String> ids = new ArrayList<>();
+        partitions.forEach(p -> ids.add(p.getPartition()));
+        return ids;
+    }
+
+    private static JsonNode toTree(List<Partition> partitions) {
+        return MAPPER.valueToTree(partitions);
+    }
+}
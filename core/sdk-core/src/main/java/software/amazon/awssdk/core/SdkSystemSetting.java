@@ -118,6 +118,12 @@ public enum SdkSystemSetting implements SystemSetting {
      */
     BINARY_ION_ENABLED("aws.binaryIonEnabled", "true"),
 
+    /**
+     * The maximum number of derived SigV4 signing keys that are cached, shared by all signers in the JVM. One key is needed for
+     * each combination of credentials, region and service that requests are signed with.
+     */
+    AWS_SIGNING_KEY_CACHE_SIZE("aws.signingKeyCacheSize", "300"),
+
     /**
      * The execution environment of the SDK user. This is automatically set in certain environments by the underlying AWS service.
      * For example, AWS Lambda will automatically specify a runtime indicating that the SDK is being used within Lambda.
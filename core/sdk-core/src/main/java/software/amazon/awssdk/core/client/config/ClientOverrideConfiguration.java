@@ -28,6 +28,7 @@ import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
 import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.capacity.RetryCapacity;
 import software.amazon.awssdk.utils.AttributeMap;
 import software.amazon.awssdk.utils.CollectionUtils;
 import software.amazon.awssdk.utils.ToString;
@@ -46,6 +47,7 @@ public final class ClientOverrideConfiguration
     implements ToCopyableBuilder<ClientOverrideConfiguration.Builder, ClientOverrideConfiguration> {
     private final Map<String, List<String>> headers;
     private final RetryPolicy retryPolicy;
+    private final RetryCapacity retryCapacity;
     private final List<ExecutionInterceptor> executionInterceptors;
     private final AttributeMap advancedOptions;
     private final Duration apiCallAttemptTimeout;
@@ -57,6 +59,7 @@ public final class ClientOverrideConfiguration
     private ClientOverrideConfiguration(Builder builder) {
         this.headers = CollectionUtils.deepUnmodifiableMap(builder.headers(), () -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER));
         this.retryPolicy = builder.retryPolicy();
+        this.retryCapacity = builder.retryCapacity();
         this.executionInterceptors = Collections.unmodifiableList(new ArrayList<>(builder.executionInterceptors()));
         this.advancedOptions = builder.advancedOptions();
         this.apiCallTimeout = Validate.isPositiveOrNull(builder.apiCallTimeout(), "apiCallTimeout");
@@ -68,6 +71,7 @@ public final class ClientOverrideConfiguration
         return new DefaultClientOverrideConfigurationBuilder().advancedOptions(advancedOptions.toBuilder())
                                                               .headers(headers)
                                                               .retryPolicy(retryPolicy)
+                                                              .retryCapacity(retryCapacity)
                                                               .apiCallTimeout(apiCallTimeout)
                                                               .apiCallAttemptTimeout(apiCallAttemptTimeout)
                                                               .executionInterceptors(executionInterceptors);
@@ -101,6 +105,15 @@ public final class ClientOverrideConfiguration
         return Optional.ofNullable(retryPolicy);
     }
 
+    /**
+     * The optional retry capacity that retry attempts should draw from.
+     *
+     * @see Builder#retryCapacity(RetryCapacity)
+     */
+    public Optional<RetryCapacity> retryCapacity() {
+        return Optional.ofNullable(retryCapacity);
+    }
+
     /**
      * Load the optional requested advanced option that was configured on the client builder.
      *
@@ -162,6 +175,7 @@ public final class ClientOverrideConfiguration
         return ToString.builder("ClientOverrideConfiguration")
                        .add("headers", headers)
                        .add("retryPolicy", retryPolicy)
+                       .add("retryCapacity", retryCapacity)
                        .add("apiCallTimeout", apiCallTimeout)
                        .add("apiCallAttemptTimeout", apiCallAttemptTimeout)
                        .add("executionInterceptors", executionInterceptors)
@@ -232,6 +246,21 @@ public final class ClientOverrideConfiguration
             return retryPolicy(RetryPolicy.builder().applyMutation(retryPolicy).build());
         }
 
+        /**
+         * Configure the capacity that retry attempts draw from. When the capacity is exhausted, failed requests are not retried
+         * until successful requests have refilled it. How much each retry costs and how much each success returns is decided by
+         * the {@link #retryPolicy(RetryPolicy)}.
+         *
+         * <p>
+         * The same instance may be shared by several clients, and may be kept to monitor its available and consumed capacity.
+         * If not set, each client uses its own {@link RetryCapacity#defaultRetryCapacity()}.
+         *
+         * @see ClientOverrideConfiguration#retryCapacity()
+         */
+        Builder retryCapacity(RetryCapacity retryCapacity);
+
+        RetryCapacity retryCapacity();
+
         /**
          * Configure a list of execution interceptors that will have access to read and modify the request and response objcets as
          * they are processed by the SDK. These will replace any interceptors configured previously with this method or
@@ -333,6 +362,7 @@ public final class ClientOverrideConfiguration
     private static final class DefaultClientOverrideConfigurationBuilder implements Builder {
         private Map<String, List<String>> headers = new HashMap<>();
         private RetryPolicy retryPolicy;
+        private RetryCapacity retryCapacity;
         private List<ExecutionInterceptor> executionInterceptors = new ArrayList<>();
         private AttributeMap.Builder advancedOptions = AttributeMap.builder();
         private Duration apiCallTimeout;
@@ -377,6 +407,21 @@ public final class ClientOverrideConfiguration
             return retryPolicy;
         }
 
+        @Override
+        public Builder retryCapacity(RetryCapacity retryCapacity) {
+            this.retryCapacity = retryCapacity;
+            return this;
+        }
+
+        public void setRetryCapacity(RetryCapacity retryCapacity) {
+            retryCapacity(retryCapacity);
+        }
+
+        @Override
+        public RetryCapacity retryCapacity() {
+            return retryCapacity;
+        }
+
         @Override
         public Builder executionInterceptors(List<ExecutionInterceptor> executionInterceptors) {
             Validate.paramNotNull(executionInterceptors, "executionInterceptors");
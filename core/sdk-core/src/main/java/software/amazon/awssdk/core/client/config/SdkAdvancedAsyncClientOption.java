@@ -37,6 +37,9 @@ public final class SdkAdvancedAsyncClientOption<T> extends ClientOption<T> {
      * clients. By default, this is an the {@link ExecutorService} managed by the SDK. {@link Executor#execute(Runnable)} is
      * invoked by the async HTTP client's thread, so {@code Runnable::run} will complete the future on a non-blocking async
      * thread.
+     *
+     * <p>The executor is also used to deliver the events of event stream operations to their subscribers. It is shared by
+     * all the event streams of a client, so it does not need a thread per open stream.
      */
     public static final SdkAdvancedAsyncClientOption<Executor> FUTURE_COMPLETION_EXECUTOR =
             new SdkAdvancedAsyncClientOption<>(Executor.class);
@@ -48,6 +48,19 @@ public class SdkAdvancedClientOption<T> extends ClientOption<T> {
      */
     public static final SdkAdvancedClientOption<Signer> SIGNER = new SdkAdvancedClientOption<>(Signer.class);
 
+    /**
+     * Whether a request body of unknown length that does not support mark and reset should be recorded so that it can be sent
+     * again on a retry. Only the first 128 KiB of the body are kept in memory; the rest, up to 1 GiB, is written to a temporary
+     * file. This is disabled by default, in which case only the first 128 KiB of such a body are buffered in memory, and a
+     * request that fails after sending more than that is not retried.
+     *
+     * <p>This does not let a body of unknown length be signed or measured in full. For example, S3 requires the length of an
+     * upload before it is sent, so an S3 request body of unknown length that is larger than 128 KiB is rejected whether or not
+     * this is enabled. Such content must be given a Content-Length, or be uploaded in parts with a multipart upload.
+     */
+    public static final SdkAdvancedClientOption<Boolean> SPILL_REQUEST_BODY_TO_DISK =
+            new SdkAdvancedClientOption<>(Boolean.class);
+
     protected SdkAdvancedClientOption(Class<T> valueClass) {
         super(valueClass);
     }
@@ -17,6 +17,7 @@ package software.amazon.awssdk.core.client.handler;
 
 import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
@@ -26,6 +27,7 @@ import software.amazon.awssdk.core.SdkResponse;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.http.ExecutionContext;
 import software.amazon.awssdk.core.http.HttpResponseHandler;
@@ -47,6 +49,7 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
     private final SdkClientConfiguration clientConfiguration;
     private final AmazonAsyncHttpClient client;
     private final Function<SdkHttpFullResponse, SdkHttpFullResponse> crc32Validator;
+    private final Executor futureCompletionExecutor;
 
     protected BaseAsyncClientHandler(SdkClientConfiguration clientConfiguration,
                                      AmazonAsyncHttpClient client) {
@@ -54,20 +57,23 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
         this.clientConfiguration = clientConfiguration;
         this.client = client;
         this.crc32Validator = response -> Crc32Validation.validate(isCalculateCrc32FromCompressedData(), response);
+        this.futureCompletionExecutor =
+            clientConfiguration.option(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR);
     }
 
     @Override
     public <InputT extends SdkRequest, OutputT extends SdkResponse> CompletableFuture<OutputT> execute(
         ClientExecutionParams<InputT, OutputT> executionParams) {
-        ExecutionContext executionContext = createExecutionContext(executionParams.getInput());
+        return executeWithContext(executionParams.getInput(), executionContext -> {
+            HttpResponseHandler<OutputT> decoratedResponseHandlers =
+                decorateResponseHandlers(executionParams.getResponseHandler(), executionContext);
 
-        HttpResponseHandler<OutputT> decoratedResponseHandlers =
-            decorateResponseHandlers(executionParams.getResponseHandler(), executionContext);
+            SdkHttpResponseHandler<OutputT> sdkHttpResponseHandler =
+                new SyncResponseHandlerAdapter<>(decoratedResponseHandlers, crc32Validator,
+                                                 executionContext.executionAttributes());
 
-        SdkHttpResponseHandler<OutputT> sdkHttpResponseHandler =
-            new SyncResponseHandlerAdapter<>(decoratedResponseHandlers, crc32Validator, executionContext.executionAttributes());
-
-        return execute(executionParams, executionContext, sdkHttpResponseHandler);
+            return execute(executionParams, executionContext, sdkHttpResponseHandler);
+        });
     }
 
     @Override
@@ -75,10 +81,58 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
         ClientExecutionParams<InputT, OutputT> executionParams,
         AsyncResponseTransformer<OutputT, ReturnT> asyncResponseTransformer) {
 
-        ExecutionContext context = createExecutionContext(executionParams.getInput());
+        return executeWithContext(executionParams.getInput(), context -> {
+            UnmarshallingSdkHttpResponseHandler<OutputT, ReturnT> responseHandler =
+                new UnmarshallingSdkHttpResponseHandler<>(asyncResponseTransformer, context,
+                                                          executionParams.getResponseHandler());
+            return execute(executionParams, context, responseHandler);
+        });
+    }
+
+    /**
+     * Create the execution context for a request without blocking the calling thread, e.g. while credentials are loaded. By
+     * default, this creates the context with {@link #createExecutionContext(SdkRequest)} on the calling thread.
+     *
+     * @return A future that is completed with the execution context, or exceptionally if it could not be created.
+     */
+    protected CompletableFuture<ExecutionContext> createExecutionContextAsync(SdkRequest originalRequest) {
+        return CompletableFuture.completedFuture(createExecutionContext(originalRequest));
+    }
+
+    /**
+     * Create the execution context for a request and then execute it. When the context is available straight away, which is
+     * the common case, the request is executed on the calling thread. Otherwise, it is executed on the client's future
+     * completion executor once the context is available, unless the returned future has been cancelled by then. This keeps
+     * the request pipeline off the thread that completes the context, which may be shared by all clients (e.g. a credential
+     * refresh thread). Cancelling the returned future also cancels the creation of the context.
+     */
+    private <ReturnT> CompletableFuture<ReturnT> executeWithContext(
+        SdkRequest originalRequest,
+        Function<ExecutionContext, CompletableFuture<ReturnT>> execution) {
+
+        CompletableFuture<ExecutionContext> contextFuture = createExecutionContextAsync(originalRequest);
+        if (contextFuture.isDone() && !contextFuture.isCompletedExceptionally()) {
+            return execution.apply(contextFuture.join());
+        }
 
-        return execute(executionParams, context, new UnmarshallingSdkHttpResponseHandler<>(asyncResponseTransformer, context,
-                                                                                           executionParams.getResponseHandler()));
+        CompletableFuture<ReturnT> result = new CompletableFuture<>();
+        CompletableFutureUtils.forwardExceptionTo(result, contextFuture);
+        contextFuture.whenCompleteAsync((context, error) -> {
+            if (error != null) {
+                result.completeExceptionally(CompletableFutureUtils.unwrap(error));
+                return;
+            }
+            if (result.isDone()) {
+                // Cancelled while the context was created
+                return;
+            }
+            try {
+                CompletableFutureUtils.forwardResultTo(execution.apply(context), result);
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        }, futureCompletionExecutor);
+        return result;
     }
 
     private <InputT extends SdkRequest, OutputT, ReturnT> CompletableFuture<ReturnT> execute(
@@ -19,8 +19,12 @@ import static software.amazon.awssdk.utils.Validate.paramNotNull;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.ReviewBeforeRelease;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.core.SdkStandardLogger;
@@ -120,6 +124,42 @@ public final class JsonResponseHandler<T> implements HttpResponseHandler<T> {
         }
     }
 
+    /**
+     * Unmarshalls content that is not read from an HTTP response, such as an event stream message, straight from its
+     * payload and headers instead of first adapting it into an {@link SdkHttpFullResponse}.
+     *
+     * @param payload The payload to parse. It is read from its position to its limit without being copied, and its position is
+     * left unchanged.
+     * @param headers Returns the value of the given header, or null if there is no such header.
+     * @param httpResponseSupplier Creates an HTTP response equivalent to the content, for the few unmarshallers that need
+     * one, such as those of a blob payload.
+     * @return The unmarshalled object.
+     */
+    public T handle(ByteBuffer payload, Function<String, String> headers,
+                    Supplier<SdkHttpFullResponse> httpResponseSupplier) throws Exception {
+        JsonParser jsonParser = null;
+
+        if (shouldParsePayloadAsJson()) {
+            jsonParser = jsonFactory.createParser(new ByteBufferBackedInputStream(payload.duplicate()));
+        }
+
+        try {
+            JsonUnmarshallerContext unmarshallerContext = new JsonUnmarshallerContextImpl(
+                    jsonParser, simpleTypeUnmarshallers, headers, httpResponseSupplier);
+            registerAdditionalMetadataExpressions(unmarshallerContext);
+
+            return responseUnmarshaller.unmarshall(unmarshallerContext);
+        } finally {
+            if (jsonParser != null) {
+                try {
+                    jsonParser.close();
+                } catch (IOException e) {
+                    log.warn(() -> "Error closing JSON parser.", e);
+                }
+            }
+        }
+    }
+
     /**
      * Hook for subclasses to override in order to collect additional metadata from service
      * responses.
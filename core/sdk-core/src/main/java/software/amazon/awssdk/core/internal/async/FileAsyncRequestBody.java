@@ -29,6 +29,7 @@ import org.reactivestreams.Subscription;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.internal.util.NoopSubscription;
+import software.amazon.awssdk.utils.Validate;
 import software.amazon.awssdk.utils.builder.SdkBuilder;
 
 /**
@@ -55,15 +56,30 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
      */
     private final int chunkSizeInBytes;
 
+    /**
+     * Offset in the file of the first byte to read.
+     */
+    private final long position;
+
+    /**
+     * Number of bytes to read, or null to read to the end of the file.
+     */
+    private final Long numBytesToRead;
+
     private FileAsyncRequestBody(DefaultBuilder builder) {
         this.path = builder.path;
         this.chunkSizeInBytes = builder.chunkSizeInBytes == null ? DEFAULT_CHUNK_SIZE : builder.chunkSizeInBytes;
+        this.position = builder.position == null ? 0 : builder.position;
+        this.numBytesToRead = builder.numBytesToRead;
+        Validate.isTrue(position >= 0, "position must not be negative");
+        Validate.isTrue(numBytesToRead == null || numBytesToRead >= 0, "numBytesToRead must not be negative");
     }
 
     @Override
     public long contentLength() {
         try {
-            return Files.size(path);
+            long remainingInFile = Math.max(Files.size(path) - position, 0);
+            return numBytesToRead == null ? remainingInFile : Math.min(numBytesToRead, remainingInFile);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -77,7 +93,8 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
             // We need to synchronize here because the subscriber could call
             // request() from within onSubscribe which would potentially
             // trigger onNext before onSubscribe is finished.
-            Subscription subscription = new FileSubscription(channel, s, chunkSizeInBytes);
+            Subscription subscription = new FileSubscription(channel, s, chunkSizeInBytes, position,
+                                                             numBytesToRead == null ? Long.MAX_VALUE : numBytesToRead);
             synchronized (subscription) {
                 s.onSubscribe(subscription);
             }
@@ -121,12 +138,32 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
          */
         Builder chunkSizeInBytes(Integer chunkSize);
 
+        /**
+         * Sets the offset in the file of the first byte to send, so that only part of the file is sent. By default the file
+         * is sent from its beginning.
+         *
+         * @param position Offset in bytes of the first byte to read.
+         * @return This builder for method chaining.
+         */
+        Builder position(Long position);
+
+        /**
+         * Sets the number of bytes to send, starting at {@link #position(Long)}. By default the file is sent to its end. Fewer
+         * bytes are sent if the file ends first.
+         *
+         * @param numBytesToRead Number of bytes to read.
+         * @return This builder for method chaining.
+         */
+        Builder numBytesToRead(Long numBytesToRead);
+
     }
 
     private static final class DefaultBuilder implements Builder {
 
         private Path path;
         private Integer chunkSizeInBytes;
+        private Long position;
+        private Long numBytesToRead;
 
         @Override
         public Builder path(Path path) {
@@ -148,6 +185,26 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
             chunkSizeInBytes(chunkSizeInBytes);
         }
 
+        @Override
+        public Builder position(Long position) {
+            this.position = position;
+            return this;
+        }
+
+        public void setPosition(Long position) {
+            position(position);
+        }
+
+        @Override
+        public Builder numBytesToRead(Long numBytesToRead) {
+            this.numBytesToRead = numBytesToRead;
+            return this;
+        }
+
+        public void setNumBytesToRead(Long numBytesToRead) {
+            numBytesToRead(numBytesToRead);
+        }
+
         @Override
         public FileAsyncRequestBody build() {
             return new FileAsyncRequestBody(this);
@@ -162,15 +219,19 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
         private final Subscriber<? super ByteBuffer> subscriber;
         private final int chunkSize;
 
-        private long position = 0;
+        private long position;
+        private long remaining;
         private AtomicLong outstandingDemand = new AtomicLong(0);
         private boolean writeInProgress = false;
         private volatile boolean done = false;
 
-        private FileSubscription(AsynchronousFileChannel inputChannel, Subscriber<? super ByteBuffer> subscriber, int chunkSize) {
+        private FileSubscription(AsynchronousFileChannel inputChannel, Subscriber<? super ByteBuffer> subscriber, int chunkSize,
+                                 long position, long numBytesToRead) {
             this.inputChannel = inputChannel;
             this.subscriber = subscriber;
             this.chunkSize = chunkSize;
+            this.position = position;
+            this.remaining = numBytesToRead;
         }
 
         @Override
@@ -224,13 +285,21 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
                 return;
             }
 
-            final ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+            if (remaining == 0) {
+                // Read the whole range, notify the subscriber and cleanup
+                signalOnComplete();
+                closeFile();
+                return;
+            }
+
+            final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(chunkSize, remaining));
             inputChannel.read(buffer, position, buffer, new CompletionHandler<Integer, ByteBuffer>() {
                 @Override
                 public void completed(Integer result, ByteBuffer attachment) {
                     if (result > 0) {
                         attachment.flip();
                         position += attachment.remaining();
+                        remaining -= attachment.remaining();
                         signalOnNext(attachment);
                         // If we have more permits, queue up another read.
                         if (outstandingDemand.decrementAndGet() > 0) {
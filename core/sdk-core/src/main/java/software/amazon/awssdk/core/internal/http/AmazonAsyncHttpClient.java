@@ -22,10 +22,12 @@ import software.amazon.awssdk.annotations.ReviewBeforeRelease;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.ThreadSafe;
 import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.http.ExecutionContext;
 import software.amazon.awssdk.core.internal.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipelineBuilder;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.AfterExecutionInterceptorsStage;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.ApplyTransactionIdStage;
@@ -41,8 +43,7 @@ import software.amazon.awssdk.core.internal.http.pipeline.stages.MergeCustomQuer
 import software.amazon.awssdk.core.internal.http.pipeline.stages.MoveParametersToBodyStage;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.SigningStage;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.UnwrapResponseContainer;
-import software.amazon.awssdk.core.internal.retry.SdkDefaultRetrySetting;
-import software.amazon.awssdk.core.internal.util.CapacityManager;
+import software.amazon.awssdk.core.retry.capacity.RetryCapacity;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.async.SdkHttpRequestProvider;
 import software.amazon.awssdk.http.async.SdkHttpResponseHandler;
@@ -54,17 +55,45 @@ import software.amazon.awssdk.utils.SdkAutoCloseable;
 public final class AmazonAsyncHttpClient implements SdkAutoCloseable {
     private final HttpClientDependencies httpClientDependencies;
 
+    /**
+     * Built once per client and shared by every request. Anything that is specific to a single request is carried by the
+     * {@link RequestExecutionContext}.
+     */
+    private final RequestPipeline<SdkHttpFullRequest, CompletableFuture<Object>> requestPipeline;
+
     public AmazonAsyncHttpClient(SdkClientConfiguration clientConfiguration) {
         this.httpClientDependencies = HttpClientDependencies.builder()
                                                             .clientConfiguration(clientConfiguration)
-                                                            .capacityManager(createCapacityManager())
+                                                            .retryCapacity(resolveRetryCapacity(clientConfiguration))
                                                             .build();
+        this.requestPipeline = createRequestPipeline(httpClientDependencies);
+    }
+
+    private static RequestPipeline<SdkHttpFullRequest, CompletableFuture<Object>> createRequestPipeline(
+        HttpClientDependencies dependencies) {
+        return RequestPipelineBuilder
+            .first(RequestPipelineBuilder
+                       .first(MakeRequestMutableStage::new)
+                       .then(ApplyTransactionIdStage::new)
+                       .then(ApplyUserAgentStage::new)
+                       .then(MergeCustomHeadersStage::new)
+                       .then(MergeCustomQueryParamsStage::new)
+                       .then(MoveParametersToBodyStage::new)
+                       .then(MakeRequestImmutableStage::new)
+                       .then(RequestPipelineBuilder
+                                 .first(SigningStage::new)
+                                 .then(BeforeTransmissionExecutionInterceptorsStage::new)
+                                 .then(d -> new MakeAsyncHttpRequestStage<Object>(d))
+                                 .wrappedWith(AsyncRetryableStage::new)::build)
+                       .then(async(() -> new UnwrapResponseContainer<Object>()))
+                       .then(async(() -> new AfterExecutionInterceptorsStage<Object>()))::build)
+            .wrappedWith(AsyncExecutionFailureExceptionReportingStage::new)
+            .build(dependencies);
     }
 
-    private CapacityManager createCapacityManager() {
-        // When enabled, total retry capacity is computed based on retry cost and desired number of retries.
-        // TODO: Allow customers to configure throttled retries (https://github.com/aws/aws-sdk-java-v2/issues/17)
-        return new CapacityManager(SdkDefaultRetrySetting.RETRY_THROTTLING_COST * SdkDefaultRetrySetting.THROTTLED_RETRIES);
+    private static RetryCapacity resolveRetryCapacity(SdkClientConfiguration clientConfiguration) {
+        RetryCapacity retryCapacity = clientConfiguration.option(SdkClientOption.RETRY_CAPACITY);
+        return retryCapacity != null ? retryCapacity : RetryCapacity.defaultRetryCapacity();
     }
 
     /**
@@ -185,27 +214,11 @@ public final class AmazonAsyncHttpClient implements SdkAutoCloseable {
         @Override
         public <OutputT> CompletableFuture<OutputT> execute(SdkHttpResponseHandler<OutputT> responseHandler) {
             try {
-                return RequestPipelineBuilder
-                    .first(RequestPipelineBuilder
-                               .first(MakeRequestMutableStage::new)
-                               .then(ApplyTransactionIdStage::new)
-                               .then(ApplyUserAgentStage::new)
-                               .then(MergeCustomHeadersStage::new)
-                               .then(MergeCustomQueryParamsStage::new)
-                               .then(MoveParametersToBodyStage::new)
-                               .then(MakeRequestImmutableStage::new)
-                               .then(RequestPipelineBuilder
-                                         .first(SigningStage::new)
-                                         .then(BeforeTransmissionExecutionInterceptorsStage::new)
-                                         .then(d -> new MakeAsyncHttpRequestStage<>(responseHandler, errorResponseHandler, d))
-                                         .wrappedWith((deps, wrapped) ->
-                                                          new AsyncRetryableStage<>(responseHandler, deps, wrapped))
-                                         ::build)
-                               .then(async(() -> new UnwrapResponseContainer<>()))
-                               .then(async(() -> new AfterExecutionInterceptorsStage<>()))::build)
-                    .wrappedWith(AsyncExecutionFailureExceptionReportingStage::new)
-                    .build(httpClientDependencies)
-                    .execute(request, createRequestExecutionDependencies());
+                @SuppressWarnings("unchecked")
+                CompletableFuture<OutputT> result =
+                    (CompletableFuture<OutputT>) (CompletableFuture<?>) requestPipeline.execute(
+                        request, createRequestExecutionDependencies(responseHandler));
+                return result;
             } catch (RuntimeException e) {
                 throw e;
             } catch (Exception e) {
@@ -213,11 +226,13 @@ public final class AmazonAsyncHttpClient implements SdkAutoCloseable {
             }
         }
 
-        private RequestExecutionContext createRequestExecutionDependencies() {
+        private RequestExecutionContext createRequestExecutionDependencies(SdkHttpResponseHandler<?> responseHandler) {
             return RequestExecutionContext.builder()
                                           .requestProvider(requestProvider)
                                           .originalRequest(originalRequest)
                                           .executionContext(executionContext)
+                                          .asyncResponseHandler(responseHandler)
+                                          .asyncErrorResponseHandler(errorResponseHandler)
                                           .build();
         }
 
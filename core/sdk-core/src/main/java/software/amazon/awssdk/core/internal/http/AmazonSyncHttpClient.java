@@ -20,6 +20,7 @@ import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.ThreadSafe;
 import software.amazon.awssdk.core.Request;
 import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.http.ExecutionContext;
@@ -27,6 +28,7 @@ import software.amazon.awssdk.core.http.HttpResponseHandler;
 import software.amazon.awssdk.core.http.SdkHttpFullRequestAdapter;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.internal.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipelineBuilder;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.AfterExecutionInterceptorsStage;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.AfterTransmissionExecutionInterceptorsStage;
@@ -46,8 +48,7 @@ import software.amazon.awssdk.core.internal.http.pipeline.stages.MoveParametersT
 import software.amazon.awssdk.core.internal.http.pipeline.stages.RetryableStage;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.SigningStage;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.UnwrapResponseContainer;
-import software.amazon.awssdk.core.internal.retry.SdkDefaultRetrySetting;
-import software.amazon.awssdk.core.internal.util.CapacityManager;
+import software.amazon.awssdk.core.retry.capacity.RetryCapacity;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
@@ -64,17 +65,51 @@ public final class AmazonSyncHttpClient implements SdkAutoCloseable {
 
     private final HttpClientDependencies httpClientDependencies;
 
+    /**
+     * The stages of the pipeline are stateless, so it is built once per client and shared by every request. Anything that is
+     * specific to a single request is carried by the {@link RequestExecutionContext}.
+     */
+    private final RequestPipeline<SdkHttpFullRequest, Object> requestPipeline;
+
     public AmazonSyncHttpClient(SdkClientConfiguration clientConfiguration) {
         this.httpClientDependencies = HttpClientDependencies.builder()
                                                             .clientConfiguration(clientConfiguration)
-                                                            .capacityManager(createCapacityManager())
+                                                            .retryCapacity(resolveRetryCapacity(clientConfiguration))
                                                             .build();
+        this.requestPipeline = createRequestPipeline(httpClientDependencies);
+    }
+
+    private static RequestPipeline<SdkHttpFullRequest, Object> createRequestPipeline(HttpClientDependencies dependencies) {
+        return RequestPipelineBuilder
+            // Start of mutating request
+            .first(RequestPipelineBuilder
+                       .first(MakeRequestMutableStage::new)
+                       .then(ApplyTransactionIdStage::new)
+                       .then(ApplyUserAgentStage::new)
+                       .then(MergeCustomHeadersStage::new)
+                       .then(MergeCustomQueryParamsStage::new)
+                       .then(MoveParametersToBodyStage::new)
+                       .then(MakeRequestImmutableStage::new)
+                       // End of mutating request
+                       .then(RequestPipelineBuilder
+                                 .first(SigningStage::new)
+                                 .then(BeforeTransmissionExecutionInterceptorsStage::new)
+                                 .then(MakeHttpRequestStage::new)
+                                 .then(AfterTransmissionExecutionInterceptorsStage::new)
+                                 .then(Crc32ValidationStage::new)
+                                 .then(BeforeUnmarshallingExecutionInterceptorsStage::new)
+                                 .then(() -> new HandleResponseStage<Object>())
+                                 .wrappedWith(RetryableStage::new)::build)
+                       .wrappedWith(StreamManagingStage::new)::build)
+            .then(() -> new UnwrapResponseContainer<>())
+            .then(() -> new AfterExecutionInterceptorsStage<>())
+            .wrappedWith(ExecutionFailureExceptionReportingStage::new)
+            .build(dependencies);
     }
 
-    private CapacityManager createCapacityManager() {
-        // When enabled, total retry capacity is computed based on retry cost and desired number of retries.
-        // TODO: Allow customers to configure throttled retries (https://github.com/aws/aws-sdk-java-v2/issues/17)
-        return new CapacityManager(SdkDefaultRetrySetting.RETRY_THROTTLING_COST * SdkDefaultRetrySetting.THROTTLED_RETRIES);
+    private static RetryCapacity resolveRetryCapacity(SdkClientConfiguration clientConfiguration) {
+        RetryCapacity retryCapacity = clientConfiguration.option(SdkClientOption.RETRY_CAPACITY);
+        return retryCapacity != null ? retryCapacity : RetryCapacity.defaultRetryCapacity();
     }
 
     /**
@@ -242,34 +277,9 @@ public final class AmazonSyncHttpClient implements SdkAutoCloseable {
             }
 
             try {
-                return RequestPipelineBuilder
-                    // Start of mutating request
-                    .first(RequestPipelineBuilder
-                                   .first(MakeRequestMutableStage::new)
-                                   .then(ApplyTransactionIdStage::new)
-                                   .then(ApplyUserAgentStage::new)
-                                   .then(MergeCustomHeadersStage::new)
-                                   .then(MergeCustomQueryParamsStage::new)
-                                   .then(MoveParametersToBodyStage::new)
-                                   .then(MakeRequestImmutableStage::new)
-                                   // End of mutating request
-                                   .then(RequestPipelineBuilder
-                                             .first(SigningStage::new)
-                                             .then(BeforeTransmissionExecutionInterceptorsStage::new)
-                                             .then(MakeHttpRequestStage::new)
-                                             .then(AfterTransmissionExecutionInterceptorsStage::new)
-                                             .then(Crc32ValidationStage::new)
-                                             .then(BeforeUnmarshallingExecutionInterceptorsStage::new)
-                                             .then(() -> new HandleResponseStage<>(
-                                                 getNonNullResponseHandler(responseHandler),
-                                                 getNonNullResponseHandler(errorResponseHandler)))
-                                             .wrappedWith(RetryableStage::new)::build)
-                                   .wrappedWith(StreamManagingStage::new)::build)
-                    .then(() -> new UnwrapResponseContainer<>())
-                    .then(() -> new AfterExecutionInterceptorsStage<>())
-                    .wrappedWith(ExecutionFailureExceptionReportingStage::new)
-                    .build(httpClientDependencies)
-                    .execute(request, createRequestExecutionDependencies());
+                @SuppressWarnings("unchecked")
+                OutputT result = (OutputT) requestPipeline.execute(request, createRequestExecutionDependencies(responseHandler));
+                return result;
             } catch (RuntimeException e) {
                 throw e;
             } catch (Exception e) {
@@ -282,10 +292,12 @@ public final class AmazonSyncHttpClient implements SdkAutoCloseable {
             execute(null);
         }
 
-        private RequestExecutionContext createRequestExecutionDependencies() {
+        private RequestExecutionContext createRequestExecutionDependencies(HttpResponseHandler<?> responseHandler) {
             return RequestExecutionContext.builder()
                                           .originalRequest(originalRequest)
                                           .executionContext(executionContext)
+                                          .responseHandler(getNonNullResponseHandler(responseHandler))
+                                          .errorResponseHandler(getNonNullResponseHandler(errorResponseHandler))
                                           .build();
         }
 
@@ -22,7 +22,8 @@ import software.amazon.awssdk.core.SdkGlobalTime;
 import software.amazon.awssdk.core.internal.client.config.SdkClientConfiguration;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipelineBuilder;
-import software.amazon.awssdk.core.internal.util.CapacityManager;
+import software.amazon.awssdk.core.internal.http.timers.HashedWheelTimer;
+import software.amazon.awssdk.core.retry.capacity.RetryCapacity;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
 
 /**
@@ -32,7 +33,8 @@ import software.amazon.awssdk.utils.SdkAutoCloseable;
 @SdkInternalApi
 public final class HttpClientDependencies implements SdkAutoCloseable {
     private final SdkClientConfiguration clientConfiguration;
-    private final CapacityManager capacityManager;
+    private final RetryCapacity retryCapacity;
+    private final HashedWheelTimer timeoutTimer;
 
     /**
      * Time offset may be mutated by {@link RequestPipeline} implementations if a clock skew is detected.
@@ -41,7 +43,8 @@ public final class HttpClientDependencies implements SdkAutoCloseable {
 
     private HttpClientDependencies(Builder builder) {
         this.clientConfiguration = paramNotNull(builder.clientConfiguration, "ClientConfiguration");
-        this.capacityManager = paramNotNull(builder.capacityManager, "CapacityManager");
+        this.retryCapacity = paramNotNull(builder.retryCapacity, "RetryCapacity");
+        this.timeoutTimer = builder.timeoutTimer != null ? builder.timeoutTimer : HashedWheelTimer.shared();
     }
 
     public static Builder builder() {
@@ -53,10 +56,17 @@ public final class HttpClientDependencies implements SdkAutoCloseable {
     }
 
     /**
-     * @return CapacityManager object used for retry throttling.
+     * @return RetryCapacity object used for retry throttling.
      */
-    public CapacityManager retryCapacity() {
-        return capacityManager;
+    public RetryCapacity retryCapacity() {
+        return retryCapacity;
+    }
+
+    /**
+     * @return Timer used to enforce the api call and api call attempt timeouts of synchronous requests.
+     */
+    public HashedWheelTimer timeoutTimer() {
+        return timeoutTimer;
     }
 
     /**
@@ -84,7 +94,8 @@ public final class HttpClientDependencies implements SdkAutoCloseable {
      */
     public static class Builder {
         private SdkClientConfiguration clientConfiguration;
-        private CapacityManager capacityManager;
+        private RetryCapacity retryCapacity;
+        private HashedWheelTimer timeoutTimer;
 
         private Builder() {}
 
@@ -93,8 +104,13 @@ public final class HttpClientDependencies implements SdkAutoCloseable {
             return this;
         }
 
-        public Builder capacityManager(CapacityManager capacityManager) {
-            this.capacityManager = capacityManager;
+        public Builder retryCapacity(RetryCapacity retryCapacity) {
+            this.retryCapacity = retryCapacity;
+            return this;
+        }
+
+        public Builder timeoutTimer(HashedWheelTimer timeoutTimer) {
+            this.timeoutTimer = timeoutTimer;
             return this;
         }
 
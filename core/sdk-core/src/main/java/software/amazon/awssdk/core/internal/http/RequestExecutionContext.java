@@ -20,13 +20,16 @@ import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.RequestOverrideConfiguration;
 import software.amazon.awssdk.core.SdkRequest;
 import software.amazon.awssdk.core.SdkRequestOverrideConfiguration;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.http.ExecutionContext;
+import software.amazon.awssdk.core.http.HttpResponseHandler;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
 import software.amazon.awssdk.core.internal.http.timers.TimeoutTracker;
 import software.amazon.awssdk.core.internal.interceptor.ExecutionInterceptorChain;
 import software.amazon.awssdk.core.signer.Signer;
 import software.amazon.awssdk.http.async.SdkHttpRequestProvider;
+import software.amazon.awssdk.http.async.SdkHttpResponseHandler;
 import software.amazon.awssdk.utils.Validate;
 
 /**
@@ -40,12 +43,21 @@ public final class RequestExecutionContext {
     private final SdkHttpRequestProvider requestProvider;
     private final SdkRequest originalRequest;
     private final ExecutionContext executionContext;
+    private final HttpResponseHandler<?> responseHandler;
+    private final HttpResponseHandler<? extends SdkException> errorResponseHandler;
+    private final SdkHttpResponseHandler<?> asyncResponseHandler;
+    private final SdkHttpResponseHandler<? extends SdkException> asyncErrorResponseHandler;
     private TimeoutTracker apiCallTimeoutTracker;
+    private TimeoutTracker apiCallAttemptTimeoutTracker;
 
     private RequestExecutionContext(Builder builder) {
         this.requestProvider = builder.requestProvider;
         this.originalRequest = Validate.paramNotNull(builder.originalRequest, "originalRequest");
         this.executionContext = Validate.paramNotNull(builder.executionContext, "executionContext");
+        this.responseHandler = builder.responseHandler;
+        this.errorResponseHandler = builder.errorResponseHandler;
+        this.asyncResponseHandler = builder.asyncResponseHandler;
+        this.asyncErrorResponseHandler = builder.asyncErrorResponseHandler;
     }
 
     /**
@@ -94,6 +106,44 @@ public final class RequestExecutionContext {
         return executionContext.signer();
     }
 
+    /**
+     * The response handler for a request executed by {@link AmazonSyncHttpClient}. The pipeline is shared by every request
+     * made with a client, so the handler travels with the request instead of being captured by a pipeline stage.
+     *
+     * @param <OutputT> Result type of the handler. Callers are responsible for requesting the type the handler was created with.
+     * @return Response handler for successful responses.
+     */
+    @SuppressWarnings("unchecked")
+    public <OutputT> HttpResponseHandler<OutputT> responseHandler() {
+        return (HttpResponseHandler<OutputT>) responseHandler;
+    }
+
+    /**
+     * @return Response handler for error responses of a request executed by {@link AmazonSyncHttpClient}.
+     */
+    public HttpResponseHandler<? extends SdkException> errorResponseHandler() {
+        return errorResponseHandler;
+    }
+
+    /**
+     * The response handler for a request executed by {@link AmazonAsyncHttpClient}.
+     *
+     * @param <OutputT> Result type of the handler. Callers are responsible for requesting the type the handler was created with.
+     * @return Response handler for successful responses.
+     * @see #responseHandler()
+     */
+    @SuppressWarnings("unchecked")
+    public <OutputT> SdkHttpResponseHandler<OutputT> asyncResponseHandler() {
+        return (SdkHttpResponseHandler<OutputT>) asyncResponseHandler;
+    }
+
+    /**
+     * @return Response handler for error responses of a request executed by {@link AmazonAsyncHttpClient}.
+     */
+    public SdkHttpResponseHandler<? extends SdkException> asyncErrorResponseHandler() {
+        return asyncErrorResponseHandler;
+    }
+
     /**
      * @return Tracker task for the {@link TimeoutTracker}.
      */
@@ -109,6 +159,20 @@ public final class RequestExecutionContext {
         this.apiCallTimeoutTracker = timeoutTracker;
     }
 
+    /**
+     * @return Tracker task for the api call attempt timeout of the current attempt.
+     */
+    public TimeoutTracker apiCallAttemptTimeoutTracker() {
+        return apiCallAttemptTimeoutTracker;
+    }
+
+    /**
+     * Sets the tracker task for the api call attempt timeout. Should be called once per attempt.
+     */
+    public void apiCallAttemptTimeoutTracker(TimeoutTracker timeoutTracker) {
+        this.apiCallAttemptTimeoutTracker = timeoutTracker;
+    }
+
 
     /**
      * An SDK-internal implementation of {@link Builder}.
@@ -118,6 +182,10 @@ public final class RequestExecutionContext {
         private SdkHttpRequestProvider requestProvider;
         private SdkRequest originalRequest;
         private ExecutionContext executionContext;
+        private HttpResponseHandler<?> responseHandler;
+        private HttpResponseHandler<? extends SdkException> errorResponseHandler;
+        private SdkHttpResponseHandler<?> asyncResponseHandler;
+        private SdkHttpResponseHandler<? extends SdkException> asyncErrorResponseHandler;
 
         public Builder requestProvider(SdkHttpRequestProvider requestProvider) {
             this.requestProvider = requestProvider;
@@ -134,6 +202,26 @@ public final class RequestExecutionContext {
             return this;
         }
 
+        public Builder responseHandler(HttpResponseHandler<?> responseHandler) {
+            this.responseHandler = responseHandler;
+            return this;
+        }
+
+        public Builder errorResponseHandler(HttpResponseHandler<? extends SdkException> errorResponseHandler) {
+            this.errorResponseHandler = errorResponseHandler;
+            return this;
+        }
+
+        public Builder asyncResponseHandler(SdkHttpResponseHandler<?> asyncResponseHandler) {
+            this.asyncResponseHandler = asyncResponseHandler;
+            return this;
+        }
+
+        public Builder asyncErrorResponseHandler(SdkHttpResponseHandler<? extends SdkException> asyncErrorResponseHandler) {
+            this.asyncErrorResponseHandler = asyncErrorResponseHandler;
+            return this;
+        }
+
         public RequestExecutionContext build() {
             return new RequestExecutionContext(this);
         }
@@ -15,6 +15,7 @@
 
 package software.amazon.awssdk.core.internal.http;
 
+import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.SPILL_REQUEST_BODY_TO_DISK;
 import static software.amazon.awssdk.core.internal.http.AmazonSyncHttpClient.unreliableTestConfig;
 import static software.amazon.awssdk.utils.IoUtils.closeQuietly;
 
@@ -23,8 +24,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Optional;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.RequestOption;
 import software.amazon.awssdk.core.internal.Response;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
+import software.amazon.awssdk.core.internal.io.SpillingReplayInputStream;
 import software.amazon.awssdk.core.internal.util.UnreliableFilterInputStream;
 import software.amazon.awssdk.core.io.ReleasableInputStream;
 import software.amazon.awssdk.core.io.ResettableInputStream;
@@ -43,10 +46,19 @@ public final class StreamManagingStage<OutputT> implements RequestPipeline<SdkHt
 
     private static final Logger log = Logger.loggerFor(StreamManagingStage.class);
 
+    /**
+     * The maximum number of bytes of a request body of unknown length that can be spilled and sent again on a retry. Only the
+     * first {@link RequestOption#DEFAULT_STREAM_BUFFER_SIZE} bytes are kept in memory, and the rest in a temporary file.
+     */
+    private static final long MAX_REPLAY_BYTES = 1L << 30;
+
     private final RequestPipeline<SdkHttpFullRequest, Response<OutputT>> wrapped;
+    private final boolean spillToDisk;
 
-    public StreamManagingStage(RequestPipeline<SdkHttpFullRequest, Response<OutputT>> wrapped) {
+    public StreamManagingStage(HttpClientDependencies dependencies,
+                               RequestPipeline<SdkHttpFullRequest, Response<OutputT>> wrapped) {
         this.wrapped = wrapped;
+        this.spillToDisk = Boolean.TRUE.equals(dependencies.clientConfiguration().option(SPILL_REQUEST_BODY_TO_DISK));
     }
 
     @Override
@@ -80,7 +92,7 @@ public final class StreamManagingStage<OutputT> implements RequestPipeline<SdkHt
     private Optional<InputStream> createManagedStream(SdkHttpFullRequest request) {
         return request.content()
                       .map(this::makeResettable)
-                      .map(this::bufferIfNeeded)
+                      .map(content -> bufferIfNeeded(content, request))
                       .map(content -> unreliableTestConfig == null ? content : makeUnreliable(content));
     }
 
@@ -103,13 +115,22 @@ public final class StreamManagingStage<OutputT> implements RequestPipeline<SdkHt
     }
 
     /**
-     * Buffer input stream if needed. We buffer to be able to reset a non-resettable stream.
+     * Buffer input stream if needed. We buffer to be able to reset a non-resettable stream. If
+     * {@link software.amazon.awssdk.core.client.config.SdkAdvancedClientOption#SPILL_REQUEST_BODY_TO_DISK} is enabled, a
+     * stream of unknown length is buffered in a replay buffer that spills to disk, because signers may read it to the end to
+     * compute its length or hash before it is sent, and it is usually too large to be buffered in memory.
      *
      * @param content Input stream to buffer
-     * @return SdkBufferedInputStream if needed, otherwise original input stream.
+     * @return SdkBufferedInputStream or SpillingReplayInputStream if needed, otherwise original input stream.
      */
-    private InputStream bufferIfNeeded(InputStream content) {
-        return content.markSupported() ? content : new SdkBufferedInputStream(content);
+    private InputStream bufferIfNeeded(InputStream content, SdkHttpFullRequest request) {
+        if (content.markSupported()) {
+            return content;
+        }
+        if (spillToDisk && !request.firstMatchingHeader("Content-Length").isPresent()) {
+            return new SpillingReplayInputStream(content, RequestOption.DEFAULT_STREAM_BUFFER_SIZE, MAX_REPLAY_BYTES);
+        }
+        return new SdkBufferedInputStream(content);
     }
 
     /**
@@ -15,8 +15,8 @@
 
 package software.amazon.awssdk.core.internal.http.pipeline.stages;
 
-import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.internal.http.InterruptMonitor;
 import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
@@ -30,17 +30,14 @@ import software.amazon.awssdk.http.SdkHttpFullRequest;
 public class ApplyTransactionIdStage implements MutableRequestToRequestPipeline {
     public static final String HEADER_SDK_TRANSACTION_ID = "amz-sdk-invocation-id";
 
-    /**
-     * Used to generate UUID's for client transaction id. This gives a higher probability of id
-     * clashes but is more performant then using {@link UUID#randomUUID()} which uses SecureRandom
-     * internally.
-     **/
-    private final Random random = new Random();
-
     @Override
     public SdkHttpFullRequest.Builder execute(SdkHttpFullRequest.Builder request, RequestExecutionContext context)
             throws Exception {
         InterruptMonitor.checkInterrupted();
+        // Used to generate UUID's for client transaction id. This gives a higher probability of id clashes but is more
+        // performant than using UUID#randomUUID() which uses SecureRandom internally, and the stage is shared by every
+        // request of a client, so each thread uses its own random number generator.
+        ThreadLocalRandom random = ThreadLocalRandom.current();
         return request.putHeader(HEADER_SDK_TRANSACTION_ID, new UUID(random.nextLong(), random.nextLong()).toString());
     }
 }
@@ -42,12 +42,11 @@ import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
 import software.amazon.awssdk.core.internal.http.timers.TimeoutTracker;
 import software.amazon.awssdk.core.internal.retry.RetryHandler;
-import software.amazon.awssdk.core.internal.util.CapacityManager;
 import software.amazon.awssdk.core.internal.util.ClockSkewUtil;
 import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.core.retry.RetryUtils;
+import software.amazon.awssdk.core.retry.capacity.RetryCapacity;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
-import software.amazon.awssdk.http.async.SdkHttpResponseHandler;
 import software.amazon.awssdk.utils.OptionalUtils;
 
 /**
@@ -61,16 +60,13 @@ public final class AsyncRetryableStage<OutputT> implements RequestPipeline<SdkHt
 
     private final RequestPipeline<SdkHttpFullRequest, CompletableFuture<Response<OutputT>>> requestPipeline;
     private final ScheduledExecutorService scheduledExecutor;
-    private final SdkHttpResponseHandler<OutputT> responseHandler;
     private final HttpClientDependencies dependencies;
-    private final CapacityManager retryCapacity;
+    private final RetryCapacity retryCapacity;
     private final RetryPolicy retryPolicy;
     private final SdkClientConfiguration clientConfig;
 
-    public AsyncRetryableStage(SdkHttpResponseHandler<OutputT> responseHandler,
-                               HttpClientDependencies dependencies,
+    public AsyncRetryableStage(HttpClientDependencies dependencies,
                                RequestPipeline<SdkHttpFullRequest, CompletableFuture<Response<OutputT>>> requestPipeline) {
-        this.responseHandler = responseHandler;
         this.dependencies = dependencies;
         this.scheduledExecutor = dependencies.clientConfiguration().option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE);
         this.retryPolicy = dependencies.clientConfiguration().option(SdkClientOption.RETRY_POLICY);
@@ -180,7 +176,7 @@ public final class AsyncRetryableStage<OutputT> implements RequestPipeline<SdkHt
          * delivered to the response handler.
          */
         private void deliverExceptionToResponseHandler(SdkException retryableException) {
-            responseHandler.exceptionOccurred(retryableException);
+            context.asyncResponseHandler().exceptionOccurred(retryableException);
         }
 
         private void executeRetry(CompletableFuture<Response<OutputT>> future) {
@@ -196,7 +192,6 @@ public final class AsyncRetryableStage<OutputT> implements RequestPipeline<SdkHt
         }
 
         private void beforeExecute() {
-            retryHandler.retryCapacityConsumed(false);
             ++requestCount;
         }
 
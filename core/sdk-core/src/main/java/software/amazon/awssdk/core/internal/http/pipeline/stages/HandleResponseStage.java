@@ -43,15 +43,6 @@ import software.amazon.awssdk.utils.IoUtils;
 public class HandleResponseStage<OutputT> implements RequestPipeline<SdkHttpFullResponse, Response<OutputT>> {
     private static final Logger log = LoggerFactory.getLogger(HandleResponseStage.class);
 
-    private final HttpResponseHandler<OutputT> successResponseHandler;
-    private final HttpResponseHandler<? extends SdkException> errorResponseHandler;
-
-    public HandleResponseStage(HttpResponseHandler<OutputT> successResponseHandler,
-                               HttpResponseHandler<? extends SdkException> errorResponseHandler) {
-        this.successResponseHandler = successResponseHandler;
-        this.errorResponseHandler = errorResponseHandler;
-    }
-
     @Override
     public Response<OutputT> execute(SdkHttpFullResponse httpResponse, RequestExecutionContext context) throws Exception {
         boolean didRequestFail = true;
@@ -60,7 +51,7 @@ public class HandleResponseStage<OutputT> implements RequestPipeline<SdkHttpFull
             didRequestFail = response.isFailure();
             return response;
         } finally {
-            closeInputStreamIfNeeded(httpResponse, didRequestFail);
+            closeInputStreamIfNeeded(httpResponse, context, didRequestFail);
         }
     }
 
@@ -87,6 +78,7 @@ public class HandleResponseStage<OutputT> implements RequestPipeline<SdkHttpFull
             throws IOException, InterruptedException {
         try {
             SdkStandardLogger.REQUEST_LOGGER.debug(() -> "Received successful response: " + httpResponse.statusCode());
+            HttpResponseHandler<OutputT> successResponseHandler = context.responseHandler();
             return successResponseHandler.handle(httpResponse, context.executionAttributes());
         } catch (IOException | InterruptedException | RetryableException e) {
             throw e;
@@ -112,7 +104,7 @@ public class HandleResponseStage<OutputT> implements RequestPipeline<SdkHttpFull
                                              RequestExecutionContext context)
             throws IOException, InterruptedException {
         try {
-            SdkException exception = errorResponseHandler.handle(httpResponse, context.executionAttributes());
+            SdkException exception = context.errorResponseHandler().handle(httpResponse, context.executionAttributes());
             exception.fillInStackTrace();
             SdkStandardLogger.REQUEST_LOGGER.debug(() -> "Received error response: " + exception);
             return exception;
@@ -130,9 +122,10 @@ public class HandleResponseStage<OutputT> implements RequestPipeline<SdkHttpFull
      * Close the input stream if required.
      */
     private void closeInputStreamIfNeeded(SdkHttpFullResponse httpResponse,
+                                          RequestExecutionContext context,
                                           boolean didRequestFail) {
         // Always close on failed requests. Close on successful unless streaming operation.
-        if (didRequestFail || !successResponseHandler.needsConnectionLeftOpen()) {
+        if (didRequestFail || !context.responseHandler().needsConnectionLeftOpen()) {
             Optional.ofNullable(httpResponse)
                     .flatMap(SdkHttpFullResponse::content) // If no content, no need to close
                     .ifPresent(s -> IoUtils.closeQuietly(s, log));
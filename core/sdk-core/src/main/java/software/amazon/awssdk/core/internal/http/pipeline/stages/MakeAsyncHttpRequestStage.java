@@ -61,17 +61,11 @@ public final class MakeAsyncHttpRequestStage<OutputT>
     private static final Logger log = Logger.loggerFor(MakeAsyncHttpRequestStage.class);
 
     private final SdkAsyncHttpClient sdkAsyncHttpClient;
-    private final SdkHttpResponseHandler<OutputT> responseHandler;
-    private final SdkHttpResponseHandler<? extends SdkException> errorResponseHandler;
     private final Executor futureCompletionExecutor;
     private final ScheduledExecutorService timeoutExecutor;
     private final Duration apiCallAttemptTimeout;
 
-    public MakeAsyncHttpRequestStage(SdkHttpResponseHandler<OutputT> responseHandler,
-                                     SdkHttpResponseHandler<? extends SdkException> errorResponseHandler,
-                                     HttpClientDependencies dependencies) {
-        this.responseHandler = responseHandler;
-        this.errorResponseHandler = errorResponseHandler;
+    public MakeAsyncHttpRequestStage(HttpClientDependencies dependencies) {
         this.futureCompletionExecutor =
                 dependencies.clientConfiguration().option(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR);
         this.sdkAsyncHttpClient = dependencies.clientConfiguration().option(SdkClientOption.ASYNC_HTTP_CLIENT);
@@ -94,7 +88,9 @@ public final class MakeAsyncHttpRequestStage<OutputT>
         long timeout = apiCallAttemptTimeoutInMillis(context.requestConfig());
         Completable completable = new Completable(timeout);
 
-        SdkHttpResponseHandler<Response<OutputT>> handler = new ResponseHandler(completable);
+        SdkHttpResponseHandler<Response<OutputT>> handler = new ResponseHandler(completable,
+                                                                                context.asyncResponseHandler(),
+                                                                                context.asyncErrorResponseHandler());
 
         SdkHttpRequestProvider requestProvider = context.requestProvider() == null
                 ? new SimpleRequestProvider(request, context.executionAttributes())
@@ -141,15 +137,23 @@ public final class MakeAsyncHttpRequestStage<OutputT>
      */
     private class ResponseHandler implements SdkHttpResponseHandler<Response<OutputT>> {
         private final Completable completable;
+        private final SdkHttpResponseHandler<OutputT> responseHandler;
+        private final SdkHttpResponseHandler<? extends SdkException> errorResponseHandler;
 
         private volatile SdkHttpResponse response;
         private volatile boolean isSuccess = false;
 
         /**
-         * @param completable   Future to notify when response has been handled.
+         * @param completable          Future to notify when response has been handled.
+         * @param responseHandler      Handler to delegate to for successful responses.
+         * @param errorResponseHandler Handler to delegate to for error responses.
          */
-        private ResponseHandler(Completable completable) {
+        private ResponseHandler(Completable completable,
+                                SdkHttpResponseHandler<OutputT> responseHandler,
+                                SdkHttpResponseHandler<? extends SdkException> errorResponseHandler) {
             this.completable = completable;
+            this.responseHandler = responseHandler;
+            this.errorResponseHandler = errorResponseHandler;
         }
 
         @Override
@@ -21,6 +21,8 @@ import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
 import software.amazon.awssdk.core.internal.http.InterruptMonitor;
 import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
+import software.amazon.awssdk.core.internal.http.timers.TimeoutTracker;
+import software.amazon.awssdk.http.Abortable;
 import software.amazon.awssdk.http.AbortableCallable;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
@@ -55,6 +57,16 @@ public class MakeHttpRequestStage
         final AbortableCallable<SdkHttpFullResponse> requestCallable = sdkHttpClient
                 .prepareRequest(request, SdkRequestContext.builder().build());
 
+        // Set the abortable so that the request can be aborted by the timeout trackers, if timeouts are enabled
+        setAbortable(context.apiCallTimeoutTracker(), requestCallable);
+        setAbortable(context.apiCallAttemptTimeoutTracker(), requestCallable);
+
         return requestCallable.call();
     }
+
+    private static void setAbortable(TimeoutTracker timeoutTracker, Abortable abortable) {
+        if (timeoutTracker != null && timeoutTracker.isEnabled()) {
+            timeoutTracker.abortable(abortable);
+        }
+    }
 }
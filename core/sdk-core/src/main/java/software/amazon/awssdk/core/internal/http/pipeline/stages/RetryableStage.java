@@ -15,6 +15,8 @@
 
 package software.amazon.awssdk.core.internal.http.pipeline.stages;
 
+import static software.amazon.awssdk.core.internal.http.timers.TimerUtils.timeSyncTaskIfNeeded;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.Duration;
@@ -22,8 +24,11 @@ import java.util.concurrent.TimeUnit;
 import software.amazon.awssdk.annotations.ReviewBeforeRelease;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.RequestOption;
+import software.amazon.awssdk.core.RequestOverrideConfiguration;
 import software.amazon.awssdk.core.SdkStandardLogger;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
 import software.amazon.awssdk.core.exception.ResetException;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkException;
@@ -33,13 +38,16 @@ import software.amazon.awssdk.core.internal.http.InterruptMonitor;
 import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestToResponsePipeline;
+import software.amazon.awssdk.core.internal.http.timers.HashedWheelTimer;
+import software.amazon.awssdk.core.internal.http.timers.TimeoutTracker;
 import software.amazon.awssdk.core.internal.retry.RetryHandler;
-import software.amazon.awssdk.core.internal.util.CapacityManager;
 import software.amazon.awssdk.core.internal.util.ClockSkewUtil;
 import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.core.retry.RetryUtils;
+import software.amazon.awssdk.core.retry.capacity.RetryCapacity;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.OptionalUtils;
 
 /**
  * Wrapper around the pipeline for a single request to provide retry functionality.
@@ -52,14 +60,20 @@ public final class RetryableStage<OutputT> implements RequestToResponsePipeline<
     private final RequestPipeline<SdkHttpFullRequest, Response<OutputT>> requestPipeline;
 
     private final HttpClientDependencies dependencies;
-    private final CapacityManager retryCapacity;
+    private final RetryCapacity retryCapacity;
     private final RetryPolicy retryPolicy;
+    private final HashedWheelTimer timeoutTimer;
+    private final Duration apiCallTimeout;
+    private final Duration apiCallAttemptTimeout;
 
     public RetryableStage(HttpClientDependencies dependencies,
                           RequestPipeline<SdkHttpFullRequest, Response<OutputT>> requestPipeline) {
         this.dependencies = dependencies;
         this.retryCapacity = dependencies.retryCapacity();
         this.retryPolicy = dependencies.clientConfiguration().option(SdkClientOption.RETRY_POLICY);
+        this.timeoutTimer = dependencies.timeoutTimer();
+        this.apiCallTimeout = dependencies.clientConfiguration().option(SdkClientOption.API_CALL_TIMEOUT);
+        this.apiCallAttemptTimeout = dependencies.clientConfiguration().option(SdkClientOption.API_CALL_ATTEMPT_TIMEOUT);
         this.requestPipeline = requestPipeline;
     }
 
@@ -93,6 +107,8 @@ public final class RetryableStage<OutputT> implements RequestToResponsePipeline<
         private final SdkHttpFullRequest request;
         private final RequestExecutionContext context;
         private final RetryHandler retryHandler;
+        private final long apiCallTimeoutInMillis;
+        private final long apiCallAttemptTimeoutInMillis;
 
         private int requestCount = 0;
 
@@ -100,9 +116,27 @@ public final class RetryableStage<OutputT> implements RequestToResponsePipeline<
             this.request = request;
             this.context = context;
             this.retryHandler = new RetryHandler(retryPolicy, retryCapacity);
+            this.apiCallTimeoutInMillis = getApiCallTimeoutInMillis(context.requestConfig());
+            this.apiCallAttemptTimeoutInMillis = getApiCallAttemptTimeoutInMillis(context.requestConfig());
         }
 
         public Response<OutputT> execute() throws Exception {
+            TimeoutTracker apiCallTimeoutTracker = timeSyncTaskIfNeeded(timeoutTimer, apiCallTimeoutInMillis,
+                                                                        Thread.currentThread());
+            context.apiCallTimeoutTracker(apiCallTimeoutTracker);
+            try {
+                return executeWithRetries();
+            } catch (Exception e) {
+                if (apiCallTimeoutTracker.hasExecuted()) {
+                    throw ApiCallTimeoutException.create(apiCallTimeoutInMillis);
+                }
+                throw e;
+            } finally {
+                apiCallTimeoutTracker.cancel();
+            }
+        }
+
+        private Response<OutputT> executeWithRetries() throws Exception {
             while (true) {
                 try {
                     beforeExecute();
@@ -114,13 +148,18 @@ public final class RetryableStage<OutputT> implements RequestToResponsePipeline<
                         retryHandler.setLastRetriedException(handleUnmarshalledException(response));
                     }
                 } catch (SdkClientException | IOException e) {
+                    if (context.apiCallTimeoutTracker().hasExecuted()) {
+                        throw e;
+                    }
                     retryHandler.setLastRetriedException(handleThrownException(e));
                 }
             }
         }
 
         private void beforeExecute() throws InterruptedException {
-            retryHandler.retryCapacityConsumed(false);
+            if (context.apiCallTimeoutTracker().hasExecuted()) {
+                throw ApiCallTimeoutException.create(apiCallTimeoutInMillis);
+            }
             InterruptMonitor.checkInterrupted();
             ++requestCount;
         }
@@ -136,7 +175,34 @@ public final class RetryableStage<OutputT> implements RequestToResponsePipeline<
             SdkStandardLogger.REQUEST_LOGGER.debug(() -> (retryHandler.isRetry() ? "Retrying " : "Sending ") + "Request: " +
                                                          request);
 
-            return requestPipeline.execute(retryHandler.addRetryInfoHeader(request, requestCount), context);
+            return executeAttempt(retryHandler.addRetryInfoHeader(request, requestCount));
+        }
+
+        /**
+         * Execute a single attempt, aborting it if it does not complete within the api call attempt timeout.
+         */
+        private Response<OutputT> executeAttempt(SdkHttpFullRequest requestToSend) throws Exception {
+            TimeoutTracker attemptTimeoutTracker = timeSyncTaskIfNeeded(timeoutTimer, apiCallAttemptTimeoutInMillis,
+                                                                        Thread.currentThread());
+            context.apiCallAttemptTimeoutTracker(attemptTimeoutTracker);
+
+            Response<OutputT> response;
+            try {
+                response = requestPipeline.execute(requestToSend, context);
+            } catch (Exception e) {
+                if (attemptTimeoutTracker.hasExecuted()) {
+                    throw ApiCallAttemptTimeoutException.create(apiCallAttemptTimeoutInMillis);
+                }
+                throw e;
+            } finally {
+                attemptTimeoutTracker.cancel();
+            }
+
+            // The request was aborted by the timer even though it returned, so the response can't be trusted.
+            if (attemptTimeoutTracker.hasExecuted()) {
+                throw ApiCallAttemptTimeoutException.create(apiCallAttemptTimeoutInMillis);
+            }
+            return response;
         }
 
         private SdkException handleUnmarshalledException(Response<OutputT> response) {
@@ -203,4 +269,16 @@ public final class RetryableStage<OutputT> implements RequestToResponsePipeline<
             TimeUnit.MILLISECONDS.sleep(delay.toMillis());
         }
     }
+
+    private long getApiCallTimeoutInMillis(RequestOverrideConfiguration requestConfig) {
+        return OptionalUtils.firstPresent(requestConfig.apiCallTimeout(), () -> apiCallTimeout)
+                            .map(Duration::toMillis)
+                            .orElse(0L);
+    }
+
+    private long getApiCallAttemptTimeoutInMillis(RequestOverrideConfiguration requestConfig) {
+        return OptionalUtils.firstPresent(requestConfig.apiCallAttemptTimeout(), () -> apiCallAttemptTimeout)
+                            .map(Duration::toMillis)
+                            .orElse(0L);
+    }
 }
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.timers;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A coarse-grained timer for timeouts that are almost always cancelled before they expire.
+ *
+ * <p>Scheduling and cancelling a timeout only enqueue it on a lock-free queue. A single worker thread moves queued timeouts
+ * into a ring of buckets, one bucket per tick, and runs the ones whose deadline has passed each time it advances. Unlike a
+ * {@link java.util.concurrent.ScheduledThreadPoolExecutor} there is no shared heap to lock and re-balance for every request, at
+ * the cost of firing up to one tick late.
+ *
+ * <p>Tasks run on the worker thread and must be short and non-blocking.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class HashedWheelTimer {
+
+    private static final Logger log = Logger.loggerFor(HashedWheelTimer.class);
+
+    private static final long DEFAULT_TICK_MILLIS = 10;
+    private static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    private static final int WORKER_INIT = 0;
+    private static final int WORKER_STARTED = 1;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger workerState = new AtomicInteger(WORKER_INIT);
+    private final Thread workerThread;
+    private final long startTime = System.nanoTime();
+
+    /**
+     * @param tickDuration  Granularity of the timer. Timeouts fire at most one tick after their deadline.
+     * @param ticksPerWheel Number of buckets in the wheel, rounded up to a power of two.
+     * @param threadFactory Factory for the worker thread, which is started when the first timeout is scheduled.
+     */
+    HashedWheelTimer(long tickDuration, TimeUnit unit, int ticksPerWheel, ThreadFactory threadFactory) {
+        Validate.isTrue(tickDuration > 0, "tickDuration must be positive");
+        Validate.isPositive(ticksPerWheel, "ticksPerWheel");
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = createWheel(ticksPerWheel);
+        this.mask = wheel.length - 1;
+        this.workerThread = threadFactory.newThread(new Worker());
+    }
+
+    /**
+     * @return The timer shared by every client in the JVM. Its worker is a daemon thread and is started on first use.
+     */
+    public static HashedWheelTimer shared() {
+        return SharedTimerHolder.INSTANCE;
+    }
+
+    /**
+     * Schedule a task to run once after the given delay.
+     *
+     * @return A handle that can be used to cancel the task before it runs.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Validate.paramNotNull(task, "task");
+        start();
+
+        long deadline = System.nanoTime() + unit.toNanos(delay) - startTime;
+        Timeout timeout = new Timeout(this, task, deadline);
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    private void start() {
+        if (workerState.get() == WORKER_STARTED) {
+            return;
+        }
+        if (workerState.compareAndSet(WORKER_INIT, WORKER_STARTED)) {
+            workerThread.start();
+        }
+    }
+
+    private static Bucket[] createWheel(int ticksPerWheel) {
+        int normalized = 1;
+        while (normalized < ticksPerWheel) {
+            normalized <<= 1;
+        }
+        Bucket[] wheel = new Bucket[normalized];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        return wheel;
+    }
+
+    private final class Worker implements Runnable {
+        private long tick;
+
+        @Override
+        public void run() {
+            // The worker is started lazily, so skip the ticks that elapsed before the first timeout was scheduled.
+            tick = (System.nanoTime() - startTime) / tickNanos;
+            while (true) {
+                if (!waitForNextTick()) {
+                    return;
+                }
+                removeCancelledTimeouts();
+                transferPendingTimeouts();
+                wheel[(int) (tick & mask)].expireTimeouts((tick + 1) * tickNanos);
+                tick++;
+            }
+        }
+
+        /**
+         * Sleep until the start of the next tick.
+         *
+         * @return False if the worker was interrupted and should stop.
+         */
+        private boolean waitForNextTick() {
+            long deadline = tickNanos * (tick + 1);
+            while (true) {
+                long sleepNanos = deadline - (System.nanoTime() - startTime);
+                if (sleepNanos <= 0) {
+                    return true;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    return false;
+                }
+            }
+        }
+
+        private void removeCancelledTimeouts() {
+            Timeout timeout;
+            while ((timeout = cancelledTimeouts.poll()) != null) {
+                if (timeout.bucket != null) {
+                    timeout.bucket.remove(timeout);
+                }
+            }
+        }
+
+        private void transferPendingTimeouts() {
+            Timeout timeout;
+            while ((timeout = pendingTimeouts.poll()) != null) {
+                if (timeout.isCancelled()) {
+                    continue;
+                }
+                long expiryTick = timeout.deadline / tickNanos;
+                timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+
+                // Timeouts that are already due go into the current bucket so they fire on this tick.
+                int index = (int) (Math.max(expiryTick, tick) & mask);
+                wheel[index].add(timeout);
+
+                // Publish that the timeout is in the wheel before re-checking for a cancellation that raced with the
+                // transfer. Either cancel() sees the flag and queues the removal, or the removal happens here.
+                timeout.inWheel = true;
+                if (timeout.isCancelled()) {
+                    timeout.bucket.remove(timeout);
+                }
+            }
+        }
+    }
+
+    /**
+     * Doubly-linked list of the timeouts that expire on a given tick. Only accessed by the worker thread.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = timeout;
+                tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expireTimeouts(long tickDeadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline <= tickDeadline) {
+                        timeout.expire();
+                    } else {
+                        // Should never happen: the timeout was placed in the wrong bucket.
+                        log.warn(() -> "Timeout deadline is later than the tick it was scheduled on.");
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = timeout.next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    /**
+     * A handle to a task scheduled on a {@link HashedWheelTimer}.
+     */
+    @ThreadSafe
+    public static final class Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+        private volatile boolean inWheel;
+
+        // Only accessed by the worker thread.
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel the task if it has not run yet.
+         *
+         * @return True if the task was cancelled and will never run, false if it has already run or been cancelled.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            // Most timeouts are cancelled before the worker has moved them into the wheel, in which case it skips them without
+            // any further bookkeeping.
+            if (inWheel) {
+                timer.cancelledTimeouts.add(this);
+            }
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.warn(() -> "A task scheduled on the timeout timer threw an exception.", t);
+            }
+        }
+    }
+
+    private static final class SharedTimerHolder {
+        private static final HashedWheelTimer INSTANCE =
+            new HashedWheelTimer(DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_TICKS_PER_WHEEL,
+                                 new ThreadFactoryBuilder().threadNamePrefix("sdk-timeout-timer")
+                                                           .daemonThreads(true)
+                                                           .build());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.timers;
+
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.Abortable;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Synchronous implementation of {@link TimeoutTask}. Interrupts the thread executing the request, so that blocking calls and
+ * {@link software.amazon.awssdk.core.internal.http.InterruptMonitor} checks fail fast, and aborts the in-flight HTTP request so
+ * that threads blocked on socket I/O are released.
+ */
+@SdkInternalApi
+public final class SyncTimeoutTask implements TimeoutTask {
+    private final Thread threadToInterrupt;
+    private volatile boolean hasExecuted;
+    private volatile Abortable abortable;
+
+    /**
+     * Guarded by this task's monitor, so that the thread is never interrupted after {@link #cancel()} has returned.
+     */
+    private boolean isCancelled;
+
+    SyncTimeoutTask(Thread threadToInterrupt) {
+        this.threadToInterrupt = Validate.paramNotNull(threadToInterrupt, "threadToInterrupt");
+    }
+
+    @Override
+    public void abortable(Abortable abortable) {
+        this.abortable = abortable;
+
+        // The timeout may have expired before the request was ready to be aborted.
+        if (hasExecuted && abortable != null) {
+            abortable.abort();
+        }
+    }
+
+    @Override
+    public synchronized void run() {
+        if (isCancelled) {
+            return;
+        }
+
+        hasExecuted = true;
+        threadToInterrupt.interrupt();
+
+        Abortable current = abortable;
+        if (current != null) {
+            current.abort();
+        }
+    }
+
+    /**
+     * Prevent this task from interrupting the thread once the request has completed. If the task has already run, the
+     * interrupted status it set is cleared. Must be called by the thread executing the request.
+     */
+    public synchronized void cancel() {
+        isCancelled = true;
+        if (hasExecuted) {
+            Thread.interrupted();
+        }
+    }
+
+    @Override
+    public boolean hasExecuted() {
+        return hasExecuted;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.timers;
+
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.Abortable;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Tracker for a {@link SyncTimeoutTask} scheduled on a {@link HashedWheelTimer}.
+ */
+@SdkInternalApi
+public final class SyncTimeoutTracker implements TimeoutTracker {
+
+    private final SyncTimeoutTask timeoutTask;
+
+    private final HashedWheelTimer.Timeout timeout;
+
+    public SyncTimeoutTracker(SyncTimeoutTask timeoutTask, HashedWheelTimer.Timeout timeout) {
+        this.timeoutTask = Validate.paramNotNull(timeoutTask, "timeoutTask");
+        this.timeout = Validate.paramNotNull(timeout, "timeout");
+    }
+
+    @Override
+    public boolean hasExecuted() {
+        return timeoutTask.hasExecuted();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return timeoutTask.isEnabled();
+    }
+
+    /**
+     * Cancel the timeout and clear the interrupted status of the current thread if the timeout has already fired. Must be
+     * called by the thread executing the request.
+     */
+    @Override
+    public void cancel() {
+        timeout.cancel();
+        timeoutTask.cancel();
+    }
+
+    @Override
+    public void abortable(Abortable abortable) {
+        timeoutTask.abortable(abortable);
+    }
+}
@@ -59,4 +59,25 @@ public final class TimerUtils {
 
         return timeoutTracker;
     }
+
+    /**
+     * Schedule a {@link SyncTimeoutTask} on the given timer that interrupts the given thread and aborts the request it is
+     * executing if the returned tracker is not cancelled before the given timeout.
+     *
+     * @param timer the timer to schedule the {@link SyncTimeoutTask} on
+     * @param timeoutInMills the timeout in milliseconds.
+     * @param threadToInterrupt the thread executing the request
+     * @return a {@link TimeoutTracker} that must be cancelled by the thread executing the request once it completes
+     */
+    public static TimeoutTracker timeSyncTaskIfNeeded(HashedWheelTimer timer,
+                                                      long timeoutInMills,
+                                                      Thread threadToInterrupt) {
+        if (timeoutInMills <= 0) {
+            return NoOpTimeoutTracker.INSTANCE;
+        }
+
+        SyncTimeoutTask timeoutTask = new SyncTimeoutTask(threadToInterrupt);
+        HashedWheelTimer.Timeout timeout = timer.schedule(timeoutTask, timeoutInMills, TimeUnit.MILLISECONDS);
+        return new SyncTimeoutTracker(timeoutTask, timeout);
+    }
 }
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.core.io.SdkInputStream;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Makes a stream that does not support mark and reset resettable, by recording what is read from it after it is marked so
+ * that it can be read again after a reset. Unlike {@link java.io.BufferedInputStream}, the recording is not limited to
+ * the read limit passed to {@link #mark(int)}: the first bytes are kept in memory, and the rest is spilled to a temporary
+ * file, up to a maximum. This lets a request body of any size up to that maximum be retried without holding it in memory.
+ *
+ * <p>Once more than the maximum has been read after the mark, or if the temporary file cannot be written, the recording is
+ * discarded and the stream can no longer be reset, but it can still be read to the end. The temporary file is deleted when
+ * the stream is closed.
+ */
+@SdkInternalApi
+@NotThreadSafe
+public final class SpillingReplayInputStream extends SdkInputStream {
+
+    private static final Logger log = Logger.loggerFor(SpillingReplayInputStream.class);
+
+    private final InputStream source;
+    private final int maxMemoryBytes;
+    private final long maxReplayBytes;
+    private final Path spillDirectory;
+    private final byte[] singleByte = new byte[1];
+
+    /**
+     * The position in the stream of the first recorded byte, or -1 if the stream is not being recorded.
+     */
+    private long recordingStart = -1;
+    private long recorded;
+    private byte[] memory = new byte[0];
+    private FileChannel spillFile;
+
+    private long position;
+    private long markPosition = -1;
+    private boolean recordingDiscarded;
+    private IOException spillFailure;
+
+    /**
+     * @param source The stream to read from.
+     * @param maxMemoryBytes The number of bytes read after the mark that are kept in memory.
+     * @param maxReplayBytes The maximum number of bytes read after the mark that can be read again after a reset, including
+     * the ones kept in memory.
+     */
+    public SpillingReplayInputStream(InputStream source, int maxMemoryBytes, long maxReplayBytes) {
+        this(source, maxMemoryBytes, maxReplayBytes, null);
+    }
+
+    /**
+     * @param spillDirectory The directory in which the temporary file is created, or null for the default temporary directory.
+     */
+    @SdkTestInternalApi
+    SpillingReplayInputStream(InputStream source, int maxMemoryBytes, long maxReplayBytes, Path spillDirectory) {
+        this.source = source;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.maxReplayBytes = maxReplayBytes;
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int read = read(singleByte, 0, 1);
+        return read == -1 ? -1 : singleByte[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        abortIfNeeded();
+        if (len == 0) {
+            return 0;
+        }
+        long replayable = recordingStart < 0 ? 0 : recordingStart + recorded - position;
+        if (replayable > 0) {
+            int read = readRecording(position - recordingStart, b, off, (int) Math.min(len, replayable));
+            position += read;
+            return read;
+        }
+
+        int read = source.read(b, off, len);
+        if (read > 0) {
+            if (recordingStart >= 0) {
+                record(b, off, read);
+            }
+            position += read;
+        }
+        return read;
+    }
+
+    @Override
+    public int available() throws IOException {
+        abortIfNeeded();
+        long replayable = recordingStart < 0 ? 0 : recordingStart + recorded - position;
+        return replayable > 0 ? (int) Math.min(replayable, Integer.MAX_VALUE) : source.available();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    /**
+     * Mark the current position. The read limit is ignored: everything read after the mark can be read again after a reset,
+     * up to the maximum given when creating the stream.
+     */
+    @Override
+    public void mark(int readLimit) {
+        abortIfNeeded();
+        if (recordingStart >= 0 && position >= recordingStart && position <= recordingStart + recorded) {
+            // Usually a mark at the position we were reset to: keep the recording, which is still needed after it.
+            markPosition = position;
+            return;
+        }
+        discardRecording();
+        recordingStart = position;
+        markPosition = position;
+        recordingDiscarded = false;
+        spillFailure = null;
+    }
+
+    @Override
+    public void reset() throws IOException {
+        abortIfNeeded();
+        if (markPosition < 0) {
+            throw new IOException("The stream has not been marked.");
+        }
+        if (spillFailure != null) {
+            throw new IOException("The stream could not be recorded since it was marked.", spillFailure);
+        }
+        if (recordingDiscarded) {
+            throw new IOException("More than " + maxReplayBytes + " bytes have been read since the stream was marked.");
+        }
+        position = markPosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            discardRecording();
+        } finally {
+            source.close();
+        }
+    }
+
+    @Override
+    protected InputStream getWrappedInputStream() {
+        return source;
+    }
+
+    private void record(byte[] b, int off, int len) {
+        if (recorded + len > maxReplayBytes) {
+            discardRecording();
+            recordingDiscarded = true;
+            return;
+        }
+
+        int toMemory = (int) Math.max(0, Math.min(len, maxMemoryBytes - recorded));
+        if (toMemory > 0) {
+            int required = (int) recorded + toMemory;
+            if (required > memory.length) {
+                byte[] grown = new byte[Math.min(maxMemoryBytes, Math.max(required, memory.length * 2))];
+                System.arraycopy(memory, 0, grown, 0, (int) recorded);
+                memory = grown;
+            }
+            System.arraycopy(b, off, memory, (int) recorded, toMemory);
+        }
+        if (toMemory < len) {
+            ByteBuffer buffer = ByteBuffer.wrap(b, off + toMemory, len - toMemory);
+            long filePosition = recorded + toMemory - maxMemoryBytes;
+            try {
+                FileChannel file = spillFile();
+                while (buffer.hasRemaining()) {
+                    filePosition += file.write(buffer, filePosition);
+                }
+            } catch (IOException e) {
+                // Keep streaming the body: only retrying it from the mark is no longer possible.
+                log.debug(() -> "Unable to record the stream to a temporary file, it can no longer be reset.", e);
+                discardRecording();
+                recordingDiscarded = true;
+                spillFailure = e;
+                return;
+            }
+        }
+        recorded += len;
+    }
+
+    private int readRecording(long offset, byte[] b, int off, int len) throws IOException {
+        if (offset < maxMemoryBytes) {
+            int fromMemory = (int) Math.min(len, maxMemoryBytes - offset);
+            System.arraycopy(memory, (int) offset, b, off, fromMemory);
+            return fromMemory;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+        long filePosition = offset - maxMemoryBytes;
+        while (buffer.hasRemaining()) {
+            int read = spillFile.read(buffer, filePosition + buffer.position() - off);
+            if (read < 0) {
+                throw new IOException("The replay buffer file is shorter than expected.");
+            }
+        }
+        return len;
+    }
+
+    private FileChannel spillFile() throws IOException {
+        if (spillFile == null) {
+            Path path = spillDirectory == null ? Files.createTempFile("aws-sdk-replay-", ".tmp")
+                                               : Files.createTempFile(spillDirectory, "aws-sdk-replay-", ".tmp");
+            try {
+                spillFile = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                                             StandardOpenOption.DELETE_ON_CLOSE);
+            } catch (IOException e) {
+                Files.deleteIfExists(path);
+                throw e;
+            }
+        }
+        return spillFile;
+    }
+
+    private void discardRecording() {
+        recordingStart = -1;
+        recorded = 0;
+        memory = new byte[0];
+        if (spillFile != null) {
+            try {
+                spillFile.close();
+            } catch (IOException e) {
+                // Closing the channel deletes the file, and there is nothing more we can do if that fails
+            } finally {
+                spillFile = null;
+            }
+        }
+    }
+}
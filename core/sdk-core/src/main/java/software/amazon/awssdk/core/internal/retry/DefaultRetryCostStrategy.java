@@ -0,0 +1,35 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.retry;
+
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.core.retry.RetryUtils;
+import software.amazon.awssdk.core.retry.capacity.RetryCostStrategy;
+
+/**
+ * Implementation of {@link RetryCostStrategy#defaultStrategy()}. A singleton so that retry policies built with the default
+ * strategy compare as equal.
+ */
+@SdkInternalApi
+public enum DefaultRetryCostStrategy implements RetryCostStrategy {
+    INSTANCE;
+
+    @Override
+    public int computeRetryCost(RetryPolicyContext context) {
+        return RetryUtils.isThrottlingException(context.exception()) ? 0 : SdkDefaultRetrySetting.RETRY_THROTTLING_COST;
+    }
+}
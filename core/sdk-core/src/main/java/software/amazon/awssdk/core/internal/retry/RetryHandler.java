@@ -21,10 +21,10 @@ import java.time.Duration;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
-import software.amazon.awssdk.core.internal.util.CapacityManager;
 import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.core.retry.RetryPolicyContext;
 import software.amazon.awssdk.core.retry.RetryUtils;
+import software.amazon.awssdk.core.retry.capacity.RetryCapacity;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
 
@@ -34,15 +34,15 @@ public final class RetryHandler {
     public static final String HEADER_SDK_RETRY_INFO = "amz-sdk-retry";
 
     private final RetryPolicy retryPolicy;
-    private final CapacityManager retryCapacity;
+    private final RetryCapacity retryCapacity;
 
     private Duration lastBackoffDelay = Duration.ZERO;
-    private boolean retryCapacityConsumed;
+    private int retryCost;
     private RetryPolicyContext retryPolicyContext;
     private SdkException lastRetriedException;
 
     public RetryHandler(RetryPolicy retryPolicy,
-                        CapacityManager retryCapacity) {
+                        RetryCapacity retryCapacity) {
         this.retryPolicy = retryPolicy;
         this.retryCapacity = retryCapacity;
     }
@@ -55,15 +55,6 @@ public final class RetryHandler {
 
         final int retriesAttempted = requestCount - 1;
 
-        // Do not use retry capacity for throttling exceptions
-        if (!RetryUtils.isThrottlingException(exception)) {
-            // See if we have enough available retry capacity to be able to execute this retry attempt.
-            if (!retryCapacity.acquire(SdkDefaultRetrySetting.RETRY_THROTTLING_COST)) {
-                return false;
-            }
-            this.retryCapacityConsumed = true;
-        }
-
         this.retryPolicyContext = RetryPolicyContext.builder()
                                                     .request(request)
                                                     .originalRequest(context.originalRequest())
@@ -72,12 +63,19 @@ public final class RetryHandler {
                                                     .executionAttributes(context.executionAttributes())
                                                     .httpStatusCode(httpResponse == null ? null : httpResponse.statusCode())
                                                     .build();
+
+        // See if we have enough available retry capacity to be able to execute this retry attempt.
+        int cost = retryPolicy.retryCostStrategy().computeRetryCost(retryPolicyContext);
+        if (!retryCapacity.tryAcquire(cost)) {
+            return false;
+        }
+        this.retryCost = cost;
+
         // Finally, pass all the context information to the RetryCondition and let it decide whether it should be retried.
         if (!retryPolicy.retryCondition().shouldRetry(retryPolicyContext)) {
             // If the retry policy fails we immediately return consumed capacity to the pool.
-            if (retryCapacityConsumed) {
-                retryCapacity.release(SdkDefaultRetrySetting.RETRY_THROTTLING_COST);
-            }
+            retryCapacity.release(retryCost);
+            this.retryCost = 0;
             return false;
         }
 
@@ -85,15 +83,12 @@ public final class RetryHandler {
     }
 
     /**
-     * If this was a successful retry attempt we'll release the full retry capacity that the attempt originally consumed.  If
-     * this was a successful initial request we release a lesser amount.
+     * Return capacity to the pool after a successful attempt, as decided by the retry policy's refill strategy. With the
+     * default strategy a successful retry releases the full capacity it consumed and a successful initial request releases a
+     * lesser amount.
      */
     public void releaseRetryCapacity() {
-        if (isRetry() && retryCapacityConsumed) {
-            retryCapacity.release(SdkDefaultRetrySetting.RETRY_THROTTLING_COST);
-        } else {
-            retryCapacity.release();
-        }
+        retryCapacity.release(retryPolicy.refillStrategy().computeRefill(isRetry() ? retryCost : 0));
     }
 
     /**
@@ -110,13 +105,6 @@ public final class RetryHandler {
         return lastBackoffDelay;
     }
 
-    /**
-     * Sets whether retry capacity has been consumed for this request
-     */
-    public void retryCapacityConsumed(boolean retryCapacityConsumed) {
-        this.retryCapacityConsumed = retryCapacityConsumed;
-    }
-
     /**
      * Add the {@value HEADER_SDK_RETRY_INFO} header to the request. Contains metadata about request count,
      * backoff, and retry capacity.
@@ -20,6 +20,9 @@ import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.core.internal.retry.SdkDefaultRetrySetting;
 import software.amazon.awssdk.core.retry.backoff.BackoffStrategy;
+import software.amazon.awssdk.core.retry.capacity.RefillStrategy;
+import software.amazon.awssdk.core.retry.capacity.RetryCapacity;
+import software.amazon.awssdk.core.retry.capacity.RetryCostStrategy;
 import software.amazon.awssdk.core.retry.conditions.AndRetryCondition;
 import software.amazon.awssdk.core.retry.conditions.MaxNumberOfRetriesCondition;
 import software.amazon.awssdk.core.retry.conditions.RetryCondition;
@@ -37,6 +40,10 @@ import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
  * retries that will be used is {@link SdkDefaultRetrySetting#DEFAULT_MAX_RETRIES}. The default retry condition is
  * {@link RetryCondition#defaultRetryCondition()} and the default backoff strategy is {@link BackoffStrategy#defaultStrategy()}.
  *
+ * The {@link RetryCostStrategy} and {@link RefillStrategy} decide how retries draw from and replenish the client's
+ * {@link RetryCapacity}. They default to {@link RetryCostStrategy#defaultStrategy()} and
+ * {@link RefillStrategy#defaultStrategy()}.
+ *
  * @see RetryCondition for a list of SDK provided retry condition strategies
  * @see BackoffStrategy for a list of SDK provided backoff strategies
  */
@@ -49,11 +56,15 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
     private final BackoffStrategy backoffStrategy;
     private final BackoffStrategy throttlingBackoffStrategy;
     private final Integer numRetries;
+    private final RetryCostStrategy retryCostStrategy;
+    private final RefillStrategy refillStrategy;
 
     private RetryPolicy(BuilderImpl builder) {
         this.backoffStrategy = builder.backoffStrategy;
         this.throttlingBackoffStrategy = builder.throttlingBackoffStrategy;
         this.numRetries = builder.numRetries;
+        this.retryCostStrategy = builder.retryCostStrategy;
+        this.refillStrategy = builder.refillStrategy;
         this.retryConditionFromBuilder = builder.retryCondition;
         this.retryCondition = AndRetryCondition.create(MaxNumberOfRetriesCondition.create(numRetries),
                                                        retryConditionFromBuilder);
@@ -75,11 +86,21 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
         return numRetries;
     }
 
+    public RetryCostStrategy retryCostStrategy() {
+        return retryCostStrategy;
+    }
+
+    public RefillStrategy refillStrategy() {
+        return refillStrategy;
+    }
+
     public Builder toBuilder() {
         return builder().numRetries(numRetries)
                         .retryCondition(retryConditionFromBuilder)
                         .backoffStrategy(backoffStrategy)
-                        .throttlingBackoffStrategy(throttlingBackoffStrategy);
+                        .throttlingBackoffStrategy(throttlingBackoffStrategy)
+                        .retryCostStrategy(retryCostStrategy)
+                        .refillStrategy(refillStrategy);
     }
 
     @Override
@@ -89,6 +110,8 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
                        .add("retryCondition", retryCondition)
                        .add("backoffStrategy", backoffStrategy)
                        .add("throttlingBackoffStrategy", throttlingBackoffStrategy)
+                       .add("retryCostStrategy", retryCostStrategy)
+                       .add("refillStrategy", refillStrategy)
                        .build();
     }
 
@@ -112,6 +135,12 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
         if (!throttlingBackoffStrategy.equals(that.throttlingBackoffStrategy)) {
             return false;
         }
+        if (!retryCostStrategy.equals(that.retryCostStrategy)) {
+            return false;
+        }
+        if (!refillStrategy.equals(that.refillStrategy)) {
+            return false;
+        }
         return numRetries.equals(that.numRetries);
     }
 
@@ -121,6 +150,8 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
         result = 31 * result + backoffStrategy.hashCode();
         result = 31 * result + throttlingBackoffStrategy.hashCode();
         result = 31 * result + numRetries.hashCode();
+        result = 31 * result + retryCostStrategy.hashCode();
+        result = 31 * result + refillStrategy.hashCode();
         return result;
     }
 
@@ -163,6 +194,20 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
 
         RetryCondition retryCondition();
 
+        /**
+         * Configure how much {@link RetryCapacity} each retry attempt consumes.
+         */
+        Builder retryCostStrategy(RetryCostStrategy retryCostStrategy);
+
+        RetryCostStrategy retryCostStrategy();
+
+        /**
+         * Configure how much {@link RetryCapacity} a successful request returns to the pool.
+         */
+        Builder refillStrategy(RefillStrategy refillStrategy);
+
+        RefillStrategy refillStrategy();
+
         RetryPolicy build();
     }
 
@@ -175,6 +220,8 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
         private BackoffStrategy backoffStrategy = BackoffStrategy.defaultStrategy();
         private BackoffStrategy throttlingBackoffStrategy = BackoffStrategy.defaultThrottlingStrategy();
         private RetryCondition retryCondition = RetryCondition.defaultRetryCondition();
+        private RetryCostStrategy retryCostStrategy = RetryCostStrategy.defaultStrategy();
+        private RefillStrategy refillStrategy = RefillStrategy.defaultStrategy();
 
         private BuilderImpl(){
         }
@@ -239,6 +286,36 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
             return retryCondition;
         }
 
+        @Override
+        public Builder retryCostStrategy(RetryCostStrategy retryCostStrategy) {
+            this.retryCostStrategy = retryCostStrategy;
+            return this;
+        }
+
+        public void setRetryCostStrategy(RetryCostStrategy retryCostStrategy) {
+            retryCostStrategy(retryCostStrategy);
+        }
+
+        @Override
+        public RetryCostStrategy retryCostStrategy() {
+            return retryCostStrategy;
+        }
+
+        @Override
+        public Builder refillStrategy(RefillStrategy refillStrategy) {
+            this.refillStrategy = refillStrategy;
+            return this;
+        }
+
+        public void setRefillStrategy(RefillStrategy refillStrategy) {
+            refillStrategy(refillStrategy);
+        }
+
+        @Override
+        public RefillStrategy refillStrategy() {
+            return refillStrategy;
+        }
+
         @Override
         public RetryPolicy build() {
             return new RetryPolicy(this);
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.retry.capacity;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.internal.retry.DefaultRefillStrategy;
+
+/**
+ * Decides how much capacity a successful request returns to the {@link RetryCapacity}. This is how the pool recovers after
+ * a period of failures.
+ */
+@SdkPublicApi
+@FunctionalInterface
+public interface RefillStrategy {
+
+    /**
+     * Compute the capacity to release once a request has completed successfully.
+     *
+     * @param retryCost The capacity acquired by the attempt that succeeded, or zero if that attempt was not a retry or its
+     *                  retry was free.
+     * @return The capacity to release. Must be non-negative (can be zero).
+     */
+    int computeRefill(int retryCost);
+
+    /**
+     * A successful retry returns the capacity it consumed, and any other successful request returns a single unit.
+     */
+    static RefillStrategy defaultStrategy() {
+        return DefaultRefillStrategy.INSTANCE;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.retry.capacity;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.internal.retry.SdkDefaultRetrySetting;
+
+/**
+ * A pool of capacity that retry attempts draw from, so that a client stops retrying when most of its requests are failing
+ * instead of multiplying the load on an unhealthy service. The amount each retry costs is decided by the
+ * {@link RetryCostStrategy} of the client's retry policy, and the amount returned to the pool by a successful request is decided
+ * by its {@link RefillStrategy}.
+ *
+ * <p>A retry capacity can be provided to the client with
+ * {@link software.amazon.awssdk.core.client.config.ClientOverrideConfiguration.Builder#retryCapacity(RetryCapacity)}. Holding
+ * a reference to it allows the {@link #availableCapacity()} and {@link #consumedCapacity()} to be monitored, and the same
+ * instance may be shared by several clients that call the same service. If none is configured, each client creates its own
+ * with {@link #defaultRetryCapacity()}.
+ *
+ * <p>Implementations are called concurrently by every request made with the client and must be thread safe.
+ */
+@SdkPublicApi
+@ThreadSafe
+public interface RetryCapacity {
+
+    /**
+     * Attempt to acquire the given amount of capacity. If it is acquired, it is removed from the pool until it is released.
+     *
+     * @param capacity The capacity to acquire. Must not be negative.
+     * @return True if the capacity was acquired, false if there was not enough available.
+     */
+    boolean tryAcquire(int capacity);
+
+    /**
+     * Return the given amount of capacity to the pool. The available capacity never grows beyond {@link #maxCapacity()}.
+     *
+     * @param capacity The capacity to release. Must not be negative.
+     */
+    void release(int capacity);
+
+    /**
+     * @return The maximum capacity of the pool, or a negative value if the capacity is unlimited.
+     */
+    int maxCapacity();
+
+    /**
+     * @return The capacity that is currently available to be acquired, or a negative value if the capacity is unlimited.
+     */
+    int availableCapacity();
+
+    /**
+     * @return The capacity that is currently acquired and not yet released.
+     */
+    int consumedCapacity();
+
+    /**
+     * @return The number of times an acquisition has failed because there was not enough capacity available.
+     */
+    long failedAcquisitions();
+
+    /**
+     * Create a retry capacity that allows around {@value SdkDefaultRetrySetting#THROTTLED_RETRIES} consecutive failed retries
+     * with the default {@link RetryCostStrategy}. Each call returns a new, full pool.
+     */
+    static RetryCapacity defaultRetryCapacity() {
+        return TokenBucketRetryCapacity.create(SdkDefaultRetrySetting.RETRY_THROTTLING_COST
+                                               * SdkDefaultRetrySetting.THROTTLED_RETRIES);
+    }
+
+    /**
+     * Create a retry capacity that never limits retries.
+     */
+    static RetryCapacity unlimited() {
+        return TokenBucketRetryCapacity.create(-1);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.retry.capacity;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.internal.retry.DefaultRetryCostStrategy;
+import software.amazon.awssdk.core.internal.retry.SdkDefaultRetrySetting;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+
+/**
+ * Decides how much {@link RetryCapacity} a retry attempt consumes. A retry is only attempted if this much capacity can be
+ * acquired.
+ */
+@SdkPublicApi
+@FunctionalInterface
+public interface RetryCostStrategy {
+
+    /**
+     * Compute the capacity the next retry attempt should consume.
+     *
+     * @param context Context about the state of the last request and information about the number of requests made.
+     * @return The capacity to acquire for the retry. Must be non-negative (can be zero).
+     */
+    int computeRetryCost(RetryPolicyContext context);
+
+    /**
+     * Retries of throttled requests are free, because they already back off for longer. Any other retry costs
+     * {@value SdkDefaultRetrySetting#RETRY_THROTTLING_COST}.
+     */
+    static RetryCostStrategy defaultStrategy() {
+        return DefaultRetryCostStrategy.INSTANCE;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.retry.capacity;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A {@link RetryCapacity} backed by a token bucket. Acquiring and releasing capacity are lock-free compare-and-set operations,
+ * so a burst of failures across many threads does not serialize on a monitor at the point where latency matters most.
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class TokenBucketRetryCapacity implements RetryCapacity {
+
+    private final int maxCapacity;
+    private final AtomicInteger availableCapacity;
+    private final LongAdder failedAcquisitions = new LongAdder();
+
+    private TokenBucketRetryCapacity(int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+        this.availableCapacity = new AtomicInteger(maxCapacity);
+    }
+
+    /**
+     * Create a token bucket that is initially full.
+     *
+     * @param maxCapacity Maximum capacity of the bucket. If negative, the bucket is unlimited and every acquisition succeeds.
+     */
+    public static TokenBucketRetryCapacity create(int maxCapacity) {
+        return new TokenBucketRetryCapacity(maxCapacity);
+    }
+
+    @Override
+    public boolean tryAcquire(int capacity) {
+        Validate.isNotNegative(capacity, "capacity");
+
+        if (maxCapacity < 0) {
+            return true;
+        }
+
+        while (true) {
+            int available = availableCapacity.get();
+            if (available < capacity) {
+                failedAcquisitions.increment();
+                return false;
+            }
+            if (availableCapacity.compareAndSet(available, available - capacity)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void release(int capacity) {
+        Validate.isNotNegative(capacity, "capacity");
+
+        if (maxCapacity < 0) {
+            return;
+        }
+
+        while (true) {
+            int available = availableCapacity.get();
+            // In the common case the bucket is already full, so avoid writing to the shared counter at all.
+            if (available == maxCapacity) {
+                return;
+            }
+            if (availableCapacity.compareAndSet(available, (int) Math.min((long) available + capacity, maxCapacity))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public int maxCapacity() {
+        return maxCapacity;
+    }
+
+    @Override
+    public int availableCapacity() {
+        return availableCapacity.get();
+    }
+
+    @Override
+    public int consumedCapacity() {
+        return maxCapacity < 0 ? 0 : maxCapacity - availableCapacity.get();
+    }
+
+    @Override
+    public long failedAcquisitions() {
+        return failedAcquisitions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("TokenBucketRetryCapacity")
+                       .add("maxCapacity", maxCapacity)
+                       .add("availableCapacity", availableCapacity())
+                       .add("failedAcquisitions", failedAcquisitions())
+                       .build();
+    }
+}
@@ -56,17 +56,6 @@ public abstract class JsonUnmarshallerContext {
         return null;
     }
 
-    /**
-     * Returns the element depth of the parser's current position in the JSON
-     * document being parsed.
-     *
-     * @return The element depth of the parser's current position in the JSON
-     *         document being parsed. Returns -1 by default.
-     */
-    public int getCurrentDepth() {
-        return -1;
-    }
-
     /**
      * Returns the text of the current token, or throws an exception if the
      * current token does not contain text (ex: '{', '}', etc.).
@@ -87,50 +76,33 @@ public abstract class JsonUnmarshallerContext {
     }
 
     /**
-     * Tests the specified expression (a JSON field name) against the current
-     * position in the JSON document being parsed.
-     *
-     * @param expression
-     *            The field name to test.
-     * @return True if the expression matches the current document position,
-     *         Returns false by default and in all other cases.
-     */
-    public boolean testExpression(String expression) {
-        return false;
-    }
-
-    /**
-     * Returns the name of the JSON field that is the nearest parent of the
-     * current context.Returns null by default.
+     * Returns the next JsonToken from the JsonParser. Returns null by default.
      */
-    public String getCurrentParentElement() {
+    public JsonToken nextToken() throws IOException {
         return null;
     }
 
     /**
-     * Tests the specified expression (a JSON field name) against the current
-     * position in the JSON document being parsed, and restricts the expression
-     * to matching at the specified stack depth.
-     *
-     * @param expression
-     *            The field name to test.
-     * @param stackDepth
-     *            The depth in the stack representing where the expression must
-     *            start matching in order for this method to return true.
-     *
-     * @return True if the specified expression matches the current position in
-     *         the JSON document, starting from the specified depth. Returns
-     *         false by default.
-     */
-    public boolean testExpression(String expression, int stackDepth) {
-        return false;
-    }
-
-    /**
-     * Returns the next JsonToken from the JsonParser. Returns null by default.
+     * Skips the value of the current token: if it is the start of an object or array, the parser is advanced to its end,
+     * otherwise it is left where it is. This is used to ignore the value of a field that is not modeled.
      */
-    public JsonToken nextToken() throws IOException {
-        return null;
+    public void skipValue() throws IOException {
+        JsonToken token = getCurrentToken();
+        if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+            return;
+        }
+        int depth = 1;
+        while (depth > 0) {
+            token = nextToken();
+            if (token == null) {
+                return;
+            }
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                depth++;
+            } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                depth--;
+            }
+        }
     }
 
     /**
@@ -193,14 +165,6 @@ public abstract class JsonUnmarshallerContext {
         return null;
     }
 
-    /**
-     * This will return the deleted string in stackString when doing update on
-     * the stack. Returns null by default.
-     */
-    public String getLastParsedParentElement() {
-        return null;
-    }
-
     /**
      * Returns true if the <code>JsonUnmarshallerContext</code> is involved in
      * parsing response headers. Else returns false. Returns true by default.
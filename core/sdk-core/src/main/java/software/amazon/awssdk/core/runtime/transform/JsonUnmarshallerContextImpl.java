@@ -15,81 +15,59 @@
 
 package software.amazon.awssdk.core.runtime.transform;
 
-import static com.fasterxml.jackson.core.JsonToken.END_ARRAY;
-import static com.fasterxml.jackson.core.JsonToken.END_OBJECT;
-import static com.fasterxml.jackson.core.JsonToken.FIELD_NAME;
-import static com.fasterxml.jackson.core.JsonToken.START_ARRAY;
-import static com.fasterxml.jackson.core.JsonToken.START_OBJECT;
-
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Stack;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.utils.Validate;
 
+/**
+ * Reads the tokens of a JSON document straight from a Jackson {@link JsonParser}. The context does not keep track of
+ * where in the document the parser is: each unmarshaller consumes exactly the tokens of the value it reads, so the
+ * unmarshaller of a structure only ever sees the names of its own fields.
+ */
 @SdkInternalApi
 public final class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
 
     private final JsonParser jsonParser;
-    /**
-     * A stack of JsonFieldTokenPair objects that indicates the current state of the context.
-     * For example, if we have a JSON object:
-     * {
-     *   A :
-     *     {
-     *       B : [
-     *         {
-     *           C : {
-     *             D : E
-     *           }
-     *         },
-     *       ]
-     *     }
-     * }
-     * When the parser points to "D", the state of this stack should be (from top to bottom):
-     *  [ (C, START_OBJECT), (B, START_ARRAY), (A, START_OBJECT) ]
-     */
-    private final Stack<JsonFieldTokenPair> stack = new Stack<JsonFieldTokenPair>();
-    private final SdkHttpFullResponse httpResponse;
+    private final Function<String, String> headers;
+    private final Supplier<SdkHttpFullResponse> httpResponseSupplier;
+    private SdkHttpFullResponse httpResponse;
     private final Map<Class<?>, Unmarshaller<?, JsonUnmarshallerContext>> unmarshallerMap;
     /** The current JsonToken that the private JsonParser is currently pointing to. **/
     private JsonToken currentToken;
     /** A cache of the next token if it has been peeked ahead. **/
     private JsonToken nextToken;
     private String currentHeader;
-    /**
-     * The name of the field that is currently being parsed. This value is
-     * nulled out when the parser reaches into the object/array structure of the
-     * corresponding value, and then it will be pushed into the stack after
-     * wrapped into a JsonFieldTokenPair object with the START_OBJECT or
-     * START_ARRAY token following it.
-     * So in the same example as shown above:
-     *   (1) when the parser moves from "C" to "{", (currentField, START_OBJECT)
-     *       will be pushed into the stack and currentField will be set null;
-     *   (2) but when it moves from "{" to "C", nothing will be pushed into the
-     *       stack and only currentField will be updated from null to "D".
-     */
-    private String currentField;
-    /**
-     * This string is used to cache the parent element that was just parsed,
-     * after it is removed from the stack.
-     */
-    private String lastParsedParentElement;
     private Map<String, String> metadata = new HashMap<>();
 
     public JsonUnmarshallerContextImpl(JsonParser jsonParser, Map<Class<?>, Unmarshaller<?, JsonUnmarshallerContext>> mapper,
                                        SdkHttpFullResponse httpResponse) {
+        this(jsonParser, mapper, header -> getHeader(httpResponse, header), () -> httpResponse);
+    }
+
+    /**
+     * Creates a context for content that is not read from an HTTP response, such as an event stream message.
+     *
+     * @param headers Returns the value of the given header, or null if there is no such header.
+     * @param httpResponseSupplier Creates an HTTP response equivalent to the content, for the few unmarshallers that need
+     * one. It is only called when {@link #getHttpResponse()} is.
+     */
+    public JsonUnmarshallerContextImpl(JsonParser jsonParser, Map<Class<?>, Unmarshaller<?, JsonUnmarshallerContext>> mapper,
+                                       Function<String, String> headers,
+                                       Supplier<SdkHttpFullResponse> httpResponseSupplier) {
         this.jsonParser = jsonParser;
         this.unmarshallerMap = mapper;
-        this.httpResponse = httpResponse;
+        this.headers = headers;
+        this.httpResponseSupplier = httpResponseSupplier;
     }
 
-    @Override
-    public String getHeader(String header) {
+    private static String getHeader(SdkHttpFullResponse httpResponse, String header) {
         if (httpResponse == null) {
             return null;
         }
@@ -98,17 +76,16 @@ public final class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
     }
 
     @Override
-    public SdkHttpFullResponse getHttpResponse() {
-        return httpResponse;
+    public String getHeader(String header) {
+        return headers.apply(header);
     }
 
     @Override
-    public int getCurrentDepth() {
-        int depth = stack.size();
-        if (currentField != null) {
-            depth++;
+    public SdkHttpFullResponse getHttpResponse() {
+        if (httpResponse == null) {
+            httpResponse = httpResponseSupplier.get();
         }
-        return depth;
+        return httpResponse;
     }
 
     @Override
@@ -153,43 +130,6 @@ public final class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
         return jsonParser == null || jsonParser.getCurrentToken() == null;
     }
 
-    @Override
-    public boolean testExpression(String expression) {
-        if (expression.equals(".")) {
-            return true;
-        } else {
-            if (currentField != null) {
-                return currentField.equals(expression);
-            } else {
-                return (!stack.isEmpty())
-                       && stack.peek().getField().equals(expression);
-            }
-        }
-    }
-
-    @Override
-    public String getCurrentParentElement() {
-        String parentElement;
-        if (currentField != null) {
-            parentElement = currentField;
-        } else if (!stack.isEmpty()) {
-            parentElement = stack.peek().getField();
-        } else {
-            parentElement = "";
-        }
-        return parentElement;
-    }
-
-    @Override
-    public boolean testExpression(String expression, int stackDepth) {
-        if (expression.equals(".")) {
-            return true;
-        } else {
-            return testExpression(expression)
-                   && stackDepth == getCurrentDepth();
-        }
-    }
-
     @Override
     public JsonToken nextToken() throws IOException {
         // Use the value from the nextToken field if
@@ -199,11 +139,20 @@ public final class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
 
         this.currentToken = token;
         nextToken = null;
-
-        updateContext();
         return token;
     }
 
+    @Override
+    public void skipValue() throws IOException {
+        if (nextToken != null) {
+            // The parser has already moved past the current token
+            super.skipValue();
+            return;
+        }
+        jsonParser.skipChildren();
+        currentToken = jsonParser.getCurrentToken();
+    }
+
     @Override
     public JsonToken peek() throws IOException {
         if (nextToken != null) {
@@ -238,85 +187,4 @@ public final class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
     public JsonToken getCurrentToken() {
         return currentToken;
     }
-
-    private void updateContext() throws IOException {
-        lastParsedParentElement = null;
-        if (currentToken == null) {
-            return;
-        }
-
-        if (currentToken == START_OBJECT || currentToken == START_ARRAY) {
-            if (currentField != null) {
-                stack.push(new JsonFieldTokenPair(currentField, currentToken));
-                currentField = null;
-            }
-        } else if (currentToken == END_OBJECT || currentToken == END_ARRAY) {
-            if (!stack.isEmpty()) {
-                boolean squareBracketsMatch = currentToken == END_ARRAY && stack.peek().getToken() == START_ARRAY;
-                boolean curlyBracketsMatch = currentToken == END_OBJECT && stack.peek().getToken() == START_OBJECT;
-                if (squareBracketsMatch || curlyBracketsMatch) {
-                    lastParsedParentElement = stack.pop().getField();
-                }
-            }
-            currentField = null;
-        } else if (currentToken == FIELD_NAME) {
-            String t = jsonParser.getText();
-            currentField = t;
-        }
-    }
-
-    @Override
-    public String toString() {
-        StringBuilder stackString = new StringBuilder();
-
-        for (JsonFieldTokenPair jsonFieldTokenPair : stack) {
-            stackString.append("/")
-                       .append(jsonFieldTokenPair.getField());
-        }
-
-        if (currentField != null) {
-            stackString.append("/")
-                       .append(currentField);
-        }
-
-        return stackString.length() == 0 ? "/" : stackString.toString();
-    }
-
-    @Override
-    public String getLastParsedParentElement() {
-        return lastParsedParentElement;
-    }
-
-    /**
-     * An immutable class used to indicate a JSON field value followed by a
-     * subsequent JSON token. This inner class should only be used by the
-     * private stack to indicate the current state of the context.
-     */
-    private static class JsonFieldTokenPair {
-        private final String field;
-        private final JsonToken jsonToken;
-
-        /**
-         * @param fieldString
-         *            Not null.
-         * @param token
-         *            Not null.
-         */
-        JsonFieldTokenPair(String fieldString, JsonToken token) {
-            field = fieldString;
-            jsonToken = token;
-        }
-
-        public String getField() {
-            return field;
-        }
-
-        public JsonToken getToken() {
-            return jsonToken;
-        }
-
-        public String toString() {
-            return field + ": " + jsonToken.asString();
-        }
-    }
 }
@@ -15,7 +15,6 @@
 
 package software.amazon.awssdk.core.runtime.transform;
 
-import static com.fasterxml.jackson.core.JsonToken.END_ARRAY;
 import static com.fasterxml.jackson.core.JsonToken.END_OBJECT;
 import static com.fasterxml.jackson.core.JsonToken.FIELD_NAME;
 
@@ -37,28 +36,24 @@ public final class MapUnmarshaller<K, V> implements Unmarshaller<Map<K, V>, Json
     }
 
     public Map<K, V> unmarshall(JsonUnmarshallerContext context) throws Exception {
-        Map<K, V> map = new HashMap<>();
-        int originalDepth = context.getCurrentDepth();
-
         if (context.getCurrentToken() == JsonToken.VALUE_NULL) {
             return null;
         }
 
+        Map<K, V> map = new HashMap<>();
         while (true) {
             JsonToken token = context.nextToken();
-            if (token == null) {
+            if (token == null || token == END_OBJECT) {
                 return map;
             }
 
+            // The value unmarshaller consumes the whole value, so the only other tokens at this level are the start of
+            // the map, if it has not been consumed yet, and the names of its entries.
             if (token == FIELD_NAME) {
                 K k = keyUnmarshaller.unmarshall(context);
                 context.nextToken();
                 V v = valueUnmarshaller.unmarshall(context);
                 map.put(k, v);
-            } else if (token == END_ARRAY || token == END_OBJECT) {
-                if (context.getCurrentDepth() <= originalDepth) {
-                    return map;
-                }
             }
         }
     }
@@ -20,8 +20,10 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -39,9 +41,11 @@ import software.amazon.awssdk.core.DefaultRequest;
 import software.amazon.awssdk.core.Request;
 import software.amazon.awssdk.core.SdkRequest;
 import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.exception.SdkServiceException;
 import software.amazon.awssdk.core.http.EmptySdkResponse;
+import software.amazon.awssdk.core.http.ExecutionContext;
 import software.amazon.awssdk.core.http.HttpResponseHandler;
 import software.amazon.awssdk.core.internal.client.config.SdkClientConfiguration;
 import software.amazon.awssdk.core.retry.RetryPolicy;
@@ -129,6 +133,45 @@ public class AsyncClientHandlerTest {
         verifyNoMoreInteractions(responseHandler); // Response handler is not called
     }
 
+    @Test
+    public void cancellingWhileContextIsCreated_cancelsContextAndDoesNotSendRequest() {
+        CompletableFuture<ExecutionContext> contextFuture = new CompletableFuture<>();
+        SdkAsyncClientHandler handler = new SdkAsyncClientHandler(clientConfiguration()) {
+            @Override
+            protected CompletableFuture<ExecutionContext> createExecutionContextAsync(SdkRequest originalRequest) {
+                return contextFuture;
+            }
+        };
+
+        CompletableFuture<SdkResponse> responseFuture = handler.execute(clientExecutionParams());
+        responseFuture.cancel(true);
+
+        assertThat(contextFuture).isCancelled();
+        verifyZeroInteractions(httpClient);
+    }
+
+    @Test
+    public void contextCreatedLater_executesRequestOnFutureCompletionExecutor() {
+        CompletableFuture<ExecutionContext> contextFuture = new CompletableFuture<>();
+        List<Runnable> submitted = new ArrayList<>();
+        SdkClientConfiguration configuration =
+            clientConfiguration().toBuilder()
+                                 .option(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR, submitted::add)
+                                 .build();
+        SdkAsyncClientHandler handler = new SdkAsyncClientHandler(configuration) {
+            @Override
+            protected CompletableFuture<ExecutionContext> createExecutionContextAsync(SdkRequest originalRequest) {
+                return contextFuture;
+            }
+        };
+
+        handler.execute(clientExecutionParams());
+        contextFuture.complete(handler.createExecutionContext(request));
+
+        assertThat(submitted).hasSize(1);
+        verifyZeroInteractions(marshaller, httpClient);
+    }
+
     private void expectRetrievalFromMocks() {
         when(marshaller.marshall(request)).thenReturn(marshalledRequest);
     }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.http.async.SimpleSubscriber;
+
+public class FileAsyncRequestBodyTest {
+    private static final String CONTENT = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    private Path file;
+
+    @Before
+    public void setup() throws IOException {
+        file = Files.createTempFile("FileAsyncRequestBodyTest", ".txt");
+        Files.write(file, CONTENT.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void readsWholeFileByDefault() throws Exception {
+        FileAsyncRequestBody body = FileAsyncRequestBody.builder().path(file).chunkSizeInBytes(5).build();
+
+        assertThat(body.contentLength()).isEqualTo(CONTENT.length());
+        assertThat(read(body)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void readsOnlyTheRequestedRange() throws Exception {
+        FileAsyncRequestBody body = FileAsyncRequestBody.builder()
+                                                        .path(file)
+                                                        .chunkSizeInBytes(4)
+                                                        .position(10L)
+                                                        .numBytesToRead(7L)
+                                                        .build();
+
+        assertThat(body.contentLength()).isEqualTo(7);
+        assertThat(read(body)).isEqualTo("abcdefg");
+    }
+
+    @Test
+    public void rangePastTheEndOfTheFileStopsAtTheEnd() throws Exception {
+        FileAsyncRequestBody body = FileAsyncRequestBody.builder()
+                                                        .path(file)
+                                                        .position(30L)
+                                                        .numBytesToRead(100L)
+                                                        .build();
+
+        assertThat(body.contentLength()).isEqualTo(6);
+        assertThat(read(body)).isEqualTo("uvwxyz");
+    }
+
+    @Test
+    public void emptyRangeCompletesWithoutData() throws Exception {
+        FileAsyncRequestBody body = FileAsyncRequestBody.builder().path(file).position(3L).numBytesToRead(0L).build();
+
+        assertThat(body.contentLength()).isZero();
+        assertThat(read(body)).isEmpty();
+    }
+
+    @Test
+    public void eachSubscriberReadsTheRangeFromItsStart() throws Exception {
+        FileAsyncRequestBody body = FileAsyncRequestBody.builder().path(file).position(1L).numBytesToRead(3L).build();
+
+        assertThat(read(body)).isEqualTo("123");
+        assertThat(read(body)).isEqualTo("123");
+    }
+
+    private static String read(FileAsyncRequestBody body) throws Exception {
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        body.subscribe(new SimpleSubscriber(buffer -> {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            received.write(bytes, 0, bytes.length);
+        }) {
+            @Override
+            public void onError(Throwable t) {
+                done.completeExceptionally(t);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+        done.get(10, TimeUnit.SECONDS);
+        return new String(received.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
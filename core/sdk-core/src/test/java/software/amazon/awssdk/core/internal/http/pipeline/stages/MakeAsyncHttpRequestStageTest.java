@@ -41,7 +41,7 @@ import software.amazon.awssdk.core.internal.client.config.SdkClientConfiguration
 import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
 import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.timers.ClientExecutionAndRequestTimerTestUtils;
-import software.amazon.awssdk.core.internal.util.CapacityManager;
+import software.amazon.awssdk.core.retry.capacity.TokenBucketRetryCapacity;
 import software.amazon.awssdk.http.async.AbortableRunnable;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import utils.ValidSdkObjects;
@@ -71,8 +71,7 @@ public class MakeAsyncHttpRequestStageTest {
 
     @Test
     public void apiCallAttemptTimeoutEnabled_shouldInvokeExecutor() throws Exception {
-        stage = new MakeAsyncHttpRequestStage(noOpResponseHandler(), noOpResponseHandler(),
-                                              clientDependencies(Duration.ofMillis(1000)));
+        stage = new MakeAsyncHttpRequestStage(clientDependencies(Duration.ofMillis(1000)));
         stage.execute(ValidSdkObjects.sdkHttpFullRequest().build(), requestContext());
 
         verify(timeoutExecutor, times(1)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
@@ -80,7 +79,7 @@ public class MakeAsyncHttpRequestStageTest {
 
     @Test
     public void apiCallAttemptTimeoutNotEnabled_shouldNotInvokeExecutor() throws Exception {
-        stage = new MakeAsyncHttpRequestStage<Object>(noOpResponseHandler(), noOpResponseHandler(), clientDependencies(null));
+        stage = new MakeAsyncHttpRequestStage<Object>(clientDependencies(null));
         stage.execute(ValidSdkObjects.sdkHttpFullRequest().build(), requestContext());
 
         verify(timeoutExecutor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
@@ -96,7 +95,7 @@ public class MakeAsyncHttpRequestStageTest {
 
         return HttpClientDependencies.builder()
                                      .clientConfiguration(configuration)
-                                     .capacityManager(new CapacityManager(2))
+                                     .retryCapacity(TokenBucketRetryCapacity.create(2))
                                      .build();
     }
 
@@ -105,6 +104,8 @@ public class MakeAsyncHttpRequestStageTest {
         return RequestExecutionContext.builder()
                                       .executionContext(executionContext)
                                       .originalRequest(NoopTestRequest.builder().build())
+                                      .asyncResponseHandler(noOpResponseHandler())
+                                      .asyncErrorResponseHandler(noOpResponseHandler())
                                       .build();
     }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.timers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+public class HashedWheelTimerTest {
+
+    private final HashedWheelTimer timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 8,
+                                                                new ThreadFactoryBuilder().threadNamePrefix("test-timer")
+                                                                                          .daemonThreads(true)
+                                                                                          .build());
+
+    @Test
+    public void scheduledTask_RunsAfterDelay() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        HashedWheelTimer.Timeout timeout = timer.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(50);
+        assertThat(timeout.isExpired()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+    }
+
+    @Test
+    public void delayLongerThanOneRotation_RunsAfterDelay() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        // 8 buckets of 1ms each, so this timeout has to wait for several rotations of the wheel.
+        timer.schedule(latch::countDown, 30, TimeUnit.MILLISECONDS);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(30);
+    }
+
+    @Test
+    public void cancelledTask_NeverRuns() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+
+        HashedWheelTimer.Timeout timeout = timer.schedule(runs::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        assertThat(timeout.cancel()).isTrue();
+        assertThat(timeout.isCancelled()).isTrue();
+
+        Thread.sleep(100);
+        assertThat(runs.get()).isEqualTo(0);
+        assertThat(timeout.isExpired()).isFalse();
+    }
+
+    @Test
+    public void failingTask_DoesNotStopTimer() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        timer.schedule(() -> {
+            throw new RuntimeException("Expected test exception");
+        }, 1, TimeUnit.MILLISECONDS);
+        timer.schedule(latch::countDown, 10, TimeUnit.MILLISECONDS);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void syncTimeoutTask_CancelledAfterExecution_ClearsInterruptedStatus() throws InterruptedException {
+        TimeoutTracker tracker = TimerUtils.timeSyncTaskIfNeeded(timer, 10, Thread.currentThread());
+        try {
+            Thread.sleep(5000);
+        } catch (InterruptedException expected) {
+            // Interrupted by the timeout.
+        }
+        assertThat(tracker.hasExecuted()).isTrue();
+
+        Thread.currentThread().interrupt();
+        tracker.cancel();
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    @Test
+    public void syncTimeoutTask_CancelledBeforeExecution_NeverInterrupts() throws InterruptedException {
+        TimeoutTracker tracker = TimerUtils.timeSyncTaskIfNeeded(timer, 10, Thread.currentThread());
+        tracker.cancel();
+
+        Thread.sleep(100);
+        assertThat(tracker.hasExecuted()).isFalse();
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+}
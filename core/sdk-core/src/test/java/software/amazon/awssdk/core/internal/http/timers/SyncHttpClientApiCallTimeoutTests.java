@@ -0,0 +1,139 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.timers;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static software.amazon.awssdk.core.internal.http.timers.TimeoutTestConstants.API_CALL_TIMEOUT;
+import static utils.HttpTestUtils.testClientBuilder;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.http.HttpResponseHandler;
+import software.amazon.awssdk.core.http.NoopTestRequest;
+import software.amazon.awssdk.core.internal.http.AmazonSyncHttpClient;
+import software.amazon.awssdk.core.internal.http.response.EmptySdkResponseHandler;
+import software.amazon.awssdk.core.internal.http.response.NullErrorResponseHandler;
+import software.amazon.awssdk.core.internal.http.response.UnresponsiveErrorResponseHandler;
+import software.amazon.awssdk.core.internal.http.response.UnresponsiveResponseHandler;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import utils.ValidSdkObjects;
+
+public class SyncHttpClientApiCallTimeoutTests {
+
+    @Rule
+    public WireMockRule wireMock = new WireMockRule(0);
+
+    private AmazonSyncHttpClient httpClient;
+
+    @Before
+    public void setup() {
+        httpClient = testClientBuilder()
+            .retryPolicy(RetryPolicy.none())
+            .apiCallTimeout(API_CALL_TIMEOUT)
+            .build();
+    }
+
+    @Test
+    public void successfulResponse_SlowResponseHandler_ThrowsApiCallTimeoutException() {
+        stubFor(get(anyUrl())
+                    .willReturn(aResponse().withStatus(200).withBody("{}")));
+
+        assertThatThrownBy(() -> execute(new UnresponsiveResponseHandler())).isInstanceOf(ApiCallTimeoutException.class);
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    @Test
+    public void errorResponse_SlowErrorResponseHandler_ThrowsApiCallTimeoutException() {
+        stubFor(get(anyUrl())
+                    .willReturn(aResponse().withStatus(500).withBody("{}")));
+
+        assertThatThrownBy(() -> requestBuilder().errorResponseHandler(new UnresponsiveErrorResponseHandler())
+                                                 .execute(new EmptySdkResponseHandler()))
+            .isInstanceOf(ApiCallTimeoutException.class);
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    @Test
+    public void slowServer_ThrowsApiCallTimeoutException() {
+        stubFor(get(anyUrl())
+                    .willReturn(aResponse().withStatus(200).withBody("{}").withFixedDelay(5000)));
+
+        assertThatThrownBy(() -> execute(new EmptySdkResponseHandler())).isInstanceOf(ApiCallTimeoutException.class);
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    @Test
+    public void slowApiAttempt_ThrowsApiCallAttemptTimeoutException() {
+        httpClient = testClientBuilder()
+            .retryPolicy(RetryPolicy.none())
+            .apiCallTimeout(API_CALL_TIMEOUT)
+            .apiCallAttemptTimeout(Duration.ofMillis(100))
+            .build();
+
+        stubFor(get(anyUrl())
+                    .willReturn(aResponse().withStatus(200).withBody("{}").withFixedDelay(500)));
+
+        assertThatThrownBy(() -> execute(new EmptySdkResponseHandler())).isInstanceOf(ApiCallAttemptTimeoutException.class);
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    @Test
+    public void fastResponse_DoesNotTimeOut() {
+        httpClient = testClientBuilder()
+            .retryPolicy(RetryPolicy.none())
+            .apiCallTimeout(API_CALL_TIMEOUT)
+            .apiCallAttemptTimeout(API_CALL_TIMEOUT)
+            .build();
+
+        stubFor(get(anyUrl())
+                    .willReturn(aResponse().withStatus(200).withBody("{}")));
+
+        execute(new EmptySdkResponseHandler());
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    private SdkResponse execute(HttpResponseHandler<SdkResponse> responseHandler) {
+        return requestBuilder().errorResponseHandler(new NullErrorResponseHandler())
+                               .execute(responseHandler);
+    }
+
+    private AmazonSyncHttpClient.RequestExecutionBuilder requestBuilder() {
+        SdkHttpFullRequest request = generateRequest();
+        return httpClient.requestExecutionBuilder()
+                         .request(request)
+                         .originalRequest(NoopTestRequest.builder().build())
+                         .executionContext(ClientExecutionAndRequestTimerTestUtils.executionContext(request));
+    }
+
+    private SdkHttpFullRequest generateRequest() {
+        return ValidSdkObjects.sdkHttpFullRequest(wireMock.port())
+                              .host("localhost")
+                              .content(new ByteArrayInputStream("test".getBytes())).build();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+public class SpillingReplayInputStreamTest {
+
+    private final byte[] data = randomBytes(10_000);
+
+    @Test
+    public void resetReplaysBytesKeptInMemoryAndSpilledToDisk() throws IOException {
+        try (SpillingReplayInputStream stream = new SpillingReplayInputStream(new ByteArrayInputStream(data), 1000, 20_000)) {
+            stream.mark(100);
+            assertArrayEquals(data, readAll(stream, 333));
+
+            for (int i = 0; i < 2; i++) {
+                stream.reset();
+                stream.mark(100);
+                assertArrayEquals(data, readAll(stream, 4096));
+            }
+        }
+    }
+
+    @Test
+    public void partiallyReadStreamContinuesFromSourceAfterReplay() throws IOException {
+        try (SpillingReplayInputStream stream = new SpillingReplayInputStream(new ByteArrayInputStream(data), 1000, 20_000)) {
+            stream.mark(100);
+            assertEquals(1500, stream.read(new byte[1500]));
+            stream.reset();
+            assertEquals(data[0] & 0xFF, stream.read());
+            assertArrayEquals(Arrays.copyOfRange(data, 1, data.length), readAll(stream, 777));
+        }
+    }
+
+    @Test
+    public void markAfterStartOfStreamOnlyReplaysFromMark() throws IOException {
+        try (SpillingReplayInputStream stream = new SpillingReplayInputStream(new ByteArrayInputStream(data), 1000, 20_000)) {
+            assertEquals(100, stream.read(new byte[100]));
+            stream.mark(100);
+            assertEquals(5000, readFully(stream, new byte[5000]));
+            stream.reset();
+            assertArrayEquals(Arrays.copyOfRange(data, 100, data.length), readAll(stream, 1024));
+        }
+    }
+
+    @Test
+    public void resetFailsAfterReadingMoreThanMaximum() throws IOException {
+        try (SpillingReplayInputStream stream = new SpillingReplayInputStream(new ByteArrayInputStream(data), 1000, 5000)) {
+            stream.mark(100);
+            assertArrayEquals(data, readAll(stream, 1024));
+            try {
+                stream.reset();
+                fail();
+            } catch (IOException expected) {
+                // More than the maximum was read
+            }
+        }
+    }
+
+    @Test
+    public void spillFailureKeepsStreamingButFailsReset() throws IOException {
+        try (SpillingReplayInputStream stream = new SpillingReplayInputStream(new ByteArrayInputStream(data), 1000, 20_000,
+                                                                               Paths.get("does-not-exist"))) {
+            stream.mark(100);
+            assertArrayEquals(data, readAll(stream, 512));
+            try {
+                stream.reset();
+                fail();
+            } catch (IOException expected) {
+                // The part past the memory buffer could not be spilled
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void resetFailsWithoutMark() throws IOException {
+        new SpillingReplayInputStream(new ByteArrayInputStream(data), 1000, 5000).reset();
+    }
+
+    private static byte[] readAll(InputStream stream, int bufferSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[bufferSize];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static int readFully(InputStream stream, byte[] buffer) throws IOException {
+        int total = 0;
+        while (total < buffer.length) {
+            int read = stream.read(buffer, total, buffer.length - total);
+            if (read == -1) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+}
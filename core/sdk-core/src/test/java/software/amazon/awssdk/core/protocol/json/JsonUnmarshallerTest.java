@@ -16,12 +16,15 @@
 package software.amazon.awssdk.core.protocol.json;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import java.io.ByteArrayInputStream;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.junit.Test;
@@ -35,6 +38,8 @@ import software.amazon.awssdk.core.runtime.transform.MapUnmarshaller;
 public class JsonUnmarshallerTest {
     public static final String SIMPLE_MAP = "{\"key1\" : \"value1\", \"key2\" : \"value2\"}";
     public static final String MAP_TO_LIST = "{\"key1\" : [ null, \"value1\"], \"key2\" : [\"value2\"]}";
+    public static final String MAP_TO_MAP = "{\"key1\" : {\"key2\" : \"value2\"}, \"key3\" : {}}";
+    public static final String UNKNOWN_FIELD = "{\"unknown\" : {\"a\" : [1, {\"b\" : []}]}, \"known\" : \"value\"}";
     private static JsonFactory jsonFactory = new JsonFactory();
 
     @Test
@@ -62,6 +67,46 @@ public class JsonUnmarshallerTest {
         assertEquals(Arrays.asList("value2"), map.get("key2"));
     }
 
+    @Test
+    public void testMapToMap() throws Exception {
+        JsonUnmarshallerContext unmarshallerContext = setupUnmarshaller(MAP_TO_MAP);
+        MapUnmarshaller<String, Map<String, String>> unmarshaller = new MapUnmarshaller<String, Map<String, String>>(
+                SimpleTypeJsonUnmarshallers.StringJsonUnmarshaller.getInstance(),
+                new MapUnmarshaller<String, String>(
+                        SimpleTypeJsonUnmarshallers.StringJsonUnmarshaller.getInstance(),
+                        SimpleTypeJsonUnmarshallers.StringJsonUnmarshaller.getInstance()));
+        Map<String, Map<String, String>> map = unmarshaller.unmarshall(unmarshallerContext);
+        assertEquals(2, map.size());
+        assertEquals(Collections.singletonMap("key2", "value2"), map.get("key1"));
+        assertEquals(Collections.emptyMap(), map.get("key3"));
+        assertNull(unmarshallerContext.nextToken());
+    }
+
+    @Test
+    public void testSkipValue() throws Exception {
+        JsonUnmarshallerContext unmarshallerContext = setupUnmarshaller(UNKNOWN_FIELD);
+        unmarshallerContext.nextToken();
+        unmarshallerContext.nextToken();
+        unmarshallerContext.nextToken();
+        unmarshallerContext.skipValue();
+        assertEquals(JsonToken.END_OBJECT, unmarshallerContext.getCurrentToken());
+        assertEquals(JsonToken.FIELD_NAME, unmarshallerContext.nextToken());
+        assertEquals("known", unmarshallerContext.readText());
+    }
+
+    @Test
+    public void testSkipValueAfterPeek() throws Exception {
+        JsonUnmarshallerContext unmarshallerContext = setupUnmarshaller(UNKNOWN_FIELD);
+        unmarshallerContext.nextToken();
+        unmarshallerContext.nextToken();
+        unmarshallerContext.nextToken();
+        unmarshallerContext.peek();
+        unmarshallerContext.skipValue();
+        assertEquals(JsonToken.END_OBJECT, unmarshallerContext.getCurrentToken());
+        assertEquals(JsonToken.FIELD_NAME, unmarshallerContext.nextToken());
+        assertEquals("known", unmarshallerContext.readText());
+    }
+
     private JsonUnmarshallerContext setupUnmarshaller(String snippet) throws Exception {
         JsonParser jsonParser = jsonFactory
                 .createJsonParser(new ByteArrayInputStream(snippet.getBytes()));
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.retry.capacity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * Tests the behavior of the {@link TokenBucketRetryCapacity}
+ */
+public class TokenBucketRetryCapacityTest {
+
+    /**
+     * Tests that capacity can be acquired when available and can not be
+     * once exhausted.
+     */
+    @Test
+    public void acquire() {
+        TokenBucketRetryCapacity capacity = TokenBucketRetryCapacity.create(10);
+        assertThat(capacity.tryAcquire(1)).isTrue();
+        assertThat(capacity.availableCapacity()).isEqualTo(9);
+        assertThat(capacity.consumedCapacity()).isEqualTo(1);
+        assertThat(capacity.tryAcquire(9)).isTrue();
+        assertThat(capacity.availableCapacity()).isEqualTo(0);
+        assertThat(capacity.consumedCapacity()).isEqualTo(10);
+        assertThat(capacity.tryAcquire(1)).isFalse();
+        assertThat(capacity.failedAcquisitions()).isEqualTo(1);
+    }
+
+    /**
+     * Tests that capacity can be properly released, making additional capacity
+     * available to be acquired.
+     */
+    @Test
+    public void release() {
+        TokenBucketRetryCapacity capacity = TokenBucketRetryCapacity.create(10);
+        capacity.tryAcquire(10);
+        capacity.release(1);
+        assertThat(capacity.availableCapacity()).isEqualTo(1);
+        assertThat(capacity.consumedCapacity()).isEqualTo(9);
+        capacity.release(50);
+        assertThat(capacity.availableCapacity()).isEqualTo(10);
+        assertThat(capacity.consumedCapacity()).isEqualTo(0);
+    }
+
+    /**
+     * Tests that releasing capacity into a bucket whose maximum is close to {@link Integer#MAX_VALUE} does not overflow.
+     */
+    @Test
+    public void releaseNearMaxValue() {
+        TokenBucketRetryCapacity capacity = TokenBucketRetryCapacity.create(Integer.MAX_VALUE);
+        capacity.tryAcquire(1);
+        capacity.release(Integer.MAX_VALUE);
+        assertThat(capacity.availableCapacity()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Tests that acquiring nothing always succeeds, even when the bucket is empty.
+     */
+    @Test
+    public void acquireZero() {
+        TokenBucketRetryCapacity capacity = TokenBucketRetryCapacity.create(1);
+        capacity.tryAcquire(1);
+        assertThat(capacity.tryAcquire(0)).isTrue();
+        assertThat(capacity.failedAcquisitions()).isEqualTo(0);
+    }
+
+    /**
+     * Tests that, if created with negative capacity, the bucket effectively operates
+     * in a no-op mode.
+     */
+    @Test
+    public void unlimited() {
+        RetryCapacity capacity = RetryCapacity.unlimited();
+        assertThat(capacity.tryAcquire(Integer.MAX_VALUE)).isTrue();
+        capacity.release(1);
+        assertThat(capacity.tryAcquire(1)).isTrue();
+        assertThat(capacity.availableCapacity()).isEqualTo(-1);
+        assertThat(capacity.consumedCapacity()).isEqualTo(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeAcquisitionIsRejected() {
+        TokenBucketRetryCapacity.create(10).tryAcquire(-1);
+    }
+
+    /**
+     * Tests that concurrent acquisitions never hand out more capacity than the bucket holds.
+     */
+    @Test
+    public void concurrentAcquisitionsDoNotOvercommit() throws Exception {
+        int threads = 8;
+        int attemptsPerThread = 1000;
+        TokenBucketRetryCapacity capacity = TokenBucketRetryCapacity.create(500);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int acquired = 0;
+                    for (int j = 0; j < attemptsPerThread; j++) {
+                        if (capacity.tryAcquire(1)) {
+                            acquired++;
+                        }
+                    }
+                    return acquired;
+                }));
+            }
+            start.countDown();
+
+            int acquired = 0;
+            for (Future<Integer> result : results) {
+                acquired += result.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(acquired).isEqualTo(500);
+            assertThat(capacity.availableCapacity()).isEqualTo(0);
+            assertThat(capacity.failedAcquisitions()).isEqualTo(threads * attemptsPerThread - 500);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
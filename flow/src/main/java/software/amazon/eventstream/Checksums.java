@@ -15,12 +15,21 @@
 package software.amazon.eventstream;
 
 import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
 import java.util.zip.Checksum;
 
 final class Checksums {
     private Checksums() {}
 
     static void update(Checksum checksum, ByteBuffer buffer) {
+        update(checksum, buffer, null);
+    }
+
+    /**
+     * @param scratch Array to copy the bytes of a read-only heap buffer through, which gives no access to its array, or
+     * null to allocate one as needed.
+     */
+    static void update(Checksum checksum, ByteBuffer buffer, byte[] scratch) {
         if (buffer.hasArray()) {
             int pos = buffer.position();
             int off = buffer.arrayOffset();
@@ -28,6 +37,14 @@ final class Checksums {
             int rem = limit - pos;
             checksum.update(buffer.array(), pos + off, rem);
             buffer.position(limit);
+        } else if (buffer.isDirect() && checksum instanceof CRC32) {
+            ((CRC32) checksum).update(buffer);
+        } else if (scratch != null) {
+            while (buffer.hasRemaining()) {
+                int length = Math.min(buffer.remaining(), scratch.length);
+                buffer.get(scratch, 0, length);
+                checksum.update(scratch, 0, length);
+            }
         } else {
             int length = buffer.remaining();
             byte[] b = new byte[length];
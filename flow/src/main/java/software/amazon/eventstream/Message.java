@@ -20,7 +20,6 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
@@ -39,20 +38,49 @@ public class Message {
     private static final int TRAILING_CRC_LENGTH = 4;
     static final int MESSAGE_OVERHEAD = Prelude.LENGTH_WITH_CRC + TRAILING_CRC_LENGTH;
 
-    private final Map<String, HeaderValue> headers;
-    private final byte[] payload;
+    /**
+     * Encoded headers, or null if the message was created from already decoded headers.
+     */
+    private final ByteBuffer headerBytes;
+    private volatile Map<String, HeaderValue> headers;
+    private final ByteBuffer payload;
 
     public Message(Map<String, HeaderValue> headers, byte[] payload) {
+        this.headerBytes = null;
         this.headers = headers;
-        this.payload = payload.clone();
+        this.payload = ByteBuffer.wrap(payload.clone());
+    }
+
+    /**
+     * Creates a message over encoded headers and a payload without copying them. The headers are only decoded when they
+     * are first asked for.
+     */
+    private Message(ByteBuffer headerBytes, ByteBuffer payload) {
+        this.headerBytes = headerBytes;
+        this.payload = payload;
     }
 
     public Map<String, HeaderValue> getHeaders() {
-        return headers;
+        Map<String, HeaderValue> result = headers;
+        if (result == null) {
+            result = decodeHeaders(headerBytes.duplicate());
+            headers = result;
+        }
+        return result;
     }
 
     public byte[] getPayload() {
-        return payload.clone();
+        byte[] bytes = new byte[payload.remaining()];
+        payload.duplicate().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * @return A read-only view of the payload. Unlike {@link #getPayload()}, this does not copy it, so it is only valid for as
+     * long as the buffer the message was decoded from.
+     */
+    public ByteBuffer getPayloadBuffer() {
+        return payload.asReadOnlyBuffer();
     }
 
     public static Message decode(ByteBuffer buf) {
@@ -67,20 +95,41 @@ public class Message {
      * @return Decoded message
      */
     public static Message decode(Prelude prelude, ByteBuffer buf) {
-        int totalLength = prelude.getTotalLength();
-        validateMessageCrc(buf, totalLength);
-        buf.position(buf.position() + Prelude.LENGTH_WITH_CRC);
-
-        long headersLength = prelude.getHeadersLength();
-        byte[] headerBytes = new byte[Math.toIntExact(headersLength)];
-        buf.get(headerBytes);
-        Map<String, HeaderValue> headers = decodeHeaders(ByteBuffer.wrap(headerBytes));
+        validateMessageCrc(buf, prelude.getTotalLength());
+        Message message = decode(prelude, buf, true);
+        message.getHeaders();
+        return message;
+    }
 
-        byte[] payload = new byte[Math.toIntExact(totalLength - MESSAGE_OVERHEAD - headersLength)];
-        buf.get(payload);
-        buf.getInt(); // skip past the message CRC
+    /**
+     * Decodes a message whose checksum has already been validated. The headers are decoded lazily.
+     *
+     * @param prelude Decoded prelude of message.
+     * @param buf Data of message (including prelude which will be skipped over). Its position is moved past the message.
+     * @param copy True to copy the headers and payload out of the buffer, false for the message to refer to the buffer, in
+     * which case it is only valid for as long as the content of the buffer does not change.
+     * @return Decoded message
+     */
+    static Message decode(Prelude prelude, ByteBuffer buf, boolean copy) {
+        int start = buf.position();
+        int headersLength = Math.toIntExact(prelude.getHeadersLength());
+        int contentLength = prelude.getTotalLength() - MESSAGE_OVERHEAD;
+
+        ByteBuffer content = buf.duplicate();
+        content.position(start + Prelude.LENGTH_WITH_CRC);
+        content.limit(start + Prelude.LENGTH_WITH_CRC + contentLength);
+        if (copy) {
+            byte[] bytes = new byte[contentLength];
+            content.get(bytes);
+            content = ByteBuffer.wrap(bytes);
+        } else {
+            content = content.slice();
+        }
+        buf.position(start + prelude.getTotalLength());
 
-        return new Message(headers, payload);
+        ByteBuffer headerBytes = ((ByteBuffer) content.duplicate().limit(headersLength)).slice();
+        ByteBuffer payload = ((ByteBuffer) content.position(headersLength)).slice();
+        return new Message(headerBytes, payload);
     }
 
     private static void validateMessageCrc(ByteBuffer buf, int totalLength) {
@@ -139,10 +188,10 @@ public class Message {
         ByteArrayOutputStream headersAndPayload = new ByteArrayOutputStream();
         {
             DataOutputStream dos = new DataOutputStream(headersAndPayload);
-            for (Entry<String, HeaderValue> entry : headers.entrySet()) {
+            for (Entry<String, HeaderValue> entry : getHeaders().entrySet()) {
                 Header.encode(entry, dos);
             }
-            dos.write(payload);
+            dos.write(getPayload());
             dos.flush();
         }
 
@@ -168,7 +217,7 @@ public class Message {
         ByteArrayOutputStream baos = new ByteArrayOutputStream(8);
         DataOutputStream dos = new DataOutputStream(baos);
 
-        int headerLength = totalLength - Message.MESSAGE_OVERHEAD - payload.length;
+        int headerLength = totalLength - Message.MESSAGE_OVERHEAD - payload.remaining();
         dos.writeInt(totalLength);
         dos.writeInt(headerLength);
 
@@ -183,14 +232,14 @@ public class Message {
 
         Message message = (Message) o;
 
-        if (!headers.equals(message.headers)) return false;
-        return Arrays.equals(payload, message.payload);
+        if (!getHeaders().equals(message.getHeaders())) return false;
+        return payload.equals(message.payload);
     }
 
     @Override
     public int hashCode() {
-        int result = headers.hashCode();
-        result = 31 * result + Arrays.hashCode(payload);
+        int result = getHeaders().hashCode();
+        result = 31 * result + payload.hashCode();
         return result;
     }
 
@@ -198,6 +247,7 @@ public class Message {
     public String toString() {
         StringBuilder ret = new StringBuilder();
 
+        Map<String, HeaderValue> headers = getHeaders();
         for (Entry<String, HeaderValue> entry : headers.entrySet()) {
             ret.append(entry.getKey());
             ret.append(": ");
@@ -209,9 +259,9 @@ public class Message {
         String contentType = headers.getOrDefault(":content-type", HeaderValue.fromString("application/octet-stream"))
             .getString();
         if (contentType.contains("json") || contentType.contains("text")) {
-            ret.append(new String(payload, StandardCharsets.UTF_8));
+            ret.append(new String(getPayload(), StandardCharsets.UTF_8));
         } else {
-            ret.append(Base64.getEncoder().encodeToString(payload));
+            ret.append(Base64.getEncoder().encodeToString(getPayload()));
         }
         ret.append('\n');
         return ret.toString();
@@ -2,32 +2,84 @@ package software.amazon.eventstream;
 
 import java.nio.ByteBuffer;
 import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import static java.lang.String.format;
 
 /**
  * A simple decoder that accumulates chunks of bytes and emits eventstream
  * messages. Instances of this class are not thread-safe.
+ *
+ * <p>Messages that arrive whole within one chunk are decoded straight from that chunk. Only a message that is split across
+ * chunks is accumulated in a buffer, and the message checksum is computed as its bytes arrive, so each byte is read once.
+ *
+ * <p>A decoder only holds a buffer while part of a message has been fed to it. The buffer is borrowed from a pool shared by
+ * all decoders and returned as soon as every message fed so far has been emitted, so that the many streams of an
+ * application that are waiting for their next message do not each hold a buffer.
  */
 public final class MessageDecoder {
 
     /**
-     * Initial buffer size is 2MB. Will grow as needed to accommodate larger messages.
+     * Initial buffer size is 8KB, which fits most messages. Will grow as needed to accommodate larger messages.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    private static final int TRAILING_CRC_LENGTH = 4;
+
+    /**
+     * Size of the array that the checksum of read-only heap buffers, whose array is not accessible, is computed through.
+     */
+    private static final int CHECKSUM_SCRATCH_SIZE = 256;
+
+    /**
+     * Pooled buffers are only needed for messages that are in the middle of being decoded, so a modest number of them
+     * covers a large number of streams.
      */
-    private static final int INITIAL_BUFFER_SIZE = 2048 * 1024;
+    private static final BufferPool SHARED_BUFFER_POOL = new BufferPool(INITIAL_BUFFER_SIZE, 256);
 
     private final Consumer<Message> messageConsumer;
+    private final BufferPool bufferPool;
+    private final boolean copyMessages;
+    private final CRC32 messageCrc = new CRC32();
+    private byte[] checksumScratch;
     private ByteBuffer buf;
     private Prelude currentPrelude;
 
+    /**
+     * Creates a decoder that emits messages which own their headers and payload, and may be kept for as long as needed.
+     */
     public MessageDecoder(Consumer<Message> messageConsumer) {
-        this(messageConsumer, INITIAL_BUFFER_SIZE);
+        this(messageConsumer, SHARED_BUFFER_POOL, true);
     }
 
     /**
      * To be used by tests only.
      */
     MessageDecoder(Consumer<Message> messageConsumer, int initialBufferSize) {
+        this(messageConsumer, initialBufferSize, true);
+    }
+
+    /**
+     * To be used by tests only.
+     */
+    MessageDecoder(Consumer<Message> messageConsumer, int initialBufferSize, boolean copyMessages) {
+        this(messageConsumer, new BufferPool(initialBufferSize, 1), copyMessages);
+    }
+
+    private MessageDecoder(Consumer<Message> messageConsumer, BufferPool bufferPool, boolean copyMessages) {
         this.messageConsumer = messageConsumer;
-        this.buf = ByteBuffer.allocate(initialBufferSize);
+        this.bufferPool = bufferPool;
+        this.copyMessages = copyMessages;
+    }
+
+    /**
+     * Creates a decoder that emits messages which refer to the bytes fed to it instead of copying them. The payload of a
+     * message is a slice of the chunk it arrived in, or of the decoder's buffer if it was split across chunks, and its
+     * headers are only decoded if they are asked for. A message is therefore only valid until the consumer returns, and
+     * the consumer must copy whatever it needs to keep, for example with {@link Message#getPayload()}.
+     */
+    public static MessageDecoder zeroCopy(Consumer<Message> messageConsumer) {
+        return new MessageDecoder(messageConsumer, SHARED_BUFFER_POOL, false);
     }
 
     public void feed(byte[] bytes) {
@@ -36,57 +88,145 @@ public final class MessageDecoder {
 
     public void feed(byte[] bytes, int offset, int length) {
         int bytesToRead = Math.min(bytes.length, length + offset);
-        int bytesConsumed = offset;
-        while (bytesConsumed < bytesToRead) {
-            ByteBuffer readView = updateReadView();
-            if (currentPrelude == null) {
-                // Put only 15 bytes into buffer and compute prelude.
-                int numBytesToWrite = Math.min(15 - readView.remaining(),
-                                               bytesToRead - bytesConsumed);
-
-                buf.put(bytes, bytesConsumed, numBytesToWrite);
-                bytesConsumed += numBytesToWrite;
-                readView = updateReadView();
-
-                // Have enough data to decode the prelude
-                if (readView.remaining() >= 15) {
-                    currentPrelude = Prelude.decode(readView.duplicate());
-                    if (buf.capacity() < currentPrelude.getTotalLength()) {
-                        // Don't have enough capacity to hold this message, grow the buffer
-                        buf = ByteBuffer.allocate(currentPrelude.getTotalLength());
-                        buf.put(readView);
-                        readView = updateReadView();
-                    }
+        if (offset < bytesToRead) {
+            feed(ByteBuffer.wrap(bytes, offset, bytesToRead - offset));
+        }
+    }
+
+    /**
+     * Decode the remaining bytes of the given buffer, which are all consumed. The buffer may be reused once this returns,
+     * except by decoders created with {@link #zeroCopy}, whose messages must not be used after the consumer returns anyway.
+     */
+    public void feed(ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            if (buf == null || buf.position() == 0) {
+                if (!decodeInPlace(buffer)) {
+                    bufferPartialMessage(buffer);
                 }
+            } else {
+                bufferPartialMessage(buffer);
             }
-            // We might not have received enough data to decode the prelude so check for null again
-            if (currentPrelude != null) {
-                // Only write up to what we need to decode the next message
-                int numBytesToWrite = Math.min(currentPrelude.getTotalLength() - readView.remaining(),
-                                               bytesToRead - bytesConsumed);
-
-                buf.put(bytes, bytesConsumed, numBytesToWrite);
-                bytesConsumed += numBytesToWrite;
-                readView = updateReadView();
-
-                // If we have enough data to decode the message do so and reset the buffer for the next message
-                if (readView.remaining() >= currentPrelude.getTotalLength()) {
-                    messageConsumer.accept(Message.decode(currentPrelude, readView));
-                    buf.clear();
-                    currentPrelude = null;
-                }
+        }
+        releaseBufferIfEmpty();
+    }
+
+    /**
+     * Decode the next message straight from the given buffer if it holds the whole message.
+     *
+     * @return True if a message was decoded, false if the buffer only holds part of the next message.
+     */
+    private boolean decodeInPlace(ByteBuffer buffer) {
+        if (buffer.remaining() < Prelude.LENGTH_WITH_CRC) {
+            return false;
+        }
+        Prelude prelude = Prelude.decode(buffer);
+        messageCrc.reset();
+        if (buffer.remaining() < prelude.getTotalLength()) {
+            // Keep the prelude so that it is not decoded again when the rest of the message arrives
+            currentPrelude = prelude;
+            return false;
+        }
+        int crcEnd = buffer.position() + prelude.getTotalLength() - TRAILING_CRC_LENGTH;
+        updateMessageCrc((ByteBuffer) buffer.duplicate().limit(crcEnd));
+        validateMessageCrc(buffer.getInt(crcEnd));
+        messageConsumer.accept(Message.decode(prelude, buffer, copyMessages));
+        return true;
+    }
+
+    /**
+     * Append as much of the next message as the given buffer holds to the partial message, and decode the message once it
+     * is complete.
+     */
+    private void bufferPartialMessage(ByteBuffer buffer) {
+        if (buf == null) {
+            buf = bufferPool.acquire();
+        }
+        if (currentPrelude == null) {
+            append(buffer, Math.min(Prelude.LENGTH_WITH_CRC - buf.position(), buffer.remaining()));
+            if (buf.position() < Prelude.LENGTH_WITH_CRC) {
+                return;
             }
+            currentPrelude = Prelude.decode(readView());
+        }
+        int totalLength = currentPrelude.getTotalLength();
+        if (buf.capacity() < totalLength) {
+            // Don't have enough capacity to hold this message, grow the buffer
+            ByteBuffer pooledBuf = buf;
+            buf = ByteBuffer.allocate(totalLength);
+            buf.put(readView());
+            bufferPool.release(pooledBuf);
+        }
+
+        // Only write up to what we need to decode the next message
+        append(buffer, Math.min(totalLength - buf.position(), buffer.remaining()));
+
+        // If we have enough data to decode the message do so and reset the buffer for the next message
+        if (buf.position() == totalLength) {
+            ByteBuffer readView = readView();
+            validateMessageCrc(readView.getInt(totalLength - TRAILING_CRC_LENGTH));
+            messageConsumer.accept(Message.decode(currentPrelude, readView, copyMessages));
+            buf.clear();
+            currentPrelude = null;
+        }
+    }
+
+    /**
+     * Copy the given number of bytes from the buffer to the partial message, adding those covered by the message checksum
+     * to it.
+     */
+    private void append(ByteBuffer buffer, int length) {
+        ByteBuffer chunk = (ByteBuffer) buffer.duplicate().limit(buffer.position() + length);
+        int messageOffset = buf.position();
+        if (messageOffset == 0) {
+            messageCrc.reset();
+        }
+        // The prelude is always covered by the checksum, and only the trailing checksum itself is not
+        int crcLength = currentPrelude == null
+                        ? length
+                        : Math.min(length, currentPrelude.getTotalLength() - TRAILING_CRC_LENGTH - messageOffset);
+        if (crcLength > 0) {
+            updateMessageCrc((ByteBuffer) chunk.duplicate().limit(chunk.position() + crcLength));
+        }
+        buf.put(chunk);
+        buffer.position(buffer.position() + length);
+    }
+
+    private void updateMessageCrc(ByteBuffer bytes) {
+        if (checksumScratch == null && !bytes.hasArray() && !bytes.isDirect()) {
+            checksumScratch = new byte[CHECKSUM_SCRATCH_SIZE];
+        }
+        Checksums.update(messageCrc, bytes, checksumScratch);
+    }
+
+    private void validateMessageCrc(int wireCrc) {
+        long wireMessageCrc = Integer.toUnsignedLong(wireCrc);
+        long computedMessageCrc = messageCrc.getValue();
+        if (wireMessageCrc != computedMessageCrc) {
+            throw new IllegalArgumentException(format("Message checksum failure: expected 0x%x, computed 0x%x",
+                wireMessageCrc, computedMessageCrc));
+        }
+    }
+
+    /**
+     * Give the buffer back to the pool if it does not hold part of a message.
+     */
+    private void releaseBufferIfEmpty() {
+        if (buf != null && buf.position() == 0) {
+            bufferPool.release(buf);
+            buf = null;
         }
     }
 
-    private ByteBuffer updateReadView() {
+    private ByteBuffer readView() {
         return (ByteBuffer) buf.duplicate().flip();
     }
 
     /**
      * To be used by tests only.
+     *
+     * @return The size of the buffer holding the partial message fed so far, or 0 if no partial message is held.
      */
     int currentBufferSize() {
-        return buf.capacity();
+        return buf == null ? 0 : buf.capacity();
     }
 }
@@ -59,11 +59,8 @@ final class Prelude {
     }
 
     private static long computePreludeCrc(ByteBuffer buf) {
-        byte[] prelude = new byte[Prelude.LENGTH];
-        buf.duplicate().get(prelude);
-
         Checksum crc = new CRC32();
-        crc.update(prelude, 0, prelude.length);
+        Checksums.update(crc, (ByteBuffer) buf.duplicate().limit(buf.position() + Prelude.LENGTH));
         return crc.getValue();
     }
 
@@ -14,10 +14,8 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.hamcrest.Matchers;
 import org.junit.Assert;
-import org.junit.Ignore;
 import org.junit.Test;
 
-@Ignore
 public class MessageDecoderTest {
     long SEED = 8912374098123423L;
 
@@ -69,6 +67,87 @@ public class MessageDecoderTest {
         Assert.assertEquals(expected, actual);
     }
 
+    @Test
+    public void testDecoder_ByteBuffers() throws Exception {
+        TestUtils utils = new TestUtils(SEED);
+        Random rand = new Random(SEED);
+        List<Message> expected = IntStream.range(0, 10_000)
+                                          .mapToObj(x -> utils.randomMessage())
+                                          .collect(Collectors.toList());
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        expected.forEach(x -> x.encode(baos));
+        ByteBuffer buf = ByteBuffer.wrap(baos.toByteArray());
+
+        List<Message> actual = new ArrayList<>();
+        MessageDecoder decoder = new MessageDecoder(actual::add);
+        while (buf.remaining() > 0) {
+            int bufSize = Math.min(1 + rand.nextInt(16 * 1024), buf.remaining());
+            // Alternate between heap and direct buffers, which are decoded without access to an array
+            ByteBuffer chunk = rand.nextBoolean() ? ByteBuffer.allocate(bufSize) : ByteBuffer.allocateDirect(bufSize);
+            chunk.put((ByteBuffer) buf.duplicate().limit(buf.position() + bufSize));
+            chunk.flip();
+            buf.position(buf.position() + bufSize);
+            decoder.feed(chunk);
+            assertEquals(0, chunk.remaining());
+        }
+
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void zeroCopy_MessagesReferToFedBytesUntilConsumerReturns() throws Exception {
+        TestUtils utils = new TestUtils(SEED);
+        Random rand = new Random(SEED);
+        List<Message> expected = IntStream.range(0, 1_000)
+                                          .mapToObj(x -> utils.randomMessage())
+                                          .collect(Collectors.toList());
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        expected.forEach(x -> x.encode(baos));
+        ByteBuffer buf = ByteBuffer.wrap(baos.toByteArray());
+
+        // Only copies made while the consumer runs can be relied on
+        List<Message> actual = new ArrayList<>();
+        MessageDecoder decoder = new MessageDecoder(m -> actual.add(new Message(m.getHeaders(), m.getPayload())),
+                                                    8192, false);
+        ByteBuffer chunk = ByteBuffer.allocate(16 * 1024);
+        while (buf.remaining() > 0) {
+            int bufSize = Math.min(1 + rand.nextInt(chunk.capacity()), buf.remaining());
+            chunk.clear();
+            chunk.put((ByteBuffer) buf.duplicate().limit(buf.position() + bufSize));
+            chunk.flip();
+            buf.position(buf.position() + bufSize);
+            decoder.feed(chunk);
+        }
+
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void zeroCopy_PayloadIsSliceOfFedBuffer() {
+        TestUtils utils = new TestUtils(SEED);
+        ByteBuffer encoded = utils.randomMessage(100).toByteBuffer();
+
+        List<ByteBuffer> payloads = new ArrayList<>();
+        MessageDecoder decoder = new MessageDecoder(m -> payloads.add(m.getPayloadBuffer()), 8192, false);
+        decoder.feed(encoded);
+
+        assertThat(payloads, Matchers.hasSize(1));
+        // Changing the fed bytes changes the payload, so it was not copied
+        encoded.put(encoded.capacity() - 5, (byte) (encoded.get(encoded.capacity() - 5) + 1));
+        assertEquals(encoded.get(encoded.capacity() - 5), payloads.get(0).get(99));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void corruptMessageSplitAcrossChunks_FailsChecksum() {
+        TestUtils utils = new TestUtils(SEED);
+        byte[] bs = utils.randomMessage(4096).toByteBuffer().array();
+        bs[bs.length / 2]++;
+
+        MessageDecoder decoder = new MessageDecoder(m -> { }, 8192);
+        decoder.feed(bs, 0, 100);
+        decoder.feed(bs, 100, bs.length - 100);
+    }
+
     @Test
     public void preludeFedFirst_DecodesCorrectly() {
         TestUtils utils = new TestUtils(SEED);
@@ -174,13 +253,19 @@ public class MessageDecoderTest {
         List<Message> actual = new ArrayList<>();
         MessageDecoder decoder = new MessageDecoder(actual::add, 8192);
 
-        // Feed all at once
+        // Feed all but the last byte at once
         byte[] bs = new byte[buf.capacity()];
         buf.get(bs);
-        decoder.feed(bs);
+        decoder.feed(bs, 0, bs.length - 1);
 
-        assertEquals(expected, actual);
+        assertEquals(expected.subList(0, 99), actual);
         assertEquals(8192, decoder.currentBufferSize());
+
+        // The buffer is released once the last message is complete
+        decoder.feed(bs, bs.length - 1, 1);
+
+        assertEquals(expected, actual);
+        assertEquals(0, decoder.currentBufferSize());
     }
 
     @Test
@@ -198,13 +283,36 @@ public class MessageDecoderTest {
         List<Message> actual = new ArrayList<>();
         MessageDecoder decoder = new MessageDecoder(actual::add, 8192);
 
-        // Feed all at once
+        // Feed all but the last byte at once
         byte[] bs = new byte[buf.capacity()];
         buf.get(bs);
-        decoder.feed(bs);
+        decoder.feed(bs, 0, bs.length - 1);
 
-        assertEquals(expected, actual);
+        assertEquals(expected.subList(0, 99), actual);
         assertThat(decoder.currentBufferSize(), greaterThan(9001));
+
+        // The grown buffer is dropped once the last message is complete
+        decoder.feed(bs, bs.length - 1, 1);
+
+        assertEquals(expected, actual);
+        assertEquals(0, decoder.currentBufferSize());
+    }
+
+    @Test
+    public void idleDecoder_HoldsNoBuffer() {
+        TestUtils utils = new TestUtils(SEED);
+        byte[] bs = utils.randomMessage(4096).toByteBuffer().array();
+
+        List<Message> actual = new ArrayList<>();
+        MessageDecoder decoder = new MessageDecoder(actual::add, 8192);
+        assertEquals(0, decoder.currentBufferSize());
+
+        decoder.feed(bs, 0, 10);
+        assertEquals(8192, decoder.currentBufferSize());
+
+        decoder.feed(bs, 10, bs.length - 10);
+        assertThat(actual, Matchers.hasSize(1));
+        assertEquals(0, decoder.currentBufferSize());
     }
 
 }
@@ -26,6 +26,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyMap;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class MessageTest {
     @Test
@@ -103,6 +104,17 @@ public class MessageTest {
         }
     }
 
+    @Test
+    public void payloadBufferIsReadOnlyView() {
+        Message message = Message.decode(new Message(emptyMap(), new byte[]{ 1, 2, 3 }).toByteBuffer());
+
+        ByteBuffer payload = message.getPayloadBuffer();
+
+        assertTrue(payload.isReadOnly());
+        assertEquals(3, payload.remaining());
+        assertEquals(2, payload.get(payload.position() + 1));
+    }
+
     static void roundTrip(Message expected) {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         expected.encode(baos);
@@ -31,6 +31,7 @@ import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -49,6 +50,7 @@ import org.apache.http.config.RegistryBuilder;
 import org.apache.http.config.SocketConfig;
 import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
@@ -58,6 +60,7 @@ import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.DefaultSchemePortResolver;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.protocol.HttpRequestExecutor;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.http.AbortableCallable;
@@ -71,6 +74,7 @@ import software.amazon.awssdk.http.apache.internal.ApacheHttpRequestConfig;
 import software.amazon.awssdk.http.apache.internal.DefaultConfiguration;
 import software.amazon.awssdk.http.apache.internal.SdkProxyRoutePlanner;
 import software.amazon.awssdk.http.apache.internal.conn.ClientConnectionManagerFactory;
+import software.amazon.awssdk.http.apache.internal.conn.IdleConnectionReaper;
 import software.amazon.awssdk.http.apache.internal.conn.SdkConnectionKeepAliveStrategy;
 import software.amazon.awssdk.http.apache.internal.conn.SdkTlsSocketFactory;
 import software.amazon.awssdk.http.apache.internal.impl.ApacheHttpRequestFactory;
@@ -93,12 +97,14 @@ public final class ApacheHttpClient implements SdkHttpClient {
     private static final Logger log = Logger.loggerFor(ApacheHttpClient.class);
 
     private final ApacheHttpRequestFactory apacheHttpRequestFactory = new ApacheHttpRequestFactory();
+    private final PoolingHttpClientConnectionManager connectionManager;
     private final ConnectionManagerAwareHttpClient httpClient;
     private final ApacheHttpRequestConfig requestConfig;
     private final AttributeMap resolvedOptions;
 
     private ApacheHttpClient(DefaultBuilder builder, AttributeMap resolvedOptions) {
-        this.httpClient = createClient(builder, resolvedOptions);
+        this.connectionManager = new ApacheConnectionManagerFactory().create(builder, resolvedOptions);
+        this.httpClient = createClient(builder, connectionManager);
         this.requestConfig = createRequestConfig(builder, resolvedOptions);
         this.resolvedOptions = resolvedOptions;
     }
@@ -108,14 +114,8 @@ public final class ApacheHttpClient implements SdkHttpClient {
     }
 
     private ConnectionManagerAwareHttpClient createClient(ApacheHttpClient.DefaultBuilder configuration,
-                                                          AttributeMap standardOptions) {
-        ApacheConnectionManagerFactory cmFactory = new ApacheConnectionManagerFactory();
-
+                                                          HttpClientConnectionManager cm) {
         final HttpClientBuilder builder = HttpClients.custom();
-        // Note that it is important we register the original connection manager with the
-        // IdleConnectionReaper as it's required for the successful deregistration of managers
-        // from the reaper. See https://github.com/aws/aws-sdk-java/issues/722.
-        final HttpClientConnectionManager cm = cmFactory.create(configuration, standardOptions);
 
         builder.setRequestExecutor(new HttpRequestExecutor())
                // SDK handles decompression
@@ -128,10 +128,13 @@ public final class ApacheHttpClient implements SdkHttpClient {
 
         addProxyConfig(builder, configuration.proxyConfiguration);
 
-        // TODO idle connection reaper
-        //        if (.useReaper()) {
-        //            IdleConnectionReaper.registerConnectionManager(cm, settings.getMaxIdleConnectionTime());
-        //        }
+        // Note that it is important we register the original connection manager with the
+        // IdleConnectionReaper as it's required for the successful deregistration of managers
+        // from the reaper. See https://github.com/aws/aws-sdk-java/issues/722.
+        if (Optional.ofNullable(configuration.useIdleConnectionReaper).orElse(DefaultConfiguration.REAP_IDLE_CONNECTIONS)) {
+            IdleConnectionReaper.registerConnectionManager(cm, maxIdleTime(configuration).toMillis(),
+                                                           timeToLive(configuration).toMillis());
+        }
 
         return new software.amazon.awssdk.http.apache.internal.impl.ApacheSdkHttpClient(builder.build(), cm);
     }
@@ -153,12 +156,18 @@ public final class ApacheHttpClient implements SdkHttpClient {
     }
 
     private ConnectionKeepAliveStrategy buildKeepAliveStrategy(ApacheHttpClient.DefaultBuilder configuration) {
-        final long maxIdle = Optional.ofNullable(configuration.connectionMaxIdleTime)
-                                     .orElse(DefaultConfiguration.MAX_IDLE_CONNECTION_TIME)
-                                     .toMillis();
+        final long maxIdle = maxIdleTime(configuration).toMillis();
         return maxIdle > 0 ? new SdkConnectionKeepAliveStrategy(maxIdle) : null;
     }
 
+    private static Duration maxIdleTime(ApacheHttpClient.DefaultBuilder configuration) {
+        return Optional.ofNullable(configuration.connectionMaxIdleTime).orElse(DefaultConfiguration.MAX_IDLE_CONNECTION_TIME);
+    }
+
+    private static Duration timeToLive(ApacheHttpClient.DefaultBuilder configuration) {
+        return Optional.ofNullable(configuration.connectionTimeToLive).orElse(DefaultConfiguration.CONNECTION_POOL_TTL);
+    }
+
     private boolean isAuthenticatedProxy(ProxyConfiguration proxyConfiguration) {
         return proxyConfiguration.username() != null && proxyConfiguration.password() != null;
     }
@@ -190,9 +199,29 @@ public final class ApacheHttpClient implements SdkHttpClient {
         return Optional.ofNullable(resolvedOptions.get(key));
     }
 
+    /**
+     * Get a snapshot of the connection pool of this client, to help size {@link Builder#maxConnections(Integer)}.
+     */
+    public ApacheHttpClientMetrics metrics() {
+        Map<String, ApacheHttpClientMetrics.PoolMetrics> routes = new LinkedHashMap<>();
+        for (HttpRoute route : connectionManager.getRoutes()) {
+            // Routes to the same target through different proxies or local addresses are reported together.
+            routes.merge(route.getTargetHost().toURI(), toPoolMetrics(connectionManager.getStats(route)),
+                         ApacheHttpClientMetrics.PoolMetrics::add);
+        }
+        return new ApacheHttpClientMetrics(toPoolMetrics(connectionManager.getTotalStats()), routes);
+    }
+
+    private static ApacheHttpClientMetrics.PoolMetrics toPoolMetrics(PoolStats stats) {
+        return new ApacheHttpClientMetrics.PoolMetrics(stats.getLeased(), stats.getPending(), stats.getAvailable(),
+                                                      stats.getMax());
+    }
+
     @Override
     public void close() {
-        httpClient.getHttpClientConnectionManager().shutdown();
+        HttpClientConnectionManager cm = httpClient.getHttpClientConnectionManager();
+        IdleConnectionReaper.removeConnectionManager(cm);
+        cm.shutdown();
     }
 
     private SdkHttpFullResponse execute(HttpRequestBase apacheRequest) throws IOException {
@@ -303,6 +332,15 @@ public final class ApacheHttpClient implements SdkHttpClient {
          * Configure the maximum amount of time that a connection should be allowed to remain open while idle.
          */
         Builder connectionMaxIdleTime(Duration maxIdleConnectionTimeout);
+
+        /**
+         * Configure whether the idle connections in the connection pool should be closed in the background, once they have
+         * been idle for longer than the {@link #connectionMaxIdleTime(Duration)} or have outlived the
+         * {@link #connectionTimeToLive(Duration)}. A single thread closes them for all clients.
+         *
+         * <p>By default, this is enabled.</p>
+         */
+        Builder useIdleConnectionReaper(Boolean useConnectionReaper);
     }
 
     private static final class DefaultBuilder implements Builder {
@@ -312,6 +350,7 @@ public final class ApacheHttpClient implements SdkHttpClient {
         private Boolean expectContinueEnabled;
         private Duration connectionTimeToLive;
         private Duration connectionMaxIdleTime;
+        private Boolean useIdleConnectionReaper;
 
         private DefaultBuilder() {
         }
@@ -396,6 +435,16 @@ public final class ApacheHttpClient implements SdkHttpClient {
             connectionMaxIdleTime(connectionMaxIdleTime);
         }
 
+        @Override
+        public Builder useIdleConnectionReaper(Boolean useIdleConnectionReaper) {
+            this.useIdleConnectionReaper = useIdleConnectionReaper;
+            return this;
+        }
+
+        public void setUseIdleConnectionReaper(Boolean useIdleConnectionReaper) {
+            useIdleConnectionReaper(useIdleConnectionReaper);
+        }
+
         @Override
         public SdkHttpClient buildWithDefaults(AttributeMap serviceDefaults) {
             AttributeMap resolvedOptions = standardOptions.build().merge(serviceDefaults).merge(GLOBAL_HTTP_DEFAULTS);
@@ -405,8 +454,8 @@ public final class ApacheHttpClient implements SdkHttpClient {
 
     private static class ApacheConnectionManagerFactory {
 
-        public HttpClientConnectionManager create(ApacheHttpClient.DefaultBuilder configuration,
-                                                  AttributeMap standardOptions) {
+        public PoolingHttpClientConnectionManager create(ApacheHttpClient.DefaultBuilder configuration,
+                                                         AttributeMap standardOptions) {
             ConnectionSocketFactory sslsf = getPreferredSocketFactory(standardOptions);
 
             final PoolingHttpClientConnectionManager cm = new
@@ -415,9 +464,7 @@ public final class ApacheHttpClient implements SdkHttpClient {
                     null,
                     DefaultSchemePortResolver.INSTANCE,
                     null,
-                    Optional.ofNullable(configuration.connectionTimeToLive)
-                            .orElse(DefaultConfiguration.CONNECTION_POOL_TTL)
-                            .toMillis(),
+                    timeToLive(configuration).toMillis(),
                     TimeUnit.MILLISECONDS);
 
             cm.setDefaultMaxPerRoute(standardOptions.get(SdkHttpConfigurationOption.MAX_CONNECTIONS));
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.apache;
+
+import java.util.Collections;
+import java.util.Map;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * Snapshot of the connection pool of an {@link ApacheHttpClient}, returned by {@link ApacheHttpClient#metrics()}, in total
+ * and for each route (the scheme, host and port the connections are made to).
+ *
+ * <p>Many pending requests mean that the pool is too small for the load, while connections that stay available mean that
+ * it is larger than needed.
+ */
+@Immutable
+@SdkPublicApi
+public final class ApacheHttpClientMetrics {
+
+    private final PoolMetrics total;
+    private final Map<String, PoolMetrics> routes;
+
+    ApacheHttpClientMetrics(PoolMetrics total, Map<String, PoolMetrics> routes) {
+        this.total = total;
+        this.routes = Collections.unmodifiableMap(routes);
+    }
+
+    /**
+     * @return Connections across all routes.
+     */
+    public PoolMetrics total() {
+        return total;
+    }
+
+    /**
+     * @return Connections to each route that has any, by route, for example {@code https://sqs.us-east-1.amazonaws.com:443}.
+     * Connections to the same target through different proxies or from different local addresses are counted together.
+     */
+    public Map<String, PoolMetrics> routes() {
+        return routes;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("ApacheHttpClientMetrics")
+                       .add("total", total)
+                       .add("routes", routes)
+                       .build();
+    }
+
+    /**
+     * Usage of the connections in a pool.
+     */
+    @Immutable
+    @SdkPublicApi
+    public static final class PoolMetrics {
+        private final int leased;
+        private final int pending;
+        private final int available;
+        private final int max;
+
+        PoolMetrics(int leased, int pending, int available, int max) {
+            this.leased = leased;
+            this.pending = pending;
+            this.available = available;
+            this.max = max;
+        }
+
+        /**
+         * The combined usage of this pool and another one.
+         */
+        PoolMetrics add(PoolMetrics other) {
+            return new PoolMetrics(leased + other.leased, pending + other.pending, available + other.available,
+                                   max + other.max);
+        }
+
+        /**
+         * @return Number of connections in use by requests whose response has not been read to the end, closed or aborted.
+         */
+        public int leased() {
+            return leased;
+        }
+
+        /**
+         * @return Number of requests waiting for a connection.
+         */
+        public int pending() {
+            return pending;
+        }
+
+        /**
+         * @return Number of idle connections kept alive for reuse.
+         */
+        public int available() {
+            return available;
+        }
+
+        /**
+         * @return Maximum number of connections.
+         */
+        public int max() {
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return ToString.builder("PoolMetrics")
+                           .add("leased", leased)
+                           .add("pending", pending)
+                           .add("available", available)
+                           .add("max", max)
+                           .build();
+        }
+    }
+}
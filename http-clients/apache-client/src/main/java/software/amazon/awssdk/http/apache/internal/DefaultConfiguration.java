@@ -38,6 +38,8 @@ public final class DefaultConfiguration {
 
     public static final Boolean EXPECT_CONTINUE_ENABLED = Boolean.TRUE;
 
+    public static final Boolean REAP_IDLE_CONNECTIONS = Boolean.TRUE;
+
     private DefaultConfiguration() {
     }
 }
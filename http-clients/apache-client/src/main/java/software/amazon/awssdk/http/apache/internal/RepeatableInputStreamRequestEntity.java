@@ -72,17 +72,14 @@ public class RepeatableInputStreamRequestEntity extends BasicHttpEntity {
      *                content length, and content).
      */
     public RepeatableInputStreamRequestEntity(final SdkHttpFullRequest request) {
-        setChunked(false);
-
         /*
-         * If we don't specify a content length when we instantiate our
-         * InputStreamRequestEntity, then HttpClient will attempt to
-         * buffer the entire stream contents into memory to determine
-         * the content length.
+         * If we don't know the content length, the content is sent with
+         * chunked transfer encoding.
          */
         long contentLength = request.firstMatchingHeader("Content-Length")
                                     .map(this::parseContentLength)
                                     .orElse(-1L);
+        setChunked(contentLength < 0);
 
         content = getContent(request);
         // TODO v2 MetricInputStreamEntity
@@ -100,7 +97,7 @@ public class RepeatableInputStreamRequestEntity extends BasicHttpEntity {
         try {
             return Long.parseLong(contentLength);
         } catch (NumberFormatException nfe) {
-            log.warn("Unable to parse content length from request. Buffering contents in memory.");
+            log.warn("Unable to parse content length from request. Sending contents with chunked encoding.");
             return -1;
         }
     }
@@ -112,11 +109,6 @@ public class RepeatableInputStreamRequestEntity extends BasicHttpEntity {
         return request.content().orElseGet(() -> new ByteArrayInputStream(new byte[0]));
     }
 
-    @Override
-    public boolean isChunked() {
-        return false;
-    }
-
     /**
      * Returns true if the underlying InputStream supports marking/reseting or
      * if the underlying InputStreamRequestEntity is repeatable.
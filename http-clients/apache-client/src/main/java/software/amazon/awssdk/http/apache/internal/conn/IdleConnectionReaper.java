@@ -19,14 +19,18 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.apache.http.conn.HttpClientConnectionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
 
 /**
- * Daemon thread to periodically check connection pools for idle connections.
+ * Periodically checks connection pools for idle and expired connections, on a single daemon thread shared by all
+ * connection pools.
  * <p>
  * Connections sitting around idle in the HTTP connection pool for too long will
  * eventually be terminated by the AWS end of the connection, and will go into
@@ -35,25 +39,32 @@ import software.amazon.awssdk.annotations.SdkInternalApi;
  * in CLOSE_WAIT can prevent the OS from creating new connections.
  * <p>
  * This class closes idle connections before they can move into the CLOSE_WAIT
- * state.
+ * state, as well as connections that have outlived their time to live.
  * <p>
- * This thread is important because by default, we disable Apache HttpClient's
- * stale connection checking, so without this thread running in the background,
+ * This is important because by default, we disable Apache HttpClient's
+ * stale connection checking, so without the reaper running in the background,
  * cleaning up old/inactive HTTP connections, we'd see more IO exceptions when
  * stale connections (i.e. closed on the AWS side) are left in the connection
  * pool, and requests grab one of them to begin executing a request.
+ * <p>
+ * Each connection pool is checked at half its max idle time, but no more often than every second and no less often than
+ * every minute. The thread is started when the first pool is registered and stopped when the last one is removed.
  */
 @SdkInternalApi
-public final class IdleConnectionReaper extends Thread {
+public final class IdleConnectionReaper {
 
     /**
      * Shared log for any errors during connection reaping.
      */
     private static final Logger log = LoggerFactory.getLogger(IdleConnectionReaper.class);
     /**
-     * The period between invocations of the idle connection reaper.
+     * The longest period between checks of a connection pool.
+     */
+    private static final long MAX_PERIOD_MILLISECONDS = 1000 * 60;
+    /**
+     * The shortest period between checks of a connection pool.
      */
-    private static final int PERIOD_MILLISECONDS = 1000 * 60;
+    private static final long MIN_PERIOD_MILLISECONDS = 1000;
 
     /**
      * Legacy constant used when {@link #registerConnectionManager(HttpClientConnectionManager)} is called. New code paths should
@@ -63,23 +74,13 @@ public final class IdleConnectionReaper extends Thread {
     @Deprecated
     private static final int DEFAULT_MAX_IDLE_MILLIS = 1000 * 60;
 
-    private static final Map<HttpClientConnectionManager, Long> CONNECTION_MANAGERS = new ConcurrentHashMap<>();
-    /**
-     * Singleton instance of the connection reaper.
-     */
-    private static volatile IdleConnectionReaper instance;
+    private static final Map<HttpClientConnectionManager, ScheduledFuture<?>> CONNECTION_MANAGERS = new ConcurrentHashMap<>();
     /**
-     * Set to true when shutting down the reaper;  Once set to true, this
-     * flag is never set back to false.
+     * The scheduler shared by all connection managers, or null if none are registered.
      */
-    private volatile boolean shuttingDown;
+    private static ScheduledThreadPoolExecutor scheduler;
 
-    /**
-     * Private constructor - singleton pattern.
-     */
     private IdleConnectionReaper() {
-        super("java-sdk-http-connection-reaper");
-        setDaemon(true);
     }
 
     /**
@@ -101,16 +102,37 @@ public final class IdleConnectionReaper extends Thread {
      * @return true if the connection manager has been successfully registered; false otherwise.
      */
     public static boolean registerConnectionManager(HttpClientConnectionManager connectionManager, long maxIdleInMs) {
-        if (instance == null) {
-            synchronized (IdleConnectionReaper.class) {
-                if (instance == null) {
-                    IdleConnectionReaper newInstance = new IdleConnectionReaper();
-                    newInstance.start();
-                    instance = newInstance;
-                }
-            }
+        return registerConnectionManager(connectionManager, maxIdleInMs, -1);
+    }
+
+    /**
+     * Registers the given connection manager with this reaper;
+     *
+     * @param connectionManager Connection manager to register
+     * @param maxIdleInMs       Max idle connection timeout in milliseconds for this connection manager, or a non-positive
+     *                          value to only close expired connections.
+     * @param timeToLiveInMs    Time to live in milliseconds of the connections of this connection manager, or a non-positive
+     *                          value if they do not expire. Expired connections are closed at least this often.
+     * @return true if the connection manager has been successfully registered; false if it was already registered, in which
+     * case it is now checked with the given timeouts.
+     */
+    public static synchronized boolean registerConnectionManager(HttpClientConnectionManager connectionManager,
+                                                                 long maxIdleInMs,
+                                                                 long timeToLiveInMs) {
+        if (scheduler == null) {
+            scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
+                .threadNamePrefix("java-sdk-http-connection-reaper").build());
+            scheduler.setRemoveOnCancelPolicy(true);
         }
-        return CONNECTION_MANAGERS.put(connectionManager, maxIdleInMs) == null;
+        long period = periodMillis(maxIdleInMs, timeToLiveInMs);
+        ScheduledFuture<?> task = scheduler.scheduleWithFixedDelay(() -> reap(connectionManager, maxIdleInMs),
+                                                                   period, period, TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> previousTask = CONNECTION_MANAGERS.put(connectionManager, task);
+        if (previousTask != null) {
+            previousTask.cancel(false);
+            return false;
+        }
+        return true;
     }
 
     /**
@@ -119,12 +141,15 @@ public final class IdleConnectionReaper extends Thread {
      *
      * @return true if the connection manager has been successfully removed, false otherwise.
      */
-    public static boolean removeConnectionManager(HttpClientConnectionManager connectionManager) {
-        boolean wasRemoved = CONNECTION_MANAGERS.remove(connectionManager) != null;
+    public static synchronized boolean removeConnectionManager(HttpClientConnectionManager connectionManager) {
+        ScheduledFuture<?> task = CONNECTION_MANAGERS.remove(connectionManager);
+        if (task != null) {
+            task.cancel(false);
+        }
         if (CONNECTION_MANAGERS.isEmpty()) {
             shutdown();
         }
-        return wasRemoved;
+        return task != null;
     }
 
     public static List<HttpClientConnectionManager> getRegisteredConnectionManagers() {
@@ -132,22 +157,22 @@ public final class IdleConnectionReaper extends Thread {
     }
 
     /**
-     * Shuts down the thread, allowing the class and instance to be collected.
+     * Shuts down the thread, allowing the class to be collected.
      * <p>
      * Since this is a daemon thread, its running will not prevent JVM shutdown.
      * It will, however, prevent this class from being unloaded or garbage
      * collected, in the context of a long-running application, until it is
-     * interrupted. This method will stop the thread's execution and clear its
+     * stopped. This method will stop the thread's execution and clear its
      * state. Any use of a service client will cause the thread to be restarted.
      *
      * @return true if an actual shutdown has been made; false otherwise.
      */
     public static synchronized boolean shutdown() {
-        if (instance != null) {
-            instance.markShuttingDown();
-            instance.interrupt();
+        if (scheduler != null) {
+            log.debug("Shutting down reaper thread.");
+            scheduler.shutdownNow();
             CONNECTION_MANAGERS.clear();
-            instance = null;
+            scheduler = null;
             return true;
         }
         return false;
@@ -162,34 +187,28 @@ public final class IdleConnectionReaper extends Thread {
         return CONNECTION_MANAGERS.size();
     }
 
-    private void markShuttingDown() {
-        shuttingDown = true;
+    static long periodMillis(long maxIdleInMs, long timeToLiveInMs) {
+        long period = MAX_PERIOD_MILLISECONDS;
+        if (maxIdleInMs > 0) {
+            period = Math.min(period, maxIdleInMs / 2);
+        }
+        if (timeToLiveInMs > 0) {
+            period = Math.min(period, timeToLiveInMs / 2);
+        }
+        return Math.max(period, MIN_PERIOD_MILLISECONDS);
     }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public void run() {
-        while (true) {
-            if (shuttingDown) {
-                log.debug("Shutting down reaper thread.");
-                return;
-            }
-            try {
-                Thread.sleep(PERIOD_MILLISECONDS);
-
-                for (Map.Entry<HttpClientConnectionManager, Long> entry : CONNECTION_MANAGERS.entrySet()) {
-                    // When we release connections, the connection manager leaves them
-                    // open so they can be reused.  We want to close out any idle
-                    // connections so that they don't sit around in CLOSE_WAIT.
-                    try {
-                        entry.getKey().closeIdleConnections(entry.getValue(), TimeUnit.MILLISECONDS);
-                    } catch (Exception t) {
-                        log.warn("Unable to close idle connections", t);
-                    }
-                }
-            } catch (Throwable t) {
-                log.debug("Reaper thread: ", t);
+    private static void reap(HttpClientConnectionManager connectionManager, long maxIdleInMs) {
+        // When we release connections, the connection manager leaves them
+        // open so they can be reused.  We want to close out any idle
+        // connections so that they don't sit around in CLOSE_WAIT.
+        try {
+            connectionManager.closeExpiredConnections();
+            if (maxIdleInMs > 0) {
+                connectionManager.closeIdleConnections(maxIdleInMs, TimeUnit.MILLISECONDS);
             }
+        } catch (Exception t) {
+            log.warn("Unable to close idle connections", t);
         }
     }
 }
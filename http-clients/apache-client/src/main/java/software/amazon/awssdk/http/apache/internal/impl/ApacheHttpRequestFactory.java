@@ -39,7 +39,6 @@ import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.http.SdkHttpRequest;
 import software.amazon.awssdk.http.apache.internal.ApacheHttpRequestConfig;
 import software.amazon.awssdk.http.apache.internal.RepeatableInputStreamRequestEntity;
-import software.amazon.awssdk.http.apache.internal.utils.ApacheUtils;
 import software.amazon.awssdk.utils.http.SdkHttpUtils;
 
 /**
@@ -122,10 +121,9 @@ public class ApacheHttpRequestFactory {
          * return incorrect validation result.
          */
         if (request.content().isPresent()) {
+            // A body without a Content-Length header is streamed with chunked transfer encoding rather than buffered in
+            // memory to compute its length.
             HttpEntity entity = new RepeatableInputStreamRequestEntity(request);
-            if (request.headers().get(HttpHeaders.CONTENT_LENGTH) == null) {
-                entity = ApacheUtils.newBufferedHttpEntity(entity);
-            }
             entityEnclosingRequest.setEntity(entity);
         }
 
@@ -15,15 +15,31 @@
 
 package software.amazon.awssdk.http.apache;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TRUST_ALL_CERTIFICATES;
 
 import java.net.HttpURLConnection;
+import java.time.Duration;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.SdkHttpClientTestSuite;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkRequestContext;
 import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.awssdk.utils.IoUtils;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ApacheHttpClientWireMockTest extends SdkHttpClientTestSuite {
@@ -41,4 +57,68 @@ public class ApacheHttpClientWireMockTest extends SdkHttpClientTestSuite {
 
         testForResponseCodeUsingHttps(client, HttpURLConnection.HTTP_OK);
     }
+
+    @Test
+    public void requestBodyWithContentLengthIsSentWithFixedLength() throws Exception {
+        testForLargeRequestBody(true);
+        verify(putRequestedFor(urlMatching("/")).withHeader("Content-Length", equalTo("262144"))
+                                               .withHeader("Transfer-Encoding", absent()));
+    }
+
+    @Test
+    public void requestBodyOfUnknownLengthIsChunked() throws Exception {
+        testForLargeRequestBody(false);
+        verify(putRequestedFor(urlMatching("/")).withHeader("Transfer-Encoding", equalTo("chunked"))
+                                               .withHeader("Content-Length", absent()));
+    }
+
+    @Test
+    public void metricsReportLeasedAndAvailableConnectionsPerRoute() throws Exception {
+        ApacheHttpClient client = (ApacheHttpClient) ApacheHttpClient.builder().build();
+        try {
+            SdkHttpFullResponse response = sendGet(client);
+            String route = "http://localhost:" + mockServer.port();
+            assertThat(client.metrics().total().leased()).isEqualTo(1);
+            assertThat(client.metrics().routes().get(route).leased()).isEqualTo(1);
+
+            assertThat(IoUtils.toUtf8String(response.content().get())).isEqualTo("hello");
+            ApacheHttpClientMetrics metrics = client.metrics();
+            assertThat(metrics.total().leased()).isZero();
+            assertThat(metrics.total().pending()).isZero();
+            assertThat(metrics.routes().get(route).available()).isEqualTo(1);
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void idleConnectionsAreClosedInTheBackground() throws Exception {
+        ApacheHttpClient client = (ApacheHttpClient) ApacheHttpClient.builder()
+                                                                     .connectionMaxIdleTime(Duration.ofMillis(500))
+                                                                     .build();
+        try {
+            IoUtils.toUtf8String(sendGet(client).content().get());
+            assertThat(client.metrics().total().available()).isEqualTo(1);
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (client.metrics().total().available() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            assertThat(client.metrics().total().available()).isZero();
+        } finally {
+            client.close();
+        }
+    }
+
+    private SdkHttpFullResponse sendGet(SdkHttpClient client) throws Exception {
+        stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withBody("hello")));
+        SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                                                       .host("localhost")
+                                                       .protocol("http")
+                                                       .port(mockServer.port())
+                                                       .method(SdkHttpMethod.GET)
+                                                       .putHeader("Host", "localhost")
+                                                       .build();
+        return client.prepareRequest(request, SdkRequestContext.builder().build()).call();
+    }
 }
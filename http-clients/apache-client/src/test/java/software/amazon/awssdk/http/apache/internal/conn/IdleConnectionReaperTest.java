@@ -0,0 +1,73 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IdleConnectionReaperTest {
+
+    @Before
+    @After
+    public void reset() {
+        IdleConnectionReaper.shutdown();
+    }
+
+    @Test
+    public void registeredConnectionManagerIsReaped() {
+        HttpClientConnectionManager connectionManager = mock(HttpClientConnectionManager.class);
+
+        assertTrue(IdleConnectionReaper.registerConnectionManager(connectionManager, 2000, -1));
+
+        verify(connectionManager, timeout(5000)).closeExpiredConnections();
+        verify(connectionManager, timeout(5000)).closeIdleConnections(2000, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void removingLastConnectionManagerStopsReaper() {
+        HttpClientConnectionManager first = mock(HttpClientConnectionManager.class);
+        HttpClientConnectionManager second = mock(HttpClientConnectionManager.class);
+        IdleConnectionReaper.registerConnectionManager(first, 60_000, -1);
+        assertFalse(IdleConnectionReaper.registerConnectionManager(first, 30_000, -1));
+        IdleConnectionReaper.registerConnectionManager(second, 60_000, -1);
+        assertEquals(2, IdleConnectionReaper.size());
+
+        assertTrue(IdleConnectionReaper.removeConnectionManager(first));
+        assertEquals(1, IdleConnectionReaper.size());
+        assertTrue(IdleConnectionReaper.removeConnectionManager(second));
+        assertEquals(0, IdleConnectionReaper.size());
+        assertFalse(IdleConnectionReaper.shutdown());
+    }
+
+    @Test
+    public void periodIsHalfTheShortestTimeoutWithinBounds() {
+        assertEquals(30_000, IdleConnectionReaper.periodMillis(60_000, -1));
+        assertEquals(5_000, IdleConnectionReaper.periodMillis(60_000, 10_000));
+        assertEquals(1_000, IdleConnectionReaper.periodMillis(500, -1));
+        assertEquals(60_000, IdleConnectionReaper.periodMillis(-1, -1));
+        assertEquals(60_000, IdleConnectionReaper.periodMillis(600_000, 600_000));
+    }
+}
@@ -51,7 +51,9 @@ import software.amazon.awssdk.http.async.SdkHttpResponseHandler;
 import software.amazon.awssdk.http.nio.netty.internal.ChannelPipelineInitializer;
 import software.amazon.awssdk.http.nio.netty.internal.HandlerRemovingChannelPool;
 import software.amazon.awssdk.http.nio.netty.internal.NettyConfiguration;
+import software.amazon.awssdk.http.nio.netty.internal.NettyConfigurationOption;
 import software.amazon.awssdk.http.nio.netty.internal.NonManagedEventLoopGroup;
+import software.amazon.awssdk.http.nio.netty.internal.PerEventLoopChannelPool;
 import software.amazon.awssdk.http.nio.netty.internal.ReleaseOnceChannelPool;
 import software.amazon.awssdk.http.nio.netty.internal.RequestAdapter;
 import software.amazon.awssdk.http.nio.netty.internal.RequestContext;
@@ -60,6 +62,7 @@ import software.amazon.awssdk.http.nio.netty.internal.SdkChannelOptions;
 import software.amazon.awssdk.http.nio.netty.internal.SdkChannelPoolMap;
 import software.amazon.awssdk.http.nio.netty.internal.SharedSdkEventLoopGroup;
 import software.amazon.awssdk.http.nio.netty.internal.http2.HttpOrHttp2ChannelPool;
+import software.amazon.awssdk.http.nio.netty.internal.utils.SocketChannelResolver;
 import software.amazon.awssdk.utils.AttributeMap;
 import software.amazon.awssdk.utils.Either;
 import software.amazon.awssdk.utils.Validate;
@@ -152,14 +155,22 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
                         .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, configuration.connectTimeoutMillis())
                         // TODO run some performance tests with and without this.
                         .remoteAddress(key.getHost(), key.getPort());
-                sdkChannelOptions.channelOptions().forEach(bootstrap::option);
+                sdkChannelOptions.channelOptions(SocketChannelResolver.isNativeEpoll(sdkEventLoopGroup.eventLoopGroup()))
+                                 .forEach(bootstrap::option);
                 AtomicReference<ChannelPool> channelPoolRef = new AtomicReference<>();
                 ChannelPipelineInitializer handler =
                     new ChannelPipelineInitializer(protocol, sslContext, maxStreams, channelPoolRef);
-                channelPoolRef.set(new ReleaseOnceChannelPool(
-                    new HandlerRemovingChannelPool(
-                        new HttpOrHttp2ChannelPool(bootstrap, handler,
-                                                   configuration.maxConnections(), configuration))));
+                ChannelPool protocolPool;
+                if (configuration.channelPoolPerEventLoop()) {
+                    protocolPool = new PerEventLoopChannelPool(
+                        sdkEventLoopGroup.eventLoopGroup(), configuration.maxConnections(),
+                        configuration.maxPendingConnectionAcquires(), configuration.connectionAcquireTimeoutMillis(),
+                        (eventLoop, maxConnections) -> new HttpOrHttp2ChannelPool(bootstrap.clone(eventLoop), handler,
+                                                                                  maxConnections, configuration));
+                } else {
+                    protocolPool = new HttpOrHttp2ChannelPool(bootstrap, handler, configuration.maxConnections(), configuration);
+                }
+                channelPoolRef.set(new ReleaseOnceChannelPool(new HandlerRemovingChannelPool(protocolPool)));
                 return channelPoolRef.get();
             }
         };
@@ -290,12 +301,65 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
         /**
          * Add new socket channel option which will be used to create Netty Http client. This allows custom configuration
          * for Netty.
+         *
+         * <p>Options defined by {@link io.netty.channel.epoll.EpollChannelOption}, such as
+         * {@link io.netty.channel.epoll.EpollChannelOption#TCP_FASTOPEN_CONNECT}, are only applied when the client uses the
+         * native epoll transport (see {@link SdkEventLoopGroup}) and are ignored otherwise.</p>
          * @param channelOption {@link ChannelOption} to set
          * @param value See {@link ChannelOption} to find the type of value for each option
          * @return This builder for method chaining.
          * @see SdkEventLoopGroup.Builder
          */
         Builder putChannelOption(ChannelOption channelOption, Object value);
+
+        /**
+         * Whether to publish response bodies as read-only views of the buffers Netty reads them into, instead of copying
+         * every chunk to a new heap {@link java.nio.ByteBuffer}. This avoids a copy and an allocation per chunk for large
+         * downloads. Disabled by default.
+         *
+         * <p>When enabled, a buffer passed to {@link org.reactivestreams.Subscriber#onNext(Object)} is only valid until the
+         * next call to {@code onNext}, {@link org.reactivestreams.Subscriber#onComplete()} or
+         * {@link org.reactivestreams.Subscriber#onError(Throwable)} on the same subscriber begins, or until the subscriber
+         * calls {@link org.reactivestreams.Subscription#cancel()}. After that its memory is returned to Netty's pool and
+         * reused for other responses, so subscribers that keep a reference to a buffer beyond that point must copy it.
+         * Requesting more data does not release the buffer, so a subscriber may call
+         * {@link org.reactivestreams.Subscription#request(long)} before it has finished reading it. If the response ends
+         * while the subscriber has no outstanding demand, completion is delayed until it requests more data.</p>
+         *
+         * @param zeroCopyResponseBody True to publish views of Netty's buffers, false to publish copies.
+         * @return This builder for method chaining.
+         */
+        Builder zeroCopyResponseBody(Boolean zeroCopyResponseBody);
+
+        /**
+         * Whether to give each event loop its own pool of connections to each endpoint, instead of sharing one pool that is
+         * managed by a single event loop. Every acquire and release of a connection from the shared pool is handed over to
+         * the event loop that manages it, which can become a bottleneck when many requests are made concurrently from many
+         * threads. Disabled by default.
+         *
+         * <p>The {@link #maxConcurrency(Integer)} is divided between the pools, so it still limits the total across all of
+         * them. A request made when its own pool has no connection left uses a connection from another pool if one is
+         * available, and only waits when all of the pools are exhausted, in which case it is served by whichever pool first
+         * has a connection to spare.</p>
+         *
+         * @param channelPoolPerEventLoop True to use one connection pool per event loop.
+         * @return This builder for method chaining.
+         */
+        Builder channelPoolPerEventLoop(Boolean channelPoolPerEventLoop);
+
+        /**
+         * Open another HTTP/2 connection ahead of demand once the given fraction of the streams allowed on the open
+         * connections to an endpoint are in use, so that requests do not have to wait for a connection to be established
+         * when the existing ones are full. For example, with a threshold of 0.8 and two connections each allowing 100
+         * concurrent streams, a third connection is opened when the 160th stream is acquired. Only one connection is
+         * pre-warmed at a time, and none are pre-warmed once the open connections allow {@link #maxConcurrency(Integer)}
+         * streams. By default connections are only opened when every existing connection is full. Only applies when using
+         * {@link Protocol#HTTP2}.
+         *
+         * @param http2ConnectionPreWarmThreshold Fraction of streams in use, greater than 0 and at most 1.
+         * @return This builder for method chaining.
+         */
+        Builder http2ConnectionPreWarmThreshold(Double http2ConnectionPreWarmThreshold);
     }
 
     /**
@@ -449,6 +513,40 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
             return this;
         }
 
+        @Override
+        public Builder zeroCopyResponseBody(Boolean zeroCopyResponseBody) {
+            standardOptions.put(NettyConfigurationOption.ZERO_COPY_RESPONSE_BODY, zeroCopyResponseBody);
+            return this;
+        }
+
+        public void setZeroCopyResponseBody(Boolean zeroCopyResponseBody) {
+            zeroCopyResponseBody(zeroCopyResponseBody);
+        }
+
+        @Override
+        public Builder channelPoolPerEventLoop(Boolean channelPoolPerEventLoop) {
+            standardOptions.put(NettyConfigurationOption.CHANNEL_POOL_PER_EVENT_LOOP, channelPoolPerEventLoop);
+            return this;
+        }
+
+        public void setChannelPoolPerEventLoop(Boolean channelPoolPerEventLoop) {
+            channelPoolPerEventLoop(channelPoolPerEventLoop);
+        }
+
+        @Override
+        public Builder http2ConnectionPreWarmThreshold(Double http2ConnectionPreWarmThreshold) {
+            Validate.isTrue(http2ConnectionPreWarmThreshold == null
+                            || (http2ConnectionPreWarmThreshold > 0 && http2ConnectionPreWarmThreshold <= 1),
+                            "http2ConnectionPreWarmThreshold must be greater than 0 and at most 1, but was %s",
+                            http2ConnectionPreWarmThreshold);
+            standardOptions.put(NettyConfigurationOption.HTTP2_CONNECTION_PRE_WARM_THRESHOLD, http2ConnectionPreWarmThreshold);
+            return this;
+        }
+
+        public void setHttp2ConnectionPreWarmThreshold(Double http2ConnectionPreWarmThreshold) {
+            http2ConnectionPreWarmThreshold(http2ConnectionPreWarmThreshold);
+        }
+
         @Override
         public SdkAsyncHttpClient buildWithDefaults(AttributeMap serviceDefaults) {
             return new NettyNioAsyncHttpClient(this, standardOptions.build()
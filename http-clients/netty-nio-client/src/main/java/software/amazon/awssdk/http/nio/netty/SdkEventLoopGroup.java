@@ -18,8 +18,9 @@ package software.amazon.awssdk.http.nio.netty;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import java.util.Optional;
 import java.util.concurrent.ThreadFactory;
 import software.amazon.awssdk.annotations.SdkPublicApi;
@@ -45,6 +46,11 @@ import software.amazon.awssdk.utils.Validate;
  * the builder is managed by the SDK and will be shutdown when the HTTP client is closed.
  * </li>
  * </ul>
+ *
+ * <p>The builder uses Netty's native epoll transport when it is available (on Linux x86_64), which avoids the overhead of the
+ * JDK selector and supports additional socket options (see {@link NettyNioAsyncHttpClient.Builder#putChannelOption}), and
+ * falls back to NIO everywhere else. Set the {@code io.netty.transport.noNative} system property to {@code true} to always use
+ * NIO.</p>
  */
 @SdkPublicApi
 public final class SdkEventLoopGroup {
@@ -64,7 +70,7 @@ public final class SdkEventLoopGroup {
      */
     private SdkEventLoopGroup(DefaultBuilder builder) {
         this.eventLoopGroup = resolveEventLoopGroup(builder);
-        this.channelFactory = resolveChannelFactory();
+        this.channelFactory = SocketChannelResolver.resolveSocketChannelFactory(eventLoopGroup);
     }
 
     /**
@@ -116,21 +122,10 @@ public final class SdkEventLoopGroup {
         ThreadFactory threadFactory = Optional.ofNullable(builder.threadFactory)
                                               .orElse(new ThreadFactoryBuilder().threadNamePrefix("aws-java-sdk-NettyEventLoop")
                                                                                 .build());
+        if (Epoll.isAvailable()) {
+            return new EpollEventLoopGroup(numThreads, threadFactory);
+        }
         return new NioEventLoopGroup(numThreads, threadFactory);
-        /*
-        Need to investigate why epoll is raising channel inactive after successful response that causes
-        problems with retries.
-
-        if (Epoll.isAvailable() && isNotAwsLambda()) {
-            return new EpollEventLoopGroup(numThreads, resolveThreadFactory());
-        } else {
-
-        }*/
-    }
-
-    private ChannelFactory<? extends Channel> resolveChannelFactory() {
-        // Currently we only support NioEventLoopGroup
-        return NioSocketChannel::new;
     }
 
     /**
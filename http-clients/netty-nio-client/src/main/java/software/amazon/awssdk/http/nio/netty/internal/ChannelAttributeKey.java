@@ -55,6 +55,12 @@ public final class ChannelAttributeKey {
 
     static final AttributeKey<Boolean> RESPONSE_COMPLETE_KEY = AttributeKey.newInstance("responseComplete");
 
+    /**
+     * Whether the last part of the response has been read from the channel, although it may not have been delivered to the
+     * subscriber yet. See {@link LastHttpContentHandler}.
+     */
+    static final AttributeKey<Boolean> LAST_HTTP_CONTENT_RECEIVED_KEY = AttributeKey.newInstance("lastHttpContentReceived");
+
     private ChannelAttributeKey() {
     }
 
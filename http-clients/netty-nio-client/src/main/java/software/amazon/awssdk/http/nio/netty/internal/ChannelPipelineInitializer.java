@@ -32,7 +32,6 @@ import io.netty.handler.codec.http2.Http2Settings;
 import io.netty.handler.codec.http2.Http2SettingsFrame;
 import io.netty.handler.ssl.SslContext;
 import java.io.IOException;
-import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import software.amazon.awssdk.annotations.SdkInternalApi;
@@ -88,8 +87,16 @@ public class ChannelPipelineInitializer extends AbstractChannelPoolHandler {
         pipeline.addLast(new SimpleChannelInboundHandler<Http2SettingsFrame>() {
             @Override
             protected void channelRead0(ChannelHandlerContext ctx, Http2SettingsFrame msg) throws Exception {
-                Long serverMaxStreams = Optional.ofNullable(msg.settings().maxConcurrentStreams()).orElse(Long.MAX_VALUE);
-                ch.attr(MAX_CONCURRENT_STREAMS).set(Math.min(clientMaxStreams, serverMaxStreams));
+                Long serverMaxStreams = msg.settings().maxConcurrentStreams();
+                if (serverMaxStreams != null || ch.attr(MAX_CONCURRENT_STREAMS).get() == null) {
+                    // The server may change the setting at any time, and a SETTINGS frame without it leaves it unchanged
+                    long maxStreams = Math.min(clientMaxStreams, serverMaxStreams == null ? Long.MAX_VALUE : serverMaxStreams);
+                    ch.attr(MAX_CONCURRENT_STREAMS).set(maxStreams);
+                    MultiplexedChannelRecord record = ch.attr(ChannelAttributeKey.CHANNEL_POOL_RECORD).get();
+                    if (record != null) {
+                        record.maxConcurrentStreams(maxStreams);
+                    }
+                }
                 ch.attr(PROTOCOL_FUTURE).get().complete(Protocol.HTTP2);
             }
 
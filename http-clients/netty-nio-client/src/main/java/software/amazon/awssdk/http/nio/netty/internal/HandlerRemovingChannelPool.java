@@ -70,6 +70,7 @@ public class HandlerRemovingChannelPool implements ChannelPool {
     private void removePerRequestHandlers(Channel channel) {
         removeIfExists(channel.pipeline(),
                        HttpStreamsClientHandler.class,
+                       LastHttpContentHandler.class,
                        ResponseHandler.class,
                        ReadTimeoutHandler.class,
                        WriteTimeoutHandler.class);
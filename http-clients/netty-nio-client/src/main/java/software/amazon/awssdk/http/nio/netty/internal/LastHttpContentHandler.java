@@ -0,0 +1,53 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.LAST_HTTP_CONTENT_RECEIVED_KEY;
+
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.LastHttpContent;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Marks the channel once the last part of the response has been read, before it is handed to the subscriber.
+ *
+ * <p>The native epoll transport reads everything left on the socket, regardless of demand, as soon as the server closes the
+ * connection. The channel can therefore become inactive while a complete response is still buffered for a slow subscriber,
+ * which must not be mistaken for the server closing the connection mid-response.
+ */
+@Sharable
+@SdkInternalApi
+public final class LastHttpContentHandler extends ChannelInboundHandlerAdapter {
+
+    private static final LastHttpContentHandler INSTANCE = new LastHttpContentHandler();
+
+    private LastHttpContentHandler() {
+    }
+
+    public static LastHttpContentHandler create() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof LastHttpContent) {
+            ctx.channel().attr(LAST_HTTP_CONTENT_RECEIVED_KEY).set(true);
+        }
+        ctx.fireChannelRead(msg);
+    }
+}
@@ -68,4 +68,19 @@ public final class NettyConfiguration {
     public int writeTimeoutMillis() {
         return saturatedCast(configuration.get(SdkHttpConfigurationOption.WRITE_TIMEOUT).toMillis());
     }
+
+    public boolean zeroCopyResponseBody() {
+        return Boolean.TRUE.equals(configuration.get(NettyConfigurationOption.ZERO_COPY_RESPONSE_BODY));
+    }
+
+    public boolean channelPoolPerEventLoop() {
+        return Boolean.TRUE.equals(configuration.get(NettyConfigurationOption.CHANNEL_POOL_PER_EVENT_LOOP));
+    }
+
+    /**
+     * @return The HTTP/2 pre-warm threshold, or null if connections are only opened on demand.
+     */
+    public Double http2ConnectionPreWarmThreshold() {
+        return configuration.get(NettyConfigurationOption.HTTP2_CONNECTION_PRE_WARM_THRESHOLD);
+    }
 }
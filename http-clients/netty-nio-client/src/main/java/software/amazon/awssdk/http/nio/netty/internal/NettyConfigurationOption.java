@@ -0,0 +1,59 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.AttributeMap;
+
+/**
+ * Type safe key for a configuration option that is specific to the Netty HTTP client, stored alongside the
+ * {@link software.amazon.awssdk.http.SdkHttpConfigurationOption}s in the client's {@link NettyConfiguration}.
+ *
+ * @param <T> Type of option
+ */
+@SdkInternalApi
+public final class NettyConfigurationOption<T> extends AttributeMap.Key<T> {
+
+    /**
+     * Whether response bodies are delivered as read-only views of Netty's pooled buffers rather than copies.
+     */
+    public static final NettyConfigurationOption<Boolean> ZERO_COPY_RESPONSE_BODY =
+        new NettyConfigurationOption<>("ZeroCopyResponseBody", Boolean.class);
+
+    /**
+     * Whether each event loop has its own connection pool. See {@link PerEventLoopChannelPool}.
+     */
+    public static final NettyConfigurationOption<Boolean> CHANNEL_POOL_PER_EVENT_LOOP =
+        new NettyConfigurationOption<>("ChannelPoolPerEventLoop", Boolean.class);
+
+    /**
+     * Stream utilization of an HTTP/2 connection pool at which another connection is opened ahead of demand.
+     */
+    public static final NettyConfigurationOption<Double> HTTP2_CONNECTION_PRE_WARM_THRESHOLD =
+        new NettyConfigurationOption<>("Http2ConnectionPreWarmThreshold", Double.class);
+
+    private final String name;
+
+    private NettyConfigurationOption(String name, Class<T> clzz) {
+        super(clzz);
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
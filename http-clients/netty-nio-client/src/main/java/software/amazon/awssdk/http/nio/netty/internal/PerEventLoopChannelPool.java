@@ -0,0 +1,273 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GenericFutureListener;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A {@link ChannelPool} made of one pool per event loop, each driven by and creating connections on its own event loop.
+ * Acquires and releases therefore do not all funnel through the single executor of one pool, and a request stays on one
+ * event loop from acquiring its connection to releasing it.
+ *
+ * <p>The maximum number of connections is divided between the pools, so the total never exceeds it. A request is served by
+ * the pool of the event loop it is made from, or by the pools in turn if it is made from another thread. When that pool
+ * has already leased its share of connections, the request is served by the first other pool that has not (work-stealing).
+ * When every pool is exhausted, the request waits in a queue shared by all pools until any of them has a connection to
+ * spare, subject to the acquire timeout and the limit on pending acquires.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class PerEventLoopChannelPool implements ChannelPool {
+
+    private final Shard[] shards;
+    private final Map<EventLoop, Shard> shardsByEventLoop = new IdentityHashMap<>();
+    private final AtomicInteger nextShard = new AtomicInteger();
+    private final int maxPendingAcquires;
+    private final long acquireTimeoutMillis;
+    private final Queue<PendingAcquire> pendingAcquires = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingAcquireCount = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * @param eventLoopGroup Event loops to create a pool for. If there are more event loops than connections, only some of
+     * them are used.
+     * @param maxConnections Maximum number of connections across all pools.
+     * @param maxPendingAcquires Maximum number of requests waiting for a connection when every pool is exhausted.
+     * @param acquireTimeoutMillis How long a request waits for a connection when every pool is exhausted.
+     * @param poolFactory Creates the pool for the given event loop, limited to the given number of connections.
+     */
+    public PerEventLoopChannelPool(EventLoopGroup eventLoopGroup,
+                                   int maxConnections,
+                                   int maxPendingAcquires,
+                                   long acquireTimeoutMillis,
+                                   BiFunction<EventLoop, Integer, ChannelPool> poolFactory) {
+        Validate.isPositive(maxConnections, "maxConnections");
+        Validate.isPositive(maxPendingAcquires, "maxPendingAcquires");
+        List<EventLoop> eventLoops = new ArrayList<>();
+        for (EventExecutor executor : eventLoopGroup) {
+            eventLoops.add((EventLoop) executor);
+        }
+        Validate.isTrue(!eventLoops.isEmpty(), "The event loop group has no event loops.");
+
+        this.maxPendingAcquires = maxPendingAcquires;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        int shardCount = Math.min(eventLoops.size(), maxConnections);
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            int share = maxConnections / shardCount + (i < maxConnections % shardCount ? 1 : 0);
+            EventLoop eventLoop = eventLoops.get(i);
+            shards[i] = new Shard(eventLoop, share, poolFactory.apply(eventLoop, share));
+            shardsByEventLoop.put(eventLoop, shards[i]);
+        }
+    }
+
+    @Override
+    public Future<Channel> acquire() {
+        return acquire(homeShard().eventLoop.newPromise());
+    }
+
+    @Override
+    public Future<Channel> acquire(Promise<Channel> promise) {
+        if (closed) {
+            return promise.setFailure(new IllegalStateException("Channel pool was closed"));
+        }
+        Shard shard = reserveShard();
+        if (shard != null) {
+            return acquire(shard, promise);
+        }
+
+        if (pendingAcquireCount.incrementAndGet() > maxPendingAcquires) {
+            pendingAcquireCount.decrementAndGet();
+            return promise.setFailure(new IllegalStateException("Too many outstanding acquire operations"));
+        }
+        PendingAcquire pendingAcquire = new PendingAcquire(promise);
+        if (acquireTimeoutMillis > 0) {
+            pendingAcquire.timeout = homeShard().eventLoop.schedule(() -> timeOut(pendingAcquire),
+                                                                    acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        pendingAcquires.add(pendingAcquire);
+        // A connection may have been released since we failed to reserve one
+        servePendingAcquires();
+        return promise;
+    }
+
+    private Future<Channel> acquire(Shard shard, Promise<Channel> promise) {
+        shard.pool.acquire(shard.eventLoop.newPromise())
+                  .addListener((GenericFutureListener<Future<Channel>>) future -> {
+                      if (future.isSuccess()) {
+                          if (!promise.trySuccess(future.getNow())) {
+                              // The caller is no longer interested, e.g. because the request was cancelled
+                              release(future.getNow());
+                          }
+                      } else {
+                          shard.leased.decrementAndGet();
+                          promise.tryFailure(future.cause());
+                          servePendingAcquires();
+                      }
+                  });
+        return promise;
+    }
+
+    /**
+     * Select a pool that has not leased all of its connections, preferring the pool of the current event loop, and reserve
+     * one of its connections.
+     *
+     * @return The selected pool, or null if every pool is exhausted.
+     */
+    private Shard reserveShard() {
+        Shard home = homeShard();
+        if (home.tryReserve()) {
+            return home;
+        }
+        for (Shard shard : shards) {
+            if (shard != home && shard.tryReserve()) {
+                return shard;
+            }
+        }
+        return null;
+    }
+
+    private Shard homeShard() {
+        for (Shard shard : shards) {
+            if (shard.eventLoop.inEventLoop()) {
+                return shard;
+            }
+        }
+        return shards[Math.floorMod(nextShard.getAndIncrement(), shards.length)];
+    }
+
+    /**
+     * Hand connections that have become available to the requests waiting for them. This is called whenever a request is
+     * queued or a connection is returned, so a request cannot be left waiting while a connection is available.
+     */
+    private void servePendingAcquires() {
+        while (!pendingAcquires.isEmpty()) {
+            Shard shard = reserveShard();
+            if (shard == null) {
+                return;
+            }
+            PendingAcquire pendingAcquire = pendingAcquires.poll();
+            if (pendingAcquire == null) {
+                // Another thread took the last request, but one may have been queued since we checked
+                shard.leased.decrementAndGet();
+                continue;
+            }
+            pendingAcquireCount.decrementAndGet();
+            if (pendingAcquire.timeout != null) {
+                pendingAcquire.timeout.cancel(false);
+            }
+            acquire(shard, pendingAcquire.promise);
+        }
+    }
+
+    private void timeOut(PendingAcquire pendingAcquire) {
+        if (pendingAcquires.remove(pendingAcquire)) {
+            pendingAcquireCount.decrementAndGet();
+            pendingAcquire.promise.tryFailure(
+                new TimeoutException("Acquire operation took longer than the configured maximum time"));
+        }
+    }
+
+    @Override
+    public Future<Void> release(Channel channel) {
+        return release(channel, channel.eventLoop().newPromise());
+    }
+
+    @Override
+    public Future<Void> release(Channel channel, Promise<Void> promise) {
+        Shard shard = shardsByEventLoop.get(channel.eventLoop());
+        if (shard == null) {
+            channel.close();
+            return promise.setFailure(new IllegalArgumentException("Channel " + channel + " was not acquired from this pool"));
+        }
+        Future<Void> result = shard.pool.release(channel, promise);
+        shard.leased.decrementAndGet();
+        servePendingAcquires();
+        return result;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        PendingAcquire pendingAcquire;
+        while ((pendingAcquire = pendingAcquires.poll()) != null) {
+            pendingAcquireCount.decrementAndGet();
+            pendingAcquire.promise.tryFailure(new IllegalStateException("Channel pool was closed"));
+        }
+        for (Shard shard : shards) {
+            shard.pool.close();
+        }
+    }
+
+    private static final class Shard {
+        private final EventLoop eventLoop;
+        private final int maxConnections;
+        private final ChannelPool pool;
+
+        /**
+         * Connections leased from, or being acquired from, this pool.
+         */
+        private final AtomicInteger leased = new AtomicInteger();
+
+        private Shard(EventLoop eventLoop, int maxConnections, ChannelPool pool) {
+            this.eventLoop = eventLoop;
+            this.maxConnections = maxConnections;
+            this.pool = pool;
+        }
+
+        private boolean tryReserve() {
+            while (true) {
+                int current = leased.get();
+                if (current >= maxConnections) {
+                    return false;
+                }
+                if (leased.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    private static final class PendingAcquire {
+        private final Promise<Channel> promise;
+        private ScheduledFuture<?> timeout;
+
+        private PendingAcquire(Promise<Channel> promise) {
+            this.promise = promise;
+        }
+    }
+}
@@ -17,6 +17,7 @@ package software.amazon.awssdk.http.nio.netty.internal;
 
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.mapping;
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.LAST_HTTP_CONTENT_RECEIVED_KEY;
 import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.REQUEST_CONTEXT_KEY;
 import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.RESPONSE_COMPLETE_KEY;
 
@@ -33,9 +34,12 @@ import io.netty.handler.codec.http.HttpObject;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.util.AttributeKey;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -51,6 +55,7 @@ import software.amazon.awssdk.http.SdkCancellationException;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.http.SdkHttpResponse;
 import software.amazon.awssdk.http.nio.netty.internal.http2.Http2ResetSendingSubscription;
+import software.amazon.awssdk.http.nio.netty.internal.utils.ChannelUtils;
 import software.amazon.awssdk.utils.FunctionalUtils.UnsafeRunnable;
 import software.amazon.awssdk.utils.async.DelegatingSubscription;
 
@@ -129,7 +134,9 @@ public class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
     public void channelInactive(ChannelHandlerContext handlerCtx) throws Exception {
         RequestContext requestCtx = handlerCtx.channel().attr(REQUEST_CONTEXT_KEY).get();
         boolean responseCompleted = handlerCtx.channel().attr(RESPONSE_COMPLETE_KEY).get();
-        if (!responseCompleted) {
+        // If the whole response has already been read, the subscriber will still receive the rest of it and complete
+        boolean lastHttpContentReceived = Boolean.TRUE.equals(handlerCtx.channel().attr(LAST_HTTP_CONTENT_RECEIVED_KEY).get());
+        if (!responseCompleted && !lastHttpContentReceived) {
             runAndLogError("SdkHttpResponseHandler threw an exception when calling exceptionOccurred",
                 () -> requestCtx.handler().exceptionOccurred(new IOException("Server failed to send complete response")));
             runAndLogError("Could not release channel",
@@ -168,6 +175,14 @@ public class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
                         mapping(Map.Entry::getValue, Collectors.toList())));
     }
 
+    private static ByteBuffer readOnlyView(ByteBuf byteBuf) {
+        // A composite buffer can't be exposed as a single ByteBuffer without copying it anyway.
+        if (byteBuf.nioBufferCount() != 1) {
+            return copyToByteBuffer(byteBuf).asReadOnlyBuffer();
+        }
+        return byteBuf.nioBuffer().asReadOnlyBuffer();
+    }
+
     private static ByteBuffer copyToByteBuffer(ByteBuf byteBuf) {
         ByteBuffer bb = ByteBuffer.allocate(byteBuf.readableBytes());
         byteBuf.getBytes(byteBuf.readerIndex(), bb);
@@ -190,33 +205,15 @@ public class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
 
         @Override
         public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            if (requestContext.configuration().zeroCopyResponseBody()) {
+                response.subscribe(new ZeroCopySubscriber(subscriber));
+                return;
+            }
             response.subscribe(new Subscriber<HttpContent>() {
                 @Override
                 public void onSubscribe(Subscription subscription) {
                     subscriber.onSubscribe(new OnCancelSubscription(resolveSubscription(subscription),
-                                                                    this::onCancel));
-                }
-
-                private Subscription resolveSubscription(Subscription subscription) {
-                    // For HTTP2 we send a RST_STREAM frame on cancel to stop the service from sending more data
-                    if (Protocol.HTTP2.equals(ChannelAttributeKey.getProtocolNow(channelContext.channel()))) {
-                        return new Http2ResetSendingSubscription(channelContext, subscription);
-                    } else {
-                        // TODO I believe the behavior for H1 is to finish reading the data. Do we want to do this
-                        // or abort the connection?
-                        return subscription;
-                    }
-                }
-
-                private void onCancel() {
-                    try {
-                        isCancelled.set(true);
-                        requestContext.handler().exceptionOccurred(
-                            new SdkCancellationException("Subscriber cancelled before all events were published"));
-                    } finally {
-                        runAndLogError("Could not release channel back to the pool",
-                            () -> closeAndRelease(channelContext));
-                    }
+                                                                    PublisherAdapter.this::onCancel));
                 }
 
                 @Override
@@ -260,6 +257,187 @@ public class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
                 }
             });
         }
+
+        private Subscription resolveSubscription(Subscription subscription) {
+            // For HTTP2 we send a RST_STREAM frame on cancel to stop the service from sending more data
+            if (Protocol.HTTP2.equals(ChannelAttributeKey.getProtocolNow(channelContext.channel()))) {
+                return new Http2ResetSendingSubscription(channelContext, subscription);
+            } else {
+                // TODO I believe the behavior for H1 is to finish reading the data. Do we want to do this
+                // or abort the connection?
+                return subscription;
+            }
+        }
+
+        private void onCancel() {
+            try {
+                isCancelled.set(true);
+                requestContext.handler().exceptionOccurred(
+                    new SdkCancellationException("Subscriber cancelled before all events were published"));
+            } finally {
+                runAndLogError("Could not release channel back to the pool",
+                    () -> closeAndRelease(channelContext));
+            }
+        }
+
+        /**
+         * Publishes each chunk of the body as a read-only view of the buffer Netty read it into instead of a copy. The
+         * {@link HttpContent} is retained until the next chunk or the completion or error is delivered, or until the
+         * subscriber cancels. It is never released from {@link Subscription#request(long)}, because subscribers commonly
+         * request the next chunk before they have finished reading the current one, and a request made from within
+         * {@code onNext} is only passed upstream once it returns so that the next chunk cannot be delivered re-entrantly. At
+         * most one chunk is therefore held at a time, even with unbounded demand. If the response ends while the subscriber
+         * still holds the last buffer and has no outstanding demand, completion is deferred until its next request so that
+         * the connection is not reused while the buffer is being read.
+         */
+        private final class ZeroCopySubscriber implements Subscriber<HttpContent>, Subscription {
+            private final Subscriber<? super ByteBuffer> subscriber;
+            private final Deque<HttpContent> retained = new ArrayDeque<>();
+            private Subscription upstream;
+
+            // Guarded by this
+            private long demand;
+            private boolean upstreamComplete;
+            private boolean done;
+            private Thread deliveringThread;
+            private long deferredRequest;
+
+            private ZeroCopySubscriber(Subscriber<? super ByteBuffer> subscriber) {
+                this.subscriber = subscriber;
+            }
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                upstream = resolveSubscription(subscription);
+                subscriber.onSubscribe(new OnCancelSubscription(this, PublisherAdapter.this::onCancel));
+            }
+
+            @Override
+            public void request(long n) {
+                boolean completeNow = false;
+                synchronized (this) {
+                    if (done) {
+                        return;
+                    }
+                    if (upstreamComplete) {
+                        done = true;
+                        completeNow = true;
+                    } else if (n > 0) {
+                        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                    }
+                    if (!completeNow && deliveringThread == Thread.currentThread()) {
+                        deferredRequest = deferredRequest + n < 0 ? Long.MAX_VALUE : deferredRequest + n;
+                        return;
+                    }
+                }
+                if (completeNow) {
+                    channelContext.executor().execute(this::complete);
+                } else {
+                    upstream.request(n);
+                }
+            }
+
+            @Override
+            public void cancel() {
+                synchronized (this) {
+                    done = true;
+                    releaseRetained();
+                }
+                upstream.cancel();
+            }
+
+            @Override
+            public void onNext(HttpContent httpContent) {
+                synchronized (this) {
+                    if (done) {
+                        httpContent.release();
+                        return;
+                    }
+                    // The subscriber is done with the previous buffer once it is given the next one
+                    releaseRetained();
+                    retained.add(httpContent);
+                    if (demand != Long.MAX_VALUE) {
+                        demand--;
+                    }
+                    deliveringThread = Thread.currentThread();
+                }
+                long toRequest;
+                try {
+                    subscriber.onNext(readOnlyView(httpContent.content()));
+                } finally {
+                    synchronized (this) {
+                        deliveringThread = null;
+                        toRequest = deferredRequest;
+                        deferredRequest = 0;
+                    }
+                }
+                if (toRequest > 0) {
+                    upstream.request(toRequest);
+                }
+                channelContext.read();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (isCancelled.get()) {
+                    return;
+                }
+                synchronized (this) {
+                    done = true;
+                }
+                try {
+                    runAndLogError(String.format("Subscriber %s threw an exception in onError.", subscriber.toString()),
+                        () -> subscriber.onError(t));
+                    requestContext.handler().exceptionOccurred(t);
+                } finally {
+                    synchronized (this) {
+                        releaseRetained();
+                    }
+                    runAndLogError("Could not release channel back to the pool",
+                        () -> closeAndRelease(channelContext));
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                // See the comment in the copying subscriber above
+                if (isCancelled.get()) {
+                    return;
+                }
+                // The whole response has been read, so the server closing the connection is no longer an error and
+                // nothing more will be read while we wait for the subscriber.
+                channelContext.channel().attr(RESPONSE_COMPLETE_KEY).set(true);
+                ChannelUtils.removeIfExists(channelContext.pipeline(), ReadTimeoutHandler.class);
+                synchronized (this) {
+                    upstreamComplete = true;
+                    if (done || (demand == 0 && !retained.isEmpty())) {
+                        return;
+                    }
+                    done = true;
+                }
+                complete();
+            }
+
+            private void complete() {
+                try {
+                    runAndLogError(String.format("Subscriber %s threw an exception in onComplete.", subscriber.toString()),
+                                   subscriber::onComplete);
+                    requestContext.handler().complete();
+                } finally {
+                    synchronized (this) {
+                        releaseRetained();
+                    }
+                    finalizeRequest(requestContext, channelContext);
+                }
+            }
+
+            private void releaseRetained() {
+                HttpContent httpContent;
+                while ((httpContent = retained.poll()) != null) {
+                    httpContent.release();
+                }
+            }
+        }
     }
 
     /**
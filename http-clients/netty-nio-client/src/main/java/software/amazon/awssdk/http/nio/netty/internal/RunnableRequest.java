@@ -15,6 +15,7 @@
 
 package software.amazon.awssdk.http.nio.netty.internal;
 
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.LAST_HTTP_CONTENT_RECEIVED_KEY;
 import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.REQUEST_CONTEXT_KEY;
 import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.RESPONSE_COMPLETE_KEY;
 
@@ -74,6 +75,7 @@ public final class RunnableRequest implements AbortableRunnable {
                     channel = channelFuture.getNow();
                     channel.attr(REQUEST_CONTEXT_KEY).set(context);
                     channel.attr(RESPONSE_COMPLETE_KEY).set(false);
+                    channel.attr(LAST_HTTP_CONTENT_RECEIVED_KEY).set(false);
                     makeRequest(context.nettyRequest());
                 } catch (Exception e) {
                     handleFailure(() -> "Failed to make request to " + endpoint(), e);
@@ -111,6 +113,7 @@ public final class RunnableRequest implements AbortableRunnable {
             throw new RuntimeException("Unknown protocol: " + protocol);
         }
         channel.config().setOption(ChannelOption.AUTO_READ, false);
+        channel.pipeline().addLast(LastHttpContentHandler.create());
         channel.pipeline().addLast(new HttpStreamsClientHandler());
         channel.pipeline().addLast(new ResponseHandler());
     }
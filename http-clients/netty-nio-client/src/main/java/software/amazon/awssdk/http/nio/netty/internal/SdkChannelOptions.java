@@ -16,6 +16,7 @@
 package software.amazon.awssdk.http.nio.netty.internal;
 
 import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.EpollChannelOption;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -24,6 +25,12 @@ import software.amazon.awssdk.annotations.SdkProtectedApi;
 @SdkProtectedApi
 public class SdkChannelOptions {
 
+    /**
+     * Netty names the options defined by {@link EpollChannelOption} after that class, which is how options that only the
+     * native epoll transport understands are recognized.
+     */
+    private static final String EPOLL_OPTION_PREFIX = EpollChannelOption.class.getName() + "#";
+
     private Map<ChannelOption, Object> options;
 
     public SdkChannelOptions() {
@@ -37,7 +44,42 @@ public class SdkChannelOptions {
         return this;
     }
 
+    /**
+     * Whether to disable Nagle's algorithm, so that small requests are sent immediately instead of waiting for the
+     * acknowledgement of previous data. Enabled by default.
+     */
+    public SdkChannelOptions tcpNoDelay(boolean tcpNoDelay) {
+        return putOption(ChannelOption.TCP_NODELAY, tcpNoDelay);
+    }
+
+    /**
+     * Whether to use TCP Fast Open when connecting, which sends the first request in the SYN packet to servers the host has
+     * connected to before and saves a round trip on every new connection. Only supported by the native epoll transport on
+     * Linux 4.11 or later, and ignored by other transports.
+     */
+    public SdkChannelOptions tcpFastOpenConnect(boolean tcpFastOpenConnect) {
+        return putOption(EpollChannelOption.TCP_FASTOPEN_CONNECT, tcpFastOpenConnect);
+    }
+
     public Map<ChannelOption, Object> channelOptions() {
         return Collections.unmodifiableMap(options);
     }
+
+    /**
+     * @param nativeEpollTransport Whether the channels use the native epoll transport.
+     * @return The options that apply to channels of the given transport. Options that only the epoll transport understands are
+     * left out for other transports, which would otherwise log a warning for each of them on every new connection.
+     */
+    public Map<ChannelOption, Object> channelOptions(boolean nativeEpollTransport) {
+        if (nativeEpollTransport) {
+            return channelOptions();
+        }
+        Map<ChannelOption, Object> supportedOptions = new HashMap<>(options);
+        supportedOptions.keySet().removeIf(SdkChannelOptions::isEpollOption);
+        return Collections.unmodifiableMap(supportedOptions);
+    }
+
+    private static boolean isEpollOption(ChannelOption<?> channelOption) {
+        return channelOption.name().startsWith(EPOLL_OPTION_PREFIX);
+    }
 }
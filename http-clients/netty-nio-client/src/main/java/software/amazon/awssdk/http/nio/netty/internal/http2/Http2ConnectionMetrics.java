@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.http2;
+
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * Snapshot of the stream utilization of one HTTP/2 connection in a {@link Http2MultiplexedChannelPool}.
+ */
+@Immutable
+@SdkInternalApi
+public final class Http2ConnectionMetrics {
+
+    private final String connectionId;
+    private final boolean connected;
+    private final long streamsInUse;
+    private final long maxConcurrentStreams;
+
+    Http2ConnectionMetrics(String connectionId, boolean connected, long streamsInUse, long maxConcurrentStreams) {
+        this.connectionId = connectionId;
+        this.connected = connected;
+        this.streamsInUse = streamsInUse;
+        this.maxConcurrentStreams = maxConcurrentStreams;
+    }
+
+    /**
+     * @return Identifier of the connection's channel, or null if it is still being established.
+     */
+    public String connectionId() {
+        return connectionId;
+    }
+
+    /**
+     * @return False if the connection is still being established.
+     */
+    public boolean connected() {
+        return connected;
+    }
+
+    /**
+     * @return Number of streams acquired on the connection, including those waiting for it to be established.
+     */
+    public long streamsInUse() {
+        return streamsInUse;
+    }
+
+    /**
+     * @return Current limit of concurrent streams on the connection, which the server may change at any time.
+     */
+    public long maxConcurrentStreams() {
+        return maxConcurrentStreams;
+    }
+
+    /**
+     * @return Fraction of the connection's streams that are in use. This may exceed 1 if the server lowered its limit
+     * while the streams were in use. If the limit is 0, because the server's settings have not arrived yet or the server
+     * allows no streams, this is 1 while any streams are in use and 0 otherwise.
+     */
+    public double streamUtilization() {
+        if (maxConcurrentStreams == 0) {
+            return streamsInUse > 0 ? 1 : 0;
+        }
+        return (double) streamsInUse / maxConcurrentStreams;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("Http2ConnectionMetrics")
+                       .add("connectionId", connectionId)
+                       .add("connected", connected)
+                       .add("streamsInUse", streamsInUse)
+                       .add("maxConcurrentStreams", maxConcurrentStreams)
+                       .build();
+    }
+}
@@ -26,15 +26,19 @@ import io.netty.util.concurrent.DefaultPromise;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.Promise;
 import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.http.nio.netty.internal.utils.BetterFixedChannelPool;
 
 /**
  * {@link ChannelPool} implementation that handles multiplexed streams. Child channels are created
  * for each HTTP/2 stream using {@link Http2StreamChannelBootstrap} with the parent channel being
- * the actual socket channel. This implementation assumes that all connections have the same setting
- * for MAX_CONCURRENT_STREAMS. Concurrent requests are load balanced across all available connections,
- * when the max concurrency for a connection is reached then a new connection will be opened.
+ * the actual socket channel. Each stream is placed on the least loaded connection that still has
+ * streams available under its MAX_CONCURRENT_STREAMS setting, which the server may change at any time.
+ * When every connection is full a new connection will be opened. Optionally, a connection is opened
+ * ahead of demand once the utilization of all connections crosses a threshold.
  *
  * <p>
  * <b>Note:</b> This enforces no max concurrency. Relies on being wrapped with a {@link BetterFixedChannelPool}
@@ -44,22 +48,34 @@ import software.amazon.awssdk.http.nio.netty.internal.utils.BetterFixedChannelPo
 @SdkInternalApi
 public class Http2MultiplexedChannelPool implements ChannelPool {
 
+    private static final Logger log = LoggerFactory.getLogger(Http2MultiplexedChannelPool.class);
+
     private final EventLoop eventLoop;
     private final ChannelPool connectionPool;
     private final long maxConcurrencyPerConnection;
+    private final long maxConcurrency;
+    private final Double preWarmThreshold;
     private final ArrayList<MultiplexedChannelRecord> connections;
 
     /**
      * @param connectionPool Connection pool for parent channels (i.e. the socket channel).
      * @param eventLoop Event loop to run all tasks in.
-     * @param maxConcurrencyPerConnection Max concurrent streams per HTTP/2 connection.
+     * @param maxConcurrencyPerConnection Max concurrent streams per HTTP/2 connection, until the server's setting for a
+     * connection is known.
+     * @param maxConcurrency Max concurrent streams across all connections, beyond which no connection is pre-warmed.
+     * @param preWarmThreshold Fraction of the streams of all connections in use at which another connection is opened, or
+     * null to only open connections when all are full.
      */
     Http2MultiplexedChannelPool(ChannelPool connectionPool,
                                 EventLoop eventLoop,
-                                long maxConcurrencyPerConnection) {
+                                long maxConcurrencyPerConnection,
+                                long maxConcurrency,
+                                Double preWarmThreshold) {
         this.connectionPool = connectionPool;
         this.eventLoop = eventLoop;
         this.maxConcurrencyPerConnection = maxConcurrencyPerConnection;
+        this.maxConcurrency = maxConcurrency;
+        this.preWarmThreshold = preWarmThreshold;
         // Customers that want an unbounded connection pool may set max concurrency to something like
         // Long.MAX_VALUE so we just stick with the initial ArrayList capacity and grow from there.
         this.connections = new ArrayList<>();
@@ -77,20 +93,87 @@ public class Http2MultiplexedChannelPool implements ChannelPool {
     }
 
     private Future<Channel> acquire0(Promise<Channel> promise) {
+        MultiplexedChannelRecord connection = leastLoadedConnection();
+        if (connection == null) {
+            // No available streams, establish new connection and add it to list
+            connection = newConnection();
+        }
+        connection.acquire(promise);
+        preWarmIfNeeded();
+        return promise;
+    }
+
+    /**
+     * @return The connection with available streams that has the fewest streams in use, preferring established connections
+     * over those still connecting, or null if every connection is full.
+     */
+    private MultiplexedChannelRecord leastLoadedConnection() {
+        MultiplexedChannelRecord leastLoaded = null;
+        for (MultiplexedChannelRecord connection : connections) {
+            if (connection.availableStreams() > 0 && (leastLoaded == null || isLessLoaded(connection, leastLoaded))) {
+                leastLoaded = connection;
+            }
+        }
+        return leastLoaded;
+    }
+
+    private static boolean isLessLoaded(MultiplexedChannelRecord connection, MultiplexedChannelRecord other) {
+        if (connection.isConnecting() != other.isConnecting()) {
+            return !connection.isConnecting();
+        }
+        return connection.streamsInUse() < other.streamsInUse();
+    }
+
+    /**
+     * Open another connection if the configured fraction of the streams of all connections is in use, unless a connection is
+     * already being opened or the connections already allow the max concurrency.
+     */
+    private void preWarmIfNeeded() {
+        if (preWarmThreshold == null) {
+            return;
+        }
+        double streamsInUse = 0;
+        double maxStreams = 0;
         for (MultiplexedChannelRecord connection : connections) {
-            if (connection.availableStreams() > 0) {
-                connection.acquire(promise);
-                return promise;
+            if (connection.isConnecting()) {
+                return;
+            }
+            streamsInUse += connection.streamsInUse();
+            maxStreams += connection.maxConcurrentStreams();
+        }
+        if (maxStreams > 0 && maxStreams < maxConcurrency && streamsInUse / maxStreams >= preWarmThreshold) {
+            if (log.isDebugEnabled()) {
+                log.debug("Pre-warming HTTP/2 connection, stream utilization of existing connections: {}", metrics0());
             }
+            newConnection();
         }
-        // No available streams, establish new connection and add it to list
-        connections.add(new MultiplexedChannelRecord(connectionPool.acquire(),
-                                                     maxConcurrencyPerConnection,
-                                                     this::releaseParentChannel)
-                            .acquire(promise));
+    }
+
+    private MultiplexedChannelRecord newConnection() {
+        MultiplexedChannelRecord connection = new MultiplexedChannelRecord(connectionPool.acquire(),
+                                                                           maxConcurrencyPerConnection,
+                                                                           this::releaseParentChannel);
+        connections.add(connection);
+        return connection.listenForConnection();
+    }
+
+    /**
+     * @return A snapshot of the stream utilization of each connection in the pool.
+     */
+    public Future<List<Http2ConnectionMetrics>> connectionMetrics() {
+        Promise<List<Http2ConnectionMetrics>> promise = eventLoop.newPromise();
+        doInEventLoop(eventLoop, () -> promise.setSuccess(metrics0()), promise);
         return promise;
     }
 
+    private List<Http2ConnectionMetrics> metrics0() {
+        List<Http2ConnectionMetrics> metrics = new ArrayList<>(connections.size());
+        for (MultiplexedChannelRecord connection : connections) {
+            metrics.add(connection.metrics());
+        }
+        return metrics;
+    }
+
     /**
      * Releases parent channel on failure and cleans up record from connections list.
      *
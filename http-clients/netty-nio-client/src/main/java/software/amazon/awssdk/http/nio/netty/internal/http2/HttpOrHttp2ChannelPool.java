@@ -136,7 +136,8 @@ public class HttpOrHttp2ChannelPool implements ChannelPool {
                                                  .build();
         } else {
             ChannelPool h2Pool = new Http2MultiplexedChannelPool(
-                simpleChannelPool, eventLoop, newChannel.attr(MAX_CONCURRENT_STREAMS).get());
+                simpleChannelPool, eventLoop, newChannel.attr(MAX_CONCURRENT_STREAMS).get(), maxConcurrency,
+                configuration.http2ConnectionPreWarmThreshold());
             protocolImpl = BetterFixedChannelPool.builder()
                                                  .channelPool(h2Pool)
                                                  .executor(eventLoop)
@@ -16,6 +16,7 @@
 package software.amazon.awssdk.http.nio.netty.internal.http2;
 
 import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.CHANNEL_POOL_RECORD;
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.MAX_CONCURRENT_STREAMS;
 import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.PROTOCOL_FUTURE;
 import static software.amazon.awssdk.http.nio.netty.internal.utils.NettyUtils.asyncPromiseNotifyingBiConsumer;
 import static software.amazon.awssdk.http.nio.netty.internal.utils.NettyUtils.doInEventLoop;
@@ -37,52 +38,86 @@ import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.http.Protocol;
 
 /**
- * Contains a {@link Future} for the actual socket channel and tracks available
- * streams based on the MAX_CONCURRENT_STREAMS setting for the connection.
+ * Contains a {@link Future} for the actual socket channel and tracks the streams in use against the MAX_CONCURRENT_STREAMS
+ * setting for the connection. The setting starts at the value negotiated on the first connection of the pool and follows
+ * the server's SETTINGS frames for this connection once it is established.
  */
 @SdkInternalApi
 public final class MultiplexedChannelRecord {
 
     private final Future<Channel> connectionFuture;
     private final Map<ChannelId, Channel> childChannels;
-    private final AtomicLong availableStreams;
+    private final AtomicLong streamsInUse = new AtomicLong();
     private final BiConsumer<Channel, MultiplexedChannelRecord> channelReleaser;
 
+    private volatile long maxConcurrentStreams;
     private volatile Channel connection;
 
     /**
      * @param connectionFuture Future for parent socket channel.
-     * @param maxConcurrencyPerConnection Max streams allowed per connection.
+     * @param maxConcurrencyPerConnection Max streams allowed per connection until the server's setting for this connection
+     * is known.
      * @param channelReleaser Method to release a channel and record on failure.
      */
     MultiplexedChannelRecord(Future<Channel> connectionFuture,
                              long maxConcurrencyPerConnection,
                              BiConsumer<Channel, MultiplexedChannelRecord> channelReleaser) {
         this.connectionFuture = connectionFuture;
-        this.availableStreams = new AtomicLong(maxConcurrencyPerConnection);
+        this.maxConcurrentStreams = maxConcurrencyPerConnection;
         this.childChannels = new ConcurrentHashMap<>(saturatedCast(maxConcurrencyPerConnection));
         this.channelReleaser = channelReleaser;
     }
 
+    /**
+     * Start tracking the connection once it is established, or release this record if it cannot be. This is separate from
+     * the constructor so that the record can be added to its pool first, as the connection future may already be done.
+     */
+    MultiplexedChannelRecord listenForConnection() {
+        connectionFuture.addListener((GenericFutureListener<Future<Channel>>) future -> {
+            if (future.isSuccess()) {
+                Channel channel = future.getNow();
+                channel.attr(CHANNEL_POOL_RECORD).set(this);
+                // The SETTINGS frame may have been received before this record was attached to the channel
+                Long negotiatedMaxStreams = channel.attr(MAX_CONCURRENT_STREAMS).get();
+                if (negotiatedMaxStreams != null) {
+                    maxConcurrentStreams = negotiatedMaxStreams;
+                }
+                connection = channel;
+            } else {
+                channelReleaser.accept(null, this);
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Acquire a stream on this connection. Listeners of the connection future are notified in the order they were added, so
+     * the connection is always set by the time a stream waiting for it is created.
+     */
     MultiplexedChannelRecord acquire(Promise<Channel> channelPromise) {
-        availableStreams.decrementAndGet();
+        streamsInUse.incrementAndGet();
         if (connection != null) {
             createChildChannel(channelPromise, connection);
         } else {
             connectionFuture.addListener((GenericFutureListener<Future<Channel>>) future -> {
                 if (future.isSuccess()) {
-                    connection = future.getNow();
-                    connection.attr(CHANNEL_POOL_RECORD).set(this);
-                    createChildChannel(channelPromise, connection);
+                    createChildChannel(channelPromise, future.getNow());
                 } else {
                     channelPromise.setFailure(future.cause());
-                    channelReleaser.accept(connection, this);
                 }
             });
         }
         return this;
     }
 
+    /**
+     * Update the limit of concurrent streams after the server changed its MAX_CONCURRENT_STREAMS setting. Streams already in
+     * use above the new limit are not affected, but no more are handed out until enough of them have been released.
+     */
+    public void maxConcurrentStreams(long maxConcurrentStreams) {
+        this.maxConcurrentStreams = maxConcurrentStreams;
+    }
+
     /**
      * Delivers the exception to all registered child channels.
      *
@@ -129,19 +164,40 @@ public final class MultiplexedChannelRecord {
                     if (!connection.isActive()) {
                         channelReleaser.accept(connection, this);
                     }
-                    availableStreams.incrementAndGet();
+                    streamsInUse.decrementAndGet();
                 }
             })
             .addListener(promiseNotifyingListener(p));
     }
 
     void release(Channel channel) {
-        availableStreams.incrementAndGet();
+        streamsInUse.decrementAndGet();
         childChannels.remove(channel.id());
     }
 
     long availableStreams() {
-        return availableStreams.get();
+        return maxConcurrentStreams - streamsInUse.get();
+    }
+
+    long streamsInUse() {
+        return streamsInUse.get();
+    }
+
+    long maxConcurrentStreams() {
+        return maxConcurrentStreams;
+    }
+
+    /**
+     * @return True until the connection has been established or has failed.
+     */
+    boolean isConnecting() {
+        return !connectionFuture.isDone();
+    }
+
+    Http2ConnectionMetrics metrics() {
+        Channel channel = connection;
+        return new Http2ConnectionMetrics(channel == null ? null : channel.id().asShortText(), channel != null,
+                                          streamsInUse.get(), maxConcurrentStreams);
     }
 
 }
@@ -70,4 +70,15 @@ public final class SocketChannelResolver {
 
         return invokeSafely(() -> new ReflectiveChannelFactory(Class.forName(socketFqcn)));
     }
+
+    /**
+     * @param eventLoopGroup the event loop group to check
+     * @return True if the event loop group uses Netty's native epoll transport.
+     */
+    public static boolean isNativeEpoll(EventLoopGroup eventLoopGroup) {
+        if (eventLoopGroup instanceof DelegatingEventLoopGroup) {
+            return isNativeEpoll(((DelegatingEventLoopGroup) eventLoopGroup).getDelegate());
+        }
+        return eventLoopGroup instanceof EpollEventLoopGroup;
+    }
 }
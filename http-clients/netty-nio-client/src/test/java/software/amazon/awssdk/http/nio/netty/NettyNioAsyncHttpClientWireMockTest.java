@@ -423,10 +423,55 @@ public class NettyNioAsyncHttpClientWireMockTest {
         customClient.close();
     }
 
+    @Test
+    public void channelPoolPerEventLoop_concurrentRequestsSucceed() throws Exception {
+        SdkAsyncHttpClient customClient = NettyNioAsyncHttpClient.builder()
+                                                                 .eventLoopGroupBuilder(SdkEventLoopGroup.builder()
+                                                                                                         .numberOfThreads(4))
+                                                                 .maxConcurrency(3)
+                                                                 .channelPoolPerEventLoop(true)
+                                                                 .build();
+
+        stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withBody(randomAlphabetic(10)).withFixedDelay(1000)));
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(makeRequestAndReturnResponseHandler(customClient).completeFuture);
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        customClient.close();
+    }
+
+    @Test
+    public void channelPoolPerEventLoop_exceptionMessageChanged_WhenPendingAcquireQueueIsFull() throws Exception {
+        String expectedErrorMsg = "Maximum pending connection acquisitions exceeded.";
+
+        SdkAsyncHttpClient customClient = NettyNioAsyncHttpClient.builder()
+                                                                 .maxConcurrency(2)
+                                                                 .maxPendingConnectionAcquires(1)
+                                                                 .channelPoolPerEventLoop(true)
+                                                                 .build();
+
+        stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withBody(randomAlphabetic(10)).withFixedDelay(1000)));
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(makeRequestAndReturnResponseHandler(customClient).completeFuture);
+        }
+
+        assertThatThrownBy(() -> CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join())
+            .hasMessageContaining(expectedErrorMsg);
+
+        customClient.close();
+    }
+
     private RecordingResponseHandler makeSimpleRequestAndReturnResponseHandler(SdkAsyncHttpClient client) throws Exception {
-        String body = randomAlphabetic(10);
+        stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withBody(randomAlphabetic(10)).withFixedDelay(1000)));
+        return makeRequestAndReturnResponseHandler(client);
+    }
+
+    private RecordingResponseHandler makeRequestAndReturnResponseHandler(SdkAsyncHttpClient client) throws Exception {
         URI uri = URI.create("http://localhost:" + mockServer.port());
-        stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withBody(body).withFixedDelay(1000)));
         SdkHttpRequest request = createRequest(uri);
         RecordingResponseHandler recorder = new RecordingResponseHandler();
         client.prepareRequest(request, requestContext, createProvider(""), recorder).run();
@@ -0,0 +1,344 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import io.netty.buffer.PoolArenaMetric;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.ResourceLeakDetector;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.http.SdkCancellationException;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.SdkRequestContext;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkHttpRequestProvider;
+import software.amazon.awssdk.http.async.SdkHttpResponseHandler;
+import software.amazon.awssdk.utils.AttributeMap;
+
+/**
+ * Tests for {@link NettyNioAsyncHttpClient.Builder#zeroCopyResponseBody(Boolean)}. The client uses a pooled allocator with
+ * its thread-local caches disabled, so that every buffer that is released goes straight back to its arena and the arena
+ * metrics show exactly how many buffers are still in use. After each test the event loop is shut down, which closes all
+ * connections, and no buffer may still be allocated. Netty's leak detector is also set to paranoid for the duration of the
+ * tests so that any buffer that is garbage collected without being released is reported.
+ */
+public class NettyNioAsyncHttpClientZeroCopyTest {
+
+    private static final int BODY_SIZE = 512 * 1024;
+
+    private static ResourceLeakDetector.Level originalLeakDetectionLevel;
+
+    @Rule
+    public WireMockRule mockServer = new WireMockRule(wireMockConfig().dynamicPort());
+
+    private final ExecutorService subscriberExecutor = Executors.newSingleThreadExecutor();
+    private PooledByteBufAllocator allocator;
+    private NioEventLoopGroup eventLoopGroup;
+    private SdkAsyncHttpClient client;
+    private String body;
+
+    @BeforeClass
+    public static void enableParanoidLeakDetection() {
+        originalLeakDetectionLevel = ResourceLeakDetector.getLevel();
+        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+    }
+
+    @AfterClass
+    public static void restoreLeakDetection() {
+        ResourceLeakDetector.setLevel(originalLeakDetectionLevel);
+    }
+
+    @Before
+    public void setup() {
+        allocator = new PooledByteBufAllocator(true, 1, 1, 8192, 11, 0, 0, 0, false);
+        eventLoopGroup = new NioEventLoopGroup(1);
+        client = NettyNioAsyncHttpClient.builder()
+                                        .eventLoopGroup(SdkEventLoopGroup.create(eventLoopGroup, NioSocketChannel::new))
+                                        .putChannelOption(ChannelOption.ALLOCATOR, allocator)
+                                        .zeroCopyResponseBody(true)
+                                        .buildWithDefaults(AttributeMap.empty());
+
+        body = randomAlphabetic(BODY_SIZE);
+        stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withBody(body)));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+        subscriberExecutor.shutdown();
+        eventLoopGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS).await(10, TimeUnit.SECONDS);
+        assertThat(activeAllocations()).isZero();
+    }
+
+    @Test
+    public void asynchronousSubscriberRequestingOneAtATime_receivesWholeBody() throws Exception {
+        BodyCollector collector = makeRequest(new BodyCollector(1, subscriberExecutor));
+
+        collector.handler.completeFuture.get(10, TimeUnit.SECONDS);
+
+        assertThat(collector.body()).isEqualTo(body);
+        assertThat(collector.onNextCount).isGreaterThan(1);
+        assertThat(collector.allBuffersReadOnly).isTrue();
+    }
+
+    @Test
+    public void subscriberWithUnboundedDemand_receivesWholeBody() throws Exception {
+        BodyCollector collector = makeRequest(new BodyCollector(Long.MAX_VALUE, null));
+
+        collector.handler.completeFuture.get(10, TimeUnit.SECONDS);
+
+        assertThat(collector.body()).isEqualTo(body);
+        assertThat(collector.allBuffersReadOnly).isTrue();
+    }
+
+    @Test
+    public void subscriberWithUnboundedDemand_holdsOneBufferAtATime() throws Exception {
+        AtomicLong maxActiveAllocations = new AtomicLong();
+        BodyCollector collector = makeRequest(new BodyCollector(Long.MAX_VALUE, null).onEachBuffer(
+            () -> maxActiveAllocations.accumulateAndGet(activeAllocations(), Math::max)));
+
+        collector.handler.completeFuture.get(10, TimeUnit.SECONDS);
+
+        assertThat(collector.body()).isEqualTo(body);
+        assertThat(collector.onNextCount).isGreaterThan(4);
+        assertThat(maxActiveAllocations.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void subscriberRequestingBeforeReadingBuffer_receivesWholeBody() throws Exception {
+        AtomicLong minActiveAllocations = new AtomicLong(Long.MAX_VALUE);
+        BodyCollector collector = makeRequest(new BodyCollector(1, null).requestBeforeReading().onEachBuffer(
+            () -> minActiveAllocations.accumulateAndGet(activeAllocations(), Math::min)));
+
+        collector.handler.completeFuture.get(10, TimeUnit.SECONDS);
+
+        assertThat(collector.body()).isEqualTo(body);
+        assertThat(collector.onNextCount).isGreaterThan(1);
+        assertThat(minActiveAllocations.get()).isGreaterThan(0);
+    }
+
+    @Test
+    public void subscriberCancellingMidStream_releasesBuffers() throws Exception {
+        BodyCollector collector = makeRequest(new BodyCollector(1, subscriberExecutor).cancelAfter(2));
+
+        assertThatThrownBy(() -> collector.handler.completeFuture.get(10, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(SdkCancellationException.class);
+        assertThat(collector.onNextCount).isEqualTo(2);
+    }
+
+    @Test
+    public void sequentialRequestsOnPooledConnection_receiveWholeBodies() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            BodyCollector collector = makeRequest(new BodyCollector(1, subscriberExecutor));
+            collector.handler.completeFuture.get(10, TimeUnit.SECONDS);
+            assertThat(collector.body()).isEqualTo(body);
+        }
+    }
+
+    private BodyCollector makeRequest(BodyCollector collector) {
+        SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                                                       .protocol("http")
+                                                       .host("localhost")
+                                                       .port(mockServer.port())
+                                                       .encodedPath("/")
+                                                       .method(SdkHttpMethod.GET)
+                                                       .putHeader("Host", "localhost")
+                                                       .build();
+        client.prepareRequest(request, mock(SdkRequestContext.class), emptyProvider(), collector.handler).run();
+        return collector;
+    }
+
+    private long activeAllocations() {
+        List<PoolArenaMetric> arenas = allocator.metric().directArenas();
+        long active = 0;
+        for (PoolArenaMetric arena : arenas) {
+            active += arena.numActiveAllocations();
+        }
+        for (PoolArenaMetric arena : allocator.metric().heapArenas()) {
+            active += arena.numActiveAllocations();
+        }
+        return active;
+    }
+
+    private static SdkHttpRequestProvider emptyProvider() {
+        return new SdkHttpRequestProvider() {
+            @Override
+            public long contentLength() {
+                return 0;
+            }
+
+            @Override
+            public void subscribe(Subscriber<? super ByteBuffer> s) {
+                s.onSubscribe(new Subscription() {
+                    @Override
+                    public void request(long n) {
+                        s.onComplete();
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Subscriber that copies each buffer before asking for more, optionally requesting from another thread to simulate a
+     * subscriber that processes the body asynchronously, or asking for more before copying it.
+     */
+    private static final class BodyCollector implements Subscriber<ByteBuffer> {
+        private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+        private final long batchSize;
+        private final ExecutorService executor;
+        private final CollectingHandler handler = new CollectingHandler(this);
+        private volatile int onNextCount;
+        private volatile boolean allBuffersReadOnly = true;
+        private int cancelAfter = -1;
+        private boolean requestBeforeReading;
+        private Runnable onEachBuffer = () -> { };
+        private Subscription subscription;
+
+        private BodyCollector(long batchSize, ExecutorService executor) {
+            this.batchSize = batchSize;
+            this.executor = executor;
+        }
+
+        private BodyCollector cancelAfter(int count) {
+            this.cancelAfter = count;
+            return this;
+        }
+
+        private BodyCollector requestBeforeReading() {
+            this.requestBeforeReading = true;
+            return this;
+        }
+
+        private BodyCollector onEachBuffer(Runnable onEachBuffer) {
+            this.onEachBuffer = onEachBuffer;
+            return this;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(batchSize);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            int count = ++onNextCount;
+            if (executor == null) {
+                consume(byteBuffer, count);
+            } else {
+                executor.execute(() -> consume(byteBuffer, count));
+            }
+        }
+
+        private void consume(ByteBuffer byteBuffer, int count) {
+            if (requestBeforeReading) {
+                subscription.request(batchSize);
+            }
+            onEachBuffer.run();
+            allBuffersReadOnly &= byteBuffer.isReadOnly();
+            byte[] bytes = new byte[byteBuffer.remaining()];
+            byteBuffer.get(bytes);
+            synchronized (received) {
+                received.write(bytes, 0, bytes.length);
+            }
+            if (count == cancelAfter) {
+                subscription.cancel();
+            } else if (batchSize != Long.MAX_VALUE && !requestBeforeReading) {
+                subscription.request(batchSize);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        private String body() {
+            synchronized (received) {
+                return new String(received.toByteArray(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    private static final class CollectingHandler implements SdkHttpResponseHandler<Void> {
+        private final CompletableFuture<Void> completeFuture = new CompletableFuture<>();
+        private final BodyCollector collector;
+
+        private CollectingHandler(BodyCollector collector) {
+            this.collector = collector;
+        }
+
+        @Override
+        public void headersReceived(SdkHttpResponse response) {
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> publisher) {
+            publisher.subscribe(collector);
+        }
+
+        @Override
+        public void exceptionOccurred(Throwable throwable) {
+            completeFuture.completeExceptionally(throwable);
+        }
+
+        @Override
+        public Void complete() {
+            completeFuture.complete(null);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.SdkRequestContext;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkHttpRequestProvider;
+import software.amazon.awssdk.http.async.SdkHttpResponseHandler;
+import software.amazon.awssdk.utils.AttributeMap;
+
+/**
+ * Tests a server that closes the connection as soon as it has written a complete response, while the subscriber is still
+ * slowly consuming the body. The native epoll transport reads the rest of the response and notices the close before the
+ * subscriber has asked for it, which must not fail the request.
+ */
+public class ServerCloseAfterResponseTest {
+
+    private final ScheduledExecutorService subscriberExecutor = Executors.newSingleThreadScheduledExecutor();
+    private ServerSocket serverSocket;
+    private Thread serverThread;
+    private String body;
+
+    @Before
+    public void setup() throws IOException {
+        body = randomAlphabetic(64 * 1024);
+        serverSocket = new ServerSocket(0);
+        serverThread = new Thread(this::serveOneResponse);
+        serverThread.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        subscriberExecutor.shutdownNow();
+        serverSocket.close();
+        serverThread.join(5000);
+    }
+
+    @Test
+    public void nio_slowSubscriberReceivesWholeBody() throws Exception {
+        assertSlowSubscriberReceivesWholeBody(new NioEventLoopGroup(1));
+    }
+
+    @Test
+    public void epoll_slowSubscriberReceivesWholeBody() throws Exception {
+        assumeTrue(Epoll.isAvailable());
+        assertSlowSubscriberReceivesWholeBody(new EpollEventLoopGroup(1));
+    }
+
+    private void assertSlowSubscriberReceivesWholeBody(EventLoopGroup eventLoopGroup) throws Exception {
+        SdkAsyncHttpClient client = NettyNioAsyncHttpClient.builder()
+                                                           .eventLoopGroup(SdkEventLoopGroup.create(eventLoopGroup))
+                                                           .buildWithDefaults(AttributeMap.empty());
+        try {
+            SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                                                           .method(SdkHttpMethod.GET)
+                                                           .protocol("http")
+                                                           .host("localhost")
+                                                           .port(serverSocket.getLocalPort())
+                                                           .encodedPath("/")
+                                                           .putHeader("Host", "localhost")
+                                                           .build();
+            SlowResponseHandler handler = new SlowResponseHandler();
+            client.prepareRequest(request, mock(SdkRequestContext.class), emptyProvider(), handler).run();
+
+            handler.completeFuture.get(10, TimeUnit.SECONDS);
+            assertThat(handler.body()).isEqualTo(body);
+        } finally {
+            client.close();
+            eventLoopGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS);
+        }
+    }
+
+    private void serveOneResponse() {
+        try (Socket socket = serverSocket.accept()) {
+            readRequestHeaders(socket.getInputStream());
+            OutputStream out = socket.getOutputStream();
+            String headers = "HTTP/1.1 200 OK\r\n"
+                             + "Content-Length: " + body.length() + "\r\n"
+                             + "Connection: close\r\n"
+                             + "\r\n";
+            out.write(headers.getBytes(StandardCharsets.US_ASCII));
+            out.write(body.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        } catch (IOException e) {
+            // The test fails on the client side
+        }
+    }
+
+    private static void readRequestHeaders(InputStream in) throws IOException {
+        int matched = 0;
+        byte[] endOfHeaders = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+        while (matched < endOfHeaders.length) {
+            int b = in.read();
+            if (b == -1) {
+                return;
+            }
+            matched = b == endOfHeaders[matched] ? matched + 1 : (b == '\r' ? 1 : 0);
+        }
+    }
+
+    private static SdkHttpRequestProvider emptyProvider() {
+        return new SdkHttpRequestProvider() {
+            @Override
+            public long contentLength() {
+                return 0;
+            }
+
+            @Override
+            public void subscribe(Subscriber<? super ByteBuffer> s) {
+                s.onSubscribe(new Subscription() {
+                    @Override
+                    public void request(long n) {
+                        s.onComplete();
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Requests each part of the body some time after receiving the previous one.
+     */
+    private final class SlowResponseHandler implements SdkHttpResponseHandler<Void> {
+        private final CompletableFuture<Void> completeFuture = new CompletableFuture<>();
+        private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+
+        @Override
+        public void headersReceived(SdkHttpResponse response) {
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> publisher) {
+            publisher.subscribe(new Subscriber<ByteBuffer>() {
+                private Subscription subscription;
+
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    this.subscription = subscription;
+                    subscriberExecutor.schedule(() -> subscription.request(1), 100, TimeUnit.MILLISECONDS);
+                }
+
+                @Override
+                public void onNext(ByteBuffer byteBuffer) {
+                    byte[] bytes = new byte[byteBuffer.remaining()];
+                    byteBuffer.get(bytes);
+                    synchronized (received) {
+                        received.write(bytes, 0, bytes.length);
+                    }
+                    subscriberExecutor.schedule(() -> subscription.request(1), 10, TimeUnit.MILLISECONDS);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+        }
+
+        @Override
+        public void exceptionOccurred(Throwable throwable) {
+            completeFuture.completeExceptionally(throwable);
+        }
+
+        @Override
+        public Void complete() {
+            completeFuture.complete(null);
+            return null;
+        }
+
+        private String body() {
+            synchronized (received) {
+                return new String(received.toByteArray(), StandardCharsets.US_ASCII);
+            }
+        }
+    }
+}
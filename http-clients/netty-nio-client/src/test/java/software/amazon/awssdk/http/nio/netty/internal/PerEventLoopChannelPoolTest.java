@@ -0,0 +1,282 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.netty.channel.Channel;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PerEventLoopChannelPoolTest {
+
+    private DefaultEventLoopGroup eventLoopGroup;
+    private List<FakeChannelPool> pools;
+
+    @Before
+    public void setup() {
+        eventLoopGroup = new DefaultEventLoopGroup(2);
+        pools = new ArrayList<>();
+    }
+
+    @After
+    public void tearDown() {
+        eventLoopGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    @Test
+    public void maxConnectionsIsDividedBetweenEventLoops() {
+        createPool(5);
+
+        assertThat(pools).hasSize(2);
+        assertThat(pools.get(0).maxConnections).isEqualTo(3);
+        assertThat(pools.get(1).maxConnections).isEqualTo(2);
+    }
+
+    @Test
+    public void fewerConnectionsThanEventLoops_onlyCreatesOnePoolPerConnection() {
+        createPool(1);
+
+        assertThat(pools).hasSize(1);
+        assertThat(pools.get(0).maxConnections).isEqualTo(1);
+    }
+
+    @Test
+    public void acquireFromEventLoop_usesPoolOfThatEventLoop() throws Exception {
+        PerEventLoopChannelPool pool = createPool(4);
+        EventLoop secondEventLoop = pools.get(1).eventLoop;
+
+        Channel channel = secondEventLoop.submit(() -> pool.acquire()).get().get(5, TimeUnit.SECONDS);
+
+        assertThat(channel.eventLoop()).isSameAs(secondEventLoop);
+    }
+
+    @Test
+    public void ownPoolExhausted_acquiresFromOtherPool() throws Exception {
+        PerEventLoopChannelPool pool = createPool(2);
+        EventLoop firstEventLoop = pools.get(0).eventLoop;
+
+        Channel first = firstEventLoop.submit(() -> pool.acquire()).get().get(5, TimeUnit.SECONDS);
+        Channel second = firstEventLoop.submit(() -> pool.acquire()).get().get(5, TimeUnit.SECONDS);
+
+        assertThat(first.eventLoop()).isSameAs(firstEventLoop);
+        assertThat(second.eventLoop()).isSameAs(pools.get(1).eventLoop);
+    }
+
+    @Test
+    public void allPoolsExhausted_waitsUntilAConnectionIsReleased() throws Exception {
+        PerEventLoopChannelPool pool = createPool(3);
+        List<Channel> channels = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            channels.add(pool.acquire().get(5, TimeUnit.SECONDS));
+        }
+
+        Future<Channel> pending = pool.acquire();
+        Thread.sleep(100);
+        assertThat(pending.isDone()).isFalse();
+        assertThat(totalLeased()).isEqualTo(3);
+
+        // Whichever pool the connection is returned to serves the waiting request
+        for (Channel channel : channels) {
+            FakeChannelPool owner = poolOf(channel);
+            pool.release(channel).get(5, TimeUnit.SECONDS);
+            Channel acquired = pending.get(5, TimeUnit.SECONDS);
+            assertThat(poolOf(acquired)).isSameAs(owner);
+            assertThat(totalLeased()).isEqualTo(3);
+            pending = pool.acquire();
+        }
+    }
+
+    @Test
+    public void allPoolsExhausted_tooManyPendingAcquires_fails() throws Exception {
+        PerEventLoopChannelPool pool = createPool(2, 1, 10_000);
+        pool.acquire().get(5, TimeUnit.SECONDS);
+        pool.acquire().get(5, TimeUnit.SECONDS);
+
+        Future<Channel> pending = pool.acquire();
+        Future<Channel> rejected = pool.acquire().await();
+
+        assertThat(pending.isDone()).isFalse();
+        assertThat(rejected.cause()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void allPoolsExhausted_acquireTimesOut() throws Exception {
+        PerEventLoopChannelPool pool = createPool(2, 10, 100);
+        Channel channel = pool.acquire().get(5, TimeUnit.SECONDS);
+        pool.acquire().get(5, TimeUnit.SECONDS);
+
+        Future<Channel> timedOut = pool.acquire().await();
+        assertThat(timedOut.cause()).isInstanceOf(TimeoutException.class);
+
+        // The timed out request is no longer waiting, so the released connection can be acquired again
+        pool.release(channel).get(5, TimeUnit.SECONDS);
+        Future<Channel> next = pool.acquire();
+        assertThat(next.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    public void close_failsPendingAcquires() throws Exception {
+        PerEventLoopChannelPool pool = createPool(1);
+        pool.acquire().get(5, TimeUnit.SECONDS);
+        Future<Channel> pending = pool.acquire();
+
+        pool.close();
+
+        assertThat(pending.await().cause()).isInstanceOf(IllegalStateException.class);
+        assertThat(pools).allMatch(p -> p.closed);
+    }
+
+    @Test
+    public void failedAcquire_freesReservation() throws Exception {
+        PerEventLoopChannelPool pool = createPool(2);
+        pools.forEach(p -> p.failAcquires = true);
+
+        assertThat(pool.acquire().await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(pool.acquire().await(5, TimeUnit.SECONDS)).isTrue();
+        pools.forEach(p -> p.failAcquires = false);
+
+        // Both pools are free again, so neither acquire waits
+        pool.acquire().get(5, TimeUnit.SECONDS);
+        pool.acquire().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void acquireCancelledByCaller_releasesChannel() throws Exception {
+        PerEventLoopChannelPool pool = createPool(1);
+        Promise<Channel> promise = eventLoopGroup.next().newPromise();
+        promise.cancel(false);
+
+        pool.acquire(promise);
+
+        // The channel was handed back, so it can be acquired again
+        assertThat(pool.acquire().get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    public void releaseChannelFromUnknownEventLoop_closesChannelAndFails() throws Exception {
+        PerEventLoopChannelPool pool = createPool(2);
+        DefaultEventLoopGroup otherGroup = new DefaultEventLoopGroup(1);
+        try {
+            Channel channel = mockChannel(otherGroup.next());
+
+            Future<Void> release = pool.release(channel).await();
+
+            assertThat(release.cause()).isInstanceOf(IllegalArgumentException.class);
+            verify(channel).close();
+        } finally {
+            otherGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS);
+        }
+    }
+
+    private PerEventLoopChannelPool createPool(int maxConnections) {
+        return createPool(maxConnections, 10, 10_000);
+    }
+
+    private PerEventLoopChannelPool createPool(int maxConnections, int maxPendingAcquires, long acquireTimeoutMillis) {
+        return new PerEventLoopChannelPool(eventLoopGroup, maxConnections, maxPendingAcquires, acquireTimeoutMillis,
+                                           (eventLoop, max) -> {
+                                               FakeChannelPool pool = new FakeChannelPool(eventLoop, max);
+                                               pools.add(pool);
+                                               return pool;
+                                           });
+    }
+
+    private FakeChannelPool poolOf(Channel channel) {
+        return pools.stream().filter(p -> p.eventLoop == channel.eventLoop()).findFirst().get();
+    }
+
+    private int totalLeased() {
+        return pools.stream().mapToInt(p -> p.leased).sum();
+    }
+
+    private static Channel mockChannel(EventLoop eventLoop) {
+        Channel channel = mock(Channel.class);
+        when(channel.eventLoop()).thenReturn(eventLoop);
+        return channel;
+    }
+
+    /**
+     * Pool that hands out mock channels on its event loop and queues acquires once it has leased its maximum.
+     */
+    private static final class FakeChannelPool implements ChannelPool {
+        private final EventLoop eventLoop;
+        private final int maxConnections;
+        private final Queue<Promise<Channel>> pending = new ArrayDeque<>();
+        private volatile int leased;
+        private volatile boolean failAcquires;
+        private volatile boolean closed;
+
+        private FakeChannelPool(EventLoop eventLoop, int maxConnections) {
+            this.eventLoop = eventLoop;
+            this.maxConnections = maxConnections;
+        }
+
+        @Override
+        public Future<Channel> acquire() {
+            return acquire(eventLoop.newPromise());
+        }
+
+        @Override
+        public synchronized Future<Channel> acquire(Promise<Channel> promise) {
+            if (failAcquires) {
+                return promise.setFailure(new IllegalStateException("Acquire failed"));
+            }
+            if (leased < maxConnections) {
+                leased++;
+                return promise.setSuccess(mockChannel(eventLoop));
+            }
+            pending.add(promise);
+            return promise;
+        }
+
+        @Override
+        public Future<Void> release(Channel channel) {
+            return release(channel, eventLoop.newPromise());
+        }
+
+        @Override
+        public synchronized Future<Void> release(Channel channel, Promise<Void> promise) {
+            Promise<Channel> next = pending.poll();
+            if (next != null) {
+                next.setSuccess(channel);
+            } else {
+                leased--;
+            }
+            return promise.setSuccess(null);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
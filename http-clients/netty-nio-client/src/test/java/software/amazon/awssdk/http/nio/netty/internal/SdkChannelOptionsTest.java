@@ -18,6 +18,7 @@ package software.amazon.awssdk.http.nio.netty.internal;
 import static org.junit.Assert.assertEquals;
 
 import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.EpollChannelOption;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.Test;
@@ -44,4 +45,28 @@ public class SdkChannelOptionsTest {
 
         assertEquals(expectedOptions, channelOptions.channelOptions());
     }
+
+    @Test
+    public void typedOptionsArePresent() {
+        SdkChannelOptions channelOptions = new SdkChannelOptions().tcpNoDelay(false).tcpFastOpenConnect(true);
+
+        Map<ChannelOption, Object> expectedOptions = new HashMap<>();
+        expectedOptions.put(ChannelOption.TCP_NODELAY, Boolean.FALSE);
+        expectedOptions.put(EpollChannelOption.TCP_FASTOPEN_CONNECT, Boolean.TRUE);
+
+        assertEquals(expectedOptions, channelOptions.channelOptions(true));
+    }
+
+    @Test
+    public void epollOptionsOmittedForOtherTransports() {
+        SdkChannelOptions channelOptions = new SdkChannelOptions().tcpFastOpenConnect(true)
+                                                                  .putOption(EpollChannelOption.TCP_QUICKACK, true)
+                                                                  .putOption(ChannelOption.SO_LINGER, 0);
+
+        Map<ChannelOption, Object> expectedOptions = new HashMap<>();
+        expectedOptions.put(ChannelOption.TCP_NODELAY, Boolean.TRUE);
+        expectedOptions.put(ChannelOption.SO_LINGER, 0);
+
+        assertEquals(expectedOptions, channelOptions.channelOptions(false));
+    }
 }
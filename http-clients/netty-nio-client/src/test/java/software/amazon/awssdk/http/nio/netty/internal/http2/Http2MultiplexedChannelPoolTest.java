@@ -0,0 +1,222 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.http2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.CHANNEL_POOL_RECORD;
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.MAX_CONCURRENT_STREAMS;
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.PROTOCOL_FUTURE;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.handler.codec.http2.ForkedHttp2MultiplexCodecBuilder;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.After;
+import org.junit.Test;
+import software.amazon.awssdk.http.Protocol;
+
+/**
+ * Tests for {@link Http2MultiplexedChannelPool}. Connections are {@link EmbeddedChannel}s with an HTTP/2 codec, so everything
+ * runs synchronously on the calling thread.
+ */
+public class Http2MultiplexedChannelPoolTest {
+
+    private final EventLoop eventLoop = new EmbeddedChannel().eventLoop();
+    private final FakeConnectionPool connectionPool = new FakeConnectionPool();
+
+    @After
+    public void tearDown() {
+        connectionPool.connections.forEach(EmbeddedChannel::finishAndReleaseAll);
+    }
+
+    @Test
+    public void streamsArePlacedOnConnectionWithFewestStreamsInUse() throws Exception {
+        Http2MultiplexedChannelPool pool = new Http2MultiplexedChannelPool(connectionPool, eventLoop, 2, 100, null);
+        Channel first = acquire(pool);
+        Channel second = acquire(pool);
+        Channel third = acquire(pool);
+        assertThat(connectionPool.connections).hasSize(2);
+        assertThat(third.parent()).isNotSameAs(first.parent());
+
+        pool.release(first).sync();
+        pool.release(third).sync();
+
+        // Both connections have a stream available, but the second one has none in use
+        assertThat(acquire(pool).parent()).isSameAs(third.parent());
+        assertThat(acquire(pool).parent()).isSameAs(first.parent());
+        assertThat(connectionPool.connections).hasSize(2);
+        assertThat(second.parent()).isSameAs(first.parent());
+    }
+
+    @Test
+    public void maxConcurrentStreamsOfEachConnectionIsUsed() throws Exception {
+        Http2MultiplexedChannelPool pool = new Http2MultiplexedChannelPool(connectionPool, eventLoop, 2, 100, null);
+        connectionPool.maxConcurrentStreams.add(2L);
+        connectionPool.maxConcurrentStreams.add(1L);
+
+        for (int i = 0; i < 4; i++) {
+            acquire(pool);
+        }
+
+        List<Http2ConnectionMetrics> metrics = pool.connectionMetrics().get();
+        assertThat(metrics).extracting(Http2ConnectionMetrics::maxConcurrentStreams).containsExactly(2L, 1L, 2L);
+        assertThat(metrics).extracting(Http2ConnectionMetrics::streamsInUse).containsExactly(2L, 1L, 1L);
+    }
+
+    @Test
+    public void serverLowersMaxConcurrentStreams_noMoreStreamsPlacedOnConnection() throws Exception {
+        Http2MultiplexedChannelPool pool = new Http2MultiplexedChannelPool(connectionPool, eventLoop, 3, 100, null);
+        Channel first = acquire(pool);
+        acquire(pool);
+
+        first.parent().attr(CHANNEL_POOL_RECORD).get().maxConcurrentStreams(1);
+        Channel third = acquire(pool);
+
+        assertThat(third.parent()).isNotSameAs(first.parent());
+        Http2ConnectionMetrics lowered = pool.connectionMetrics().get().get(0);
+        assertThat(lowered.streamsInUse()).isEqualTo(2);
+        assertThat(lowered.streamUtilization()).isEqualTo(2.0);
+    }
+
+    @Test
+    public void serverRaisesMaxConcurrentStreams_moreStreamsPlacedOnConnection() throws Exception {
+        Http2MultiplexedChannelPool pool = new Http2MultiplexedChannelPool(connectionPool, eventLoop, 1, 100, null);
+        Channel first = acquire(pool);
+
+        first.parent().attr(CHANNEL_POOL_RECORD).get().maxConcurrentStreams(2);
+
+        assertThat(acquire(pool).parent()).isSameAs(first.parent());
+        assertThat(connectionPool.connections).hasSize(1);
+    }
+
+    @Test
+    public void utilizationReachesThreshold_connectionIsPreWarmed() throws Exception {
+        Http2MultiplexedChannelPool pool = new Http2MultiplexedChannelPool(connectionPool, eventLoop, 4, 100, 0.5);
+        acquire(pool);
+        assertThat(connectionPool.connections).hasSize(1);
+
+        acquire(pool);
+        assertThat(connectionPool.connections).hasSize(2);
+        assertThat(pool.connectionMetrics().get()).extracting(Http2ConnectionMetrics::streamsInUse).containsExactly(2L, 0L);
+
+        // The pre-warmed connection is now the least loaded
+        Channel third = acquire(pool);
+        assertThat(third.parent()).isSameAs(connectionPool.connections.get(1));
+    }
+
+    @Test
+    public void connectionsAllowMaxConcurrency_connectionIsNotPreWarmed() throws Exception {
+        Http2MultiplexedChannelPool pool = new Http2MultiplexedChannelPool(connectionPool, eventLoop, 4, 4, 0.5);
+        for (int i = 0; i < 4; i++) {
+            acquire(pool);
+        }
+
+        assertThat(connectionPool.connections).hasSize(1);
+    }
+
+    @Test
+    public void noThreshold_connectionIsOnlyOpenedWhenOthersAreFull() throws Exception {
+        Http2MultiplexedChannelPool pool = new Http2MultiplexedChannelPool(connectionPool, eventLoop, 2, 100, null);
+        acquire(pool);
+        acquire(pool);
+        assertThat(connectionPool.connections).hasSize(1);
+
+        acquire(pool);
+        assertThat(connectionPool.connections).hasSize(2);
+    }
+
+    @Test
+    public void noStreamLimit_utilizationIsZeroOrOne() {
+        assertThat(new Http2ConnectionMetrics(null, false, 0, 0).streamUtilization()).isEqualTo(0.0);
+        assertThat(new Http2ConnectionMetrics(null, false, 2, 0).streamUtilization()).isEqualTo(1.0);
+        assertThat(new Http2ConnectionMetrics("id", true, 1, 4).streamUtilization()).isEqualTo(0.25);
+    }
+
+    @Test
+    public void connectionFails_acquireFailsAndConnectionIsRemoved() throws Exception {
+        Http2MultiplexedChannelPool pool = new Http2MultiplexedChannelPool(connectionPool, eventLoop, 2, 100, null);
+        connectionPool.fail = true;
+
+        Future<Channel> failed = pool.acquire().await();
+
+        assertThat(failed.cause()).isInstanceOf(IOException.class);
+        assertThat(pool.connectionMetrics().get()).isEmpty();
+
+        connectionPool.fail = false;
+        assertThat(acquire(pool)).isNotNull();
+    }
+
+    private static Channel acquire(Http2MultiplexedChannelPool pool) throws Exception {
+        return pool.acquire().sync().getNow();
+    }
+
+    /**
+     * Creates embedded HTTP/2 connections whose MAX_CONCURRENT_STREAMS has been negotiated.
+     */
+    private static final class FakeConnectionPool implements ChannelPool {
+        private final List<EmbeddedChannel> connections = new ArrayList<>();
+        private final List<Long> maxConcurrentStreams = new ArrayList<>();
+        private boolean fail;
+
+        @Override
+        public Future<Channel> acquire() {
+            EmbeddedChannel channel = new EmbeddedChannel();
+            if (fail) {
+                return channel.eventLoop().newFailedFuture(new IOException("Connection refused"));
+            }
+            channel.pipeline().addLast(ForkedHttp2MultiplexCodecBuilder.forClient(new NoOpInitializer()).build());
+            channel.attr(PROTOCOL_FUTURE).set(CompletableFuture.completedFuture(Protocol.HTTP2));
+            if (connections.size() < maxConcurrentStreams.size()) {
+                channel.attr(MAX_CONCURRENT_STREAMS).set(maxConcurrentStreams.get(connections.size()));
+            }
+            connections.add(channel);
+            return channel.eventLoop().newSucceededFuture(channel);
+        }
+
+        @Override
+        public Future<Channel> acquire(Promise<Channel> promise) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<Void> release(Channel channel) {
+            return channel.eventLoop().newSucceededFuture(null);
+        }
+
+        @Override
+        public Future<Void> release(Channel channel, Promise<Void> promise) {
+            return promise.setSuccess(null);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class NoOpInitializer extends ChannelInitializer<Channel> {
+        @Override
+        protected void initChannel(Channel ch) {
+        }
+    }
+}
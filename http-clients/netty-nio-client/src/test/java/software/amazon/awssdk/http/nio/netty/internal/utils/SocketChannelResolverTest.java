@@ -17,6 +17,7 @@ package software.amazon.awssdk.http.nio.netty.internal.utils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assume.assumeTrue;
+import static software.amazon.awssdk.http.nio.netty.internal.utils.SocketChannelResolver.isNativeEpoll;
 import static software.amazon.awssdk.http.nio.netty.internal.utils.SocketChannelResolver.resolveSocketChannelFactory;
 
 import io.netty.channel.epoll.Epoll;
@@ -51,4 +52,16 @@ public class SocketChannelResolverTest {
     public void worksWithOioEventLoopGroupFactory() {
         assertThat(resolveSocketChannelFactory(new OioEventLoopGroup()).newChannel()).isInstanceOf(OioSocketChannel.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void detectsNativeEpollEventLoopGroup() {
+        assumeTrue(Epoll.isAvailable());
+        assertThat(isNativeEpoll(new EpollEventLoopGroup())).isTrue();
+        assertThat(isNativeEpoll(new DelegatingEventLoopGroup(new EpollEventLoopGroup()) {})).isTrue();
+    }
+
+    @Test
+    public void nioEventLoopGroupIsNotNativeEpoll() {
+        assertThat(isNativeEpoll(new NioEventLoopGroup())).isFalse();
+    }
+}
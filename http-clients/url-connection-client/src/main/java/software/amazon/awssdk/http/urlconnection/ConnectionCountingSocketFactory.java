@@ -0,0 +1,123 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.urlconnection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.concurrent.atomic.LongAdder;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocketFactory;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+
+/**
+ * An {@link SSLSocketFactory} that counts the sockets it creates, which are the HTTPS connections opened by
+ * {@link HttpsURLConnection}. Connections reused from the JDK's keep-alive cache do not create a socket.
+ *
+ * <p>The JDK only reuses a cached HTTPS connection for a request that uses the same socket factory instance, so each client
+ * having its own instance also keeps its connections apart from those of other clients.
+ *
+ * <p>The factory to delegate to is resolved when the first socket is created, so that building a client does not initialize
+ * the JDK's default {@link javax.net.ssl.SSLContext} if it never makes an HTTPS request.
+ */
+@ThreadSafe
+@SdkInternalApi
+final class ConnectionCountingSocketFactory extends SSLSocketFactory {
+
+    private final LongAdder socketsCreated = new LongAdder();
+    private volatile SSLSocketFactory delegate;
+
+    /**
+     * @param delegate The factory to create sockets with, or null to use the JDK's default factory.
+     */
+    ConnectionCountingSocketFactory(SSLSocketFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    long socketsCreated() {
+        return socketsCreated.sum();
+    }
+
+    private SSLSocketFactory delegate() {
+        SSLSocketFactory result = delegate;
+        if (result == null) {
+            result = HttpsURLConnection.getDefaultSSLSocketFactory();
+            delegate = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String[] getDefaultCipherSuites() {
+        return delegate().getDefaultCipherSuites();
+    }
+
+    @Override
+    public String[] getSupportedCipherSuites() {
+        return delegate().getSupportedCipherSuites();
+    }
+
+    @Override
+    public Socket createSocket() throws IOException {
+        Socket socket = delegate().createSocket();
+        socketsCreated.increment();
+        return socket;
+    }
+
+    @Override
+    public Socket createSocket(Socket s, String host, int port, boolean autoClose) throws IOException {
+        Socket socket = delegate().createSocket(s, host, port, autoClose);
+        socketsCreated.increment();
+        return socket;
+    }
+
+    @Override
+    public Socket createSocket(Socket s, InputStream consumed, boolean autoClose) throws IOException {
+        Socket socket = delegate().createSocket(s, consumed, autoClose);
+        socketsCreated.increment();
+        return socket;
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        Socket socket = delegate().createSocket(host, port);
+        socketsCreated.increment();
+        return socket;
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+        Socket socket = delegate().createSocket(host, port, localHost, localPort);
+        socketsCreated.increment();
+        return socket;
+    }
+
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException {
+        Socket socket = delegate().createSocket(host, port);
+        socketsCreated.increment();
+        return socket;
+    }
+
+    @Override
+    public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+        Socket socket = delegate().createSocket(address, port, localAddress, localPort);
+        socketsCreated.increment();
+        return socket;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.urlconnection;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.Abortable;
+
+/**
+ * The body of a response, which calls back once it has been read to the end, closed or aborted, to tell the client that the
+ * connection is no longer in use.
+ *
+ * <p>{@link HttpURLConnection} only returns a connection to its keep-alive cache once the body has been read to the end. When
+ * the body is closed early, a small remainder of it is therefore read and discarded, so that the connection can be reused by
+ * the next request straight away. A larger remainder is left to the JDK, which reads it in the background or closes the
+ * connection.
+ */
+@NotThreadSafe
+@SdkInternalApi
+final class ResponseInputStream extends FilterInputStream implements Abortable {
+
+    /**
+     * Largest remainder of a body that is read when it is closed.
+     */
+    private static final int MAX_DRAIN_BYTES = 64 * 1024;
+
+    private final HttpURLConnection connection;
+    private final Runnable onDone;
+    private boolean done;
+
+    ResponseInputStream(InputStream in, HttpURLConnection connection, Runnable onDone) {
+        super(in);
+        this.connection = connection;
+        this.onDone = onDone;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int read = super.read();
+        if (read == -1) {
+            done();
+        }
+        return read;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read == -1) {
+            done();
+        }
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!done) {
+                drain();
+            }
+        } finally {
+            try {
+                super.close();
+            } finally {
+                done();
+            }
+        }
+    }
+
+    @Override
+    public void abort() {
+        connection.disconnect();
+        done();
+    }
+
+    private void drain() {
+        byte[] scratch = new byte[8192];
+        try {
+            long drained = 0;
+            while (drained < MAX_DRAIN_BYTES) {
+                int read = in.read(scratch);
+                if (read == -1) {
+                    return;
+                }
+                drained += read;
+            }
+        } catch (IOException e) {
+            // The connection cannot be reused, which the JDK will notice when the stream is closed
+        }
+    }
+
+    private void done() {
+        if (!done) {
+            done = true;
+            onDone.run();
+        }
+    }
+}
@@ -17,18 +17,36 @@ package software.amazon.awssdk.http.urlconnection;
 
 import static software.amazon.awssdk.http.HttpStatusFamily.CLIENT_ERROR;
 import static software.amazon.awssdk.http.HttpStatusFamily.SERVER_ERROR;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_ACQUIRE_TIMEOUT;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_TIMEOUT;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.MAX_CONNECTIONS;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.READ_TIMEOUT;
 import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
 import static software.amazon.awssdk.utils.NumericUtils.saturatedCast;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.http.AbortableCallable;
 import software.amazon.awssdk.http.AbortableInputStream;
@@ -37,15 +55,28 @@ import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.SdkHttpConfigurationOption;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.http.SdkRequestContext;
 import software.amazon.awssdk.utils.AttributeMap;
 import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.awssdk.utils.Logger;
 
 /**
  * An implementation of {@link SdkHttpClient} that uses {@link HttpURLConnection} to communicate with the service. This is the
  * leanest synchronous client that optimizes for minimum dependencies and startup latency in exchange for having less
  * functionality than other implementations.
  *
+ * <p>Request bodies are streamed to the service rather than buffered in memory: with a fixed length when the request has a
+ * Content-Length header, and with chunked transfer encoding otherwise.</p>
+ *
+ * <p>Connections are kept alive and reused by the JDK, which keeps idle connections in a cache shared by the whole JVM. Its
+ * size and the time connections are kept idle can only be configured for the whole JVM: it keeps up to {@code
+ * http.maxConnections} (a system property, 5 by default) idle connections per host, for as long as the server asks in its
+ * Keep-Alive response header or 5 seconds otherwise. The number of connections this client uses per host is unbounded
+ * unless it is limited with {@link Builder#maxConnectionsPerHost(Integer)}, and setting {@code http.maxConnections} to the
+ * same value lets every connection opened during a burst of requests be reused afterwards. HTTPS connections are only
+ * reused by the client that opened them. {@link #metrics()} reports how often they are reused.</p>
+ *
  * <p>See software.amazon.awssdk.http.apache.ApacheHttpClient for an alternative implementation.</p>
  *
  * <p>This can be created via {@link #builder()}</p>
@@ -53,10 +84,31 @@ import software.amazon.awssdk.utils.IoUtils;
 @SdkPublicApi
 public final class UrlConnectionHttpClient implements SdkHttpClient {
 
-    private final AttributeMap options;
+    /**
+     * Size of the chunks of a request body of unknown length, which is also the size of the buffer that
+     * {@link HttpURLConnection} collects them in. A body of known length is written straight to the socket, so it is copied
+     * in parts of up to this size instead.
+     */
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final Logger log = Logger.loggerFor(UrlConnectionHttpClient.class);
 
-    private UrlConnectionHttpClient(AttributeMap options) {
+    private final AttributeMap options;
+    private final boolean keepAliveEnabled;
+    private final ConnectionCountingSocketFactory socketFactory;
+    private final Integer maxConnectionsPerHost;
+    private final long connectionAcquireTimeoutMillis;
+    private final ConcurrentMap<String, Semaphore> connectionPermits = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionsInUse = new AtomicInteger();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder httpsRequestCount = new LongAdder();
+
+    private UrlConnectionHttpClient(DefaultBuilder builder, AttributeMap options) {
         this.options = options;
+        this.keepAliveEnabled = Optional.ofNullable(builder.connectionKeepAliveEnabled).orElse(Boolean.TRUE);
+        this.socketFactory = new ConnectionCountingSocketFactory(resolveSocketFactory(builder));
+        this.maxConnectionsPerHost = builder.maxConnectionsPerHost;
+        this.connectionAcquireTimeoutMillis = options.get(CONNECTION_ACQUIRE_TIMEOUT).toMillis();
     }
 
     public static Builder builder() {
@@ -79,47 +131,181 @@ public final class UrlConnectionHttpClient implements SdkHttpClient {
 
     }
 
+    /**
+     * Get a snapshot of the connection usage of this client.
+     */
+    public UrlConnectionHttpClientMetrics metrics() {
+        return new UrlConnectionHttpClientMetrics(requestCount.sum(), httpsRequestCount.sum(), socketFactory.socketsCreated(),
+                                                  connectionsInUse.get());
+    }
+
+    /**
+     * The configured socket factory, or one from a new SSL context if the SSL session cache is configured, or null to use the
+     * JDK's default.
+     */
+    private static SSLSocketFactory resolveSocketFactory(DefaultBuilder builder) {
+        if (builder.socketFactory != null) {
+            return builder.socketFactory;
+        }
+        if (builder.sslSessionCacheSize == null && builder.sslSessionTimeout == null) {
+            return null;
+        }
+        try {
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, null, null);
+            SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+            if (builder.sslSessionCacheSize != null) {
+                sessionContext.setSessionCacheSize(builder.sslSessionCacheSize);
+            }
+            if (builder.sslSessionTimeout != null) {
+                sessionContext.setSessionTimeout(saturatedCast(builder.sslSessionTimeout.getSeconds()));
+            }
+            return sslContext.getSocketFactory();
+        } catch (NoSuchAlgorithmException | KeyManagementException e) {
+            throw new IllegalStateException("Unable to create the SSL context", e);
+        }
+    }
+
     private HttpURLConnection createAndConfigureConnection(SdkHttpFullRequest request) {
         HttpURLConnection connection = invokeSafely(() -> (HttpURLConnection) request.getUri().toURL().openConnection());
         request.headers().forEach((key, values) -> values.forEach(value -> connection.setRequestProperty(key, value)));
         invokeSafely(() -> connection.setRequestMethod(request.method().name()));
-        if (request.content().isPresent()) {
-            connection.setDoOutput(true);
+        if (connection instanceof HttpsURLConnection) {
+            ((HttpsURLConnection) connection).setSSLSocketFactory(socketFactory);
+        }
+        if (!keepAliveEnabled) {
+            connection.setRequestProperty("Connection", "close");
         }
-
         connection.setConnectTimeout(saturatedCast(options.get(CONNECTION_TIMEOUT).toMillis()));
         connection.setReadTimeout(saturatedCast(options.get(READ_TIMEOUT).toMillis()));
 
         return connection;
     }
 
-    private static class RequestCallable implements AbortableCallable<SdkHttpFullResponse> {
+    private final class RequestCallable implements AbortableCallable<SdkHttpFullResponse> {
 
         private final HttpURLConnection connection;
         private final SdkHttpFullRequest request;
+        private final long contentLength;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile Semaphore permit;
+        private volatile boolean acquired;
 
         private RequestCallable(HttpURLConnection connection, SdkHttpFullRequest request) {
             this.connection = connection;
             this.request = request;
+            this.contentLength = request.firstMatchingHeader("Content-Length")
+                                        .map(this::parseContentLength)
+                                        .orElse(-1L);
+            if (request.content().isPresent()) {
+                connection.setDoOutput(true);
+                // Without a streaming mode, HttpURLConnection buffers the whole body in memory to compute its length.
+                if (contentLength >= 0) {
+                    connection.setFixedLengthStreamingMode(contentLength);
+                } else {
+                    connection.setChunkedStreamingMode(CHUNK_SIZE);
+                }
+            }
+        }
+
+        private long parseContentLength(String contentLength) {
+            try {
+                return Long.parseLong(contentLength);
+            } catch (NumberFormatException e) {
+                log.warn(() -> "Unable to parse content length from request. Sending contents with chunked encoding.");
+                return -1;
+            }
         }
 
         @Override
         public SdkHttpFullResponse call() throws Exception {
-            connection.connect();
+            acquireConnection();
+            try {
+                connection.connect();
+
+                request.content().ifPresent(content -> invokeSafely(() -> writeContent(content)));
+
+                int responseCode = connection.getResponseCode();
+                boolean isErrorResponse = HttpStatusFamily.of(responseCode).isOneOf(CLIENT_ERROR, SERVER_ERROR);
+                InputStream content = !isErrorResponse ? connection.getInputStream() : connection.getErrorStream();
+                ResponseInputStream responseStream =
+                    new ResponseInputStream(content != null ? content : new ByteArrayInputStream(new byte[0]), connection,
+                                            this::releaseConnection);
+                if (content == null || !hasResponseBody(responseCode)) {
+                    // Nothing is left to read, so the connection is not held by a caller that never closes the body.
+                    releaseConnection();
+                }
+
+                return SdkHttpFullResponse.builder()
+                                          .statusCode(responseCode)
+                                          .statusText(connection.getResponseMessage())
+                                          .content(AbortableInputStream.create(responseStream, responseStream))
+                                          .headers(extractHeaders(connection))
+                                          .build();
+            } catch (Throwable t) {
+                releaseConnection();
+                throw t;
+            }
+        }
 
-            request.content().ifPresent(content -> invokeSafely(() -> IoUtils.copy(content, connection.getOutputStream())));
+        /**
+         * Wait until fewer than the maximum number of connections to the host of the request are in use, if a maximum was
+         * configured.
+         */
+        private void acquireConnection() throws IOException, InterruptedException {
+            if (maxConnectionsPerHost != null) {
+                String host = request.protocol() + "://" + request.host() + ":" + request.port();
+                Semaphore hostPermits = connectionPermits.computeIfAbsent(host, h -> new Semaphore(maxConnectionsPerHost));
+                if (!hostPermits.tryAcquire(connectionAcquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new IOException("Timed out after " + connectionAcquireTimeoutMillis + " ms waiting for one of the "
+                                          + maxConnectionsPerHost + " connections to " + host + " to be released.");
+                }
+                permit = hostPermits;
+            }
+            acquired = true;
+            connectionsInUse.incrementAndGet();
+            requestCount.increment();
+            if (connection instanceof HttpsURLConnection) {
+                httpsRequestCount.increment();
+            }
+        }
 
-            int responseCode = connection.getResponseCode();
-            boolean isErrorResponse = HttpStatusFamily.of(responseCode).isOneOf(CLIENT_ERROR, SERVER_ERROR);
-            InputStream content = !isErrorResponse ? connection.getInputStream() : connection.getErrorStream();
+        /**
+         * Whether the response may have a body, going by the request method, the status code and the Content-Length.
+         */
+        private boolean hasResponseBody(int responseCode) {
+            return request.method() != SdkHttpMethod.HEAD
+                   && responseCode != HttpURLConnection.HTTP_NO_CONTENT
+                   && responseCode != HttpURLConnection.HTTP_NOT_MODIFIED
+                   && connection.getContentLengthLong() != 0;
+        }
 
-            return SdkHttpFullResponse.builder()
-                                      .statusCode(responseCode)
-                                      .statusText(connection.getResponseMessage())
-                                      // TODO: Don't ignore abort?
-                                      .content(AbortableInputStream.create(content))
-                                      .headers(extractHeaders(connection))
-                                      .build();
+        private void releaseConnection() {
+            if (acquired && released.compareAndSet(false, true)) {
+                connectionsInUse.decrementAndGet();
+                Semaphore hostPermits = permit;
+                if (hostPermits != null) {
+                    hostPermits.release();
+                }
+            }
+        }
+
+        /**
+         * Stream the request body to the connection. Closing the stream completes the body, and fails if it did not match the
+         * Content-Length of the request.
+         */
+        private void writeContent(InputStream content) throws IOException {
+            try (OutputStream out = connection.getOutputStream()) {
+                if (contentLength < 0) {
+                    IoUtils.copy(content, out);
+                    return;
+                }
+                byte[] buffer = new byte[(int) Math.max(1, Math.min(CHUNK_SIZE, contentLength))];
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
         }
 
         private Map<String, List<String>> extractHeaders(HttpURLConnection response) {
@@ -131,6 +317,7 @@ public final class UrlConnectionHttpClient implements SdkHttpClient {
         @Override
         public void abort() {
             connection.disconnect();
+            releaseConnection();
         }
     }
 
@@ -158,10 +345,62 @@ public final class UrlConnectionHttpClient implements SdkHttpClient {
          * means infinity, and is not recommended.
          */
         Builder connectionTimeout(Duration connectionTimeout);
+
+        /**
+         * The maximum number of connections to the same host that the client uses at the same time. A request waits for up
+         * to the {@link #connectionAcquisitionTimeout(Duration)} for a connection to be released once this many are in use.
+         * A connection is in use until the response body has been read to the end, closed or aborted, so the body of every
+         * response must be closed. A response that has no body, such as the response to a HEAD request or with status 204 or
+         * 304, releases its connection straight away.
+         *
+         * <p>By default the number of connections is not limited, and requests never wait. The global default of
+         * {@link SdkHttpConfigurationOption#MAX_CONNECTIONS} is not applied to this client.</p>
+         *
+         * <p>The JDK keeps at most {@code http.maxConnections} idle connections per host for reuse, so that system property
+         * should be at least this value for all connections to be reused.</p>
+         */
+        Builder maxConnectionsPerHost(Integer maxConnectionsPerHost);
+
+        /**
+         * The amount of time to wait for a connection to a host to be released when the maximum number of connections to it
+         * are in use. This only applies if {@link #maxConnectionsPerHost(Integer)} is configured.
+         */
+        Builder connectionAcquisitionTimeout(Duration connectionAcquisitionTimeout);
+
+        /**
+         * Configure whether connections should be kept alive to be reused by later requests. How long idle connections are
+         * kept is decided by the server and the JDK, see {@link UrlConnectionHttpClient}.
+         *
+         * <p>By default, this is enabled.</p>
+         */
+        Builder connectionKeepAliveEnabled(Boolean connectionKeepAliveEnabled);
+
+        /**
+         * The socket factory to create HTTPS connections with. By default, the JDK's default socket factory is used, or one
+         * with the configured {@link #sslSessionCacheSize(Integer)} and {@link #sslSessionTimeout(Duration)}.
+         */
+        Builder socketFactory(SSLSocketFactory socketFactory);
+
+        /**
+         * The maximum number of SSL sessions that are cached to resume them on new connections, which saves a full TLS
+         * handshake. 0 means no limit. This is ignored if a {@link #socketFactory(SSLSocketFactory)} is configured.
+         */
+        Builder sslSessionCacheSize(Integer sslSessionCacheSize);
+
+        /**
+         * How long cached SSL sessions can be resumed on new connections. This is ignored if a
+         * {@link #socketFactory(SSLSocketFactory)} is configured.
+         */
+        Builder sslSessionTimeout(Duration sslSessionTimeout);
     }
 
     private static final class DefaultBuilder implements Builder {
         private final AttributeMap.Builder standardOptions = AttributeMap.builder();
+        private Boolean connectionKeepAliveEnabled;
+        private SSLSocketFactory socketFactory;
+        private Integer sslSessionCacheSize;
+        private Duration sslSessionTimeout;
+        private Integer maxConnectionsPerHost;
 
         private DefaultBuilder() {
         }
@@ -198,6 +437,67 @@ public final class UrlConnectionHttpClient implements SdkHttpClient {
             connectionTimeout(connectionTimeout);
         }
 
+        @Override
+        public Builder maxConnectionsPerHost(Integer maxConnectionsPerHost) {
+            standardOptions.put(MAX_CONNECTIONS, maxConnectionsPerHost);
+            this.maxConnectionsPerHost = maxConnectionsPerHost;
+            return this;
+        }
+
+        public void setMaxConnectionsPerHost(Integer maxConnectionsPerHost) {
+            maxConnectionsPerHost(maxConnectionsPerHost);
+        }
+
+        @Override
+        public Builder connectionAcquisitionTimeout(Duration connectionAcquisitionTimeout) {
+            standardOptions.put(CONNECTION_ACQUIRE_TIMEOUT, connectionAcquisitionTimeout);
+            return this;
+        }
+
+        public void setConnectionAcquisitionTimeout(Duration connectionAcquisitionTimeout) {
+            connectionAcquisitionTimeout(connectionAcquisitionTimeout);
+        }
+
+        @Override
+        public Builder connectionKeepAliveEnabled(Boolean connectionKeepAliveEnabled) {
+            this.connectionKeepAliveEnabled = connectionKeepAliveEnabled;
+            return this;
+        }
+
+        public void setConnectionKeepAliveEnabled(Boolean connectionKeepAliveEnabled) {
+            connectionKeepAliveEnabled(connectionKeepAliveEnabled);
+        }
+
+        @Override
+        public Builder socketFactory(SSLSocketFactory socketFactory) {
+            this.socketFactory = socketFactory;
+            return this;
+        }
+
+        public void setSocketFactory(SSLSocketFactory socketFactory) {
+            socketFactory(socketFactory);
+        }
+
+        @Override
+        public Builder sslSessionCacheSize(Integer sslSessionCacheSize) {
+            this.sslSessionCacheSize = sslSessionCacheSize;
+            return this;
+        }
+
+        public void setSslSessionCacheSize(Integer sslSessionCacheSize) {
+            sslSessionCacheSize(sslSessionCacheSize);
+        }
+
+        @Override
+        public Builder sslSessionTimeout(Duration sslSessionTimeout) {
+            this.sslSessionTimeout = sslSessionTimeout;
+            return this;
+        }
+
+        public void setSslSessionTimeout(Duration sslSessionTimeout) {
+            sslSessionTimeout(sslSessionTimeout);
+        }
+
         /**
          * Used by the SDK to create a {@link SdkHttpClient} with service-default values if no other values have been configured
          *
@@ -207,9 +507,9 @@ public final class UrlConnectionHttpClient implements SdkHttpClient {
          */
         @Override
         public SdkHttpClient buildWithDefaults(AttributeMap serviceDefaults) {
-            return new UrlConnectionHttpClient(standardOptions.build()
-                                                              .merge(serviceDefaults)
-                                                              .merge(SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS));
+            return new UrlConnectionHttpClient(this, standardOptions.build()
+                                                                    .merge(serviceDefaults)
+                                                                    .merge(SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS));
         }
     }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.urlconnection;
+
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * Snapshot of the connection usage of a {@link UrlConnectionHttpClient}, returned by
+ * {@link UrlConnectionHttpClient#metrics()}.
+ *
+ * <p>{@link java.net.HttpURLConnection} does not report whether a request reused a connection, so connections are only
+ * counted for HTTPS requests, where the client creates the sockets.
+ */
+@Immutable
+@SdkPublicApi
+public final class UrlConnectionHttpClientMetrics {
+
+    private final long requestCount;
+    private final long httpsRequestCount;
+    private final long httpsConnectionsOpened;
+    private final int connectionsInUse;
+
+    UrlConnectionHttpClientMetrics(long requestCount, long httpsRequestCount, long httpsConnectionsOpened,
+                                   int connectionsInUse) {
+        this.requestCount = requestCount;
+        this.httpsRequestCount = httpsRequestCount;
+        this.httpsConnectionsOpened = httpsConnectionsOpened;
+        this.connectionsInUse = connectionsInUse;
+    }
+
+    /**
+     * @return Number of requests the client has sent.
+     */
+    public long requestCount() {
+        return requestCount;
+    }
+
+    /**
+     * @return Number of HTTPS requests the client has sent.
+     */
+    public long httpsRequestCount() {
+        return httpsRequestCount;
+    }
+
+    /**
+     * @return Number of HTTPS connections the client has opened. Every other HTTPS request reused a kept-alive connection.
+     */
+    public long httpsConnectionsOpened() {
+        return httpsConnectionsOpened;
+    }
+
+    /**
+     * @return Number of requests that are being sent or whose response has not been read to the end, closed or aborted.
+     */
+    public int connectionsInUse() {
+        return connectionsInUse;
+    }
+
+    /**
+     * @return Fraction of HTTPS requests that reused a kept-alive connection, or 0 if no HTTPS request has been sent.
+     */
+    public double httpsConnectionReuseRate() {
+        if (httpsRequestCount == 0) {
+            return 0;
+        }
+        return Math.max(0, 1 - (double) httpsConnectionsOpened / httpsRequestCount);
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("UrlConnectionHttpClientMetrics")
+                       .add("requestCount", requestCount)
+                       .add("httpsRequestCount", httpsRequestCount)
+                       .add("httpsConnectionsOpened", httpsConnectionsOpened)
+                       .add("connectionsInUse", connectionsInUse)
+                       .build();
+    }
+}
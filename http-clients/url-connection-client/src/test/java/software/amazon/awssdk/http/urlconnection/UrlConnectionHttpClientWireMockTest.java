@@ -14,12 +14,130 @@
  */
 package software.amazon.awssdk.http.urlconnection;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.Test;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.SdkHttpClientTestSuite;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkRequestContext;
+import software.amazon.awssdk.utils.IoUtils;
 
 public final class UrlConnectionHttpClientWireMockTest extends SdkHttpClientTestSuite {
     @Override
     protected SdkHttpClient createSdkHttpClient(SdkHttpClientOptions options) {
         return UrlConnectionHttpClient.builder().build();
     }
+
+    @Test
+    public void requestBodyWithContentLengthIsSentWithFixedLength() throws Exception {
+        testForLargeRequestBody(true);
+        verify(putRequestedFor(urlMatching("/")).withHeader("Content-Length", equalTo("262144"))
+                                               .withHeader("Transfer-Encoding", absent()));
+    }
+
+    @Test
+    public void requestBodyOfUnknownLengthIsChunked() throws Exception {
+        testForLargeRequestBody(false);
+        verify(putRequestedFor(urlMatching("/")).withHeader("Transfer-Encoding", equalTo("chunked")));
+    }
+
+    @Test
+    public void requestBodyWithMalformedContentLengthIsChunked() throws Exception {
+        stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withBody("hello")));
+        SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                                                       .host("localhost")
+                                                       .protocol("http")
+                                                       .port(mockServer.port())
+                                                       .method(SdkHttpMethod.PUT)
+                                                       .putHeader("Host", "localhost")
+                                                       .putHeader("Content-Length", "five")
+                                                       .content(new ByteArrayInputStream(
+                                                           "Hello".getBytes(StandardCharsets.UTF_8)))
+                                                       .build();
+
+        SdkHttpFullResponse response = UrlConnectionHttpClient.builder().build()
+                                                              .prepareRequest(request, SdkRequestContext.builder().build())
+                                                              .call();
+
+        assertThat(IoUtils.toUtf8String(response.content().get())).isEqualTo("hello");
+        verify(putRequestedFor(urlMatching("/")).withHeader("Transfer-Encoding", equalTo("chunked"))
+                                               .withRequestBody(equalTo("Hello")));
+    }
+
+    @Test
+    public void requestsWaitForConnectionsToTheSameHostToBeReleased() throws Exception {
+        stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withBody("hello")));
+        UrlConnectionHttpClient client = (UrlConnectionHttpClient) UrlConnectionHttpClient.builder()
+                                                                                          .maxConnectionsPerHost(1)
+                                                                                          .connectionAcquisitionTimeout(
+                                                                                              Duration.ofMillis(100))
+                                                                                          .build();
+        SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                                                       .host("localhost")
+                                                       .protocol("http")
+                                                       .port(mockServer.port())
+                                                       .method(SdkHttpMethod.GET)
+                                                       .putHeader("Host", "localhost")
+                                                       .build();
+        SdkRequestContext context = SdkRequestContext.builder().build();
+
+        SdkHttpFullResponse first = client.prepareRequest(request, context).call();
+        assertThat(client.metrics().connectionsInUse()).isEqualTo(1);
+        assertThatThrownBy(client.prepareRequest(request, context)::call).isInstanceOf(IOException.class)
+                                                                           .hasMessageContaining("Timed out");
+
+        // Closing a response without reading it releases its connection.
+        first.content().get().close();
+        assertThat(client.metrics().connectionsInUse()).isZero();
+
+        // So does reading it to the end.
+        SdkHttpFullResponse second = client.prepareRequest(request, context).call();
+        assertThat(IoUtils.toUtf8String(second.content().get())).isEqualTo("hello");
+        assertThat(client.metrics().connectionsInUse()).isZero();
+        assertThat(client.metrics().requestCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void responsesWithoutBodyReleaseTheirConnectionWithoutBeingClosed() throws Exception {
+        stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withStatus(204)));
+        UrlConnectionHttpClient client = (UrlConnectionHttpClient) UrlConnectionHttpClient.builder()
+                                                                                          .maxConnectionsPerHost(1)
+                                                                                          .connectionAcquisitionTimeout(
+                                                                                              Duration.ofMillis(100))
+                                                                                          .build();
+        SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                                                       .host("localhost")
+                                                       .protocol("http")
+                                                       .port(mockServer.port())
+                                                       .method(SdkHttpMethod.GET)
+                                                       .putHeader("Host", "localhost")
+                                                       .build();
+        SdkRequestContext context = SdkRequestContext.builder().build();
+
+        client.prepareRequest(request, context).call();
+        assertThat(client.metrics().connectionsInUse()).isZero();
+        assertThat(client.prepareRequest(request, context).call().statusCode()).isEqualTo(204);
+    }
+
+    @Test
+    public void nullKeepAliveUsesTheDefault() {
+        assertThat(UrlConnectionHttpClient.builder().connectionKeepAliveEnabled(null).build()).isNotNull();
+    }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+
+/**
+ * A download of an object from S3 started by {@link S3TransferManager#download(DownloadRequest)}.
+ */
+@SdkPublicApi
+@ThreadSafe
+public interface Download extends Transfer {
+
+    /**
+     * Stop the download, keeping the parts that have been written to the destination file, so that it can be resumed with
+     * {@link S3TransferManager#resumeDownload(DownloadResumeToken)}. Parts that are being downloaded are cancelled, and the
+     * {@link #completionFuture()} is cancelled.
+     *
+     * @return The token to resume the download with.
+     * @throws IllegalStateException If the download has already completed or failed.
+     */
+    DownloadResumeToken pause();
+}
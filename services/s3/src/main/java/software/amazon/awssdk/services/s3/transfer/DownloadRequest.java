@@ -0,0 +1,170 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import java.nio.file.Path;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * The object and file of a download started by {@link S3TransferManager#download(DownloadRequest)}.
+ */
+@SdkPublicApi
+@Immutable
+@ThreadSafe
+public final class DownloadRequest implements ToCopyableBuilder<DownloadRequest.Builder, DownloadRequest> {
+    private final String bucket;
+    private final String key;
+    private final Path destination;
+    private final TransferListener listener;
+
+    private DownloadRequest(DefaultBuilder builder) {
+        this.bucket = Validate.paramNotNull(builder.bucket, "bucket");
+        this.key = Validate.paramNotNull(builder.key, "key");
+        this.destination = Validate.paramNotNull(builder.destination, "destination");
+        this.listener = builder.listener;
+    }
+
+    /**
+     * Create a {@link Builder}, used to create a {@link DownloadRequest}.
+     */
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * @return The bucket of the object.
+     */
+    public String bucket() {
+        return bucket;
+    }
+
+    /**
+     * @return The key of the object.
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * @return File to write the object to. It is created if it does not exist and replaced if it does.
+     */
+    public Path destination() {
+        return destination;
+    }
+
+    /**
+     * @return The listener notified of the progress of the download, or null if there is none.
+     */
+    public TransferListener listener() {
+        return listener;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return builder().bucket(bucket).key(key).destination(destination).listener(listener);
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("DownloadRequest")
+                       .add("bucket", bucket)
+                       .add("key", key)
+                       .add("destination", destination)
+                       .build();
+    }
+
+    @NotThreadSafe
+    public interface Builder extends CopyableBuilder<Builder, DownloadRequest> {
+        /**
+         * The bucket of the object. Required.
+         */
+        Builder bucket(String bucket);
+
+        /**
+         * The key of the object. Required.
+         */
+        Builder key(String key);
+
+        /**
+         * File to write the object to. It is created if it does not exist and replaced if it does. Required.
+         */
+        Builder destination(Path destination);
+
+        /**
+         * The listener to notify of the progress of the download. Optional.
+         */
+        Builder listener(TransferListener listener);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private String bucket;
+        private String key;
+        private Path destination;
+        private TransferListener listener;
+
+        @Override
+        public Builder bucket(String bucket) {
+            this.bucket = bucket;
+            return this;
+        }
+
+        public void setBucket(String bucket) {
+            bucket(bucket);
+        }
+
+        @Override
+        public Builder key(String key) {
+            this.key = key;
+            return this;
+        }
+
+        public void setKey(String key) {
+            key(key);
+        }
+
+        @Override
+        public Builder destination(Path destination) {
+            this.destination = destination;
+            return this;
+        }
+
+        public void setDestination(Path destination) {
+            destination(destination);
+        }
+
+        @Override
+        public Builder listener(TransferListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public void setListener(TransferListener listener) {
+            listener(listener);
+        }
+
+        @Override
+        public DownloadRequest build() {
+            return new DownloadRequest(this);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * Everything needed to resume a paused {@link Download}, returned by {@link Download#pause()}. Its fields can be stored and
+ * the token rebuilt with {@link #builder()}, e.g. to resume the download after the application is restarted.
+ */
+@SdkPublicApi
+@Immutable
+@ThreadSafe
+public final class DownloadResumeToken implements ToCopyableBuilder<DownloadResumeToken.Builder, DownloadResumeToken> {
+    private final String bucket;
+    private final String key;
+    private final Path destination;
+    private final String eTag;
+    private final Long objectSize;
+    private final long partSizeInBytes;
+    private final SortedSet<Integer> completedParts;
+
+    private DownloadResumeToken(DefaultBuilder builder) {
+        this.bucket = Validate.paramNotNull(builder.bucket, "bucket");
+        this.key = Validate.paramNotNull(builder.key, "key");
+        this.destination = Validate.paramNotNull(builder.destination, "destination");
+        this.eTag = builder.eTag;
+        this.objectSize = builder.objectSize;
+        this.partSizeInBytes = Validate.paramNotNull(builder.partSizeInBytes, "partSizeInBytes");
+        this.completedParts = Collections.unmodifiableSortedSet(new TreeSet<>(builder.completedParts));
+        Validate.isTrue(partSizeInBytes > 0, "partSizeInBytes must be positive");
+    }
+
+    /**
+     * Create a {@link Builder}, used to create a {@link DownloadResumeToken}.
+     */
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * @return The bucket of the object being downloaded.
+     */
+    public String bucket() {
+        return bucket;
+    }
+
+    /**
+     * @return The key of the object being downloaded.
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * @return The file the object is written to.
+     */
+    public Path destination() {
+        return destination;
+    }
+
+    /**
+     * @return The ETag of the object when the download was started. The download fails to resume if the object has changed
+     * since.
+     */
+    public String eTag() {
+        return eTag;
+    }
+
+    /**
+     * @return The size of the object, or null if the download was paused before the object was looked up, in which case
+     * resuming the download starts it again.
+     */
+    public Long objectSize() {
+        return objectSize;
+    }
+
+    /**
+     * @return The size of the ranges the object is downloaded in.
+     */
+    public long partSizeInBytes() {
+        return partSizeInBytes;
+    }
+
+    /**
+     * @return The numbers, starting from 1, of the ranges that have been written to the destination file, in ascending order.
+     */
+    public SortedSet<Integer> completedParts() {
+        return completedParts;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return builder().bucket(bucket)
+                        .key(key)
+                        .destination(destination)
+                        .eTag(eTag)
+                        .objectSize(objectSize)
+                        .partSizeInBytes(partSizeInBytes)
+                        .completedParts(completedParts);
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("DownloadResumeToken")
+                       .add("bucket", bucket)
+                       .add("key", key)
+                       .add("destination", destination)
+                       .add("eTag", eTag)
+                       .add("objectSize", objectSize)
+                       .add("partSizeInBytes", partSizeInBytes)
+                       .add("completedParts", completedParts.size())
+                       .build();
+    }
+
+    @NotThreadSafe
+    public interface Builder extends CopyableBuilder<Builder, DownloadResumeToken> {
+        /**
+         * The bucket of the object being downloaded. Required.
+         */
+        Builder bucket(String bucket);
+
+        /**
+         * The key of the object being downloaded. Required.
+         */
+        Builder key(String key);
+
+        /**
+         * The file the object is written to. Required.
+         */
+        Builder destination(Path destination);
+
+        /**
+         * The ETag of the object when the download was started.
+         */
+        Builder eTag(String eTag);
+
+        /**
+         * The size of the object, if it was looked up before the download was paused.
+         */
+        Builder objectSize(Long objectSize);
+
+        /**
+         * The size of the ranges the object is downloaded in. Required.
+         */
+        Builder partSizeInBytes(Long partSizeInBytes);
+
+        /**
+         * The numbers, starting from 1, of the ranges that have been written to the destination file.
+         */
+        Builder completedParts(Collection<Integer> completedParts);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private String bucket;
+        private String key;
+        private Path destination;
+        private String eTag;
+        private Long objectSize;
+        private Long partSizeInBytes;
+        private Collection<Integer> completedParts = Collections.emptySet();
+
+        @Override
+        public Builder bucket(String bucket) {
+            this.bucket = bucket;
+            return this;
+        }
+
+        public void setBucket(String bucket) {
+            bucket(bucket);
+        }
+
+        @Override
+        public Builder key(String key) {
+            this.key = key;
+            return this;
+        }
+
+        public void setKey(String key) {
+            key(key);
+        }
+
+        @Override
+        public Builder destination(Path destination) {
+            this.destination = destination;
+            return this;
+        }
+
+        public void setDestination(Path destination) {
+            destination(destination);
+        }
+
+        @Override
+        public Builder eTag(String eTag) {
+            this.eTag = eTag;
+            return this;
+        }
+
+        public void setETag(String eTag) {
+            eTag(eTag);
+        }
+
+        @Override
+        public Builder objectSize(Long objectSize) {
+            this.objectSize = objectSize;
+            return this;
+        }
+
+        public void setObjectSize(Long objectSize) {
+            objectSize(objectSize);
+        }
+
+        @Override
+        public Builder partSizeInBytes(Long partSizeInBytes) {
+            this.partSizeInBytes = partSizeInBytes;
+            return this;
+        }
+
+        public void setPartSizeInBytes(Long partSizeInBytes) {
+            partSizeInBytes(partSizeInBytes);
+        }
+
+        @Override
+        public Builder completedParts(Collection<Integer> completedParts) {
+            this.completedParts = completedParts == null ? Collections.emptySet() : completedParts;
+            return this;
+        }
+
+        public void setCompletedParts(Collection<Integer> completedParts) {
+            completedParts(completedParts);
+        }
+
+        @Override
+        public DownloadResumeToken build() {
+            return new DownloadResumeToken(this);
+        }
+    }
+}
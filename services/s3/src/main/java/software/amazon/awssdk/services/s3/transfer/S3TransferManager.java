@@ -0,0 +1,300 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.transfer.internal.MultipartUpload;
+import software.amazon.awssdk.services.s3.transfer.internal.ParallelDownload;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
+
+/**
+ * Uploads files to and downloads files from S3, splitting them into parts that are transferred concurrently.
+ *
+ * <p>A file at least as large as the multipart upload threshold is uploaded with a multipart upload, reading each part
+ * straight from the file with an {@link AsyncRequestBody}. An object is downloaded with ranged GET requests, each writing its
+ * range at its offset in the destination file with an {@link AsyncResponseTransformer}. In both directions, parts are
+ * transferred concurrently for as long as the bytes of the parts in flight stay within a maximum, which bounds the memory
+ * and connections used by a transfer regardless of the size of the file.
+ *
+ * <p>Transfers can be paused and resumed later, possibly by another transfer manager in another process, from the token
+ * returned by {@link Upload#pause()} or {@link Download#pause()}. Parts that had completed are not transferred again.
+ *
+ * <p>The transfer manager does not own the client, which must be closed separately once the transfers have completed.
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class S3TransferManager {
+
+    /**
+     * S3 allows at most this many parts in a multipart upload. Larger part sizes are used for files that would have more.
+     */
+    private static final int MAX_PARTS = 10_000;
+
+    /**
+     * S3 requires every part of a multipart upload but the last to be at least this large.
+     */
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    private static final long DEFAULT_PART_SIZE = 8L * 1024 * 1024;
+    private static final long DEFAULT_MAX_IN_FLIGHT_BYTES = 8 * DEFAULT_PART_SIZE;
+    private static final long DEFAULT_MULTIPART_UPLOAD_THRESHOLD = 2 * DEFAULT_PART_SIZE;
+
+    private final S3AsyncClient s3;
+    private final long partSizeInBytes;
+    private final long minimumPartSizeInBytes;
+    private final long maxInFlightBytes;
+    private final long multipartUploadThresholdInBytes;
+
+    private S3TransferManager(DefaultBuilder builder) {
+        this.s3 = Validate.paramNotNull(builder.s3AsyncClient, "s3AsyncClient");
+        this.partSizeInBytes = builder.partSizeInBytes == null ? DEFAULT_PART_SIZE : builder.partSizeInBytes;
+        this.maxInFlightBytes = builder.maxInFlightBytes == null ? DEFAULT_MAX_IN_FLIGHT_BYTES : builder.maxInFlightBytes;
+        this.multipartUploadThresholdInBytes = builder.multipartUploadThresholdInBytes == null
+                                               ? DEFAULT_MULTIPART_UPLOAD_THRESHOLD
+                                               : builder.multipartUploadThresholdInBytes;
+        this.minimumPartSizeInBytes = builder.minimumPartSizeInBytes;
+        Validate.isTrue(partSizeInBytes >= minimumPartSizeInBytes, "partSizeInBytes must be at least %s bytes",
+                        minimumPartSizeInBytes);
+        Validate.isTrue(maxInFlightBytes > 0, "maxInFlightBytes must be positive");
+    }
+
+    /**
+     * Create a {@link Builder}, used to create a {@link S3TransferManager}.
+     */
+    public static Builder builder() {
+        return new DefaultBuilder(MIN_PART_SIZE);
+    }
+
+    /**
+     * Create a {@link Builder} that allows parts smaller than S3 does, so that tests can transfer small files in many parts.
+     */
+    @SdkTestInternalApi
+    static Builder builder(long minimumPartSizeInBytes) {
+        return new DefaultBuilder(minimumPartSizeInBytes);
+    }
+
+    /**
+     * Start uploading a file.
+     *
+     * @param request The file to upload and the object to upload it to.
+     * @return The upload, which completes asynchronously.
+     * @throws UncheckedIOException If the size of the file cannot be read.
+     */
+    public Upload upload(UploadRequest request) {
+        long length = sizeOf(request.source());
+        UploadResumeToken state = UploadResumeToken.builder()
+                                                   .bucket(request.bucket())
+                                                   .key(request.key())
+                                                   .source(request.source())
+                                                   .sourceLength(length)
+                                                   .partSizeInBytes(partSizeFor(length, partSizeInBytes))
+                                                   .build();
+        return MultipartUpload.start(s3, state, isMultipart(length), maxInFlightBytes, request.listener());
+    }
+
+    /**
+     * Resume a paused upload, without notifying a listener of its progress.
+     *
+     * @see #resumeUpload(UploadResumeToken, TransferListener)
+     */
+    public Upload resumeUpload(UploadResumeToken resumeToken) {
+        return resumeUpload(resumeToken, null);
+    }
+
+    /**
+     * Resume a paused upload. Only the parts that had not been uploaded when it was paused are uploaded.
+     *
+     * @param resumeToken The token returned when the upload was paused.
+     * @param listener The listener to notify of the progress of the upload, or null.
+     * @return The upload, which completes asynchronously.
+     * @throws IllegalStateException If the length of the file has changed since the upload was paused.
+     * @throws IllegalArgumentException If the token is for a multipart upload whose parts S3 would not accept.
+     * @throws UncheckedIOException If the size of the file cannot be read.
+     */
+    public Upload resumeUpload(UploadResumeToken resumeToken, TransferListener listener) {
+        long length = sizeOf(resumeToken.source());
+        if (length != resumeToken.sourceLength()) {
+            throw new IllegalStateException("The length of " + resumeToken.source() + " has changed since the upload was "
+                                            + "paused.");
+        }
+        boolean multipart = isMultipart(length);
+        if (multipart || resumeToken.uploadId() != null) {
+            long partSize = resumeToken.partSizeInBytes();
+            Validate.isTrue(partSize >= minimumPartSizeInBytes, "The part size of the upload must be at least %s bytes, "
+                                                                + "but it is %s.", minimumPartSizeInBytes, partSize);
+            Validate.isTrue(partSizeFor(length, partSize) == partSize, "The upload would have more than %s parts of %s "
+                                                                      + "bytes.", MAX_PARTS, partSize);
+        }
+        return MultipartUpload.start(s3, resumeToken, multipart, maxInFlightBytes, listener);
+    }
+
+    /**
+     * Start downloading an object to a file.
+     *
+     * @param request The object to download and the file to write it to.
+     * @return The download, which completes asynchronously.
+     */
+    public Download download(DownloadRequest request) {
+        return ParallelDownload.start(s3, request.bucket(), request.key(), request.destination(), partSizeInBytes,
+                                      maxInFlightBytes, request.listener());
+    }
+
+    /**
+     * Resume a paused download, without notifying a listener of its progress.
+     *
+     * @see #resumeDownload(DownloadResumeToken, TransferListener)
+     */
+    public Download resumeDownload(DownloadResumeToken resumeToken) {
+        return resumeDownload(resumeToken, null);
+    }
+
+    /**
+     * Resume a paused download. Only the ranges that had not been written to the file when it was paused are downloaded.
+     * The download fails if the object has changed since it was paused.
+     *
+     * @param resumeToken The token returned when the download was paused.
+     * @param listener The listener to notify of the progress of the download, or null.
+     * @return The download, which completes asynchronously.
+     */
+    public Download resumeDownload(DownloadResumeToken resumeToken, TransferListener listener) {
+        return ParallelDownload.resume(s3, resumeToken, maxInFlightBytes, listener);
+    }
+
+    private boolean isMultipart(long length) {
+        return length > 0 && length >= multipartUploadThresholdInBytes;
+    }
+
+    /**
+     * @return The given part size, or the smallest part size that splits the given length into at most {@link #MAX_PARTS}
+     * parts if that is larger.
+     */
+    private static long partSizeFor(long length, long partSize) {
+        long minimumPartSize = (length + MAX_PARTS - 1) / MAX_PARTS;
+        return Math.max(partSize, minimumPartSize);
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A builder for {@link S3TransferManager}.
+     */
+    @NotThreadSafe
+    public interface Builder extends SdkBuilder<Builder, S3TransferManager> {
+        /**
+         * The client to transfer with. Required. Its HTTP client should allow at least as many concurrent connections as
+         * there are parts in flight.
+         */
+        Builder s3AsyncClient(S3AsyncClient s3AsyncClient);
+
+        /**
+         * The size of the parts that files are uploaded in and the ranges that objects are downloaded in. It must be at
+         * least 5 MiB, the smallest part of a multipart upload that S3 accepts. A larger size is used for files that would
+         * otherwise have more than 10,000 parts.
+         *
+         * <p>The default is 8 MiB.
+         */
+        Builder partSizeInBytes(Long partSizeInBytes);
+
+        /**
+         * The maximum number of bytes of the parts of a transfer that are transferred at once. One part is always
+         * transferred, even if it is larger.
+         *
+         * <p>The default is 64 MiB, i.e. eight parts of the default size.
+         */
+        Builder maxInFlightBytes(Long maxInFlightBytes);
+
+        /**
+         * The size from which files are uploaded with a multipart upload rather than a single request.
+         *
+         * <p>The default is 16 MiB.
+         */
+        Builder multipartUploadThresholdInBytes(Long multipartUploadThresholdInBytes);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private final long minimumPartSizeInBytes;
+        private S3AsyncClient s3AsyncClient;
+        private Long partSizeInBytes;
+        private Long maxInFlightBytes;
+        private Long multipartUploadThresholdInBytes;
+
+        private DefaultBuilder(long minimumPartSizeInBytes) {
+            this.minimumPartSizeInBytes = minimumPartSizeInBytes;
+        }
+
+        @Override
+        public Builder s3AsyncClient(S3AsyncClient s3AsyncClient) {
+            this.s3AsyncClient = s3AsyncClient;
+            return this;
+        }
+
+        public void setS3AsyncClient(S3AsyncClient s3AsyncClient) {
+            s3AsyncClient(s3AsyncClient);
+        }
+
+        @Override
+        public Builder partSizeInBytes(Long partSizeInBytes) {
+            this.partSizeInBytes = partSizeInBytes;
+            return this;
+        }
+
+        public void setPartSizeInBytes(Long partSizeInBytes) {
+            partSizeInBytes(partSizeInBytes);
+        }
+
+        @Override
+        public Builder maxInFlightBytes(Long maxInFlightBytes) {
+            this.maxInFlightBytes = maxInFlightBytes;
+            return this;
+        }
+
+        public void setMaxInFlightBytes(Long maxInFlightBytes) {
+            maxInFlightBytes(maxInFlightBytes);
+        }
+
+        @Override
+        public Builder multipartUploadThresholdInBytes(Long multipartUploadThresholdInBytes) {
+            this.multipartUploadThresholdInBytes = multipartUploadThresholdInBytes;
+            return this;
+        }
+
+        public void setMultipartUploadThresholdInBytes(Long multipartUploadThresholdInBytes) {
+            multipartUploadThresholdInBytes(multipartUploadThresholdInBytes);
+        }
+
+        @Override
+        public S3TransferManager build() {
+            return new S3TransferManager(this);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+
+/**
+ * A transfer started by the {@link S3TransferManager}.
+ */
+@SdkPublicApi
+@ThreadSafe
+public interface Transfer {
+
+    /**
+     * @return A future that completes when the whole transfer has completed, or completes exceptionally when the transfer
+     * fails. It is cancelled when the transfer is paused.
+     */
+    CompletableFuture<Void> completionFuture();
+
+    /**
+     * @return The progress of the transfer so far.
+     */
+    TransferProgress progress();
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * Receives the progress of a {@link Transfer}. Every method does nothing by default, so only the events of interest need to
+ * be implemented.
+ *
+ * <p>Methods are called from the threads that perform the transfer, possibly from several threads at once, so they must be
+ * thread safe and return quickly.
+ */
+@SdkPublicApi
+public interface TransferListener {
+
+    /**
+     * Called when the transfer is started or resumed.
+     *
+     * @param progress The progress so far, which is not zero when the transfer is resumed.
+     */
+    default void transferInitiated(TransferProgress progress) {
+    }
+
+    /**
+     * Called after bytes of the transfer have been sent or written to the destination file. The number of bytes transferred
+     * goes down when a part is retried and its bytes have to be transferred again.
+     *
+     * @param progress The progress so far.
+     */
+    default void bytesTransferred(TransferProgress progress) {
+    }
+
+    /**
+     * Called when the transfer has completed successfully.
+     *
+     * @param progress The final progress.
+     */
+    default void transferComplete(TransferProgress progress) {
+    }
+
+    /**
+     * Called when the transfer has failed or was paused.
+     *
+     * @param progress The progress when the transfer stopped.
+     * @param error The reason the transfer stopped.
+     */
+    default void transferFailed(TransferProgress progress, Throwable error) {
+    }
+}
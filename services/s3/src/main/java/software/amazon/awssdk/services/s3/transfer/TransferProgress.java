@@ -0,0 +1,75 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * A snapshot of the progress of a {@link Transfer}.
+ */
+@SdkPublicApi
+@Immutable
+@ThreadSafe
+public final class TransferProgress {
+    private final long transferredBytes;
+    private final Long totalBytes;
+
+    /**
+     * @param transferredBytes Number of bytes transferred so far.
+     * @param totalBytes Size of the object or file being transferred, or null if it is not known yet.
+     */
+    public TransferProgress(long transferredBytes, Long totalBytes) {
+        this.transferredBytes = transferredBytes;
+        this.totalBytes = totalBytes;
+    }
+
+    /**
+     * @return Number of bytes transferred so far. This includes the bytes of parts that were transferred before the transfer
+     * was paused and resumed. Bytes of a part that is retried are only counted once.
+     */
+    public long transferredBytes() {
+        return transferredBytes;
+    }
+
+    /**
+     * @return Size of the object or file being transferred, or null if it is not known yet, e.g. before the size of the object
+     * being downloaded has been looked up.
+     */
+    public Long totalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return Fraction of the bytes that have been transferred, between 0 and 1, or null if the size is not known yet.
+     */
+    public Double ratioTransferred() {
+        if (totalBytes == null) {
+            return null;
+        }
+        return totalBytes == 0 ? 1.0 : (double) transferredBytes / totalBytes;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("TransferProgress")
+                       .add("transferredBytes", transferredBytes)
+                       .add("totalBytes", totalBytes)
+                       .build();
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+
+/**
+ * An upload of a file to S3 started by {@link S3TransferManager#upload(UploadRequest)}.
+ */
+@SdkPublicApi
+@ThreadSafe
+public interface Upload extends Transfer {
+
+    /**
+     * Stop the upload without aborting it, so that it can be resumed with
+     * {@link S3TransferManager#resumeUpload(UploadResumeToken)}. Parts that are being uploaded are cancelled, and the
+     * {@link #completionFuture()} is cancelled.
+     *
+     * <p>A multipart upload that is paused and never resumed keeps its parts stored in S3 until it is aborted, e.g. by a
+     * lifecycle rule of the bucket.
+     *
+     * @return The token to resume the upload with.
+     * @throws IllegalStateException If the upload has already completed or failed.
+     */
+    UploadResumeToken pause();
+}
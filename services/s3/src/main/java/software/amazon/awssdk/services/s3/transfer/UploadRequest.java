@@ -0,0 +1,170 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import java.nio.file.Path;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * The object and file of a upload started by {@link S3TransferManager#upload(UploadRequest)}.
+ */
+@SdkPublicApi
+@Immutable
+@ThreadSafe
+public final class UploadRequest implements ToCopyableBuilder<UploadRequest.Builder, UploadRequest> {
+    private final String bucket;
+    private final String key;
+    private final Path source;
+    private final TransferListener listener;
+
+    private UploadRequest(DefaultBuilder builder) {
+        this.bucket = Validate.paramNotNull(builder.bucket, "bucket");
+        this.key = Validate.paramNotNull(builder.key, "key");
+        this.source = Validate.paramNotNull(builder.source, "source");
+        this.listener = builder.listener;
+    }
+
+    /**
+     * Create a {@link Builder}, used to create a {@link UploadRequest}.
+     */
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * @return The bucket of the object.
+     */
+    public String bucket() {
+        return bucket;
+    }
+
+    /**
+     * @return The key of the object.
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * @return File to upload.
+     */
+    public Path source() {
+        return source;
+    }
+
+    /**
+     * @return The listener notified of the progress of the upload, or null if there is none.
+     */
+    public TransferListener listener() {
+        return listener;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return builder().bucket(bucket).key(key).source(source).listener(listener);
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("UploadRequest")
+                       .add("bucket", bucket)
+                       .add("key", key)
+                       .add("source", source)
+                       .build();
+    }
+
+    @NotThreadSafe
+    public interface Builder extends CopyableBuilder<Builder, UploadRequest> {
+        /**
+         * The bucket of the object. Required.
+         */
+        Builder bucket(String bucket);
+
+        /**
+         * The key of the object. Required.
+         */
+        Builder key(String key);
+
+        /**
+         * File to upload. Required.
+         */
+        Builder source(Path source);
+
+        /**
+         * The listener to notify of the progress of the upload. Optional.
+         */
+        Builder listener(TransferListener listener);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private String bucket;
+        private String key;
+        private Path source;
+        private TransferListener listener;
+
+        @Override
+        public Builder bucket(String bucket) {
+            this.bucket = bucket;
+            return this;
+        }
+
+        public void setBucket(String bucket) {
+            bucket(bucket);
+        }
+
+        @Override
+        public Builder key(String key) {
+            this.key = key;
+            return this;
+        }
+
+        public void setKey(String key) {
+            key(key);
+        }
+
+        @Override
+        public Builder source(Path source) {
+            this.source = source;
+            return this;
+        }
+
+        public void setSource(Path source) {
+            source(source);
+        }
+
+        @Override
+        public Builder listener(TransferListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public void setListener(TransferListener listener) {
+            listener(listener);
+        }
+
+        @Override
+        public UploadRequest build() {
+            return new UploadRequest(this);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * Everything needed to resume a paused {@link Upload}, returned by {@link Upload#pause()}. Its fields can be stored and the
+ * token rebuilt with {@link #builder()}, e.g. to resume the upload after the application is restarted.
+ */
+@SdkPublicApi
+@Immutable
+@ThreadSafe
+public final class UploadResumeToken implements ToCopyableBuilder<UploadResumeToken.Builder, UploadResumeToken> {
+    private final String bucket;
+    private final String key;
+    private final Path source;
+    private final long sourceLength;
+    private final String uploadId;
+    private final long partSizeInBytes;
+    private final SortedMap<Integer, String> completedParts;
+
+    private UploadResumeToken(DefaultBuilder builder) {
+        this.bucket = Validate.paramNotNull(builder.bucket, "bucket");
+        this.key = Validate.paramNotNull(builder.key, "key");
+        this.source = Validate.paramNotNull(builder.source, "source");
+        this.sourceLength = Validate.paramNotNull(builder.sourceLength, "sourceLength");
+        this.uploadId = builder.uploadId;
+        this.partSizeInBytes = Validate.paramNotNull(builder.partSizeInBytes, "partSizeInBytes");
+        this.completedParts = Collections.unmodifiableSortedMap(new TreeMap<>(builder.completedParts));
+        Validate.isTrue(partSizeInBytes > 0, "partSizeInBytes must be positive");
+    }
+
+    /**
+     * Create a {@link Builder}, used to create a {@link UploadResumeToken}.
+     */
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * @return The bucket of the object being uploaded.
+     */
+    public String bucket() {
+        return bucket;
+    }
+
+    /**
+     * @return The key of the object being uploaded.
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * @return The file being uploaded.
+     */
+    public Path source() {
+        return source;
+    }
+
+    /**
+     * @return The length of the file when the upload was started. The upload fails to resume if the length has changed.
+     */
+    public long sourceLength() {
+        return sourceLength;
+    }
+
+    /**
+     * @return The ID of the multipart upload, or null if the file is uploaded in a single request, in which case resuming
+     * the upload starts it again.
+     */
+    public String uploadId() {
+        return uploadId;
+    }
+
+    /**
+     * @return The size of the parts the file is split into.
+     */
+    public long partSizeInBytes() {
+        return partSizeInBytes;
+    }
+
+    /**
+     * @return The ETag of each part that has been uploaded, by part number, in ascending order of part number.
+     */
+    public SortedMap<Integer, String> completedParts() {
+        return completedParts;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return builder().bucket(bucket)
+                        .key(key)
+                        .source(source)
+                        .sourceLength(sourceLength)
+                        .uploadId(uploadId)
+                        .partSizeInBytes(partSizeInBytes)
+                        .completedParts(completedParts);
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("UploadResumeToken")
+                       .add("bucket", bucket)
+                       .add("key", key)
+                       .add("source", source)
+                       .add("sourceLength", sourceLength)
+                       .add("uploadId", uploadId)
+                       .add("partSizeInBytes", partSizeInBytes)
+                       .add("completedParts", completedParts.size())
+                       .build();
+    }
+
+    @NotThreadSafe
+    public interface Builder extends CopyableBuilder<Builder, UploadResumeToken> {
+        /**
+         * The bucket of the object being uploaded. Required.
+         */
+        Builder bucket(String bucket);
+
+        /**
+         * The key of the object being uploaded. Required.
+         */
+        Builder key(String key);
+
+        /**
+         * The file being uploaded. Required.
+         */
+        Builder source(Path source);
+
+        /**
+         * The length of the file when the upload was started. Required.
+         */
+        Builder sourceLength(Long sourceLength);
+
+        /**
+         * The ID of the multipart upload, if the file is uploaded in parts.
+         */
+        Builder uploadId(String uploadId);
+
+        /**
+         * The size of the parts the file is split into. Required.
+         */
+        Builder partSizeInBytes(Long partSizeInBytes);
+
+        /**
+         * The ETag of each part that has been uploaded, by part number.
+         */
+        Builder completedParts(Map<Integer, String> completedParts);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private String bucket;
+        private String key;
+        private Path source;
+        private Long sourceLength;
+        private String uploadId;
+        private Long partSizeInBytes;
+        private Map<Integer, String> completedParts = Collections.emptyMap();
+
+        @Override
+        public Builder bucket(String bucket) {
+            this.bucket = bucket;
+            return this;
+        }
+
+        public void setBucket(String bucket) {
+            bucket(bucket);
+        }
+
+        @Override
+        public Builder key(String key) {
+            this.key = key;
+            return this;
+        }
+
+        public void setKey(String key) {
+            key(key);
+        }
+
+        @Override
+        public Builder source(Path source) {
+            this.source = source;
+            return this;
+        }
+
+        public void setSource(Path source) {
+            source(source);
+        }
+
+        @Override
+        public Builder sourceLength(Long sourceLength) {
+            this.sourceLength = sourceLength;
+            return this;
+        }
+
+        public void setSourceLength(Long sourceLength) {
+            sourceLength(sourceLength);
+        }
+
+        @Override
+        public Builder uploadId(String uploadId) {
+            this.uploadId = uploadId;
+            return this;
+        }
+
+        public void setUploadId(String uploadId) {
+            uploadId(uploadId);
+        }
+
+        @Override
+        public Builder partSizeInBytes(Long partSizeInBytes) {
+            this.partSizeInBytes = partSizeInBytes;
+            return this;
+        }
+
+        public void setPartSizeInBytes(Long partSizeInBytes) {
+            partSizeInBytes(partSizeInBytes);
+        }
+
+        @Override
+        public Builder completedParts(Map<Integer, String> completedParts) {
+            this.completedParts = completedParts == null ? Collections.emptyMap() : completedParts;
+            return this;
+        }
+
+        public void setCompletedParts(Map<Integer, String> completedParts) {
+            completedParts(completedParts);
+        }
+
+        @Override
+        public UploadResumeToken build() {
+            return new UploadResumeToken(this);
+        }
+    }
+}
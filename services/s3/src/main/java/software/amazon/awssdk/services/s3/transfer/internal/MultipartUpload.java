@@ -0,0 +1,200 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer.internal;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.internal.async.FileAsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.transfer.TransferListener;
+import software.amazon.awssdk.services.s3.transfer.Upload;
+import software.amazon.awssdk.services.s3.transfer.UploadResumeToken;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Uploads a file, either with a single PutObject request or as a multipart upload whose parts are uploaded concurrently.
+ *
+ * <p>A multipart upload is created unless the upload is resumed, and is completed once every part has been uploaded. It is
+ * aborted when the upload fails, but not when it is paused.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class MultipartUpload extends ParallelTransfer implements Upload {
+    private static final Logger log = Logger.loggerFor(MultipartUpload.class);
+
+    private final S3AsyncClient s3;
+    private final String bucket;
+    private final String key;
+    private final Path source;
+    private final long sourceLength;
+    private final long partSize;
+    private final boolean multipart;
+    private final SortedMap<Integer, String> completedParts;
+    private volatile String uploadId;
+
+    private MultipartUpload(S3AsyncClient s3, UploadResumeToken state, boolean multipart, long maxInFlightBytes,
+                            TransferListener listener) {
+        super(maxInFlightBytes, listener);
+        this.s3 = s3;
+        this.bucket = state.bucket();
+        this.key = state.key();
+        this.source = state.source();
+        this.sourceLength = state.sourceLength();
+        this.partSize = state.partSizeInBytes();
+        this.multipart = multipart;
+        this.completedParts = new ConcurrentSkipListMap<>(state.completedParts());
+        this.uploadId = state.uploadId();
+    }
+
+    /**
+     * Start uploading a file, or resume uploading it.
+     *
+     * @param s3 The client to upload with.
+     * @param state The file to upload, the size of its parts, and the parts that have already been uploaded if the upload is
+     * resumed.
+     * @param multipart Whether to upload the file in parts. This is ignored when resuming a multipart upload.
+     * @param maxInFlightBytes Maximum number of bytes of the parts being uploaded at once.
+     * @param listener The listener to notify of the progress, or null.
+     */
+    public static MultipartUpload start(S3AsyncClient s3, UploadResumeToken state, boolean multipart, long maxInFlightBytes,
+                                        TransferListener listener) {
+        MultipartUpload upload = new MultipartUpload(s3, state, multipart || state.uploadId() != null, maxInFlightBytes,
+                                                     listener);
+        upload.start();
+        return upload;
+    }
+
+    private void start() {
+        long uploadedBytes = 0;
+        for (Integer partNumber : completedParts.keySet()) {
+            uploadedBytes += Math.min(partSize, sourceLength - (partNumber - 1) * partSize);
+        }
+        initiated(sourceLength, uploadedBytes);
+
+        if (!multipart) {
+            List<Part> wholeFile = new ArrayList<>();
+            wholeFile.add(new Part(1, 0, sourceLength));
+            transferParts(wholeFile);
+        } else if (uploadId != null) {
+            transferParts(split(sourceLength, partSize, completedParts.keySet()));
+        } else {
+            s3.createMultipartUpload(r -> r.bucket(bucket).key(key)).whenComplete((response, error) -> {
+                if (error != null) {
+                    fail(error);
+                } else if (multipartUploadCreated(response.uploadId())) {
+                    transferParts(split(sourceLength, partSize, completedParts.keySet()));
+                }
+            });
+        }
+    }
+
+    private boolean multipartUploadCreated(String createdUploadId) {
+        synchronized (this) {
+            if (!isStopped()) {
+                uploadId = createdUploadId;
+                return true;
+            }
+        }
+        // Paused before the upload was created, so the token does not refer to it and it would never be completed
+        abort(createdUploadId);
+        return false;
+    }
+
+    @Override
+    CompletableFuture<?> transferPart(Part part) {
+        AsyncRequestBody body = new ProgressCountingRequestBody(FileAsyncRequestBody.builder()
+                                                                                    .path(source)
+                                                                                    .position(part.offset())
+                                                                                    .numBytesToRead(part.length())
+                                                                                    .build(),
+                                                                this::bytesTransferred);
+        if (!multipart) {
+            PutObjectRequest request = PutObjectRequest.builder()
+                                                       .bucket(bucket)
+                                                       .key(key)
+                                                       .contentLength(part.length())
+                                                       .build();
+            return s3.putObject(request, body);
+        }
+        UploadPartRequest request = UploadPartRequest.builder()
+                                                     .bucket(bucket)
+                                                     .key(key)
+                                                     .uploadId(uploadId)
+                                                     .partNumber(part.number())
+                                                     .contentLength(part.length())
+                                                     .build();
+        return s3.uploadPart(request, body).thenAccept(r -> completedParts.put(part.number(), r.eTag()));
+    }
+
+    @Override
+    CompletableFuture<?> finish() {
+        if (!multipart) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<CompletedPart> parts = new ArrayList<>();
+        for (Map.Entry<Integer, String> part : completedParts.entrySet()) {
+            parts.add(CompletedPart.builder().partNumber(part.getKey()).eTag(part.getValue()).build());
+        }
+        return s3.completeMultipartUpload(r -> r.bucket(bucket)
+                                                .key(key)
+                                                .uploadId(uploadId)
+                                                .multipartUpload(u -> u.parts(parts)));
+    }
+
+    @Override
+    void cleanUpAfterFailure() {
+        if (uploadId != null) {
+            abort(uploadId);
+        }
+    }
+
+    @Override
+    void releaseAfterPause() {
+        // The multipart upload is kept so that it can be resumed
+    }
+
+    private void abort(String abortedUploadId) {
+        s3.abortMultipartUpload(r -> r.bucket(bucket).key(key).uploadId(abortedUploadId)).whenComplete((r, t) -> {
+            if (t != null) {
+                log.warn(() -> "Failed to abort multipart upload " + abortedUploadId + " of " + key, t);
+            }
+        });
+    }
+
+    @Override
+    public UploadResumeToken pause() {
+        return pause(() -> UploadResumeToken.builder()
+                                            .bucket(bucket)
+                                            .key(key)
+                                            .source(source)
+                                            .sourceLength(sourceLength)
+                                            .uploadId(uploadId)
+                                            .partSizeInBytes(partSize)
+                                            .completedParts(completedParts)
+                                            .build());
+    }
+}
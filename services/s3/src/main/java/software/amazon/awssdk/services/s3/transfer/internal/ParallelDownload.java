@@ -0,0 +1,232 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer.internal;
+
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListSet;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.transfer.Download;
+import software.amazon.awssdk.services.s3.transfer.DownloadResumeToken;
+import software.amazon.awssdk.services.s3.transfer.TransferListener;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Downloads an object with concurrent ranged GET requests, each written to the destination file at the offset of its range.
+ *
+ * <p>The size and ETag of the object are looked up first. Every range is requested only if the object still has that ETag,
+ * so that a file is never assembled from two versions of an object. When the download is resumed, the ranges that were
+ * written before it was paused are kept, and it fails if the object has changed since.
+ *
+ * <p>The destination file is deleted when the download fails, but kept when it is paused.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class ParallelDownload extends ParallelTransfer implements Download {
+    private static final Logger log = Logger.loggerFor(ParallelDownload.class);
+
+    private final S3AsyncClient s3;
+    private final String bucket;
+    private final String key;
+    private final Path destination;
+    private final long partSize;
+    private final DownloadResumeToken resumeToken;
+    private final Set<Integer> completedParts = new ConcurrentSkipListSet<>();
+    private volatile String eTag;
+    private volatile Long objectSize;
+    private volatile AsynchronousFileChannel channel;
+
+    private ParallelDownload(S3AsyncClient s3, String bucket, String key, Path destination, long partSize,
+                             DownloadResumeToken resumeToken, long maxInFlightBytes, TransferListener listener) {
+        super(maxInFlightBytes, listener);
+        this.s3 = s3;
+        this.bucket = bucket;
+        this.key = key;
+        this.destination = destination;
+        this.partSize = partSize;
+        this.resumeToken = resumeToken;
+    }
+
+    /**
+     * Start downloading an object.
+     *
+     * @param s3 The client to download with.
+     * @param bucket The bucket of the object.
+     * @param key The key of the object.
+     * @param destination The file to write the object to.
+     * @param partSize The size of the ranges to request.
+     * @param maxInFlightBytes Maximum number of bytes of the ranges being downloaded at once.
+     * @param listener The listener to notify of the progress, or null.
+     */
+    public static ParallelDownload start(S3AsyncClient s3, String bucket, String key, Path destination, long partSize,
+                                         long maxInFlightBytes, TransferListener listener) {
+        ParallelDownload download = new ParallelDownload(s3, bucket, key, destination, partSize, null, maxInFlightBytes,
+                                                         listener);
+        download.start();
+        return download;
+    }
+
+    /**
+     * Resume a paused download.
+     *
+     * @param s3 The client to download with.
+     * @param resumeToken The token returned when the download was paused.
+     * @param maxInFlightBytes Maximum number of bytes of the ranges being downloaded at once.
+     * @param listener The listener to notify of the progress, or null.
+     */
+    public static ParallelDownload resume(S3AsyncClient s3, DownloadResumeToken resumeToken, long maxInFlightBytes,
+                                          TransferListener listener) {
+        if (resumeToken.objectSize() == null) {
+            // Paused before the object was looked up, so nothing was downloaded
+            return start(s3, resumeToken.bucket(), resumeToken.key(), resumeToken.destination(),
+                         resumeToken.partSizeInBytes(), maxInFlightBytes, listener);
+        }
+        ParallelDownload download = new ParallelDownload(s3, resumeToken.bucket(), resumeToken.key(),
+                                                         resumeToken.destination(), resumeToken.partSizeInBytes(),
+                                                         resumeToken, maxInFlightBytes, listener);
+        download.eTag = resumeToken.eTag();
+        download.objectSize = resumeToken.objectSize();
+        download.completedParts.addAll(resumeToken.completedParts());
+        download.start();
+        return download;
+    }
+
+    private void start() {
+        initiated(objectSize, objectSize == null ? 0 : downloadedBytes(objectSize));
+        s3.headObject(r -> r.bucket(bucket).key(key)).whenComplete((response, error) -> {
+            if (error != null) {
+                fail(error);
+                return;
+            }
+            try {
+                objectFound(response);
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            }
+        });
+    }
+
+    private void objectFound(HeadObjectResponse response) throws IOException {
+        long size = response.contentLength();
+        if (resumeToken != null && (size != objectSize || !Objects.equals(response.eTag(), eTag))) {
+            throw new IllegalStateException("The object " + key + " in bucket " + bucket + " has changed since the download "
+                                            + "was paused.");
+        }
+        synchronized (this) {
+            if (isStopped()) {
+                return;
+            }
+            eTag = response.eTag();
+            objectSize = size;
+            channel = resumeToken == null
+                      ? AsynchronousFileChannel.open(destination, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                                                     StandardOpenOption.TRUNCATE_EXISTING)
+                      : AsynchronousFileChannel.open(destination, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        }
+        totalBytes(size);
+        transferParts(split(size, partSize, completedParts));
+    }
+
+    private long downloadedBytes(long size) {
+        long bytes = 0;
+        for (Integer partNumber : completedParts) {
+            bytes += Math.min(partSize, size - (partNumber - 1) * partSize);
+        }
+        return bytes;
+    }
+
+    @Override
+    CompletableFuture<?> transferPart(Part part) {
+        GetObjectRequest request = GetObjectRequest.builder()
+                                                   .bucket(bucket)
+                                                   .key(key)
+                                                   .range("bytes=" + part.offset() + "-" + (part.offset() + part.length() - 1))
+                                                   .ifMatch(eTag)
+                                                   .build();
+        RangeWritingResponseTransformer<GetObjectResponse> transformer =
+            new RangeWritingResponseTransformer<>(channel, part.offset(), part.length(), this::bytesTransferred);
+        return s3.getObject(request, transformer)
+                 .thenCompose(written -> written)
+                 .thenRun(() -> completedParts.add(part.number()));
+    }
+
+    @Override
+    CompletableFuture<?> finish() {
+        try {
+            channel.force(false);
+            channel.close();
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException e) {
+            return CompletableFutureUtils.failedFuture(e);
+        }
+    }
+
+    @Override
+    void cleanUpAfterFailure() {
+        if (channel == null) {
+            // Nothing was written, so the destination is left as it was
+            return;
+        }
+        closeChannel();
+        try {
+            Files.deleteIfExists(destination);
+        } catch (IOException e) {
+            log.warn(() -> "Failed to delete " + destination + " after the download failed", e);
+        }
+    }
+
+    @Override
+    void releaseAfterPause() {
+        closeChannel();
+    }
+
+    private void closeChannel() {
+        AsynchronousFileChannel toClose = channel;
+        if (toClose != null) {
+            try {
+                toClose.close();
+            } catch (IOException e) {
+                log.debug(() -> "Failed to close " + destination, e);
+            }
+        }
+    }
+
+    @Override
+    public DownloadResumeToken pause() {
+        return pause(() -> DownloadResumeToken.builder()
+                                              .bucket(bucket)
+                                              .key(key)
+                                              .destination(destination)
+                                              .eTag(eTag)
+                                              .objectSize(objectSize)
+                                              .partSizeInBytes(partSize)
+                                              .completedParts(new TreeSet<>(completedParts))
+                                              .build());
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.services.s3.transfer.Transfer;
+import software.amazon.awssdk.services.s3.transfer.TransferListener;
+import software.amazon.awssdk.services.s3.transfer.TransferProgress;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+
+/**
+ * Base class of transfers that are split into parts, which are transferred concurrently.
+ *
+ * <p>Parts are started in order for as long as the bytes of the parts in flight stay within the configured maximum, and
+ * at least one part is always in flight. When a part completes, the next parts are started. The transfer completes once
+ * every part has completed, and fails as soon as one part fails, cancelling the other parts in flight.
+ *
+ * <p>Subclasses synchronize on this object when they update state that must be consistent with the token returned by
+ * {@link #pause()}.
+ */
+@ThreadSafe
+@SdkInternalApi
+abstract class ParallelTransfer implements Transfer {
+
+    private static final TransferListener NO_OP_LISTENER = new TransferListener() {
+    };
+
+    private final long maxInFlightBytes;
+    private final TransferListener listener;
+    private final CompletableFuture<Void> completionFuture = new CompletableFuture<>();
+    private final AtomicLong transferredBytes = new AtomicLong();
+    private volatile Long totalBytes;
+
+    private final Queue<Part> pendingParts = new ArrayDeque<>();
+    private final Set<Part> inFlightParts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger scheduleRequests = new AtomicInteger();
+    private long inFlightBytes;
+    private boolean partsQueued;
+    private boolean stopped;
+
+    ParallelTransfer(long maxInFlightBytes, TransferListener listener) {
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.listener = listener == null ? NO_OP_LISTENER : listener;
+    }
+
+    /**
+     * Start transferring the given part.
+     *
+     * @return A future that completes when the part has been transferred.
+     */
+    abstract CompletableFuture<?> transferPart(Part part);
+
+    /**
+     * Called once every part has been transferred, to finish the transfer.
+     *
+     * @return A future that completes when the transfer is finished.
+     */
+    abstract CompletableFuture<?> finish();
+
+    /**
+     * Called once when the transfer fails, to clean up.
+     */
+    abstract void cleanUpAfterFailure();
+
+    /**
+     * Called once when the transfer is paused, to release resources. The parts in flight have already been cancelled.
+     */
+    abstract void releaseAfterPause();
+
+    @Override
+    public CompletableFuture<Void> completionFuture() {
+        return completionFuture;
+    }
+
+    @Override
+    public TransferProgress progress() {
+        return new TransferProgress(transferredBytes.get(), totalBytes);
+    }
+
+    /**
+     * Notify the listener that the transfer has started, with the number of bytes transferred before it was paused.
+     */
+    final void initiated(Long totalBytes, long alreadyTransferredBytes) {
+        this.totalBytes = totalBytes;
+        transferredBytes.set(alreadyTransferredBytes);
+        listener.transferInitiated(progress());
+    }
+
+    final void totalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    /**
+     * Add the given number of bytes, which is negative when a part is retried, to the bytes transferred.
+     */
+    final void bytesTransferred(long bytes) {
+        if (bytes != 0) {
+            transferredBytes.addAndGet(bytes);
+            listener.bytesTransferred(progress());
+        }
+    }
+
+    /**
+     * Queue the parts that remain to be transferred and start transferring them. This must be called once, after any
+     * preparation such as creating a multipart upload has completed.
+     */
+    final void transferParts(Collection<Part> parts) {
+        synchronized (this) {
+            if (stopped) {
+                return;
+            }
+            pendingParts.addAll(parts);
+            partsQueued = true;
+        }
+        schedule();
+    }
+
+    /**
+     * Start the parts that fit within the maximum number of bytes in flight, or finish the transfer if there are no parts
+     * left. Parts may complete on the thread that starts them, which calls this again; that call is turned into another
+     * iteration of the outer call, so that the stack does not grow with the number of parts.
+     */
+    private void schedule() {
+        if (scheduleRequests.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            for (Part part = nextPart(); part != null; part = nextPart()) {
+                startPart(part);
+            }
+            if (allPartsTransferred()) {
+                finishTransfer();
+            }
+        } while (scheduleRequests.decrementAndGet() != 0);
+    }
+
+    private synchronized Part nextPart() {
+        Part next = pendingParts.peek();
+        if (stopped || next == null) {
+            return null;
+        }
+        if (!inFlightParts.isEmpty() && inFlightBytes + next.length() > maxInFlightBytes) {
+            return null;
+        }
+        pendingParts.remove();
+        inFlightBytes += next.length();
+        inFlightParts.add(next);
+        return next;
+    }
+
+    private void startPart(Part part) {
+        CompletableFuture<?> future;
+        try {
+            future = transferPart(part);
+        } catch (RuntimeException e) {
+            future = CompletableFutureUtils.failedFuture(e);
+        }
+        part.future = future;
+        if (isStopped()) {
+            // The transfer stopped while the part was being started, so it was not cancelled with the others
+            future.cancel(false);
+        }
+        future.whenComplete((r, t) -> partCompleted(part, t));
+    }
+
+    private void partCompleted(Part part, Throwable error) {
+        synchronized (this) {
+            if (!inFlightParts.remove(part)) {
+                return;
+            }
+            inFlightBytes -= part.length();
+        }
+        if (error != null) {
+            fail(CompletableFutureUtils.unwrap(error));
+        } else {
+            schedule();
+        }
+    }
+
+    private synchronized boolean allPartsTransferred() {
+        if (stopped || !partsQueued || !pendingParts.isEmpty() || !inFlightParts.isEmpty()) {
+            return false;
+        }
+        stopped = true;
+        return true;
+    }
+
+    private void finishTransfer() {
+        CompletableFuture<?> finished;
+        try {
+            finished = finish();
+        } catch (RuntimeException e) {
+            finished = CompletableFutureUtils.failedFuture(e);
+        }
+        finished.whenComplete((r, t) -> {
+            if (t != null) {
+                failed(CompletableFutureUtils.unwrap(t));
+            } else {
+                listener.transferComplete(progress());
+                completionFuture.complete(null);
+            }
+        });
+    }
+
+    /**
+     * Fail the transfer, unless it has already stopped.
+     */
+    final void fail(Throwable error) {
+        synchronized (this) {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+        }
+        cancelPartsInFlight();
+        failed(error);
+    }
+
+    private void failed(Throwable error) {
+        try {
+            cleanUpAfterFailure();
+        } finally {
+            listener.transferFailed(progress(), error);
+            completionFuture.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Stop the transfer and create the token to resume it with.
+     *
+     * @param tokenFactory Creates the token. It is called while holding the lock on this object, so that no part completes
+     * and no state changes while the token is created.
+     * @throws IllegalStateException If the transfer has already stopped.
+     */
+    final <T> T pause(Supplier<T> tokenFactory) {
+        T token;
+        synchronized (this) {
+            if (stopped) {
+                throw new IllegalStateException("The transfer has already completed, failed or been paused.");
+            }
+            stopped = true;
+            token = tokenFactory.get();
+        }
+        cancelPartsInFlight();
+        try {
+            releaseAfterPause();
+        } finally {
+            listener.transferFailed(progress(), new CancellationException("The transfer was paused."));
+            completionFuture.cancel(false);
+        }
+        return token;
+    }
+
+    final synchronized boolean isStopped() {
+        return stopped;
+    }
+
+    private void cancelPartsInFlight() {
+        List<Part> parts = new ArrayList<>(inFlightParts);
+        for (Part part : parts) {
+            CompletableFuture<?> future = part.future;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Split an object or file into parts.
+     *
+     * @param size Size of the object or file.
+     * @param partSize Size of each part but the last, which may be smaller.
+     * @param completedParts Numbers of the parts that have already been transferred, which are left out.
+     */
+    static List<Part> split(long size, long partSize, Collection<Integer> completedParts) {
+        List<Part> parts = new ArrayList<>();
+        int number = 1;
+        for (long offset = 0; offset < size; offset += partSize, number++) {
+            if (!completedParts.contains(number)) {
+                parts.add(new Part(number, offset, Math.min(partSize, size - offset)));
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * A range of bytes of the object or file, transferred as one request.
+     */
+    static final class Part {
+        private final int number;
+        private final long offset;
+        private final long length;
+        private volatile CompletableFuture<?> future;
+
+        Part(int number, long offset, long length) {
+            this.number = number;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        /**
+         * @return The number of the part, starting from 1.
+         */
+        int number() {
+            return number;
+        }
+
+        long offset() {
+            return offset;
+        }
+
+        long length() {
+            return length;
+        }
+    }
+}
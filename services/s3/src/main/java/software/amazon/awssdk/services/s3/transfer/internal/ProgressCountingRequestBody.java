@@ -0,0 +1,88 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer.internal;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+
+/**
+ * An {@link AsyncRequestBody} that reports the bytes read by its subscriber. The body is subscribed to again when the
+ * request is retried, in which case the bytes read by the previous subscriber are taken back.
+ */
+@ThreadSafe
+@SdkInternalApi
+final class ProgressCountingRequestBody implements AsyncRequestBody {
+    private final AsyncRequestBody delegate;
+    private final LongConsumer bytesTransferred;
+    private final AtomicLong countedBytes = new AtomicLong();
+
+    /**
+     * @param delegate The body to count the bytes of.
+     * @param bytesTransferred Receives the number of bytes read, or a negative number when bytes are taken back.
+     */
+    ProgressCountingRequestBody(AsyncRequestBody delegate, LongConsumer bytesTransferred) {
+        this.delegate = delegate;
+        this.bytesTransferred = bytesTransferred;
+    }
+
+    @Override
+    public long contentLength() {
+        return delegate.contentLength();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        bytesTransferred.accept(-countedBytes.getAndSet(0));
+        delegate.subscribe(new CountingSubscriber(subscriber));
+    }
+
+    private final class CountingSubscriber implements Subscriber<ByteBuffer> {
+        private final Subscriber<? super ByteBuffer> subscriber;
+
+        private CountingSubscriber(Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscriber.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            int bytes = byteBuffer.remaining();
+            subscriber.onNext(byteBuffer);
+            countedBytes.addAndGet(bytes);
+            bytesTransferred.accept(bytes);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            subscriber.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            subscriber.onComplete();
+        }
+    }
+}
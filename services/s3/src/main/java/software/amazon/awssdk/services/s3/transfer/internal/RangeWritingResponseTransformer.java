@@ -0,0 +1,190 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+/**
+ * {@link AsyncResponseTransformer} that writes the body of a ranged GET to a file, starting at the offset of the range.
+ * The file channel is shared by the ranges of a download and is not closed.
+ *
+ * <p>The body is written one buffer at a time, and the next buffer is only requested once the previous one has been
+ * written. {@link #complete()} is called when the last buffer has been received, which may be before it has been written,
+ * so it returns a future that completes once the whole body has been written.
+ *
+ * <p>A body that is longer or shorter than the range fails the range, so that a truncated response never leaves a gap in
+ * the file, and a longer one never overwrites the next range.
+ *
+ * @param <ResponseT> Response POJO type.
+ */
+@ThreadSafe
+@SdkInternalApi
+final class RangeWritingResponseTransformer<ResponseT> implements AsyncResponseTransformer<ResponseT, CompletableFuture<Void>> {
+    private final AsynchronousFileChannel channel;
+    private final long offset;
+    private final long length;
+    private final LongConsumer bytesTransferred;
+    private final CompletableFuture<Void> writeFuture = new CompletableFuture<>();
+    private final AtomicLong writtenBytes = new AtomicLong();
+    private volatile WritingSubscriber currentSubscriber;
+
+    /**
+     * @param channel The file to write to.
+     * @param offset The offset in the file of the first byte of the body.
+     * @param length The length of the range, which the body must have.
+     * @param bytesTransferred Receives the number of bytes written, or a negative number when bytes are taken back because
+     * the request is retried.
+     */
+    RangeWritingResponseTransformer(AsynchronousFileChannel channel, long offset, long length, LongConsumer bytesTransferred) {
+        this.channel = channel;
+        this.offset = offset;
+        this.length = length;
+        this.bytesTransferred = bytesTransferred;
+    }
+
+    @Override
+    public void responseReceived(ResponseT response) {
+    }
+
+    @Override
+    public void onStream(SdkPublisher<ByteBuffer> publisher) {
+        // onStream is called again when the request is retried, in which case the body is written again from the start
+        bytesTransferred.accept(-writtenBytes.getAndSet(0));
+        WritingSubscriber subscriber = new WritingSubscriber();
+        currentSubscriber = subscriber;
+        publisher.subscribe(subscriber);
+    }
+
+    @Override
+    public void exceptionOccurred(Throwable throwable) {
+        // The request is either retried, which calls onStream again, or fails, which fails the download
+    }
+
+    @Override
+    public CompletableFuture<Void> complete() {
+        return writeFuture;
+    }
+
+    private final class WritingSubscriber implements Subscriber<ByteBuffer> {
+        private Subscription subscription;
+        private long position = offset;
+        private boolean writeInProgress;
+        private boolean completeAfterWrite;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (subscription != null) {
+                s.cancel();
+                return;
+            }
+            subscription = s;
+            s.request(1);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            if (position - offset + byteBuffer.remaining() > length) {
+                subscription.cancel();
+                fail(lengthMismatch("more than " + length));
+                return;
+            }
+            synchronized (this) {
+                writeInProgress = true;
+            }
+            write(byteBuffer);
+        }
+
+        private void write(ByteBuffer byteBuffer) {
+            channel.write(byteBuffer, position, byteBuffer, new CompletionHandler<Integer, ByteBuffer>() {
+                @Override
+                public void completed(Integer result, ByteBuffer attachment) {
+                    position += result;
+                    if (currentSubscriber == WritingSubscriber.this) {
+                        writtenBytes.addAndGet(result);
+                        bytesTransferred.accept(result);
+                    }
+                    if (attachment.hasRemaining()) {
+                        write(attachment);
+                        return;
+                    }
+                    boolean complete;
+                    synchronized (WritingSubscriber.this) {
+                        writeInProgress = false;
+                        complete = completeAfterWrite;
+                    }
+                    if (complete) {
+                        completeWrite();
+                    } else {
+                        subscription.request(1);
+                    }
+                }
+
+                @Override
+                public void failed(Throwable exc, ByteBuffer attachment) {
+                    subscription.cancel();
+                    fail(exc);
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            // Handled by the client, which retries the request or fails it
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                if (writeInProgress) {
+                    completeAfterWrite = true;
+                    return;
+                }
+            }
+            completeWrite();
+        }
+
+        private void completeWrite() {
+            if (position - offset != length) {
+                fail(lengthMismatch(Long.toString(position - offset)));
+            } else if (currentSubscriber == this) {
+                writeFuture.complete(null);
+            }
+        }
+
+        private void fail(Throwable error) {
+            if (currentSubscriber == this) {
+                writeFuture.completeExceptionally(error);
+            }
+        }
+
+        private SdkClientException lengthMismatch(String actualLength) {
+            return SdkClientException.create("The response to the range of " + length + " bytes at offset " + offset
+                                             + " had " + actualLength + " bytes.");
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.handlers;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.SPILL_REQUEST_BODY_TO_DISK;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TRUST_ALL_CERTIFICATES;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.utils.AttributeMap;
+
+/**
+ * Verifies how an HTTPS PUT Object request of unknown length is sent. S3 does not accept "Transfer-Encoding: chunked", so
+ * the request must always have a Content-Length, and content too large to be measured without buffering it is rejected.
+ */
+public class PutObjectUnknownLengthTest {
+
+    private static final int SMALL_BODY_SIZE = 1024;
+    private static final int LARGE_BODY_SIZE = 256 * 1024;
+
+    @Rule
+    public WireMockRule mockServer = new WireMockRule(wireMockConfig().dynamicPort().dynamicHttpsPort());
+
+    private PutObjectRequest putObjectRequest;
+
+    @Before
+    public void setup() {
+        stubFor(any(urlMatching(".*")).willReturn(aResponse().withStatus(200)));
+        putObjectRequest = PutObjectRequest.builder().bucket("test").key("test").build();
+    }
+
+    @Test
+    public void smallUnsignedPayloadOfUnknownLength_isSentWithExactLength() {
+        s3Client(SMALL_BODY_SIZE, false).putObject(putObjectRequest, RequestBody.fromBytes(new byte[SMALL_BODY_SIZE]));
+
+        verify(putRequestedFor(anyUrl()).withHeader("x-amz-content-sha256", equalTo("UNSIGNED-PAYLOAD"))
+                                        .withHeader("Content-Length", equalTo(Integer.toString(SMALL_BODY_SIZE)))
+                                        .withHeader("Transfer-Encoding", absent()));
+    }
+
+    @Test
+    public void largePayloadOfUnknownLength_isRejectedBeforeBeingSent() {
+        S3Client s3Client = s3Client(LARGE_BODY_SIZE, false);
+
+        assertThatThrownBy(() -> s3Client.putObject(putObjectRequest, RequestBody.fromBytes(new byte[LARGE_BODY_SIZE])))
+            .isInstanceOf(SdkClientException.class)
+            .hasMessageContaining("Content-Length")
+            .hasMessageContaining("multipart upload");
+        verify(0, putRequestedFor(anyUrl()));
+    }
+
+    @Test
+    public void largePayloadOfUnknownLength_withSpillingToDisk_isRejectedBeforeBeingSent() {
+        S3Client s3Client = s3Client(LARGE_BODY_SIZE, true);
+
+        assertThatThrownBy(() -> s3Client.putObject(putObjectRequest, RequestBody.fromBytes(new byte[LARGE_BODY_SIZE])))
+            .isInstanceOf(SdkClientException.class)
+            .hasMessageContaining("Content-Length");
+        verify(0, putRequestedFor(anyUrl()));
+    }
+
+    private S3Client s3Client(int bodySize, boolean spillRequestBodyToDisk) {
+        return S3Client.builder()
+                       .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("akid", "skid")))
+                       .region(Region.US_WEST_2)
+                       .endpointOverride(URI.create("https://localhost:" + mockServer.httpsPort()))
+                       .httpClient(ApacheHttpClient.builder()
+                                                   .buildWithDefaults(AttributeMap.builder()
+                                                                                  .put(TRUST_ALL_CERTIFICATES, Boolean.TRUE)
+                                                                                  .build()))
+                       .overrideConfiguration(c -> c.addExecutionInterceptor(new RemoveContentLengthInterceptor(bodySize))
+                                                    .putAdvancedOption(SPILL_REQUEST_BODY_TO_DISK, spillRequestBodyToDisk))
+                       .build();
+    }
+
+    /**
+     * Replaces the request body with a stream that does not support mark and reset, and removes its Content-Length, as for
+     * an upload of unknown length.
+     */
+    private static final class RemoveContentLengthInterceptor implements ExecutionInterceptor {
+
+        private final int bodySize;
+
+        private RemoveContentLengthInterceptor(int bodySize) {
+            this.bodySize = bodySize;
+        }
+
+        @Override
+        public SdkHttpFullRequest modifyHttpRequest(Context.ModifyHttpRequest context, ExecutionAttributes executionAttributes) {
+            InputStream content = new FilterInputStream(new ByteArrayInputStream(new byte[bodySize])) {
+                @Override
+                public boolean markSupported() {
+                    return false;
+                }
+            };
+            return context.httpRequest().toBuilder()
+                          .removeHeader("Content-Length")
+                          .content(content)
+                          .build();
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+/**
+ * A stand-in for S3 that keeps objects in memory, implementing the operations used by the {@link S3TransferManager}.
+ *
+ * <p>Requests are served asynchronously after a short delay, so that the requests of a transfer overlap. Part uploads and
+ * ranged GETs can be made to fail, or to never complete until the transfer is paused, and the stand-in records the parts
+ * and ranges requested and the largest number of them in flight at once.
+ */
+class InMemoryS3AsyncClient implements S3AsyncClient {
+    private static final int CHUNK_SIZE = 100;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(16);
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, byte[]>> multipartUploads = new ConcurrentHashMap<>();
+    private final AtomicInteger uploadIds = new AtomicInteger();
+    private final AtomicInteger versions = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    final List<Integer> uploadedPartNumbers = new CopyOnWriteArrayList<>();
+    final List<Long> requestedRangeOffsets = new CopyOnWriteArrayList<>();
+    final Set<String> abortedUploadIds = ConcurrentHashMap.newKeySet();
+    final AtomicInteger putObjectRequests = new AtomicInteger();
+    final AtomicInteger blockedRequests = new AtomicInteger();
+
+    /**
+     * Part numbers, or range offsets, of the requests that fail.
+     */
+    volatile Predicate<Long> failing = n -> false;
+
+    /**
+     * Part numbers, or range offsets, of the requests that never complete.
+     */
+    volatile Predicate<Long> blocking = n -> false;
+
+    /**
+     * Range offsets of the requests whose response body is one byte shorter than the range.
+     */
+    volatile Predicate<Long> truncating = n -> false;
+
+    void putObject(String key, byte[] content) {
+        objects.put(key, new StoredObject(content, "etag-" + versions.incrementAndGet()));
+    }
+
+    byte[] object(String key) {
+        StoredObject object = objects.get(key);
+        return object == null ? null : object.content;
+    }
+
+    int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    @Override
+    public CompletableFuture<PutObjectResponse> putObject(PutObjectRequest request, AsyncRequestBody body) {
+        putObjectRequests.incrementAndGet();
+        return read(body).thenApply(content -> {
+            putObject(request.key(), content);
+            return PutObjectResponse.builder().eTag(objects.get(request.key()).eTag).build();
+        });
+    }
+
+    @Override
+    public CompletableFuture<CreateMultipartUploadResponse> createMultipartUpload(CreateMultipartUploadRequest request) {
+        String uploadId = "upload-" + uploadIds.incrementAndGet();
+        multipartUploads.put(uploadId, new ConcurrentHashMap<>());
+        return serve(() -> CreateMultipartUploadResponse.builder().uploadId(uploadId).build());
+    }
+
+    @Override
+    public CompletableFuture<UploadPartResponse> uploadPart(UploadPartRequest request, AsyncRequestBody body) {
+        long partNumber = request.partNumber();
+        uploadedPartNumbers.add(request.partNumber());
+        if (blocking.test(partNumber)) {
+            blockedRequests.incrementAndGet();
+            return new CompletableFuture<>();
+        }
+        return read(body).thenCompose(content -> serve(() -> {
+            if (failing.test(partNumber)) {
+                throw S3Exception.builder().message("Part " + partNumber + " failed").build();
+            }
+            multipartUploads.get(request.uploadId()).put(request.partNumber(), content);
+            return UploadPartResponse.builder().eTag(eTag(request.uploadId(), request.partNumber())).build();
+        }));
+    }
+
+    @Override
+    public CompletableFuture<CompleteMultipartUploadResponse> completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        return serve(() -> {
+            Map<Integer, byte[]> parts = multipartUploads.remove(request.uploadId());
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            int previousPartNumber = 0;
+            for (CompletedPart part : request.multipartUpload().parts()) {
+                if (part.partNumber() <= previousPartNumber || !part.eTag().equals(eTag(request.uploadId(), part.partNumber()))) {
+                    throw S3Exception.builder().message("Invalid part " + part.partNumber()).build();
+                }
+                previousPartNumber = part.partNumber();
+                byte[] bytes = parts.get(part.partNumber());
+                content.write(bytes, 0, bytes.length);
+            }
+            putObject(request.key(), content.toByteArray());
+            return CompleteMultipartUploadResponse.builder().build();
+        });
+    }
+
+    @Override
+    public CompletableFuture<AbortMultipartUploadResponse> abortMultipartUpload(AbortMultipartUploadRequest request) {
+        abortedUploadIds.add(request.uploadId());
+        multipartUploads.remove(request.uploadId());
+        return serve(() -> AbortMultipartUploadResponse.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<HeadObjectResponse> headObject(HeadObjectRequest request) {
+        return serve(() -> {
+            StoredObject object = objects.get(request.key());
+            if (object == null) {
+                throw NoSuchKeyException.builder().message("No object " + request.key()).build();
+            }
+            return HeadObjectResponse.builder().contentLength((long) object.content.length).eTag(object.eTag).build();
+        });
+    }
+
+    @Override
+    public <ReturnT> CompletableFuture<ReturnT> getObject(GetObjectRequest request,
+                                                          AsyncResponseTransformer<GetObjectResponse, ReturnT> transformer) {
+        String[] range = request.range().substring("bytes=".length()).split("-");
+        long offset = Long.parseLong(range[0]);
+        requestedRangeOffsets.add(offset);
+        if (blocking.test(offset)) {
+            blockedRequests.incrementAndGet();
+            return new CompletableFuture<>();
+        }
+        return serve(() -> {
+            StoredObject object = objects.get(request.key());
+            if (object == null || !object.eTag.equals(request.ifMatch())) {
+                throw S3Exception.builder().message("Precondition failed").build();
+            }
+            if (failing.test(offset)) {
+                throw S3Exception.builder().message("Range " + offset + " failed").build();
+            }
+            int end = Integer.parseInt(range[1]) + (truncating.test(offset) ? 0 : 1);
+            byte[] content = Arrays.copyOfRange(object.content, (int) offset, end);
+            transformer.responseReceived(GetObjectResponse.builder().contentLength((long) content.length).build());
+            transformer.onStream(new ChunkPublisher(content));
+            return transformer.complete();
+        });
+    }
+
+    @Override
+    public String serviceName() {
+        return "s3";
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private CompletableFuture<byte[]> read(AsyncRequestBody body) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        return SdkPublisher.adapt(body).subscribe(buffer -> {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            content.write(bytes, 0, bytes.length);
+        }).thenApply(v -> content.toByteArray());
+    }
+
+    /**
+     * Serve a request on another thread after a short delay, counting the requests being served.
+     */
+    private <T> CompletableFuture<T> serve(Supplier<T> request) {
+        return CompletableFuture.supplyAsync(() -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                return request.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }, executor);
+    }
+
+    private static String eTag(String uploadId, int partNumber) {
+        return uploadId + "-part-" + partNumber;
+    }
+
+    /**
+     * Publishes content in chunks of {@value #CHUNK_SIZE} bytes, one chunk per request.
+     */
+    private static final class ChunkPublisher implements SdkPublisher<ByteBuffer> {
+        private final byte[] content;
+
+        private ChunkPublisher(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private int position;
+                private boolean done;
+
+                @Override
+                public synchronized void request(long n) {
+                    for (long i = 0; i < n && !done; i++) {
+                        if (position == content.length) {
+                            done = true;
+                            subscriber.onComplete();
+                            return;
+                        }
+                        int length = Math.min(CHUNK_SIZE, content.length - position);
+                        ByteBuffer chunk = ByteBuffer.wrap(content, position, length);
+                        position += length;
+                        subscriber.onNext(chunk);
+                    }
+                    if (position == content.length && !done) {
+                        done = true;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public synchronized void cancel() {
+                    done = true;
+                }
+            });
+        }
+    }
+
+    private static final class StoredObject {
+        private final byte[] content;
+        private final String eTag;
+
+        private StoredObject(byte[] content, String eTag) {
+            this.content = content;
+            this.eTag = eTag;
+        }
+    }
+}
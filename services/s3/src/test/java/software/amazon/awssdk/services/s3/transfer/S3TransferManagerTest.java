@@ -0,0 +1,328 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.transfer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+public class S3TransferManagerTest {
+    private static final String BUCKET = "bucket";
+    private static final String KEY = "key";
+    private static final int PART_SIZE = 1024;
+    private static final int SIZE = 10 * PART_SIZE - 100;
+
+    private InMemoryS3AsyncClient s3;
+    private S3TransferManager transferManager;
+    private Path directory;
+    private byte[] content;
+
+    @Before
+    public void setup() throws Exception {
+        s3 = new InMemoryS3AsyncClient();
+        transferManager = S3TransferManager.builder(PART_SIZE)
+                                           .s3AsyncClient(s3)
+                                           .partSizeInBytes((long) PART_SIZE)
+                                           .maxInFlightBytes(3L * PART_SIZE)
+                                           .multipartUploadThresholdInBytes(4L * PART_SIZE)
+                                           .build();
+        directory = Files.createTempDirectory("S3TransferManagerTest");
+        content = new byte[SIZE];
+        new Random(42).nextBytes(content);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        s3.close();
+        for (Path file : Files.newDirectoryStream(directory)) {
+            Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void smallFileIsUploadedWithSingleRequest() throws Exception {
+        Path source = file("small", new byte[] {1, 2, 3});
+
+        transferManager.upload(uploadRequest(source, null)).completionFuture().get(10, TimeUnit.SECONDS);
+
+        assertThat(s3.object(KEY)).containsExactly(1, 2, 3);
+        assertThat(s3.putObjectRequests.get()).isEqualTo(1);
+        assertThat(s3.uploadedPartNumbers).isEmpty();
+    }
+
+    @Test
+    public void largeFileIsUploadedInConcurrentParts() throws Exception {
+        RecordingListener listener = new RecordingListener();
+
+        Upload upload = transferManager.upload(uploadRequest(file("large", content), listener));
+        upload.completionFuture().get(10, TimeUnit.SECONDS);
+
+        assertThat(s3.object(KEY)).isEqualTo(content);
+        assertThat(s3.uploadedPartNumbers).containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        assertThat(s3.maxInFlight()).isBetween(2, 3);
+        assertThat(upload.progress().transferredBytes()).isEqualTo(SIZE);
+        assertThat(upload.progress().ratioTransferred()).isEqualTo(1.0);
+        assertThat(listener.events).startsWith("initiated 0").endsWith("complete " + SIZE);
+    }
+
+    @Test
+    public void failedPartAbortsMultipartUpload() throws Exception {
+        s3.failing = partNumber -> partNumber == 4;
+        RecordingListener listener = new RecordingListener();
+
+        Upload upload = transferManager.upload(uploadRequest(file("large", content), listener));
+
+        assertThatThrownBy(() -> upload.completionFuture().get(10, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(S3Exception.class);
+        assertThat(s3.abortedUploadIds).containsExactly("upload-1");
+        assertThat(s3.object(KEY)).isNull();
+        assertThat(listener.events).contains("failed S3Exception").doesNotContain("complete " + SIZE);
+        assertThatThrownBy(upload::pause).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void pausedUploadResumesWithRemainingParts() throws Exception {
+        Path source = file("large", content);
+        s3.blocking = partNumber -> partNumber >= 3;
+
+        Upload upload = transferManager.upload(uploadRequest(source, null));
+        // Parts 4 and 5 are only started once parts 1 and 2 have completed
+        waitForBlockedRequests(3);
+        UploadResumeToken token = upload.pause();
+
+        assertThat(upload.completionFuture()).isCancelled();
+        assertThat(token.uploadId()).isEqualTo("upload-1");
+        assertThat(token.completedParts()).containsOnlyKeys(1, 2);
+        assertThat(s3.abortedUploadIds).isEmpty();
+
+        s3.blocking = partNumber -> false;
+        s3.uploadedPartNumbers.clear();
+        RecordingListener listener = new RecordingListener();
+        transferManager.resumeUpload(token, listener).completionFuture().get(10, TimeUnit.SECONDS);
+
+        assertThat(s3.object(KEY)).isEqualTo(content);
+        assertThat(s3.uploadedPartNumbers).containsExactlyInAnyOrder(3, 4, 5, 6, 7, 8, 9, 10);
+        assertThat(listener.events).startsWith("initiated " + 2 * PART_SIZE).endsWith("complete " + SIZE);
+    }
+
+    @Test
+    public void resumingUploadFailsIfFileHasChanged() throws Exception {
+        Path source = file("large", content);
+        s3.blocking = partNumber -> true;
+        Upload upload = transferManager.upload(uploadRequest(source, null));
+        waitForBlockedRequests(3);
+        UploadResumeToken token = upload.pause();
+
+        Files.write(source, new byte[] {1});
+
+        assertThatThrownBy(() -> transferManager.resumeUpload(token)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void objectIsDownloadedWithConcurrentRanges() throws Exception {
+        s3.putObject(KEY, content);
+        Path destination = directory.resolve("download");
+        RecordingListener listener = new RecordingListener();
+
+        Download download = transferManager.download(downloadRequest(destination, listener));
+        download.completionFuture().get(10, TimeUnit.SECONDS);
+
+        assertThat(Files.readAllBytes(destination)).isEqualTo(content);
+        assertThat(s3.requestedRangeOffsets).hasSize(10);
+        assertThat(s3.maxInFlight()).isBetween(2, 3);
+        assertThat(download.progress().transferredBytes()).isEqualTo(SIZE);
+        assertThat(listener.events).startsWith("initiated 0").endsWith("complete " + SIZE);
+    }
+
+    @Test
+    public void downloadReplacesExistingFile() throws Exception {
+        s3.putObject(KEY, new byte[] {1, 2});
+        Path destination = file("download", content);
+
+        transferManager.download(downloadRequest(destination, null)).completionFuture().get(10, TimeUnit.SECONDS);
+
+        assertThat(Files.readAllBytes(destination)).containsExactly(1, 2);
+    }
+
+    @Test
+    public void emptyObjectIsDownloadedToEmptyFile() throws Exception {
+        s3.putObject(KEY, new byte[0]);
+        Path destination = directory.resolve("download");
+
+        transferManager.download(downloadRequest(destination, null)).completionFuture().get(10, TimeUnit.SECONDS);
+
+        assertThat(destination).exists();
+        assertThat(Files.size(destination)).isZero();
+        assertThat(s3.requestedRangeOffsets).isEmpty();
+    }
+
+    @Test
+    public void failedRangeDeletesDestination() throws Exception {
+        s3.putObject(KEY, content);
+        s3.failing = offset -> offset == 5 * PART_SIZE;
+        Path destination = directory.resolve("download");
+
+        Download download = transferManager.download(downloadRequest(destination, null));
+
+        assertThatThrownBy(() -> download.completionFuture().get(10, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(S3Exception.class);
+        assertThat(destination).doesNotExist();
+    }
+
+    @Test
+    public void truncatedRangeFailsDownload() throws Exception {
+        s3.putObject(KEY, content);
+        s3.truncating = offset -> offset == 5 * PART_SIZE;
+        Path destination = directory.resolve("download");
+
+        Download download = transferManager.download(downloadRequest(destination, null));
+
+        assertThatThrownBy(() -> download.completionFuture().get(10, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(SdkClientException.class);
+        assertThat(destination).doesNotExist();
+    }
+
+    @Test
+    public void partSmallerThanS3AllowsIsRejected() {
+        assertThatThrownBy(() -> S3TransferManager.builder().s3AsyncClient(s3).partSizeInBytes(1024L * 1024).build())
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("partSizeInBytes");
+    }
+
+    @Test
+    public void resumedUploadWithTooSmallPartsIsRejected() throws Exception {
+        Path source = file("large", content);
+        UploadResumeToken token = UploadResumeToken.builder()
+                                                   .bucket(BUCKET)
+                                                   .key(KEY)
+                                                   .source(source)
+                                                   .sourceLength((long) SIZE)
+                                                   .partSizeInBytes(PART_SIZE / 2L)
+                                                   .uploadId("upload-1")
+                                                   .build();
+
+        assertThatThrownBy(() -> transferManager.resumeUpload(token)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(s3.uploadedPartNumbers).isEmpty();
+    }
+
+    @Test
+    public void missingObjectLeavesDestinationUntouched() throws Exception {
+        Path destination = file("download", new byte[] {1});
+
+        Download download = transferManager.download(downloadRequest(destination, null));
+
+        assertThatThrownBy(() -> download.completionFuture().get(10, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(S3Exception.class);
+        assertThat(Files.readAllBytes(destination)).containsExactly(1);
+    }
+
+    @Test
+    public void pausedDownloadResumesWithRemainingRanges() throws Exception {
+        s3.putObject(KEY, content);
+        s3.blocking = offset -> offset >= 2 * PART_SIZE;
+        Path destination = directory.resolve("download");
+
+        Download download = transferManager.download(downloadRequest(destination, null));
+        // Ranges 4 and 5 are only requested once ranges 1 and 2 have been written
+        waitForBlockedRequests(3);
+        DownloadResumeToken token = download.pause();
+
+        assertThatThrownBy(() -> download.completionFuture().get()).isInstanceOf(CancellationException.class);
+        assertThat(token.completedParts()).containsExactly(1, 2);
+        assertThat(token.objectSize()).isEqualTo(SIZE);
+        assertThat(destination).exists();
+
+        s3.blocking = offset -> false;
+        s3.requestedRangeOffsets.clear();
+        RecordingListener listener = new RecordingListener();
+        transferManager.resumeDownload(token, listener).completionFuture().get(10, TimeUnit.SECONDS);
+
+        assertThat(Files.readAllBytes(destination)).isEqualTo(content);
+        assertThat(s3.requestedRangeOffsets).hasSize(8).doesNotContain(0L, (long) PART_SIZE);
+        assertThat(listener.events).startsWith("initiated " + 2 * PART_SIZE).endsWith("complete " + SIZE);
+    }
+
+    @Test
+    public void resumingDownloadFailsIfObjectHasChanged() throws Exception {
+        s3.putObject(KEY, content);
+        s3.blocking = offset -> offset >= 2 * PART_SIZE;
+        Path destination = directory.resolve("download");
+        Download download = transferManager.download(downloadRequest(destination, null));
+        waitForBlockedRequests(3);
+        DownloadResumeToken token = download.pause();
+
+        s3.putObject(KEY, content);
+        s3.blocking = offset -> false;
+
+        assertThatThrownBy(() -> transferManager.resumeDownload(token).completionFuture().get(10, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(destination).exists();
+    }
+
+    private Path file(String name, byte[] bytes) throws Exception {
+        return Files.write(directory.resolve(name), bytes);
+    }
+
+    private void waitForBlockedRequests(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (s3.blockedRequests.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(s3.blockedRequests.get()).isEqualTo(count);
+    }
+
+    private static UploadRequest uploadRequest(Path source, TransferListener listener) {
+        return UploadRequest.builder().bucket(BUCKET).key(KEY).source(source).listener(listener).build();
+    }
+
+    private static DownloadRequest downloadRequest(Path destination, TransferListener listener) {
+        return DownloadRequest.builder().bucket(BUCKET).key(KEY).destination(destination).listener(listener).build();
+    }
+
+    private static final class RecordingListener implements TransferListener {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void transferInitiated(TransferProgress progress) {
+            events.add("initiated " + progress.transferredBytes());
+        }
+
+        @Override
+        public void transferComplete(TransferProgress progress) {
+            events.add("complete " + progress.transferredBytes());
+        }
+
+        @Override
+        public void transferFailed(TransferProgress progress, Throwable error) {
+            events.add("failed " + error.getClass().getSimpleName());
+        }
+    }
+}
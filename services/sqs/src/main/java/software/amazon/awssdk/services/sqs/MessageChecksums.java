@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * Verifies the MD5 digests of received messages on the thread that consumes them, for clients configured with
+ * {@link SqsConfiguration#deferMessageChecksumValidation()} to not verify them when they are received.
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class MessageChecksums {
+
+    private MessageChecksums() {
+    }
+
+    /**
+     * Throw an exception if the MD5 digests of the body or the message attributes of the given message do not match the
+     * client-side calculation.
+     *
+     * @throws SdkClientException If a digest does not match.
+     */
+    public static void validate(Message message) {
+        String error = MessageMD5ChecksumInterceptor.checkReceivedMessage(message);
+        if (error != null) {
+            throw SdkClientException.builder().message(error).build();
+        }
+    }
+}
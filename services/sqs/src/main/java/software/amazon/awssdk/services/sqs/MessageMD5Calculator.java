@@ -0,0 +1,220 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Calculates the MD5 digests of message bodies and message attributes the way SQS does, to compare them with the digests
+ * returned by SQS.
+ *
+ * <p>Each thread uses its own calculator, so that the digest and the buffer strings are encoded into are reused rather than
+ * created for every message. Strings are encoded to UTF-8 straight into the buffer, which grows to fit the largest string
+ * encoded on the thread, up to {@link #MAX_RETAINED_BUFFER_SIZE}.
+ */
+@NotThreadSafe
+@SdkInternalApi
+final class MessageMD5Calculator {
+
+    private static final int INTEGER_SIZE_IN_BYTES = 4;
+    private static final byte STRING_TYPE_FIELD_INDEX = 1;
+    private static final byte BINARY_TYPE_FIELD_INDEX = 2;
+    private static final byte STRING_LIST_TYPE_FIELD_INDEX = 3;
+    private static final byte BINARY_LIST_TYPE_FIELD_INDEX = 4;
+
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * The largest buffer kept for the next string. Larger strings, which are rare since a whole message is at most 256 KiB,
+     * are encoded into a buffer of their own.
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final Logger log = Logger.loggerFor(MessageMD5Calculator.class);
+
+    private static final ThreadLocal<MessageMD5Calculator> CALCULATORS = ThreadLocal.withInitial(MessageMD5Calculator::new);
+
+    private final MessageDigest digest;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                                                                 .onMalformedInput(CodingErrorAction.REPLACE)
+                                                                 .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final byte[] lengthBytes = new byte[INTEGER_SIZE_IN_BYTES];
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+    private MessageMD5Calculator() {
+        try {
+            this.digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw SdkClientException.builder()
+                                    .message("Unable to calculate the MD5 hash of SQS messages. " + e.getMessage())
+                                    .cause(e)
+                                    .build();
+        }
+    }
+
+    /**
+     * @return The calculator of the current thread.
+     */
+    static MessageMD5Calculator get() {
+        return CALCULATORS.get();
+    }
+
+    /**
+     * Returns the hex-encoded MD5 hash String of the given message body.
+     */
+    String messageBodyMd5(String messageBody) {
+        log.debug(() -> "Message body: " + messageBody);
+        String expectedMd5Hex;
+        try {
+            ByteBuffer encoded = encode(messageBody);
+            digest.update(encoded.array(), 0, encoded.limit());
+            expectedMd5Hex = BinaryUtils.toHex(digest.digest());
+        } catch (RuntimeException e) {
+            throw calculationFailure("message body", e);
+        }
+        log.debug(() -> "Expected  MD5 of message body: " + expectedMd5Hex);
+        return expectedMd5Hex;
+    }
+
+    /**
+     * Returns the hex-encoded MD5 hash String of the given message attributes.
+     */
+    String messageAttributesMd5(Map<String, MessageAttributeValue> messageAttributes) {
+        log.debug(() -> "Message attributes: " + messageAttributes);
+        String expectedMd5Hex;
+        try {
+            updateAttributes(messageAttributes);
+            expectedMd5Hex = BinaryUtils.toHex(digest.digest());
+        } catch (RuntimeException e) {
+            throw calculationFailure("message attributes", e);
+        }
+        log.debug(() -> "Expected  MD5 of message attributes: " + expectedMd5Hex);
+        return expectedMd5Hex;
+    }
+
+    private void updateAttributes(Map<String, MessageAttributeValue> messageAttributes) {
+        String[] sortedAttributeNames = messageAttributes.keySet().toArray(new String[0]);
+        Arrays.sort(sortedAttributeNames);
+
+        for (String attrName : sortedAttributeNames) {
+            MessageAttributeValue attrValue = messageAttributes.get(attrName);
+
+            // Encoded Name
+            updateLengthAndBytes(attrName);
+
+            // Encoded Type
+            updateLengthAndBytes(attrValue.dataType());
+
+            // Encoded Value
+            if (attrValue.stringValue() != null) {
+                digest.update(STRING_TYPE_FIELD_INDEX);
+                updateLengthAndBytes(attrValue.stringValue());
+            } else if (attrValue.binaryValue() != null) {
+                digest.update(BINARY_TYPE_FIELD_INDEX);
+                updateLengthAndBytes(attrValue.binaryValue());
+            } else if (isNotEmpty(attrValue.stringListValues())) {
+                digest.update(STRING_LIST_TYPE_FIELD_INDEX);
+                for (String strListMember : attrValue.stringListValues()) {
+                    updateLengthAndBytes(strListMember);
+                }
+            } else if (isNotEmpty(attrValue.binaryListValues())) {
+                digest.update(BINARY_LIST_TYPE_FIELD_INDEX);
+                for (SdkBytes byteListMember : attrValue.binaryListValues()) {
+                    updateLengthAndBytes(byteListMember);
+                }
+            }
+        }
+    }
+
+    private SdkClientException calculationFailure(String what, RuntimeException e) {
+        // Leave the digest ready for the next message
+        digest.reset();
+        return SdkClientException.builder()
+                                 .message("Unable to calculate the MD5 hash of the " + what + ". " + e.getMessage())
+                                 .cause(e)
+                                 .build();
+    }
+
+    /**
+     * Update the digest using a sequence of bytes that consists of the length (in 4 bytes) of the
+     * input String and the actual utf8-encoded byte values.
+     */
+    private void updateLengthAndBytes(String str) {
+        ByteBuffer encoded = encode(str);
+        updateLength(encoded.limit());
+        digest.update(encoded.array(), 0, encoded.limit());
+    }
+
+    /**
+     * Update the digest using a sequence of bytes that consists of the length (in 4 bytes) of the
+     * input bytes and all the bytes it contains.
+     */
+    private void updateLengthAndBytes(SdkBytes binaryValue) {
+        ByteBuffer readOnlyBuffer = binaryValue.asByteBuffer();
+        updateLength(readOnlyBuffer.remaining());
+        digest.update(readOnlyBuffer);
+    }
+
+    private void updateLength(int length) {
+        lengthBytes[0] = (byte) (length >>> 24);
+        lengthBytes[1] = (byte) (length >>> 16);
+        lengthBytes[2] = (byte) (length >>> 8);
+        lengthBytes[3] = (byte) length;
+        digest.update(lengthBytes);
+    }
+
+    /**
+     * Encode the given string to UTF-8, replacing unpaired surrogates as {@link String#getBytes} does.
+     *
+     * @return A buffer whose array holds the encoded string, from 0 to its limit.
+     */
+    private ByteBuffer encode(String str) {
+        long maxLength = (long) str.length() * (long) encoder.maxBytesPerChar();
+        ByteBuffer target = buffer;
+        if (maxLength > target.capacity()) {
+            target = ByteBuffer.allocate((int) Math.min(maxLength, Integer.MAX_VALUE));
+            if (target.capacity() <= MAX_RETAINED_BUFFER_SIZE) {
+                buffer = target;
+            }
+        }
+        target.clear();
+        encoder.reset();
+        encoder.encode(CharBuffer.wrap(str), target, true);
+        encoder.flush(target);
+        target.flip();
+        return target;
+    }
+
+    private static boolean isNotEmpty(List<?> list) {
+        return list != null && !list.isEmpty();
+    }
+}
@@ -15,22 +15,24 @@
 
 package software.amazon.awssdk.services.sqs;
 
-import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.core.SdkRequest;
 import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.ServiceConfiguration;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.interceptor.Context;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
 import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
@@ -41,24 +43,20 @@ import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
-import software.amazon.awssdk.utils.BinaryUtils;
-import software.amazon.awssdk.utils.Logger;
-import software.amazon.awssdk.utils.Md5Utils;
 
 /**
  * SQS operations on sending and receiving messages will return the MD5 digest of the message body.
  * This custom request handler will verify that the message is correctly received by SQS, by
  * comparing the returned MD5 with the calculation according to the original request.
+ *
+ * <p>The digests of the messages of a batch are verified in parallel if they are larger than
+ * {@link SqsConfiguration#parallelChecksumValidationThreshold()}, and the digests of received messages are left to the
+ * consumer if {@link SqsConfiguration#deferMessageChecksumValidation()} is set. Clients without an {@link SqsConfiguration}
+ * use the defaults from {@link SqsSystemSetting}.
  */
 @SdkProtectedApi
 public final class MessageMD5ChecksumInterceptor implements ExecutionInterceptor {
 
-    private static final int INTEGER_SIZE_IN_BYTES = 4;
-    private static final byte STRING_TYPE_FIELD_INDEX = 1;
-    private static final byte BINARY_TYPE_FIELD_INDEX = 2;
-    private static final byte STRING_LIST_TYPE_FIELD_INDEX = 3;
-    private static final byte BINARY_LIST_TYPE_FIELD_INDEX = 4;
-
     /*
      * Constant strings for composing error message.
      */
@@ -71,26 +69,42 @@ public final class MessageMD5ChecksumInterceptor implements ExecutionInterceptor
     private static final String MESSAGE_BODY = "message body";
     private static final String MESSAGE_ATTRIBUTES = "message attributes";
 
-    private static final Logger log = Logger.loggerFor(MessageMD5ChecksumInterceptor.class);
+    private final SqsConfiguration defaultConfiguration;
+
+    public MessageMD5ChecksumInterceptor() {
+        this(SqsConfiguration.builder().build());
+    }
+
+    MessageMD5ChecksumInterceptor(SqsConfiguration defaultConfiguration) {
+        this.defaultConfiguration = defaultConfiguration;
+    }
 
     @Override
     public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
         SdkResponse response = context.response();
         SdkRequest originalRequest = context.request();
         if (response != null) {
+            ServiceConfiguration serviceConfiguration = executionAttributes.getAttribute(SdkExecutionAttribute.SERVICE_CONFIG);
+            SqsConfiguration configuration = serviceConfiguration instanceof SqsConfiguration
+                                             ? (SqsConfiguration) serviceConfiguration
+                                             : defaultConfiguration;
+            long parallelValidationThreshold = configuration.parallelChecksumValidationThreshold();
+
             if (originalRequest instanceof SendMessageRequest) {
                 SendMessageRequest sendMessageRequest = (SendMessageRequest) originalRequest;
                 SendMessageResponse sendMessageResult = (SendMessageResponse) response;
                 sendMessageOperationMd5Check(sendMessageRequest, sendMessageResult);
 
             } else if (originalRequest instanceof ReceiveMessageRequest) {
-                ReceiveMessageResponse receiveMessageResult = (ReceiveMessageResponse) response;
-                receiveMessageResultMd5Check(receiveMessageResult);
+                if (!configuration.deferMessageChecksumValidation()) {
+                    ReceiveMessageResponse receiveMessageResult = (ReceiveMessageResponse) response;
+                    receiveMessageResultMd5Check(receiveMessageResult, parallelValidationThreshold);
+                }
 
             } else if (originalRequest instanceof SendMessageBatchRequest) {
                 SendMessageBatchRequest sendMessageBatchRequest = (SendMessageBatchRequest) originalRequest;
                 SendMessageBatchResponse sendMessageBatchResult = (SendMessageBatchResponse) response;
-                sendMessageBatchOperationMd5Check(sendMessageBatchRequest, sendMessageBatchResult);
+                sendMessageBatchOperationMd5Check(sendMessageBatchRequest, sendMessageBatchResult, parallelValidationThreshold);
             }
         }
     }
@@ -101,9 +115,10 @@ public final class MessageMD5ChecksumInterceptor implements ExecutionInterceptor
      */
     private static void sendMessageOperationMd5Check(SendMessageRequest sendMessageRequest,
                                                      SendMessageResponse sendMessageResult) {
+        MessageMD5Calculator calculator = MessageMD5Calculator.get();
         String messageBodySent = sendMessageRequest.messageBody();
         String bodyMd5Returned = sendMessageResult.md5OfMessageBody();
-        String clientSideBodyMd5 = calculateMessageBodyMd5(messageBodySent);
+        String clientSideBodyMd5 = calculator.messageBodyMd5(messageBodySent);
         if (!clientSideBodyMd5.equals(bodyMd5Returned)) {
             throw SdkClientException.builder()
                                     .message(String.format(MD5_MISMATCH_ERROR_MESSAGE, MESSAGE_BODY, clientSideBodyMd5,
@@ -113,7 +128,7 @@ public final class MessageMD5ChecksumInterceptor implements ExecutionInterceptor
 
         Map<String, MessageAttributeValue> messageAttrSent = sendMessageRequest.messageAttributes();
         if (messageAttrSent != null && !messageAttrSent.isEmpty()) {
-            String clientSideAttrMd5 = calculateMessageAttributesMd5(messageAttrSent);
+            String clientSideAttrMd5 = calculator.messageAttributesMd5(messageAttrSent);
             String attrMd5Returned = sendMessageResult.md5OfMessageAttributes();
             if (!clientSideAttrMd5.equals(attrMd5Returned)) {
                 throw SdkClientException.builder()
@@ -128,31 +143,12 @@ public final class MessageMD5ChecksumInterceptor implements ExecutionInterceptor
      * Throw an exception if the MD5 checksums included in the ReceiveMessageResponse do not match the
      * client-side calculation on the received messages.
      */
-    private static void receiveMessageResultMd5Check(ReceiveMessageResponse receiveMessageResult) {
-        if (receiveMessageResult.messages() != null) {
-            for (Message messageReceived : receiveMessageResult.messages()) {
-                String messageBody = messageReceived.body();
-                String bodyMd5Returned = messageReceived.md5OfBody();
-                String clientSideBodyMd5 = calculateMessageBodyMd5(messageBody);
-                if (!clientSideBodyMd5.equals(bodyMd5Returned)) {
-                    throw SdkClientException.builder()
-                                            .message(String.format(MD5_MISMATCH_ERROR_MESSAGE, MESSAGE_BODY,
-                                                                  clientSideBodyMd5, bodyMd5Returned))
-                                            .build();
-                }
-
-                Map<String, MessageAttributeValue> messageAttr = messageReceived.messageAttributes();
-                if (messageAttr != null && !messageAttr.isEmpty()) {
-                    String attrMd5Returned = messageReceived.md5OfMessageAttributes();
-                    String clientSideAttrMd5 = calculateMessageAttributesMd5(messageAttr);
-                    if (!clientSideAttrMd5.equals(attrMd5Returned)) {
-                        throw SdkClientException.builder()
-                                                .message(String.format(MD5_MISMATCH_ERROR_MESSAGE, MESSAGE_ATTRIBUTES,
-                                                                      clientSideAttrMd5, attrMd5Returned))
-                                                .build();
-                    }
-                }
-            }
+    private static void receiveMessageResultMd5Check(ReceiveMessageResponse receiveMessageResult,
+                                                     long parallelValidationThreshold) {
+        List<Message> messages = receiveMessageResult.messages();
+        if (messages != null) {
+            validateAll(messages.size(), i -> checkReceivedMessage(messages.get(i)), () -> receivedSize(messages),
+                        parallelValidationThreshold);
         }
     }
 
@@ -161,7 +157,8 @@ public final class MessageMD5ChecksumInterceptor implements ExecutionInterceptor
      * the client-side calculation based on the original messages in the SendMessageBatchRequest.
      */
     private static void sendMessageBatchOperationMd5Check(SendMessageBatchRequest sendMessageBatchRequest,
-                                                          SendMessageBatchResponse sendMessageBatchResult) {
+                                                          SendMessageBatchResponse sendMessageBatchResult,
+                                                          long parallelValidationThreshold) {
         Map<String, SendMessageBatchRequestEntry> idToRequestEntryMap = new HashMap<>();
         if (sendMessageBatchRequest.entries() != null) {
             for (SendMessageBatchRequestEntry entry : sendMessageBatchRequest.entries()) {
@@ -169,128 +166,127 @@ public final class MessageMD5ChecksumInterceptor implements ExecutionInterceptor
             }
         }
 
-        if (sendMessageBatchResult.successful() != null) {
-            for (SendMessageBatchResultEntry entry : sendMessageBatchResult.successful()) {
-                String messageBody = idToRequestEntryMap.get(entry.id()).messageBody();
-                String bodyMd5Returned = entry.md5OfMessageBody();
-                String clientSideBodyMd5 = calculateMessageBodyMd5(messageBody);
-                if (!clientSideBodyMd5.equals(bodyMd5Returned)) {
-                    throw SdkClientException.builder()
-                                            .message(String.format(MD5_MISMATCH_ERROR_MESSAGE_WITH_ID, MESSAGE_BODY,
-                                                                  entry.id(), clientSideBodyMd5, bodyMd5Returned))
-                                            .build();
-                }
-
-                Map<String, MessageAttributeValue> messageAttr = idToRequestEntryMap.get(entry.id())
-                                                                                    .messageAttributes();
-                if (messageAttr != null && !messageAttr.isEmpty()) {
-                    String attrMd5Returned = entry.md5OfMessageAttributes();
-                    String clientSideAttrMd5 = calculateMessageAttributesMd5(messageAttr);
-                    if (!clientSideAttrMd5.equals(attrMd5Returned)) {
-                        throw SdkClientException.builder()
-                                                .message(String.format(MD5_MISMATCH_ERROR_MESSAGE_WITH_ID,
-                                                                      MESSAGE_ATTRIBUTES, entry.id(), clientSideAttrMd5,
-                                                                      attrMd5Returned))
-                                                .build();
-                    }
-                }
-            }
+        List<SendMessageBatchResultEntry> entries = sendMessageBatchResult.successful();
+        if (entries != null) {
+            IntFunction<String> check = i -> checkBatchEntry(idToRequestEntryMap.get(entries.get(i).id()), entries.get(i));
+            validateAll(entries.size(), check, () -> sentSize(sendMessageBatchRequest.entries()), parallelValidationThreshold);
         }
     }
 
     /**
-     * Returns the hex-encoded MD5 hash String of the given message body.
+     * Run the given check on each of the given number of messages, and throw an exception with the error of the first
+     * message that fails it. The messages are checked in parallel if their size, which is only calculated when parallel
+     * validation is enabled, is above the threshold. The calling thread takes part in the checks and waits for the others.
+     *
+     * @param check Returns the error of the message with the given index, or null if it passes.
      */
-    private static String calculateMessageBodyMd5(String messageBody) {
-        log.debug(() -> "Message body: " + messageBody);
-        byte[] expectedMd5;
-        try {
-            expectedMd5 = Md5Utils.computeMD5Hash(messageBody.getBytes(StandardCharsets.UTF_8));
-        } catch (Exception e) {
-            throw SdkClientException.builder()
-                                    .message("Unable to calculate the MD5 hash of the message body. " + e.getMessage())
-                                    .cause(e)
-                                    .build();
+    private static void validateAll(int count, IntFunction<String> check, LongSupplier size,
+                                    long parallelValidationThreshold) {
+        String error = null;
+        if (count > 1 && parallelValidationThreshold != Long.MAX_VALUE && size.getAsLong() > parallelValidationThreshold) {
+            // Each thread has its own digest, and the first error in message order is reported as when checking serially
+            Optional<String> firstError = IntStream.range(0, count)
+                                                   .parallel()
+                                                   .mapToObj(check)
+                                                   .filter(Objects::nonNull)
+                                                   .findFirst();
+            error = firstError.orElse(null);
+        } else {
+            for (int i = 0; i < count && error == null; i++) {
+                error = check.apply(i);
+            }
+        }
+
+        if (error != null) {
+            throw SdkClientException.builder().message(error).build();
         }
-        String expectedMd5Hex = BinaryUtils.toHex(expectedMd5);
-        log.debug(() -> "Expected  MD5 of message body: " + expectedMd5Hex);
-        return expectedMd5Hex;
     }
 
     /**
-     * Returns the hex-encoded MD5 hash String of the given message attributes.
+     * @return The error message if the digests of the given received message do not match, or null if they do.
      */
-    private static String calculateMessageAttributesMd5(final Map<String, MessageAttributeValue> messageAttributes) {
-        log.debug(() -> "Message attributes: " + messageAttributes);
-        List<String> sortedAttributeNames = new ArrayList<>(messageAttributes.keySet());
-        Collections.sort(sortedAttributeNames);
-
-        MessageDigest md5Digest;
-        try {
-            md5Digest = MessageDigest.getInstance("MD5");
-
-            for (String attrName : sortedAttributeNames) {
-                MessageAttributeValue attrValue = messageAttributes.get(attrName);
+    static String checkReceivedMessage(Message messageReceived) {
+        MessageMD5Calculator calculator = MessageMD5Calculator.get();
+        String bodyMd5Returned = messageReceived.md5OfBody();
+        String clientSideBodyMd5 = calculator.messageBodyMd5(messageReceived.body());
+        if (!clientSideBodyMd5.equals(bodyMd5Returned)) {
+            return String.format(MD5_MISMATCH_ERROR_MESSAGE, MESSAGE_BODY, clientSideBodyMd5, bodyMd5Returned);
+        }
 
-                // Encoded Name
-                updateLengthAndBytes(md5Digest, attrName);
+        Map<String, MessageAttributeValue> messageAttr = messageReceived.messageAttributes();
+        if (messageAttr != null && !messageAttr.isEmpty()) {
+            String attrMd5Returned = messageReceived.md5OfMessageAttributes();
+            String clientSideAttrMd5 = calculator.messageAttributesMd5(messageAttr);
+            if (!clientSideAttrMd5.equals(attrMd5Returned)) {
+                return String.format(MD5_MISMATCH_ERROR_MESSAGE, MESSAGE_ATTRIBUTES, clientSideAttrMd5, attrMd5Returned);
+            }
+        }
+        return null;
+    }
 
-                // Encoded Type
-                updateLengthAndBytes(md5Digest, attrValue.dataType());
+    /**
+     * @return The error message if the digests of the given sent message do not match, or null if they do.
+     */
+    private static String checkBatchEntry(SendMessageBatchRequestEntry requestEntry, SendMessageBatchResultEntry entry) {
+        MessageMD5Calculator calculator = MessageMD5Calculator.get();
+        String bodyMd5Returned = entry.md5OfMessageBody();
+        String clientSideBodyMd5 = calculator.messageBodyMd5(requestEntry.messageBody());
+        if (!clientSideBodyMd5.equals(bodyMd5Returned)) {
+            return String.format(MD5_MISMATCH_ERROR_MESSAGE_WITH_ID, entry.id(), MESSAGE_BODY, clientSideBodyMd5,
+                                 bodyMd5Returned);
+        }
 
-                // Encoded Value
-                if (attrValue.stringValue() != null) {
-                    md5Digest.update(STRING_TYPE_FIELD_INDEX);
-                    updateLengthAndBytes(md5Digest, attrValue.stringValue());
-                } else if (attrValue.binaryValue() != null) {
-                    md5Digest.update(BINARY_TYPE_FIELD_INDEX);
-                    updateLengthAndBytes(md5Digest, attrValue.binaryValue().asByteBuffer());
-                } else if (attrValue.stringListValues() != null &&
-                           attrValue.stringListValues().size() > 0) {
-                    md5Digest.update(STRING_LIST_TYPE_FIELD_INDEX);
-                    for (String strListMember : attrValue.stringListValues()) {
-                        updateLengthAndBytes(md5Digest, strListMember);
-                    }
-                } else if (attrValue.binaryListValues() != null &&
-                           attrValue.binaryListValues().size() > 0) {
-                    md5Digest.update(BINARY_LIST_TYPE_FIELD_INDEX);
-                    for (SdkBytes byteListMember : attrValue.binaryListValues()) {
-                        updateLengthAndBytes(md5Digest, byteListMember.asByteBuffer());
-                    }
-                }
+        Map<String, MessageAttributeValue> messageAttr = requestEntry.messageAttributes();
+        if (messageAttr != null && !messageAttr.isEmpty()) {
+            String attrMd5Returned = entry.md5OfMessageAttributes();
+            String clientSideAttrMd5 = calculator.messageAttributesMd5(messageAttr);
+            if (!clientSideAttrMd5.equals(attrMd5Returned)) {
+                return String.format(MD5_MISMATCH_ERROR_MESSAGE_WITH_ID, entry.id(), MESSAGE_ATTRIBUTES, clientSideAttrMd5,
+                                     attrMd5Returned);
             }
-        } catch (Exception e) {
-            throw SdkClientException.builder()
-                                    .message("Unable to calculate the MD5 hash of the message attributes. " + e.getMessage())
-                                    .cause(e)
-                                    .build();
         }
+        return null;
+    }
 
-        String expectedMd5Hex = BinaryUtils.toHex(md5Digest.digest());
-        log.debug(() -> "Expected  MD5 of message attributes: " + expectedMd5Hex);
-        return expectedMd5Hex;
+    private static long receivedSize(List<Message> messages) {
+        long size = 0;
+        for (Message message : messages) {
+            size += approximateSize(message.body(), message.messageAttributes());
+        }
+        return size;
     }
 
-    /**
-     * Update the digest using a sequence of bytes that consists of the length (in 4 bytes) of the
-     * input String and the actual utf8-encoded byte values.
-     */
-    private static void updateLengthAndBytes(MessageDigest digest, String str) {
-        byte[] utf8Encoded = str.getBytes(StandardCharsets.UTF_8);
-        ByteBuffer lengthBytes = ByteBuffer.allocate(INTEGER_SIZE_IN_BYTES).putInt(utf8Encoded.length);
-        digest.update(lengthBytes.array());
-        digest.update(utf8Encoded);
+    private static long sentSize(List<SendMessageBatchRequestEntry> entries) {
+        long size = 0;
+        for (SendMessageBatchRequestEntry entry : entries) {
+            size += approximateSize(entry.messageBody(), entry.messageAttributes());
+        }
+        return size;
     }
 
     /**
-     * Update the digest using a sequence of bytes that consists of the length (in 4 bytes) of the
-     * input ByteBuffer and all the bytes it contains.
+     * @return The number of characters and bytes of the given body and attributes, as an estimate of the work of digesting
+     * them.
      */
-    private static void updateLengthAndBytes(MessageDigest digest, ByteBuffer binaryValue) {
-        ByteBuffer readOnlyBuffer = binaryValue.asReadOnlyBuffer();
-        int size = readOnlyBuffer.remaining();
-        ByteBuffer lengthBytes = ByteBuffer.allocate(INTEGER_SIZE_IN_BYTES).putInt(size);
-        digest.update(lengthBytes.array());
-        digest.update(readOnlyBuffer);
+    private static long approximateSize(String body, Map<String, MessageAttributeValue> attributes) {
+        long size = body == null ? 0 : body.length();
+        if (attributes != null) {
+            for (Map.Entry<String, MessageAttributeValue> attribute : attributes.entrySet()) {
+                MessageAttributeValue value = attribute.getValue();
+                size += attribute.getKey().length();
+                if (value.stringValue() != null) {
+                    size += value.stringValue().length();
+                } else if (value.binaryValue() != null) {
+                    size += value.binaryValue().asByteBuffer().remaining();
+                } else if (value.stringListValues() != null) {
+                    size += value.stringListValues().stream().mapToLong(String::length).sum();
+                } else if (value.binaryListValues() != null) {
+                    for (SdkBytes bytes : value.binaryListValues()) {
+                        size += bytes.asByteBuffer().remaining();
+                    }
+                }
+            }
+        }
+        return size;
     }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs;
+
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.ServiceConfiguration;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * SQS specific configuration of a client, which controls how it verifies the MD5 digests of messages. Settings that are not
+ * configured default to the value of the matching {@link SqsSystemSetting}.
+ */
+@SdkPublicApi
+@Immutable
+@ThreadSafe
+public final class SqsConfiguration implements ServiceConfiguration,
+                                               ToCopyableBuilder<SqsConfiguration.Builder, SqsConfiguration> {
+
+    private final boolean deferMessageChecksumValidation;
+    private final long parallelChecksumValidationThreshold;
+
+    private SqsConfiguration(DefaultSqsServiceConfigurationBuilder builder) {
+        this.deferMessageChecksumValidation = builder.deferMessageChecksumValidation != null
+                                              ? builder.deferMessageChecksumValidation
+                                              : SqsSystemSetting.AWS_SQS_DEFER_MESSAGE_CHECKSUM_VALIDATION
+                                                                .getBooleanValueOrThrow();
+        this.parallelChecksumValidationThreshold = builder.parallelChecksumValidationThreshold != null
+                                                   ? builder.parallelChecksumValidationThreshold
+                                                   : defaultParallelChecksumValidationThreshold();
+    }
+
+    /**
+     * Create a {@link Builder}, used to create a {@link SqsConfiguration}.
+     */
+    public static Builder builder() {
+        return new DefaultSqsServiceConfigurationBuilder();
+    }
+
+    /**
+     * Returns whether the digests of received messages are left for the consumer to verify with
+     * {@link MessageChecksums#validate}, rather than verified before the receive message response is returned.
+     *
+     * @see Builder#deferMessageChecksumValidation(Boolean)
+     */
+    public boolean deferMessageChecksumValidation() {
+        return deferMessageChecksumValidation;
+    }
+
+    /**
+     * Returns the size above which the digests of the messages of one response are verified in parallel, or
+     * {@link Long#MAX_VALUE} if they are never verified in parallel.
+     *
+     * @see Builder#parallelChecksumValidationThreshold(Long)
+     */
+    public long parallelChecksumValidationThreshold() {
+        return parallelChecksumValidationThreshold;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return builder().deferMessageChecksumValidation(deferMessageChecksumValidation)
+                        .parallelChecksumValidationThreshold(parallelChecksumValidationThreshold);
+    }
+
+    private static long defaultParallelChecksumValidationThreshold() {
+        return SqsSystemSetting.AWS_SQS_PARALLEL_CHECKSUM_VALIDATION_THRESHOLD.getStringValue()
+                                                                              .map(SqsConfiguration::parseThreshold)
+                                                                              .orElse(Long.MAX_VALUE);
+    }
+
+    static long parseThreshold(String value) {
+        SqsSystemSetting setting = SqsSystemSetting.AWS_SQS_PARALLEL_CHECKSUM_VALIDATION_THRESHOLD;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Environment variable '" + setting.environmentVariable() + "' or system property '"
+                                            + setting.property() + "' was defined as '" + value + "', but should be a number "
+                                            + "of bytes.", e);
+        }
+    }
+
+    @NotThreadSafe
+    public interface Builder extends CopyableBuilder<Builder, SqsConfiguration> {
+        /**
+         * Option to leave the digests of received messages for the consumer to verify with {@link MessageChecksums#validate},
+         * rather than verify them before the receive message response is returned. The messages sent are still verified by
+         * the client.
+         *
+         * <p>
+         * Defaults to {@link SqsSystemSetting#AWS_SQS_DEFER_MESSAGE_CHECKSUM_VALIDATION}, which is false unless set.
+         * </p>
+         */
+        Builder deferMessageChecksumValidation(Boolean deferMessageChecksumValidation);
+
+        /**
+         * The size, in characters of message bodies and attribute values, above which the digests of the messages of one
+         * response are verified in parallel on the common fork-join pool. The thread that completes the request waits for
+         * the verification to finish, which on an asynchronous client is the thread that completes its responses, so
+         * asynchronous clients with large messages should rather defer the verification to the consumer with
+         * {@link #deferMessageChecksumValidation(Boolean)}.
+         *
+         * <p>
+         * Defaults to {@link SqsSystemSetting#AWS_SQS_PARALLEL_CHECKSUM_VALIDATION_THRESHOLD}. If that is not set either, the
+         * digests are always verified one after the other.
+         * </p>
+         */
+        Builder parallelChecksumValidationThreshold(Long parallelChecksumValidationThreshold);
+    }
+
+    private static final class DefaultSqsServiceConfigurationBuilder implements Builder {
+
+        private Boolean deferMessageChecksumValidation;
+        private Long parallelChecksumValidationThreshold;
+
+        public Builder deferMessageChecksumValidation(Boolean deferMessageChecksumValidation) {
+            this.deferMessageChecksumValidation = deferMessageChecksumValidation;
+            return this;
+        }
+
+        public void setDeferMessageChecksumValidation(Boolean deferMessageChecksumValidation) {
+            deferMessageChecksumValidation(deferMessageChecksumValidation);
+        }
+
+        public Builder parallelChecksumValidationThreshold(Long parallelChecksumValidationThreshold) {
+            this.parallelChecksumValidationThreshold = parallelChecksumValidationThreshold;
+            return this;
+        }
+
+        public void setParallelChecksumValidationThreshold(Long parallelChecksumValidationThreshold) {
+            parallelChecksumValidationThreshold(parallelChecksumValidationThreshold);
+        }
+
+        public SqsConfiguration build() {
+            return new SqsConfiguration(this);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs;
+
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.utils.SystemSetting;
+
+/**
+ * System properties to configure how SQS clients verify the MD5 digests of messages by default. A client can override them
+ * with an {@link SqsConfiguration}.
+ *
+ * @see MessageMD5ChecksumInterceptor
+ */
+@SdkProtectedApi
+public enum SqsSystemSetting implements SystemSetting {
+    /**
+     * Configure whether the digests of received messages are left for the consumer to verify with
+     * {@link MessageChecksums#validate}, rather than verified before the receive message response is returned. The messages
+     * sent are still verified by the client.
+     */
+    AWS_SQS_DEFER_MESSAGE_CHECKSUM_VALIDATION("aws.sqsDeferMessageChecksumValidation", "false"),
+
+    /**
+     * Configure the size, in characters of message bodies and attribute values, above which the digests of the messages
+     * of one response are verified in parallel on the common fork-join pool. By default they are always verified on the
+     * thread that completes the request.
+     */
+    AWS_SQS_PARALLEL_CHECKSUM_VALIDATION_THRESHOLD("aws.sqsParallelChecksumValidationThreshold", null);
+
+    private final String systemProperty;
+    private final String defaultValue;
+
+    SqsSystemSetting(String systemProperty, String defaultValue) {
+        this.systemProperty = systemProperty;
+        this.defaultValue = defaultValue;
+    }
+
+    @Override
+    public String property() {
+        return systemProperty;
+    }
+
+    @Override
+    public String environmentVariable() {
+        return name();
+    }
+
+    @Override
+    public String defaultValue() {
+        return defaultValue;
+    }
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs.buffered;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * How a {@link SqsBufferedAsyncClient} batches the requests it sends and prefetches the messages it receives. The same
+ * configuration applies to every queue, each of which is buffered separately.
+ */
+@SdkPublicApi
+@Immutable
+@ThreadSafe
+public final class QueueBufferConfiguration implements ToCopyableBuilder<QueueBufferConfiguration.Builder,
+                                                                         QueueBufferConfiguration> {
+    /**
+     * The largest number of entries SQS accepts in a batch request.
+     */
+    static final int MAX_BATCH_SIZE = 10;
+
+    /**
+     * The longest SQS allows a receive request to wait for messages.
+     */
+    private static final Duration MAX_LONG_POLL_WAIT_TIME = Duration.ofSeconds(20);
+
+    private static final Duration DEFAULT_MAX_BATCH_OPEN_DURATION = Duration.ofMillis(200);
+    private static final int DEFAULT_MAX_INFLIGHT_OUTBOUND_BATCHES = 5;
+    private static final int DEFAULT_MAX_PREFETCHED_MESSAGES = 10;
+    private static final int DEFAULT_MAX_INFLIGHT_RECEIVE_BATCHES = 1;
+
+    private final int maxBatchSize;
+    private final Duration maxBatchOpenDuration;
+    private final int maxInflightOutboundBatches;
+    private final int maxPrefetchedMessages;
+    private final int maxInflightReceiveBatches;
+    private final Duration longPollWaitTime;
+    private final Duration visibilityTimeout;
+    private final List<String> receiveAttributeNames;
+    private final List<String> receiveMessageAttributeNames;
+
+    private QueueBufferConfiguration(DefaultBuilder builder) {
+        this.maxBatchSize = builder.maxBatchSize == null ? MAX_BATCH_SIZE : builder.maxBatchSize;
+        this.maxBatchOpenDuration = builder.maxBatchOpenDuration == null ? DEFAULT_MAX_BATCH_OPEN_DURATION
+                                                                         : builder.maxBatchOpenDuration;
+        this.maxInflightOutboundBatches = builder.maxInflightOutboundBatches == null ? DEFAULT_MAX_INFLIGHT_OUTBOUND_BATCHES
+                                                                                     : builder.maxInflightOutboundBatches;
+        this.maxPrefetchedMessages = builder.maxPrefetchedMessages == null ? DEFAULT_MAX_PREFETCHED_MESSAGES
+                                                                           : builder.maxPrefetchedMessages;
+        this.maxInflightReceiveBatches = builder.maxInflightReceiveBatches == null ? DEFAULT_MAX_INFLIGHT_RECEIVE_BATCHES
+                                                                                   : builder.maxInflightReceiveBatches;
+        this.longPollWaitTime = builder.longPollWaitTime == null ? MAX_LONG_POLL_WAIT_TIME : builder.longPollWaitTime;
+        this.visibilityTimeout = builder.visibilityTimeout;
+        this.receiveAttributeNames = Collections.unmodifiableList(new ArrayList<>(builder.receiveAttributeNames));
+        this.receiveMessageAttributeNames = Collections.unmodifiableList(new ArrayList<>(builder.receiveMessageAttributeNames));
+
+        Validate.isTrue(maxBatchSize >= 1 && maxBatchSize <= MAX_BATCH_SIZE,
+                        "maxBatchSize must be between 1 and %s", MAX_BATCH_SIZE);
+        Validate.isNotNegative(maxBatchOpenDuration, "maxBatchOpenDuration");
+        Validate.isPositive(maxInflightOutboundBatches, "maxInflightOutboundBatches");
+        Validate.isNotNegative(maxPrefetchedMessages, "maxPrefetchedMessages");
+        Validate.isPositive(maxInflightReceiveBatches, "maxInflightReceiveBatches");
+        Validate.isTrue(!longPollWaitTime.isNegative() && longPollWaitTime.compareTo(MAX_LONG_POLL_WAIT_TIME) <= 0,
+                        "longPollWaitTime must be between 0 and %s", MAX_LONG_POLL_WAIT_TIME);
+        if (visibilityTimeout != null) {
+            Validate.isPositive(visibilityTimeout, "visibilityTimeout");
+        }
+    }
+
+    /**
+     * Create a {@link Builder}, used to create a {@link QueueBufferConfiguration}.
+     */
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * @return The largest number of requests combined into one batch request.
+     */
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @return How long a batch that is not full waits for more requests before it is sent.
+     */
+    public Duration maxBatchOpenDuration() {
+        return maxBatchOpenDuration;
+    }
+
+    /**
+     * @return The largest number of batch requests of each kind being sent to a queue at once.
+     */
+    public int maxInflightOutboundBatches() {
+        return maxInflightOutboundBatches;
+    }
+
+    /**
+     * @return The number of messages received ahead of the calls to receive them, or 0 if messages are not prefetched.
+     */
+    public int maxPrefetchedMessages() {
+        return maxPrefetchedMessages;
+    }
+
+    /**
+     * @return The largest number of receive requests being sent to a queue at once to prefetch messages.
+     */
+    public int maxInflightReceiveBatches() {
+        return maxInflightReceiveBatches;
+    }
+
+    /**
+     * @return How long the receive requests that prefetch messages wait for messages to arrive.
+     */
+    public Duration longPollWaitTime() {
+        return longPollWaitTime;
+    }
+
+    /**
+     * @return The visibility timeout of prefetched messages, or null to use the visibility timeout of the queue.
+     */
+    public Duration visibilityTimeout() {
+        return visibilityTimeout;
+    }
+
+    /**
+     * @return The names of the attributes of prefetched messages.
+     */
+    public List<String> receiveAttributeNames() {
+        return receiveAttributeNames;
+    }
+
+    /**
+     * @return The names of the message attributes of prefetched messages.
+     */
+    public List<String> receiveMessageAttributeNames() {
+        return receiveMessageAttributeNames;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return builder().maxBatchSize(maxBatchSize)
+                        .maxBatchOpenDuration(maxBatchOpenDuration)
+                        .maxInflightOutboundBatches(maxInflightOutboundBatches)
+                        .maxPrefetchedMessages(maxPrefetchedMessages)
+                        .maxInflightReceiveBatches(maxInflightReceiveBatches)
+                        .longPollWaitTime(longPollWaitTime)
+                        .visibilityTimeout(visibilityTimeout)
+                        .receiveAttributeNames(receiveAttributeNames)
+                        .receiveMessageAttributeNames(receiveMessageAttributeNames);
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("QueueBufferConfiguration")
+                       .add("maxBatchSize", maxBatchSize)
+                       .add("maxBatchOpenDuration", maxBatchOpenDuration)
+                       .add("maxInflightOutboundBatches", maxInflightOutboundBatches)
+                       .add("maxPrefetchedMessages", maxPrefetchedMessages)
+                       .add("maxInflightReceiveBatches", maxInflightReceiveBatches)
+                       .add("longPollWaitTime", longPollWaitTime)
+                       .add("visibilityTimeout", visibilityTimeout)
+                       .add("receiveAttributeNames", receiveAttributeNames)
+                       .add("receiveMessageAttributeNames", receiveMessageAttributeNames)
+                       .build();
+    }
+
+    @NotThreadSafe
+    public interface Builder extends CopyableBuilder<Builder, QueueBufferConfiguration> {
+        /**
+         * The largest number of send, delete or change visibility requests combined into one batch request, at most 10.
+         * Send requests are also combined only as long as their messages add up to at most 256 KiB, the limit of SQS.
+         *
+         * <p>The default is 10.
+         */
+        Builder maxBatchSize(Integer maxBatchSize);
+
+        /**
+         * How long a batch that is not full waits for more requests before it is sent. This bounds the latency added to a
+         * request when requests are infrequent. When requests are frequent, batches fill up and are sent straight away.
+         *
+         * <p>The default is 200 milliseconds.
+         */
+        Builder maxBatchOpenDuration(Duration maxBatchOpenDuration);
+
+        /**
+         * The largest number of batch requests of each kind being sent to a queue at once. While that many are in flight,
+         * the open batch keeps filling up to {@link #maxBatchSize(Integer)} requests, and full batches wait in memory for a
+         * batch to complete. The number of waiting requests is not limited. Send batches to a FIFO queue are always sent one at
+         * a time, to keep the order of the messages.
+         *
+         * <p>The default is 5.
+         */
+        Builder maxInflightOutboundBatches(Integer maxInflightOutboundBatches);
+
+        /**
+         * The number of messages received from a queue ahead of the calls to receive them. Prefetching starts with the first
+         * call to receive messages from the queue. Prefetched messages are invisible to other consumers until they are
+         * received from the client, or until their visibility timeout expires. Set to 0 to not prefetch, so that every call
+         * to receive messages is sent as is.
+         *
+         * <p>The default is 10.
+         */
+        Builder maxPrefetchedMessages(Integer maxPrefetchedMessages);
+
+        /**
+         * The largest number of receive requests being sent to a queue at once to prefetch messages. Each receives up to 10
+         * messages.
+         *
+         * <p>The default is 1.
+         */
+        Builder maxInflightReceiveBatches(Integer maxInflightReceiveBatches);
+
+        /**
+         * How long the receive requests that prefetch messages wait for messages to arrive, at most 20 seconds. Long
+         * polling avoids sending receive requests in a loop while the queue is empty.
+         *
+         * <p>The default is 20 seconds.
+         */
+        Builder longPollWaitTime(Duration longPollWaitTime);
+
+        /**
+         * The visibility timeout of prefetched messages, in whole seconds. Prefetched messages that are not received from the
+         * client within half of it are made visible in the queue again, so that the messages that are received are processed
+         * with at least half of it left.
+         *
+         * <p>By default the visibility timeout of the queue is used. It is looked up once, before the first messages are
+         * prefetched.
+         */
+        Builder visibilityTimeout(Duration visibilityTimeout);
+
+        /**
+         * The names of the attributes of prefetched messages, such as {@code ApproximateReceiveCount}. Calls to receive
+         * messages that ask for other attributes are sent as is, rather than served from the prefetched messages.
+         */
+        Builder receiveAttributeNames(Collection<String> receiveAttributeNames);
+
+        /**
+         * The names of the message attributes of prefetched messages. Calls to receive messages that ask for other message
+         * attributes are sent as is, rather than served from the prefetched messages.
+         */
+        Builder receiveMessageAttributeNames(Collection<String> receiveMessageAttributeNames);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private Integer maxBatchSize;
+        private Duration maxBatchOpenDuration;
+        private Integer maxInflightOutboundBatches;
+        private Integer maxPrefetchedMessages;
+        private Integer maxInflightReceiveBatches;
+        private Duration longPollWaitTime;
+        private Duration visibilityTimeout;
+        private Collection<String> receiveAttributeNames = Collections.emptyList();
+        private Collection<String> receiveMessageAttributeNames = Collections.emptyList();
+
+        @Override
+        public Builder maxBatchSize(Integer maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public void setMaxBatchSize(Integer maxBatchSize) {
+            maxBatchSize(maxBatchSize);
+        }
+
+        @Override
+        public Builder maxBatchOpenDuration(Duration maxBatchOpenDuration) {
+            this.maxBatchOpenDuration = maxBatchOpenDuration;
+            return this;
+        }
+
+        public void setMaxBatchOpenDuration(Duration maxBatchOpenDuration) {
+            maxBatchOpenDuration(maxBatchOpenDuration);
+        }
+
+        @Override
+        public Builder maxInflightOutboundBatches(Integer maxInflightOutboundBatches) {
+            this.maxInflightOutboundBatches = maxInflightOutboundBatches;
+            return this;
+        }
+
+        public void setMaxInflightOutboundBatches(Integer maxInflightOutboundBatches) {
+            maxInflightOutboundBatches(maxInflightOutboundBatches);
+        }
+
+        @Override
+        public Builder maxPrefetchedMessages(Integer maxPrefetchedMessages) {
+            this.maxPrefetchedMessages = maxPrefetchedMessages;
+            return this;
+        }
+
+        public void setMaxPrefetchedMessages(Integer maxPrefetchedMessages) {
+            maxPrefetchedMessages(maxPrefetchedMessages);
+        }
+
+        @Override
+        public Builder maxInflightReceiveBatches(Integer maxInflightReceiveBatches) {
+            this.maxInflightReceiveBatches = maxInflightReceiveBatches;
+            return this;
+        }
+
+        public void setMaxInflightReceiveBatches(Integer maxInflightReceiveBatches) {
+            maxInflightReceiveBatches(maxInflightReceiveBatches);
+        }
+
+        @Override
+        public Builder longPollWaitTime(Duration longPollWaitTime) {
+            this.longPollWaitTime = longPollWaitTime;
+            return this;
+        }
+
+        public void setLongPollWaitTime(Duration longPollWaitTime) {
+            longPollWaitTime(longPollWaitTime);
+        }
+
+        @Override
+        public Builder visibilityTimeout(Duration visibilityTimeout) {
+            this.visibilityTimeout = visibilityTimeout;
+            return this;
+        }
+
+        public void setVisibilityTimeout(Duration visibilityTimeout) {
+            visibilityTimeout(visibilityTimeout);
+        }
+
+        @Override
+        public Builder receiveAttributeNames(Collection<String> receiveAttributeNames) {
+            this.receiveAttributeNames = receiveAttributeNames == null ? Collections.emptyList() : receiveAttributeNames;
+            return this;
+        }
+
+        public void setReceiveAttributeNames(Collection<String> receiveAttributeNames) {
+            receiveAttributeNames(receiveAttributeNames);
+        }
+
+        @Override
+        public Builder receiveMessageAttributeNames(Collection<String> receiveMessageAttributeNames) {
+            this.receiveMessageAttributeNames = receiveMessageAttributeNames == null ? Collections.emptyList()
+                                                                                     : receiveMessageAttributeNames;
+            return this;
+        }
+
+        public void setReceiveMessageAttributeNames(Collection<String> receiveMessageAttributeNames) {
+            receiveMessageAttributeNames(receiveMessageAttributeNames);
+        }
+
+        @Override
+        public QueueBufferConfiguration build() {
+            return new QueueBufferConfiguration(this);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs.buffered;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.buffered.internal.QueueBuffer;
+import software.amazon.awssdk.services.sqs.model.AddPermissionRequest;
+import software.amazon.awssdk.services.sqs.model.AddPermissionResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.CreateQueueRequest;
+import software.amazon.awssdk.services.sqs.model.CreateQueueResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteQueueRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteQueueResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.ListDeadLetterSourceQueuesRequest;
+import software.amazon.awssdk.services.sqs.model.ListDeadLetterSourceQueuesResponse;
+import software.amazon.awssdk.services.sqs.model.ListQueueTagsRequest;
+import software.amazon.awssdk.services.sqs.model.ListQueueTagsResponse;
+import software.amazon.awssdk.services.sqs.model.ListQueuesRequest;
+import software.amazon.awssdk.services.sqs.model.ListQueuesResponse;
+import software.amazon.awssdk.services.sqs.model.PurgeQueueRequest;
+import software.amazon.awssdk.services.sqs.model.PurgeQueueResponse;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.RemovePermissionRequest;
+import software.amazon.awssdk.services.sqs.model.RemovePermissionResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.TagQueueRequest;
+import software.amazon.awssdk.services.sqs.model.TagQueueResponse;
+import software.amazon.awssdk.services.sqs.model.UntagQueueRequest;
+import software.amazon.awssdk.services.sqs.model.UntagQueueResponse;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * An {@link SqsAsyncClient} that combines requests into batch requests and prefetches messages, to make fewer requests to
+ * SQS when many messages are sent and received.
+ *
+ * <p>Messages sent to, deleted from, or whose visibility is changed in a queue are combined into {@link #sendMessageBatch},
+ * {@link #deleteMessageBatch} and {@link #changeMessageVisibilityBatch} requests of up to 10 entries, which are sent once
+ * they are full or once they have been open for a short while. The future returned for each request completes with its own
+ * entry of the result of the batch, and fails with an {@link software.amazon.awssdk.services.sqs.model.SqsException} if that
+ * entry failed.
+ *
+ * <p>Messages are received from a queue ahead of the calls to {@link #receiveMessage}, with long polling, and those calls are
+ * served from the received messages. Calls that set a visibility timeout or a receive request attempt id, or that ask for
+ * attributes the prefetched messages were not received with, are sent as is. Prefetched messages are invisible to other
+ * consumers until they are received from this client, so each consumer of a queue should use its own client.
+ *
+ * <p>Requests that have an override configuration, and all other operations, are sent as is.
+ *
+ * <p>The client wraps another {@link SqsAsyncClient}, which it closes when it is closed. Closing sends the open batches
+ * and waits for them to complete, and makes the prefetched messages visible again. Buffered requests made after the client is
+ * closed fail.
+ *
+ * @see QueueBufferConfiguration
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class SqsBufferedAsyncClient implements SqsAsyncClient {
+    private final SqsAsyncClient delegate;
+    private final QueueBufferConfiguration configuration;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentMap<String, QueueBuffer> queueBuffers = new ConcurrentHashMap<>();
+
+    // Set while holding the lock on queueBuffers, so that no buffer is created after close has taken the ones to close
+    private volatile boolean closed;
+
+    private SqsBufferedAsyncClient(SqsAsyncClient delegate, QueueBufferConfiguration configuration) {
+        this.delegate = Validate.paramNotNull(delegate, "delegate");
+        this.configuration = Validate.paramNotNull(configuration, "configuration");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().threadNamePrefix("sqs-buffered-client").daemonThreads(true).build());
+    }
+
+    /**
+     * Create a client that buffers the requests made with the given client, using the default {@link QueueBufferConfiguration}.
+     */
+    public static SqsBufferedAsyncClient create(SqsAsyncClient delegate) {
+        return create(delegate, QueueBufferConfiguration.builder().build());
+    }
+
+    /**
+     * Create a client that buffers the requests made with the given client, as configured.
+     */
+    public static SqsBufferedAsyncClient create(SqsAsyncClient delegate, QueueBufferConfiguration configuration) {
+        return new SqsBufferedAsyncClient(delegate, configuration);
+    }
+
+    @Override
+    public String serviceName() {
+        return delegate.serviceName();
+    }
+
+    @Override
+    public CompletableFuture<SendMessageResponse> sendMessage(SendMessageRequest request) {
+        if (!isBuffered(request, request.queueUrl())) {
+            return delegate.sendMessage(request);
+        }
+        return buffered(request.queueUrl(), b -> b.sendMessage(request));
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageResponse> deleteMessage(DeleteMessageRequest request) {
+        if (!isBuffered(request, request.queueUrl())) {
+            return delegate.deleteMessage(request);
+        }
+        return buffered(request.queueUrl(), b -> b.deleteMessage(request));
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityResponse> changeMessageVisibility(ChangeMessageVisibilityRequest request) {
+        if (!isBuffered(request, request.queueUrl())) {
+            return delegate.changeMessageVisibility(request);
+        }
+        return buffered(request.queueUrl(), b -> b.changeMessageVisibility(request));
+    }
+
+    @Override
+    public CompletableFuture<ReceiveMessageResponse> receiveMessage(ReceiveMessageRequest request) {
+        if (!isBuffered(request, request.queueUrl())) {
+            return delegate.receiveMessage(request);
+        }
+        return buffered(request.queueUrl(), b -> b.receiveMessage(request));
+    }
+
+    @Override
+    public CompletableFuture<SendMessageBatchResponse> sendMessageBatch(SendMessageBatchRequest request) {
+        return delegate.sendMessageBatch(request);
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageBatchResponse> deleteMessageBatch(DeleteMessageBatchRequest request) {
+        return delegate.deleteMessageBatch(request);
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityBatchResponse> changeMessageVisibilityBatch(
+        ChangeMessageVisibilityBatchRequest request) {
+        return delegate.changeMessageVisibilityBatch(request);
+    }
+
+    @Override
+    public CompletableFuture<AddPermissionResponse> addPermission(AddPermissionRequest request) {
+        return delegate.addPermission(request);
+    }
+
+    @Override
+    public CompletableFuture<CreateQueueResponse> createQueue(CreateQueueRequest request) {
+        return delegate.createQueue(request);
+    }
+
+    @Override
+    public CompletableFuture<DeleteQueueResponse> deleteQueue(DeleteQueueRequest request) {
+        return delegate.deleteQueue(request);
+    }
+
+    @Override
+    public CompletableFuture<GetQueueAttributesResponse> getQueueAttributes(GetQueueAttributesRequest request) {
+        return delegate.getQueueAttributes(request);
+    }
+
+    @Override
+    public CompletableFuture<GetQueueUrlResponse> getQueueUrl(GetQueueUrlRequest request) {
+        return delegate.getQueueUrl(request);
+    }
+
+    @Override
+    public CompletableFuture<ListDeadLetterSourceQueuesResponse> listDeadLetterSourceQueues(
+        ListDeadLetterSourceQueuesRequest request) {
+        return delegate.listDeadLetterSourceQueues(request);
+    }
+
+    @Override
+    public CompletableFuture<ListQueueTagsResponse> listQueueTags(ListQueueTagsRequest request) {
+        return delegate.listQueueTags(request);
+    }
+
+    @Override
+    public CompletableFuture<ListQueuesResponse> listQueues(ListQueuesRequest request) {
+        return delegate.listQueues(request);
+    }
+
+    @Override
+    public CompletableFuture<PurgeQueueResponse> purgeQueue(PurgeQueueRequest request) {
+        return delegate.purgeQueue(request);
+    }
+
+    @Override
+    public CompletableFuture<RemovePermissionResponse> removePermission(RemovePermissionRequest request) {
+        return delegate.removePermission(request);
+    }
+
+    @Override
+    public CompletableFuture<SetQueueAttributesResponse> setQueueAttributes(SetQueueAttributesRequest request) {
+        return delegate.setQueueAttributes(request);
+    }
+
+    @Override
+    public CompletableFuture<TagQueueResponse> tagQueue(TagQueueRequest request) {
+        return delegate.tagQueue(request);
+    }
+
+    @Override
+    public CompletableFuture<UntagQueueResponse> untagQueue(UntagQueueRequest request) {
+        return delegate.untagQueue(request);
+    }
+
+    /**
+     * Send the open batches and wait for every buffered request to complete, make the prefetched messages visible again, and
+     * close the wrapped client.
+     */
+    @Override
+    public void close() {
+        List<CompletableFuture<Void>> closing = new ArrayList<>();
+        synchronized (queueBuffers) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queueBuffers.values().forEach(b -> closing.add(b.close()));
+        }
+        try {
+            CompletableFuture.allOf(closing.toArray(new CompletableFuture[0])).join();
+        } finally {
+            scheduler.shutdownNow();
+            delegate.close();
+        }
+    }
+
+    private static boolean isBuffered(AwsRequest request, String queueUrl) {
+        return queueUrl != null && !request.overrideConfiguration().isPresent();
+    }
+
+    /**
+     * Make a request through the buffer of the given queue, or fail it if the client has been closed.
+     */
+    private <T> CompletableFuture<T> buffered(String queueUrl, Function<QueueBuffer, CompletableFuture<T>> request) {
+        QueueBuffer queueBuffer = closed ? null : queueBuffer(queueUrl);
+        if (queueBuffer == null) {
+            return CompletableFutureUtils.failedFuture(SdkClientException.create("The client has been closed."));
+        }
+        return request.apply(queueBuffer);
+    }
+
+    /**
+     * @return The buffer of the given queue, or null if the client has been closed before it was created.
+     */
+    private QueueBuffer queueBuffer(String queueUrl) {
+        QueueBuffer queueBuffer = queueBuffers.get(queueUrl);
+        if (queueBuffer != null) {
+            return queueBuffer;
+        }
+        synchronized (queueBuffers) {
+            if (closed) {
+                return null;
+            }
+            return queueBuffers.computeIfAbsent(queueUrl, u -> new QueueBuffer(delegate, u, scheduler, configuration));
+        }
+    }
+}
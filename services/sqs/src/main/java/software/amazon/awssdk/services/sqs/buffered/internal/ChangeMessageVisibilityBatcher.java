@@ -0,0 +1,87 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs.buffered.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.buffered.QueueBufferConfiguration;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+
+/**
+ * Combines the changes to the visibility of the messages of a queue into {@link ChangeMessageVisibilityBatchRequest}s.
+ */
+@ThreadSafe
+@SdkInternalApi
+final class ChangeMessageVisibilityBatcher extends OutboundBatcher<ChangeMessageVisibilityRequest,
+                                                                   ChangeMessageVisibilityResponse,
+                                                                   ChangeMessageVisibilityBatchResponse> {
+
+    private final SqsAsyncClient client;
+    private final String queueUrl;
+
+    ChangeMessageVisibilityBatcher(SqsAsyncClient client,
+                                   String queueUrl,
+                                   ScheduledExecutorService scheduler,
+                                   QueueBufferConfiguration configuration) {
+        super(scheduler,
+              configuration.maxBatchSize(),
+              Long.MAX_VALUE,
+              configuration.maxBatchOpenDuration(),
+              configuration.maxInflightOutboundBatches());
+        this.client = client;
+        this.queueUrl = queueUrl;
+    }
+
+    @Override
+    protected CompletableFuture<ChangeMessageVisibilityBatchResponse> sendBatch(List<ChangeMessageVisibilityRequest> requests) {
+        List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            ChangeMessageVisibilityRequest request = requests.get(i);
+            entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                                                                .id(Integer.toString(i))
+                                                                .receiptHandle(request.receiptHandle())
+                                                                .visibilityTimeout(request.visibilityTimeout())
+                                                                .build());
+        }
+        return client.changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest.builder()
+                                                                                      .queueUrl(queueUrl)
+                                                                                      .entries(entries)
+                                                                                      .build());
+    }
+
+    @Override
+    protected Map<String, ChangeMessageVisibilityResponse> successfulEntries(ChangeMessageVisibilityBatchResponse response) {
+        ChangeMessageVisibilityResponse entryResponse = ChangeMessageVisibilityResponse.builder().build();
+        return byId(response.successful(), ChangeMessageVisibilityBatchResultEntry::id, e -> entryResponse);
+    }
+
+    @Override
+    protected List<BatchResultErrorEntry> failedEntries(ChangeMessageVisibilityBatchResponse response) {
+        return response.failed();
+    }
+}
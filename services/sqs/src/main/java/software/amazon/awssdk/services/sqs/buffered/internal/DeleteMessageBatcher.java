@@ -0,0 +1,80 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs.buffered.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.buffered.QueueBufferConfiguration;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+
+/**
+ * Combines the messages deleted from a queue into {@link DeleteMessageBatchRequest}s.
+ */
+@ThreadSafe
+@SdkInternalApi
+final class DeleteMessageBatcher
+    extends OutboundBatcher<DeleteMessageRequest, DeleteMessageResponse, DeleteMessageBatchResponse> {
+
+    private final SqsAsyncClient client;
+    private final String queueUrl;
+
+    DeleteMessageBatcher(SqsAsyncClient client,
+                         String queueUrl,
+                         ScheduledExecutorService scheduler,
+                         QueueBufferConfiguration configuration) {
+        super(scheduler,
+              configuration.maxBatchSize(),
+              Long.MAX_VALUE,
+              configuration.maxBatchOpenDuration(),
+              configuration.maxInflightOutboundBatches());
+        this.client = client;
+        this.queueUrl = queueUrl;
+    }
+
+    @Override
+    protected CompletableFuture<DeleteMessageBatchResponse> sendBatch(List<DeleteMessageRequest> requests) {
+        List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            entries.add(DeleteMessageBatchRequestEntry.builder()
+                                                      .id(Integer.toString(i))
+                                                      .receiptHandle(requests.get(i).receiptHandle())
+                                                      .build());
+        }
+        return client.deleteMessageBatch(DeleteMessageBatchRequest.builder().queueUrl(queueUrl).entries(entries).build());
+    }
+
+    @Override
+    protected Map<String, DeleteMessageResponse> successfulEntries(DeleteMessageBatchResponse batchResponse) {
+        return byId(batchResponse.successful(), DeleteMessageBatchResultEntry::id, e -> DeleteMessageResponse.builder().build());
+    }
+
+    @Override
+    protected List<BatchResultErrorEntry> failedEntries(DeleteMessageBatchResponse batchResponse) {
+        return batchResponse.failed();
+    }
+}
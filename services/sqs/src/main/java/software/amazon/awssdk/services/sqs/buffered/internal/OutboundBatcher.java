@@ -0,0 +1,307 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs.buffered.internal;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+/**
+ * Combines the requests made to one queue with one operation into batch requests, and completes the future of each request
+ * with its entry in the result of the batch.
+ *
+ * <p>Requests are added to the open batch, which is sent once it is full, or once it has been open for the configured
+ * duration. While the configured number of batches are in flight, an open batch that has been open long enough is left to
+ * fill up instead of being sent partly full, and full batches wait for a batch to complete. This bounds the number of batch
+ * requests in flight, but not the number of requests waiting: batches never grow beyond the maximum batch size, and any
+ * number of full batches may be waiting to be sent.
+ *
+ * <p>The entries of a batch are identified by their index in it.
+ *
+ * @param <RequestT> The request combined into batches.
+ * @param <ResponseT> The response to the request, made from its entry in the result of the batch.
+ * @param <BatchResponseT> The response to the batch request.
+ */
+@ThreadSafe
+@SdkInternalApi
+abstract class OutboundBatcher<RequestT, ResponseT, BatchResponseT> {
+    private final ScheduledExecutorService scheduler;
+    private final int maxBatchSize;
+    private final long maxBatchBytes;
+    private final Duration maxBatchOpenDuration;
+    private final int maxInflightBatches;
+
+    /**
+     * The futures of every request that has been added but not completed, to wait for when closing.
+     */
+    private final Set<CompletableFuture<ResponseT>> outstanding = ConcurrentHashMap.newKeySet();
+
+    private final Deque<List<Entry<RequestT, ResponseT>>> fullBatches = new ArrayDeque<>();
+    private List<Entry<RequestT, ResponseT>> openBatch = new ArrayList<>();
+    private long openBatchBytes;
+    private boolean openBatchDue;
+    private ScheduledFuture<?> openBatchTimer;
+    private int inflightBatches;
+    private boolean closed;
+
+    /**
+     * @param scheduler Executor on which open batches are sent once they have been open long enough.
+     * @param maxBatchSize Most requests in a batch.
+     * @param maxBatchBytes Most bytes in a batch, as counted by {@link #sizeInBytes(Object)}.
+     * @param maxBatchOpenDuration How long a batch is open before it is sent.
+     * @param maxInflightBatches Most batches sent at once.
+     */
+    OutboundBatcher(ScheduledExecutorService scheduler,
+                    int maxBatchSize,
+                    long maxBatchBytes,
+                    Duration maxBatchOpenDuration,
+                    int maxInflightBatches) {
+        this.scheduler = scheduler;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchBytes = maxBatchBytes;
+        this.maxBatchOpenDuration = maxBatchOpenDuration;
+        this.maxInflightBatches = maxInflightBatches;
+    }
+
+    /**
+     * Send a batch request made of the given requests, each of which is given its index in the list as its entry id.
+     */
+    protected abstract CompletableFuture<BatchResponseT> sendBatch(List<RequestT> requests);
+
+    /**
+     * @return The response to each request that succeeded, by entry id.
+     */
+    protected abstract Map<String, ResponseT> successfulEntries(BatchResponseT batchResponse);
+
+    /**
+     * @return The error of each request that failed.
+     */
+    protected abstract List<BatchResultErrorEntry> failedEntries(BatchResponseT batchResponse);
+
+    /**
+     * @return How many bytes the given request takes up towards the limit on the size of a batch.
+     */
+    protected long sizeInBytes(RequestT request) {
+        return 0;
+    }
+
+    /**
+     * Add the given request to the open batch.
+     *
+     * @return A future completed with the response to the request, once the batch it was sent in has completed.
+     */
+    public CompletableFuture<ResponseT> add(RequestT request) {
+        CompletableFuture<ResponseT> future = new CompletableFuture<>();
+        long size = sizeInBytes(request);
+        List<List<Entry<RequestT, ResponseT>>> toSend;
+        synchronized (this) {
+            if (closed) {
+                future.completeExceptionally(SdkClientException.create("The client has been closed."));
+                return future;
+            }
+            outstanding.add(future);
+            if (!openBatch.isEmpty() && openBatchBytes + size > maxBatchBytes) {
+                closeOpenBatch();
+            }
+            openBatch.add(new Entry<>(request, future));
+            openBatchBytes += size;
+            if (openBatch.size() >= maxBatchSize) {
+                // Waits with the other full batches if too many are in flight
+                closeOpenBatch();
+            } else if (openBatch.size() == 1) {
+                openBatchTimer = scheduler.schedule(this::openBatchExpired, maxBatchOpenDuration.toNanos(),
+                                                    TimeUnit.NANOSECONDS);
+            }
+            toSend = takeSendableBatches();
+        }
+        future.whenComplete((r, t) -> outstanding.remove(future));
+        toSend.forEach(this::send);
+        return future;
+    }
+
+    /**
+     * Send the open batch without waiting for it to fill up, and stop accepting requests.
+     *
+     * @return A future completed once every request that has been added has completed.
+     */
+    public CompletableFuture<Void> close() {
+        List<List<Entry<RequestT, ResponseT>>> toSend;
+        synchronized (this) {
+            closed = true;
+            if (!openBatch.isEmpty()) {
+                closeOpenBatch();
+            }
+            toSend = takeSendableBatches();
+        }
+        toSend.forEach(this::send);
+        return CompletableFuture.allOf(outstanding.toArray(new CompletableFuture[0]))
+                                .handle((r, t) -> null);
+    }
+
+    private void openBatchExpired() {
+        List<List<Entry<RequestT, ResponseT>>> toSend;
+        synchronized (this) {
+            openBatchTimer = null;
+            if (openBatch.isEmpty()) {
+                return;
+            }
+            if (inflightBatches < maxInflightBatches) {
+                closeOpenBatch();
+            } else {
+                // Let it fill up until a batch completes
+                openBatchDue = true;
+            }
+            toSend = takeSendableBatches();
+        }
+        toSend.forEach(this::send);
+    }
+
+    private void batchCompleted() {
+        List<List<Entry<RequestT, ResponseT>>> toSend;
+        synchronized (this) {
+            inflightBatches--;
+            if (openBatchDue && fullBatches.isEmpty()) {
+                closeOpenBatch();
+            }
+            toSend = takeSendableBatches();
+        }
+        toSend.forEach(this::send);
+    }
+
+    private void closeOpenBatch() {
+        fullBatches.add(openBatch);
+        openBatch = new ArrayList<>();
+        openBatchBytes = 0;
+        openBatchDue = false;
+        if (openBatchTimer != null) {
+            openBatchTimer.cancel(false);
+            openBatchTimer = null;
+        }
+    }
+
+    private List<List<Entry<RequestT, ResponseT>>> takeSendableBatches() {
+        if (fullBatches.isEmpty() || inflightBatches >= maxInflightBatches) {
+            return Collections.emptyList();
+        }
+        List<List<Entry<RequestT, ResponseT>>> sendable = new ArrayList<>();
+        while (!fullBatches.isEmpty() && inflightBatches < maxInflightBatches) {
+            sendable.add(fullBatches.poll());
+            inflightBatches++;
+        }
+        return sendable;
+    }
+
+    private void send(List<Entry<RequestT, ResponseT>> batch) {
+        List<RequestT> requests = new ArrayList<>(batch.size());
+        for (Entry<RequestT, ResponseT> entry : batch) {
+            requests.add(entry.request);
+        }
+
+        CompletableFuture<BatchResponseT> response;
+        try {
+            response = sendBatch(requests);
+        } catch (Throwable t) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(t);
+        }
+
+        response.whenComplete((r, t) -> {
+            try {
+                if (t != null) {
+                    batch.forEach(e -> e.future.completeExceptionally(t));
+                } else {
+                    completeEntries(batch, r);
+                }
+            } finally {
+                batchCompleted();
+            }
+        });
+    }
+
+    private void completeEntries(List<Entry<RequestT, ResponseT>> batch, BatchResponseT batchResponse) {
+        Map<String, ResponseT> successful = successfulEntries(batchResponse);
+        Map<String, BatchResultErrorEntry> failed = new HashMap<>();
+        for (BatchResultErrorEntry error : failedEntries(batchResponse)) {
+            failed.put(error.id(), error);
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            String id = Integer.toString(i);
+            CompletableFuture<ResponseT> future = batch.get(i).future;
+            if (successful.containsKey(id)) {
+                future.complete(successful.get(id));
+            } else if (failed.containsKey(id)) {
+                future.completeExceptionally(toException(failed.get(id)));
+            } else {
+                future.completeExceptionally(SdkClientException.create("The batch response has no result for entry " + id));
+            }
+        }
+    }
+
+    private static Throwable toException(BatchResultErrorEntry error) {
+        return SqsException.builder()
+                           .message(error.message())
+                           .statusCode(Boolean.TRUE.equals(error.senderFault()) ? 400 : 500)
+                           .awsErrorDetails(AwsErrorDetails.builder()
+                                                           .errorCode(error.code())
+                                                           .errorMessage(error.message())
+                                                           .serviceName(SqsAsyncClient.SERVICE_NAME)
+                                                           .build())
+                           .build();
+    }
+
+    /**
+     * Index the given entries of a batch response by their id.
+     */
+    static <EntryT, ResponseT> Map<String, ResponseT> byId(List<EntryT> entries,
+                                                           Function<EntryT, String> id,
+                                                           Function<EntryT, ResponseT> response) {
+        Map<String, ResponseT> byId = new HashMap<>();
+        for (EntryT entry : entries) {
+            byId.put(id.apply(entry), response.apply(entry));
+        }
+        return byId;
+    }
+
+    private static final class Entry<RequestT, ResponseT> {
+        private final RequestT request;
+        private final CompletableFuture<ResponseT> future;
+
+        private Entry(RequestT request, CompletableFuture<ResponseT> future) {
+            this.request = request;
+            this.future = future;
+        }
+    }
+}
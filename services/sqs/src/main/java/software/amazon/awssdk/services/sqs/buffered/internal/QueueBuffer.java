@@ -0,0 +1,92 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs.buffered.internal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.buffered.QueueBufferConfiguration;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+/**
+ * Buffers the requests made to one queue: the messages sent to it, deleted from it and whose visibility is changed are
+ * combined into batch requests, and the messages received from it are prefetched.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class QueueBuffer {
+    private final SqsAsyncClient client;
+    private final SendMessageBatcher sendMessageBatcher;
+    private final DeleteMessageBatcher deleteMessageBatcher;
+    private final ChangeMessageVisibilityBatcher changeMessageVisibilityBatcher;
+    private final ReceiveBuffer receiveBuffer;
+
+    public QueueBuffer(SqsAsyncClient client,
+                       String queueUrl,
+                       ScheduledExecutorService scheduler,
+                       QueueBufferConfiguration configuration) {
+        this.client = client;
+        this.sendMessageBatcher = new SendMessageBatcher(client, queueUrl, scheduler, configuration);
+        this.deleteMessageBatcher = new DeleteMessageBatcher(client, queueUrl, scheduler, configuration);
+        this.changeMessageVisibilityBatcher = new ChangeMessageVisibilityBatcher(client, queueUrl, scheduler, configuration);
+        this.receiveBuffer = configuration.maxPrefetchedMessages() > 0
+                             ? new ReceiveBuffer(client, queueUrl, scheduler, configuration)
+                             : null;
+    }
+
+    public CompletableFuture<SendMessageResponse> sendMessage(SendMessageRequest request) {
+        return sendMessageBatcher.add(request);
+    }
+
+    public CompletableFuture<DeleteMessageResponse> deleteMessage(DeleteMessageRequest request) {
+        return deleteMessageBatcher.add(request);
+    }
+
+    public CompletableFuture<ChangeMessageVisibilityResponse> changeMessageVisibility(ChangeMessageVisibilityRequest request) {
+        return changeMessageVisibilityBatcher.add(request);
+    }
+
+    /**
+     * Serve the given request from the prefetched messages, or send it as is if it cannot be.
+     */
+    public CompletableFuture<ReceiveMessageResponse> receiveMessage(ReceiveMessageRequest request) {
+        if (receiveBuffer == null || !receiveBuffer.canServe(request)) {
+            return client.receiveMessage(request);
+        }
+        return receiveBuffer.receive(request);
+    }
+
+    /**
+     * Send the open batches, stop prefetching and release the prefetched messages.
+     *
+     * @return A future completed once every buffered request has completed.
+     */
+    public CompletableFuture<Void> close() {
+        return CompletableFuture.allOf(sendMessageBatcher.close(),
+                                       deleteMessageBatcher.close(),
+                                       changeMessageVisibilityBatcher.close(),
+                                       receiveBuffer == null ? CompletableFuture.completedFuture(null) : receiveBuffer.close());
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs.buffered.internal;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.buffered.QueueBufferConfiguration;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+/**
+ * Receives messages from a queue ahead of the calls to receive them, and serves those calls from the received messages.
+ *
+ * <p>Prefetching starts with the first call to receive messages, and long polls the queue until the configured number of
+ * messages, plus enough for the calls waiting for messages, are buffered or being received. A call that finds no buffered
+ * message waits for the next receive to complete, for at most its own wait time.
+ *
+ * <p>Messages that have been buffered for more than half of their visibility timeout are made visible in the queue again
+ * rather than served. If no visibility timeout is configured, the visibility timeout of the queue is looked up before the
+ * first receive.
+ *
+ * <p>If a receive fails, the calls waiting for messages fail with its error, and prefetching stops until the next call, so
+ * that a queue that cannot be read is not polled in a loop.
+ */
+@ThreadSafe
+@SdkInternalApi
+final class ReceiveBuffer {
+    /**
+     * The most messages SQS returns from one receive request.
+     */
+    private static final int MAX_RECEIVE_BATCH_SIZE = 10;
+
+    private final SqsAsyncClient client;
+    private final String queueUrl;
+    private final ScheduledExecutorService scheduler;
+    private final QueueBufferConfiguration configuration;
+    private final ReceiveMessageRequest prefetchRequest;
+    private final Set<String> attributeNames;
+    private final Set<String> messageAttributeNames;
+
+    private final Deque<BufferedMessage> messages = new ArrayDeque<>();
+    private final Deque<PendingReceive> pendingReceives = new ArrayDeque<>();
+    private final Set<CompletableFuture<ReceiveMessageResponse>> inflightReceives = new HashSet<>();
+    private int inflightReceiveCount;
+
+    /**
+     * The visibility timeout of the prefetched messages, once it is known.
+     */
+    private Duration visibilityTimeout;
+
+    /**
+     * The lookup of the visibility timeout of the queue, if one has been started and has not failed.
+     */
+    private CompletableFuture<Duration> visibilityTimeoutLookup;
+    private boolean prefetchStopped;
+    private boolean closed;
+
+    ReceiveBuffer(SqsAsyncClient client,
+                  String queueUrl,
+                  ScheduledExecutorService scheduler,
+                  QueueBufferConfiguration configuration) {
+        this.client = client;
+        this.queueUrl = queueUrl;
+        this.scheduler = scheduler;
+        this.configuration = configuration;
+        this.visibilityTimeout = configuration.visibilityTimeout();
+        this.attributeNames = new HashSet<>(configuration.receiveAttributeNames());
+        this.messageAttributeNames = new HashSet<>(configuration.receiveMessageAttributeNames());
+        this.prefetchRequest = ReceiveMessageRequest.builder()
+                                                    .queueUrl(queueUrl)
+                                                    .maxNumberOfMessages(MAX_RECEIVE_BATCH_SIZE)
+                                                    .waitTimeSeconds((int) configuration.longPollWaitTime().getSeconds())
+                                                    .visibilityTimeout(configuration.visibilityTimeout() == null
+                                                                       ? null
+                                                                       : (int) configuration.visibilityTimeout().getSeconds())
+                                                    .attributeNamesWithStrings(configuration.receiveAttributeNames())
+                                                    .messageAttributeNames(configuration.receiveMessageAttributeNames())
+                                                    .build();
+    }
+
+    /**
+     * @return Whether the given request can be served from the prefetched messages. It cannot if it changes how the messages
+     * are received, or asks for attributes that the prefetched messages were not received with.
+     */
+    boolean canServe(ReceiveMessageRequest request) {
+        return request.visibilityTimeout() == null
+               && request.receiveRequestAttemptId() == null
+               && attributeNames.containsAll(request.attributeNamesAsStrings())
+               && messageAttributeNames.containsAll(request.messageAttributeNames());
+    }
+
+    CompletableFuture<ReceiveMessageResponse> receive(ReceiveMessageRequest request) {
+        int maxMessages = request.maxNumberOfMessages() == null ? 1 : request.maxNumberOfMessages();
+        int waitSeconds = request.waitTimeSeconds() == null ? 0 : request.waitTimeSeconds();
+        CompletableFuture<ReceiveMessageResponse> future = new CompletableFuture<>();
+        List<Message> received = null;
+        List<Message> expired;
+        List<ReceiveMessageRequest> prefetches;
+
+        synchronized (this) {
+            if (closed) {
+                future.completeExceptionally(SdkClientException.create("The client has been closed."));
+                return future;
+            }
+            prefetchStopped = false;
+            expired = takeExpiredMessages();
+            if (!messages.isEmpty() || waitSeconds <= 0) {
+                received = takeMessages(maxMessages);
+            } else {
+                PendingReceive pendingReceive = new PendingReceive(maxMessages, future);
+                pendingReceive.timeout = scheduler.schedule(() -> timeOut(pendingReceive), waitSeconds, TimeUnit.SECONDS);
+                pendingReceives.add(pendingReceive);
+            }
+            prefetches = takePrefetches();
+        }
+
+        release(expired);
+        prefetches.forEach(this::prefetch);
+        if (received != null) {
+            future.complete(response(received));
+        }
+        return future;
+    }
+
+    /**
+     * Stop prefetching, complete the calls waiting for messages without any, and make the buffered messages visible in the
+     * queue again.
+     *
+     * @return A future completed once the buffered messages have been released.
+     */
+    CompletableFuture<Void> close() {
+        List<PendingReceive> waiting;
+        List<Message> buffered = new ArrayList<>();
+        List<CompletableFuture<ReceiveMessageResponse>> inflight;
+        synchronized (this) {
+            closed = true;
+            waiting = new ArrayList<>(pendingReceives);
+            pendingReceives.clear();
+            messages.forEach(m -> buffered.add(m.message));
+            messages.clear();
+            inflight = new ArrayList<>(inflightReceives);
+        }
+
+        // A long poll can take a while to return, and the messages it returns become visible again in time anyway
+        inflight.forEach(f -> f.cancel(false));
+        for (PendingReceive pendingReceive : waiting) {
+            pendingReceive.timeout.cancel(false);
+            pendingReceive.future.complete(response(Collections.emptyList()));
+        }
+        return release(buffered);
+    }
+
+    private void prefetch(ReceiveMessageRequest request) {
+        CompletableFuture<ReceiveMessageResponse> response;
+        try {
+            CompletableFuture<Duration> lookup = lookUpVisibilityTimeout();
+            response = lookup == null ? client.receiveMessage(request)
+                                      : lookup.thenCompose(ignored -> client.receiveMessage(request));
+        } catch (Throwable t) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(t);
+        }
+
+        synchronized (this) {
+            inflightReceives.add(response);
+        }
+        CompletableFuture<ReceiveMessageResponse> inflight = response;
+        response.whenComplete((r, t) -> prefetchCompleted(inflight, r, t));
+    }
+
+    private void prefetchCompleted(CompletableFuture<ReceiveMessageResponse> inflight,
+                                   ReceiveMessageResponse response,
+                                   Throwable error) {
+        List<Runnable> completions = new ArrayList<>();
+        List<ReceiveMessageRequest> prefetches;
+        synchronized (this) {
+            inflightReceives.remove(inflight);
+            inflightReceiveCount--;
+            if (closed) {
+                if (response != null) {
+                    completions.add(() -> release(response.messages()));
+                }
+            } else if (error != null) {
+                prefetchStopped = true;
+                for (PendingReceive pendingReceive : pendingReceives) {
+                    pendingReceive.timeout.cancel(false);
+                    completions.add(() -> pendingReceive.future.completeExceptionally(error));
+                }
+                pendingReceives.clear();
+            } else {
+                long now = System.nanoTime();
+                response.messages().forEach(m -> messages.add(new BufferedMessage(m, now)));
+                while (!messages.isEmpty() && !pendingReceives.isEmpty()) {
+                    PendingReceive pendingReceive = pendingReceives.poll();
+                    pendingReceive.timeout.cancel(false);
+                    List<Message> received = takeMessages(pendingReceive.maxMessages);
+                    completions.add(() -> pendingReceive.future.complete(response(received)));
+                }
+            }
+            prefetches = closed ? Collections.emptyList() : takePrefetches();
+        }
+        completions.forEach(Runnable::run);
+        prefetches.forEach(this::prefetch);
+    }
+
+    /**
+     * @return The lookup of the visibility timeout of the queue, started if needed, or null if the visibility timeout is
+     * already known.
+     */
+    private synchronized CompletableFuture<Duration> lookUpVisibilityTimeout() {
+        if (visibilityTimeout != null) {
+            return null;
+        }
+        CompletableFuture<Duration> lookup = visibilityTimeoutLookup;
+        if (lookup == null) {
+            GetQueueAttributesRequest request = GetQueueAttributesRequest.builder()
+                                                                         .queueUrl(queueUrl)
+                                                                         .attributeNames(QueueAttributeName.VISIBILITY_TIMEOUT)
+                                                                         .build();
+            lookup = client.getQueueAttributes(request).thenApply(ReceiveBuffer::visibilityTimeout);
+            visibilityTimeoutLookup = lookup;
+            lookup.whenComplete(this::visibilityTimeoutLookedUp);
+        }
+        return lookup;
+    }
+
+    private synchronized void visibilityTimeoutLookedUp(Duration timeout, Throwable error) {
+        if (error == null) {
+            visibilityTimeout = timeout;
+        }
+        // A failed lookup fails the receives waiting for it, and is tried again by the next prefetch
+        visibilityTimeoutLookup = null;
+    }
+
+    private static Duration visibilityTimeout(GetQueueAttributesResponse response) {
+        String seconds = response.attributes().get(QueueAttributeName.VISIBILITY_TIMEOUT);
+        if (seconds == null) {
+            throw SdkClientException.create("The queue attributes did not include its VisibilityTimeout.");
+        }
+        return Duration.ofSeconds(Long.parseLong(seconds));
+    }
+
+    private void timeOut(PendingReceive pendingReceive) {
+        synchronized (this) {
+            if (!pendingReceives.remove(pendingReceive)) {
+                return;
+            }
+        }
+        pendingReceive.future.complete(response(Collections.emptyList()));
+    }
+
+    /**
+     * @return The receive requests to send to keep enough messages buffered or being received.
+     */
+    private List<ReceiveMessageRequest> takePrefetches() {
+        if (prefetchStopped) {
+            return Collections.emptyList();
+        }
+        int demand = configuration.maxPrefetchedMessages();
+        for (PendingReceive pendingReceive : pendingReceives) {
+            demand += pendingReceive.maxMessages;
+        }
+        List<ReceiveMessageRequest> prefetches = new ArrayList<>();
+        while (inflightReceiveCount < configuration.maxInflightReceiveBatches()
+               && messages.size() + inflightReceiveCount * MAX_RECEIVE_BATCH_SIZE < demand) {
+            prefetches.add(prefetchRequest);
+            inflightReceiveCount++;
+        }
+        return prefetches;
+    }
+
+    private List<Message> takeMessages(int maxMessages) {
+        List<Message> taken = new ArrayList<>(Math.min(maxMessages, messages.size()));
+        while (taken.size() < maxMessages && !messages.isEmpty()) {
+            taken.add(messages.poll().message);
+        }
+        return taken;
+    }
+
+    /**
+     * Take the messages that have been buffered for more than half of their visibility timeout, so that the messages that are
+     * served can still be processed before they become visible to other consumers.
+     */
+    private List<Message> takeExpiredMessages() {
+        if (visibilityTimeout == null || messages.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Message> expired = new ArrayList<>();
+        long expiredBefore = System.nanoTime() - visibilityTimeout.toNanos() / 2;
+        while (!messages.isEmpty() && messages.peek().receivedAt - expiredBefore < 0) {
+            expired.add(messages.poll().message);
+        }
+        return expired;
+    }
+
+    private CompletableFuture<Void> release(List<Message> messagesToRelease) {
+        List<CompletableFuture<?>> releases = new ArrayList<>();
+        for (int start = 0; start < messagesToRelease.size(); start += MAX_RECEIVE_BATCH_SIZE) {
+            List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>();
+            int end = Math.min(start + MAX_RECEIVE_BATCH_SIZE, messagesToRelease.size());
+            for (int i = start; i < end; i++) {
+                entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                                                                    .id(Integer.toString(i - start))
+                                                                    .receiptHandle(messagesToRelease.get(i).receiptHandle())
+                                                                    .visibilityTimeout(0)
+                                                                    .build());
+            }
+            releases.add(client.changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest.builder()
+                                                                                                .queueUrl(queueUrl)
+                                                                                                .entries(entries)
+                                                                                                .build()));
+        }
+        // The messages become visible again once their visibility timeout expires even if this fails
+        return CompletableFuture.allOf(releases.toArray(new CompletableFuture[0])).handle((r, t) -> null);
+    }
+
+    private static ReceiveMessageResponse response(List<Message> messages) {
+        return ReceiveMessageResponse.builder().messages(messages).build();
+    }
+
+    private static final class BufferedMessage {
+        private final Message message;
+        private final long receivedAt;
+
+        private BufferedMessage(Message message, long receivedAt) {
+            this.message = message;
+            this.receivedAt = receivedAt;
+        }
+    }
+
+    private static final class PendingReceive {
+        private final int maxMessages;
+        private final CompletableFuture<ReceiveMessageResponse> future;
+        private ScheduledFuture<?> timeout;
+
+        private PendingReceive(int maxMessages, CompletableFuture<ReceiveMessageResponse> future) {
+            this.maxMessages = maxMessages;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs.buffered.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.buffered.QueueBufferConfiguration;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+/**
+ * Combines the messages sent to a queue into {@link SendMessageBatchRequest}s.
+ *
+ * <p>A batch is limited to the same total size as a single message, so it is sent early if the next message would not fit.
+ * Batches sent to a FIFO queue are sent one at a time, so that the messages are sent in the order they were given.
+ */
+@ThreadSafe
+@SdkInternalApi
+final class SendMessageBatcher extends OutboundBatcher<SendMessageRequest, SendMessageResponse, SendMessageBatchResponse> {
+    /**
+     * The most bytes of message bodies and attributes in a batch.
+     */
+    private static final long MAX_BATCH_BYTES = 256 * 1024;
+
+    private final SqsAsyncClient client;
+    private final String queueUrl;
+
+    SendMessageBatcher(SqsAsyncClient client,
+                       String queueUrl,
+                       ScheduledExecutorService scheduler,
+                       QueueBufferConfiguration configuration) {
+        super(scheduler,
+              configuration.maxBatchSize(),
+              MAX_BATCH_BYTES,
+              configuration.maxBatchOpenDuration(),
+              queueUrl.endsWith(".fifo") ? 1 : configuration.maxInflightOutboundBatches());
+        this.client = client;
+        this.queueUrl = queueUrl;
+    }
+
+    @Override
+    protected CompletableFuture<SendMessageBatchResponse> sendBatch(List<SendMessageRequest> requests) {
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            SendMessageRequest request = requests.get(i);
+            entries.add(SendMessageBatchRequestEntry.builder()
+                                                    .id(Integer.toString(i))
+                                                    .messageBody(request.messageBody())
+                                                    .delaySeconds(request.delaySeconds())
+                                                    .messageAttributes(request.messageAttributes())
+                                                    .messageDeduplicationId(request.messageDeduplicationId())
+                                                    .messageGroupId(request.messageGroupId())
+                                                    .build());
+        }
+        return client.sendMessageBatch(SendMessageBatchRequest.builder().queueUrl(queueUrl).entries(entries).build());
+    }
+
+    @Override
+    protected Map<String, SendMessageResponse> successfulEntries(SendMessageBatchResponse batchResponse) {
+        return byId(batchResponse.successful(), SendMessageBatchResultEntry::id, SendMessageBatcher::toResponse);
+    }
+
+    private static SendMessageResponse toResponse(SendMessageBatchResultEntry entry) {
+        return SendMessageResponse.builder()
+                                  .messageId(entry.messageId())
+                                  .md5OfMessageBody(entry.md5OfMessageBody())
+                                  .md5OfMessageAttributes(entry.md5OfMessageAttributes())
+                                  .sequenceNumber(entry.sequenceNumber())
+                                  .build();
+    }
+
+    @Override
+    protected List<BatchResultErrorEntry> failedEntries(SendMessageBatchResponse batchResponse) {
+        return batchResponse.failed();
+    }
+
+    @Override
+    protected long sizeInBytes(SendMessageRequest request) {
+        long size = request.messageBody() == null ? 0 : request.messageBody().getBytes(UTF_8).length;
+        if (request.messageAttributes() != null) {
+            for (Map.Entry<String, MessageAttributeValue> attribute : request.messageAttributes().entrySet()) {
+                size += attribute.getKey().getBytes(UTF_8).length + sizeInBytes(attribute.getValue());
+            }
+        }
+        return size;
+    }
+
+    private static long sizeInBytes(MessageAttributeValue value) {
+        long size = value.dataType() == null ? 0 : value.dataType().getBytes(UTF_8).length;
+        if (value.stringValue() != null) {
+            size += value.stringValue().getBytes(UTF_8).length;
+        }
+        if (value.binaryValue() != null) {
+            size += value.binaryValue().asByteBuffer().remaining();
+        }
+        if (value.stringListValues() != null) {
+            for (String string : value.stringListValues()) {
+                size += string.getBytes(UTF_8).length;
+            }
+        }
+        if (value.binaryListValues() != null) {
+            for (SdkBytes bytes : value.binaryListValues()) {
+                size += bytes.asByteBuffer().remaining();
+            }
+        }
+        return size;
+    }
+}
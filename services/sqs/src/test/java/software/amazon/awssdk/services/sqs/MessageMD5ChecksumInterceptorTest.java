@@ -15,9 +15,13 @@
 
 package software.amazon.awssdk.services.sqs;
 
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.Test;
 import software.amazon.awssdk.core.SdkBytes;
@@ -25,6 +29,7 @@ import software.amazon.awssdk.core.SdkRequest;
 import software.amazon.awssdk.core.SdkResponse;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
 import software.amazon.awssdk.core.internal.interceptor.InterceptorContext;
 import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
@@ -36,6 +41,8 @@ import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.Md5Utils;
 
 /**
  * Verifies the functionality of {@link MessageMD5ChecksumInterceptor}.
@@ -225,6 +232,100 @@ public class MessageMD5ChecksumInterceptorTest {
         assertFailure(ReceiveMessageRequest.builder().build(), response);
     }
 
+    @Test
+    public void receiveMessageDeferredValidationSkipsChecksums() {
+        Message badMessage = Message.builder()
+                                    .body(messageBody())
+                                    .messageAttributes(messageAttributes())
+                                    .md5OfBody("bad")
+                                    .md5OfMessageAttributes(messageAttributesChecksum())
+                                    .build();
+
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                                                                .messages(badMessage)
+                                                                .build();
+
+        SqsConfiguration clientConfiguration = SqsConfiguration.builder().deferMessageChecksumValidation(true).build();
+        callInterceptor(new MessageMD5ChecksumInterceptor(), clientConfiguration, ReceiveMessageRequest.builder().build(),
+                        response);
+        assertThatThrownBy(() -> MessageChecksums.validate(badMessage)).isInstanceOf(SdkClientException.class);
+    }
+
+    @Test
+    public void messageChecksumsPassesValidChecksums() {
+        MessageChecksums.validate(Message.builder()
+                                         .body(messageBody())
+                                         .messageAttributes(messageAttributes())
+                                         .md5OfBody(messageBodyChecksum())
+                                         .md5OfMessageAttributes(messageAttributesChecksum())
+                                         .build());
+    }
+
+    @Test
+    public void receiveMessageParallelValidationReportsFirstFailure() {
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            messages.add(Message.builder()
+                                .body(messageBody())
+                                .messageAttributes(messageAttributes())
+                                .md5OfBody(i == 3 || i == 7 ? "bad" + i : messageBodyChecksum())
+                                .md5OfMessageAttributes(messageAttributesChecksum())
+                                .build());
+        }
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder().messages(messages).build();
+
+        assertThatThrownBy(() -> callInterceptor(new MessageMD5ChecksumInterceptor(parallelConfiguration()),
+                                                 ReceiveMessageRequest.builder().build(),
+                                                 response))
+                .isInstanceOf(SdkClientException.class)
+                .hasMessageContaining("bad3");
+    }
+
+    @Test
+    public void sendMessageBatchParallelValidationPassesValidChecksums() {
+        List<SendMessageBatchRequestEntry> requestEntries = new ArrayList<>();
+        List<SendMessageBatchResultEntry> resultEntries = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requestEntries.add(SendMessageBatchRequestEntry.builder()
+                                                           .id(Integer.toString(i))
+                                                           .messageBody(messageBody())
+                                                           .messageAttributes(messageAttributes())
+                                                           .build());
+            resultEntries.add(SendMessageBatchResultEntry.builder()
+                                                         .id(Integer.toString(i))
+                                                         .md5OfMessageBody(messageBodyChecksum())
+                                                         .md5OfMessageAttributes(messageAttributesChecksum())
+                                                         .build());
+        }
+
+        callInterceptor(new MessageMD5ChecksumInterceptor(parallelConfiguration()),
+                        SendMessageBatchRequest.builder().entries(requestEntries).build(),
+                        SendMessageBatchResponse.builder().successful(resultEntries).build());
+    }
+
+    @Test
+    public void malformedParallelValidationThresholdNamesProperty() {
+        assertThat(SqsConfiguration.parseThreshold(" 1024 ")).isEqualTo(1024L);
+        assertThatThrownBy(() -> SqsConfiguration.parseThreshold("1MB"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("aws.sqsParallelChecksumValidationThreshold")
+            .hasCauseInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    public void calculatorMatchesUtf8EncodingOfString() throws Exception {
+        StringBuilder large = new StringBuilder();
+        while (large.length() < 512 * 1024) {
+            large.append("ascii \u00e9\u4e2d\ud83d\ude00 ");
+        }
+        String[] bodies = { "", "Body", "\u00e9\u4e2d\ud83d\ude00", "unpaired \ud83d surrogate", large.toString(), "Body" };
+
+        for (String body : bodies) {
+            String expected = BinaryUtils.toHex(Md5Utils.computeMD5Hash(body.getBytes(StandardCharsets.UTF_8)));
+            assertThat(MessageMD5Calculator.get().messageBodyMd5(body)).isEqualTo(expected);
+        }
+    }
+
     private void assertSuccess(SdkRequest request, SdkResponse response) {
         callInterceptor(request, response);
     }
@@ -235,11 +336,28 @@ public class MessageMD5ChecksumInterceptorTest {
     }
 
     private void callInterceptor(SdkRequest request, SdkResponse response) {
-        new MessageMD5ChecksumInterceptor().afterExecution(InterceptorContext.builder()
-                                                                             .request(request)
-                                                                             .response(response)
-                                                                             .build(),
-                                                           new ExecutionAttributes());
+        callInterceptor(new MessageMD5ChecksumInterceptor(), request, response);
+    }
+
+    private void callInterceptor(MessageMD5ChecksumInterceptor interceptor, SdkRequest request, SdkResponse response) {
+        callInterceptor(interceptor, null, request, response);
+    }
+
+    private void callInterceptor(MessageMD5ChecksumInterceptor interceptor, SqsConfiguration clientConfiguration,
+                                 SdkRequest request, SdkResponse response) {
+        interceptor.afterExecution(InterceptorContext.builder()
+                                                     .request(request)
+                                                     .response(response)
+                                                     .build(),
+                                   new ExecutionAttributes().putAttribute(SdkExecutionAttribute.SERVICE_CONFIG,
+                                                                          clientConfiguration));
+    }
+
+    private static SqsConfiguration parallelConfiguration() {
+        return SqsConfiguration.builder()
+                               .deferMessageChecksumValidation(false)
+                               .parallelChecksumValidationThreshold(0L)
+                               .build();
     }
 
     private String messageBody() {
@@ -0,0 +1,505 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs.buffered;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.After;
+import org.junit.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+public class SqsBufferedAsyncClientTest {
+    private static final String QUEUE_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/queue";
+
+    private final FakeSqsAsyncClient sqs = new FakeSqsAsyncClient();
+    private SqsBufferedAsyncClient client;
+
+    @After
+    public void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    public void sendMessage_fullBatchesSentStraightAway_restSentOnClose() throws Exception {
+        client = client(QueueBufferConfiguration.builder().maxBatchOpenDuration(Duration.ofMinutes(1)));
+
+        List<CompletableFuture<SendMessageResponse>> responses = sendMessages(25);
+        responses.subList(0, 20).forEach(CompletableFuture::join);
+        assertThat(batchSizes(sqs.sendBatches)).containsExactly(10, 10);
+        assertThat(responses.get(20)).isNotDone();
+
+        client.close();
+        client = null;
+
+        assertThat(batchSizes(sqs.sendBatches)).containsExactly(10, 10, 5);
+        for (int i = 0; i < responses.size(); i++) {
+            assertThat(responses.get(i).get().messageId()).isEqualTo("id-message-" + i);
+        }
+    }
+
+    @Test
+    public void sendMessage_batchNotFull_sentAfterMaxBatchOpenDuration() throws Exception {
+        client = client(QueueBufferConfiguration.builder().maxBatchOpenDuration(Duration.ofMillis(50)));
+
+        List<CompletableFuture<SendMessageResponse>> responses = sendMessages(3);
+
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertThat(batchSizes(sqs.sendBatches)).containsExactly(3);
+    }
+
+    @Test
+    public void sendMessage_batchesInFlightAtLimit_openBatchKeepsFilling() throws Exception {
+        client = client(QueueBufferConfiguration.builder()
+                                                .maxBatchOpenDuration(Duration.ofMillis(10))
+                                                .maxInflightOutboundBatches(1));
+        sqs.holdResponses = new CompletableFuture<>();
+
+        CompletableFuture<SendMessageResponse> first = client.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("first"));
+        waitFor(() -> sqs.sendBatches.size() == 1);
+        List<CompletableFuture<SendMessageResponse>> rest = sendMessages(5);
+        Thread.sleep(100);
+        assertThat(sqs.sendBatches).hasSize(1);
+
+        sqs.holdResponses.complete(null);
+
+        first.get(5, TimeUnit.SECONDS);
+        CompletableFuture.allOf(rest.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertThat(batchSizes(sqs.sendBatches)).containsExactly(1, 5);
+    }
+
+    @Test
+    public void sendMessage_batchWouldExceedMaxSize_sentEarly() {
+        client = client(QueueBufferConfiguration.builder().maxBatchOpenDuration(Duration.ofMillis(500)));
+        String body = String.join("", Collections.nCopies(100 * 1024, "a"));
+
+        List<CompletableFuture<SendMessageResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            responses.add(client.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody(body)));
+        }
+
+        responses.forEach(CompletableFuture::join);
+        assertThat(batchSizes(sqs.sendBatches)).containsExactly(2, 1);
+    }
+
+    @Test
+    public void sendMessage_entryFailed_failsOnlyItsFuture() {
+        client = client(QueueBufferConfiguration.builder().maxBatchOpenDuration(Duration.ofMillis(500)));
+
+        CompletableFuture<SendMessageResponse> succeeded = client.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("ok"));
+        CompletableFuture<SendMessageResponse> failed = client.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("fail"));
+
+        assertThat(succeeded.join().messageId()).isEqualTo("id-ok");
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(SqsException.class)
+                                        .satisfies(e -> {
+                                            SqsException cause = (SqsException) e.getCause();
+                                            assertThat(cause.awsErrorDetails().errorCode()).isEqualTo("InvalidMessageContents");
+                                            assertThat(cause.statusCode()).isEqualTo(400);
+                                        });
+        assertThat(sqs.sendBatches).hasSize(1);
+    }
+
+    @Test
+    public void sendMessage_batchFailed_failsEveryFuture() {
+        client = client(QueueBufferConfiguration.builder().maxBatchOpenDuration(Duration.ofMillis(500)));
+        RuntimeException error = new RuntimeException("Batch failed");
+        sqs.batchError = error;
+
+        List<CompletableFuture<SendMessageResponse>> responses = sendMessages(3);
+
+        for (CompletableFuture<SendMessageResponse> response : responses) {
+            assertThatThrownBy(response::join).hasCause(error);
+        }
+    }
+
+    @Test
+    public void deleteAndChangeVisibility_combinedIntoBatches() {
+        client = client(QueueBufferConfiguration.builder().maxBatchOpenDuration(Duration.ofMillis(500)));
+
+        List<CompletableFuture<DeleteMessageResponse>> deletes = new ArrayList<>();
+        List<CompletableFuture<ChangeMessageVisibilityResponse>> visibilityChanges = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            String receiptHandle = "handle-" + i;
+            deletes.add(client.deleteMessage(r -> r.queueUrl(QUEUE_URL).receiptHandle(receiptHandle)));
+            visibilityChanges.add(client.changeMessageVisibility(r -> r.queueUrl(QUEUE_URL)
+                                                                       .receiptHandle(receiptHandle)
+                                                                       .visibilityTimeout(30)));
+        }
+
+        deletes.forEach(CompletableFuture::join);
+        visibilityChanges.forEach(CompletableFuture::join);
+        assertThat(sqs.deleteBatches.stream().map(b -> b.entries().size())).containsExactly(10, 2);
+        assertThat(sqs.visibilityBatches.stream().map(b -> b.entries().size())).containsExactly(10, 2);
+        assertThat(sqs.visibilityBatches.get(0).entries().get(3).receiptHandle()).isEqualTo("handle-3");
+        assertThat(sqs.visibilityBatches.get(0).entries().get(3).visibilityTimeout()).isEqualTo(30);
+    }
+
+    @Test
+    public void receiveMessage_servedFromPrefetchedMessages() throws Exception {
+        client = client(QueueBufferConfiguration.builder());
+        sqs.addMessages(5);
+
+        ReceiveMessageResponse first = client.receiveMessage(r -> r.queueUrl(QUEUE_URL)
+                                                                   .maxNumberOfMessages(2)
+                                                                   .waitTimeSeconds(5))
+                                             .get(5, TimeUnit.SECONDS);
+        ReceiveMessageResponse second = client.receiveMessage(r -> r.queueUrl(QUEUE_URL).maxNumberOfMessages(10))
+                                              .get(5, TimeUnit.SECONDS);
+
+        assertThat(first.messages()).extracting(Message::body).containsExactly("message-0", "message-1");
+        assertThat(second.messages()).extracting(Message::body).containsExactly("message-2", "message-3", "message-4");
+        assertThat(sqs.receiveRequests).allSatisfy(r -> {
+            assertThat(r.maxNumberOfMessages()).isEqualTo(10);
+            assertThat(r.waitTimeSeconds()).isEqualTo(20);
+        });
+    }
+
+    @Test
+    public void receiveMessage_noMessagesBuffered_waitsForMessages() throws Exception {
+        client = client(QueueBufferConfiguration.builder());
+
+        CompletableFuture<ReceiveMessageResponse> response = client.receiveMessage(r -> r.queueUrl(QUEUE_URL)
+                                                                                         .waitTimeSeconds(10));
+        waitFor(() -> !sqs.receiveRequests.isEmpty());
+        assertThat(response).isNotDone();
+
+        sqs.addMessages(1);
+
+        assertThat(response.get(5, TimeUnit.SECONDS).messages()).extracting(Message::body).containsExactly("message-0");
+    }
+
+    @Test
+    public void receiveMessage_noMessagesWithinWaitTime_returnsNoMessages() throws Exception {
+        client = client(QueueBufferConfiguration.builder());
+
+        ReceiveMessageResponse response = client.receiveMessage(r -> r.queueUrl(QUEUE_URL).waitTimeSeconds(1))
+                                                .get(5, TimeUnit.SECONDS);
+
+        assertThat(response.messages()).isEmpty();
+    }
+
+    @Test
+    public void receiveMessage_receiveFails_failsWaitingReceives() {
+        client = client(QueueBufferConfiguration.builder());
+        RuntimeException error = new RuntimeException("Receive failed");
+        sqs.receiveError = error;
+
+        CompletableFuture<ReceiveMessageResponse> response = client.receiveMessage(r -> r.queueUrl(QUEUE_URL)
+                                                                                         .waitTimeSeconds(10));
+
+        assertThatThrownBy(response::join).hasCause(error);
+    }
+
+    @Test
+    public void receiveMessage_withVisibilityTimeout_sentAsIs() {
+        client = client(QueueBufferConfiguration.builder());
+        sqs.addMessages(1);
+        ReceiveMessageRequest request = ReceiveMessageRequest.builder().queueUrl(QUEUE_URL).visibilityTimeout(60).build();
+
+        client.receiveMessage(request).join();
+
+        assertThat(sqs.receiveRequests).containsExactly(request);
+    }
+
+    @Test
+    public void receiveMessage_prefetchDisabled_sentAsIs() {
+        client = client(QueueBufferConfiguration.builder().maxPrefetchedMessages(0));
+        sqs.addMessages(1);
+        ReceiveMessageRequest request = ReceiveMessageRequest.builder().queueUrl(QUEUE_URL).build();
+
+        client.receiveMessage(request).join();
+
+        assertThat(sqs.receiveRequests).containsExactly(request);
+    }
+
+    @Test
+    public void receiveMessage_prefetchedMessagesOlderThanHalfQueueVisibilityTimeout_released() throws Exception {
+        client = client(QueueBufferConfiguration.builder());
+        sqs.queueVisibilityTimeout = "1";
+        sqs.addMessages(3);
+
+        client.receiveMessage(r -> r.queueUrl(QUEUE_URL).waitTimeSeconds(5)).get(5, TimeUnit.SECONDS);
+        Thread.sleep(600);
+        ReceiveMessageResponse response = client.receiveMessage(r -> r.queueUrl(QUEUE_URL).maxNumberOfMessages(10))
+                                                .get(5, TimeUnit.SECONDS);
+
+        assertThat(response.messages()).isEmpty();
+        assertThat(sqs.queueAttributeRequests).hasSize(1);
+        assertThat(sqs.visibilityBatches).hasSize(1);
+        assertThat(sqs.visibilityBatches.get(0).entries())
+            .extracting(ChangeMessageVisibilityBatchRequestEntry::receiptHandle)
+            .containsExactly("handle-message-1", "handle-message-2");
+    }
+
+    @Test
+    public void receiveMessage_visibilityTimeoutConfigured_queueNotAsked() throws Exception {
+        client = client(QueueBufferConfiguration.builder().visibilityTimeout(Duration.ofSeconds(60)));
+        sqs.addMessages(1);
+
+        client.receiveMessage(r -> r.queueUrl(QUEUE_URL).waitTimeSeconds(5)).get(5, TimeUnit.SECONDS);
+
+        assertThat(sqs.queueAttributeRequests).isEmpty();
+        assertThat(sqs.receiveRequests).extracting(ReceiveMessageRequest::visibilityTimeout).containsOnly(60);
+    }
+
+    @Test
+    public void close_releasesPrefetchedMessages() throws Exception {
+        client = client(QueueBufferConfiguration.builder());
+        sqs.addMessages(3);
+
+        client.receiveMessage(r -> r.queueUrl(QUEUE_URL).waitTimeSeconds(5)).get(5, TimeUnit.SECONDS);
+        client.close();
+        client = null;
+
+        assertThat(sqs.visibilityBatches).hasSize(1);
+        assertThat(sqs.visibilityBatches.get(0).entries())
+            .extracting(ChangeMessageVisibilityBatchRequestEntry::receiptHandle)
+            .containsExactly("handle-message-1", "handle-message-2");
+        assertThat(sqs.visibilityBatches.get(0).entries())
+            .extracting(ChangeMessageVisibilityBatchRequestEntry::visibilityTimeout)
+            .containsOnly(0);
+    }
+
+    @Test
+    public void requestsAfterClose_failWithoutCreatingQueueBuffer() throws Exception {
+        client = client(QueueBufferConfiguration.builder());
+        client.close();
+
+        String otherQueueUrl = QUEUE_URL + "-other";
+        assertThatThrownBy(() -> client.sendMessage(r -> r.queueUrl(otherQueueUrl).messageBody("late")).join())
+            .hasCauseInstanceOf(SdkClientException.class)
+            .hasMessageContaining("The client has been closed.");
+        assertThatThrownBy(() -> client.receiveMessage(r -> r.queueUrl(otherQueueUrl)).join())
+            .hasCauseInstanceOf(SdkClientException.class);
+        client = null;
+
+        assertThat(sqs.sendBatches).isEmpty();
+        assertThat(sqs.receiveRequests).isEmpty();
+    }
+
+    private SqsBufferedAsyncClient client(QueueBufferConfiguration.Builder configuration) {
+        return SqsBufferedAsyncClient.create(sqs, configuration.build());
+    }
+
+    private List<CompletableFuture<SendMessageResponse>> sendMessages(int count) {
+        return IntStream.range(0, count)
+                        .mapToObj(i -> client.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("message-" + i)))
+                        .collect(Collectors.toList());
+    }
+
+    private static List<Integer> batchSizes(List<SendMessageBatchRequest> batches) {
+        synchronized (batches) {
+            return batches.stream().map(b -> b.entries().size()).collect(Collectors.toList());
+        }
+    }
+
+    private static void waitFor(Condition condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.met()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private interface Condition {
+        boolean met();
+    }
+
+    /**
+     * A client that answers the requests made by the buffered client from an in-memory queue. Messages whose body starts
+     * with "fail" are rejected, and receives that find the queue empty wait until messages are added.
+     */
+    private static final class FakeSqsAsyncClient implements SqsAsyncClient {
+        private final List<SendMessageBatchRequest> sendBatches = Collections.synchronizedList(new ArrayList<>());
+        private final List<DeleteMessageBatchRequest> deleteBatches = Collections.synchronizedList(new ArrayList<>());
+        private final List<ChangeMessageVisibilityBatchRequest> visibilityBatches =
+            Collections.synchronizedList(new ArrayList<>());
+        private final List<ReceiveMessageRequest> receiveRequests = Collections.synchronizedList(new ArrayList<>());
+        private final List<GetQueueAttributesRequest> queueAttributeRequests = Collections.synchronizedList(new ArrayList<>());
+        private final List<Message> messages = new ArrayList<>();
+        private final List<WaitingReceive> waitingReceives = new ArrayList<>();
+        private int messageCount;
+        private volatile CompletableFuture<Void> holdResponses = CompletableFuture.completedFuture(null);
+        private volatile RuntimeException batchError;
+        private volatile RuntimeException receiveError;
+        private volatile String queueVisibilityTimeout = "30";
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public CompletableFuture<SendMessageBatchResponse> sendMessageBatch(SendMessageBatchRequest request) {
+            sendBatches.add(request);
+            List<SendMessageBatchResultEntry> successful = new ArrayList<>();
+            List<BatchResultErrorEntry> failed = new ArrayList<>();
+            for (SendMessageBatchRequestEntry entry : request.entries()) {
+                if (entry.messageBody().startsWith("fail")) {
+                    failed.add(BatchResultErrorEntry.builder()
+                                                    .id(entry.id())
+                                                    .senderFault(true)
+                                                    .code("InvalidMessageContents")
+                                                    .message("Invalid message")
+                                                    .build());
+                } else {
+                    successful.add(SendMessageBatchResultEntry.builder()
+                                                              .id(entry.id())
+                                                              .messageId("id-" + entry.messageBody())
+                                                              .build());
+                }
+            }
+            return respond(SendMessageBatchResponse.builder().successful(successful).failed(failed).build());
+        }
+
+        @Override
+        public CompletableFuture<DeleteMessageBatchResponse> deleteMessageBatch(DeleteMessageBatchRequest request) {
+            deleteBatches.add(request);
+            return respond(DeleteMessageBatchResponse.builder()
+                                                     .successful(request.entries().stream()
+                                                                        .map(e -> DeleteMessageBatchResultEntry.builder()
+                                                                                                               .id(e.id())
+                                                                                                               .build())
+                                                                        .collect(Collectors.toList()))
+                                                     .build());
+        }
+
+        @Override
+        public CompletableFuture<ChangeMessageVisibilityBatchResponse> changeMessageVisibilityBatch(
+            ChangeMessageVisibilityBatchRequest request) {
+            visibilityBatches.add(request);
+            return respond(ChangeMessageVisibilityBatchResponse.builder()
+                                                               .successful(request.entries().stream()
+                                                                                  .map(e -> resultEntry(e.id()))
+                                                                                  .collect(Collectors.toList()))
+                                                               .build());
+        }
+
+        @Override
+        public CompletableFuture<GetQueueAttributesResponse> getQueueAttributes(GetQueueAttributesRequest request) {
+            queueAttributeRequests.add(request);
+            return CompletableFuture.completedFuture(
+                GetQueueAttributesResponse.builder()
+                                          .attributes(Collections.singletonMap(QueueAttributeName.VISIBILITY_TIMEOUT,
+                                                                               queueVisibilityTimeout))
+                                          .build());
+        }
+
+        @Override
+        public CompletableFuture<ReceiveMessageResponse> receiveMessage(ReceiveMessageRequest request) {
+            receiveRequests.add(request);
+            CompletableFuture<ReceiveMessageResponse> response = new CompletableFuture<>();
+            if (receiveError != null) {
+                response.completeExceptionally(receiveError);
+                return response;
+            }
+            int maxMessages = request.maxNumberOfMessages() == null ? 1 : request.maxNumberOfMessages();
+            synchronized (this) {
+                if (messages.isEmpty() && request.waitTimeSeconds() != null && request.waitTimeSeconds() > 0) {
+                    waitingReceives.add(new WaitingReceive(maxMessages, response));
+                    return response;
+                }
+                response.complete(takeMessages(maxMessages));
+            }
+            return response;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private void addMessages(int count) {
+            List<Runnable> completions = new ArrayList<>();
+            synchronized (this) {
+                for (int i = 0; i < count; i++) {
+                    String body = "message-" + messageCount++;
+                    messages.add(Message.builder().body(body).receiptHandle("handle-" + body).build());
+                }
+                while (!messages.isEmpty() && !waitingReceives.isEmpty()) {
+                    WaitingReceive waitingReceive = waitingReceives.remove(0);
+                    ReceiveMessageResponse response = takeMessages(waitingReceive.maxMessages);
+                    completions.add(() -> waitingReceive.response.complete(response));
+                }
+            }
+            completions.forEach(Runnable::run);
+        }
+
+        private ReceiveMessageResponse takeMessages(int maxMessages) {
+            List<Message> taken = new ArrayList<>();
+            while (taken.size() < maxMessages && !messages.isEmpty()) {
+                taken.add(messages.remove(0));
+            }
+            return ReceiveMessageResponse.builder().messages(taken).build();
+        }
+
+        private <T> CompletableFuture<T> respond(T response) {
+            RuntimeException error = batchError;
+            return holdResponses.thenApply(ignored -> {
+                if (error != null) {
+                    throw error;
+                }
+                return response;
+            });
+        }
+
+        private static ChangeMessageVisibilityBatchResultEntry resultEntry(String id) {
+            return ChangeMessageVisibilityBatchResultEntry.builder().id(id).build();
+        }
+    }
+
+    private static final class WaitingReceive {
+        private final int maxMessages;
+        private final CompletableFuture<ReceiveMessageResponse> response;
+
+        private WaitingReceive(int maxMessages, CompletableFuture<ReceiveMessageResponse> response) {
+            this.maxMessages = maxMessages;
+            this.response = response;
+        }
+    }
+}
@@ -17,14 +17,17 @@ package software.amazon.awssdk.services.sts.auth;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import software.amazon.awssdk.annotations.NotThreadSafe;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.auth.credentials.AsyncAwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.services.sts.StsClient;
 import software.amazon.awssdk.services.sts.model.Credentials;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
 import software.amazon.awssdk.utils.Validate;
 import software.amazon.awssdk.utils.cache.CachedSupplier;
@@ -35,11 +38,12 @@ import software.amazon.awssdk.utils.cache.RefreshResult;
  * An implementation of {@link AwsCredentialsProvider} that is extended within this package to provide support for periodically-
  * updating session credentials. When credentials get close to expiration, this class will attempt to update them asynchronously
  * using {@link #getUpdatedCredentials(StsClient)}. If the credentials end up expiring, this class will block all calls to
- * {@link #resolveCredentials()} until the credentials can be updated.
+ * {@link #resolveCredentials()} until the credentials can be updated. Calls to {@link #resolveCredentialsAsync()} do not block
+ * in that case: the credentials are updated on a thread shared by all providers.
  */
 @ThreadSafe
 @SdkInternalApi
-abstract class StsCredentialsProvider implements AwsCredentialsProvider, SdkAutoCloseable {
+abstract class StsCredentialsProvider implements AsyncAwsCredentialsProvider, SdkAutoCloseable {
     /**
      * The STS client that should be used for periodically updating the session credentials in the background.
      */
@@ -78,6 +82,13 @@ abstract class StsCredentialsProvider implements AwsCredentialsProvider, SdkAuto
         return sessionCache.get().getSessionCredentials();
     }
 
+    @Override
+    public CompletableFuture<AwsCredentials> resolveCredentialsAsync() {
+        CompletableFuture<SessionCredentialsHolder> session = sessionCache.getAsync();
+        CompletableFuture<AwsCredentials> credentials = session.thenApply(SessionCredentialsHolder::getSessionCredentials);
+        return CompletableFutureUtils.forwardExceptionTo(credentials, session);
+    }
+
     @Override
     public void close() {
         sessionCache.close();
@@ -119,6 +130,9 @@ abstract class StsCredentialsProvider implements AwsCredentialsProvider, SdkAuto
          * Configure whether the provider should fetch credentials asynchronously in the background. If this is true, threads are
          * less likely to block when credentials are loaded, but additional resources are used to maintain the provider.
          *
+         * <p>The session is renewed with STS about five minutes before it expires, from a pool of threads that this provider
+         * shares with the other credential providers in the JVM.</p>
+         *
          * <p>By default, this is disabled.</p>
          */
         @SuppressWarnings("unchecked")
@@ -20,6 +20,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.any;
 import static com.github.tomakehurst.wiremock.client.WireMock.containing;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
@@ -95,6 +96,53 @@ public abstract class SdkHttpClientTestSuite {
         assertThatThrownBy(client.prepareRequest(request, requestContext)::call).isInstanceOf(SSLHandshakeException.class);
     }
 
+    @Test
+    public void streamsRequestBodyWithContentLength() throws Exception {
+        testForLargeRequestBody(true);
+    }
+
+    @Test
+    public void streamsRequestBodyOfUnknownLength() throws Exception {
+        testForLargeRequestBody(false);
+    }
+
+    /**
+     * Send a body that is larger than the buffers of the client, so that it is written in several parts.
+     */
+    protected void testForLargeRequestBody(boolean contentLengthKnown) throws Exception {
+        SdkHttpClient client = createSdkHttpClient();
+        stubForMockRequest(HttpURLConnection.HTTP_OK);
+
+        String body = largeRequestBody();
+        SdkHttpFullRequest.Builder request = SdkHttpFullRequest.builder()
+                                                               .host("localhost")
+                                                               .protocol("http")
+                                                               .port(mockServer.port())
+                                                               .method(SdkHttpMethod.PUT)
+                                                               .putHeader("Host", "localhost")
+                                                               .content(new ByteArrayInputStream(
+                                                                   body.getBytes(StandardCharsets.UTF_8)));
+        if (contentLengthKnown) {
+            request.putHeader("Content-Length", Integer.toString(body.length()));
+        }
+        SdkHttpFullResponse response = client.prepareRequest(request.build(), requestContext).call();
+
+        assertThat(IoUtils.toUtf8String(response.content().orElse(null))).isEqualTo("hello");
+        verify(1, putRequestedFor(urlMatching("/")).withRequestBody(equalTo(body)));
+    }
+
+    /**
+     * A body of 256 KiB.
+     */
+    private static String largeRequestBody() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; body.length() < 256 * 1024; i++) {
+            body.append(i).append(',');
+        }
+        body.setLength(256 * 1024);
+        return body.toString();
+    }
+
     private void testForResponseCode(int returnCode) throws Exception {
         SdkHttpClient client = createSdkHttpClient();
 
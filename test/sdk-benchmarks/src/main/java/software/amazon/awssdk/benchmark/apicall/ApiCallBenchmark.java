@@ -0,0 +1,113 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.apicall;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.benchmark.utils.StubSdkAsyncHttpClient;
+import software.amazon.awssdk.benchmark.utils.StubSdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.protocoljsonrpc.ProtocolJsonRpcAsyncClient;
+import software.amazon.awssdk.services.protocoljsonrpc.ProtocolJsonRpcClient;
+import software.amazon.awssdk.services.protocoljsonrpc.model.AllTypesRequest;
+import software.amazon.awssdk.services.protocoljsonrpc.model.AllTypesResponse;
+
+/**
+ * Measures a whole API call made through a generated sync and async client, from building the request to returning the
+ * unmarshalled response: interceptors, marshalling, signing, the request pipeline and unmarshalling. The clients use stub
+ * HTTP clients that return a canned response without touching the network, so this is the SDK's own overhead per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ApiCallBenchmark {
+
+    private static final byte[] RESPONSE_BODY =
+        ("{\"StringMember\":\"The quick brown fox jumps over the lazy dog\","
+         + "\"IntegerMember\":42,\"BooleanMember\":true,\"LongMember\":9223372036854775807,"
+         + "\"SimpleList\":[\"one\",\"two\",\"three\"],"
+         + "\"ListOfStructs\":[{\"StringMember\":\"one\"},{\"StringMember\":\"two\"}],"
+         + "\"MapOfStringToString\":{\"key1\":\"value1\",\"key2\":\"value2\"},"
+         + "\"TimestampMember\":1527854400}").getBytes(StandardCharsets.UTF_8);
+
+    private final AllTypesRequest request = AllTypesRequest.builder()
+                                                           .stringMember("The quick brown fox jumps over the lazy dog")
+                                                           .integerMember(42)
+                                                           .simpleList("one", "two", "three")
+                                                           .build();
+    private ProtocolJsonRpcClient syncClient;
+    private ProtocolJsonRpcAsyncClient asyncClient;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SdkHttpFullResponse response = SdkHttpFullResponse.builder()
+                                                          .statusCode(200)
+                                                          .putHeader("Content-Type", "application/x-amz-json-1.1")
+                                                          .putHeader("x-amzn-RequestId", "benchmark")
+                                                          .build();
+        syncClient = ProtocolJsonRpcClient.builder()
+                                          .httpClient(new StubSdkHttpClient(response, RESPONSE_BODY))
+                                          .credentialsProvider(credentialsProvider())
+                                          .region(Region.US_EAST_1)
+                                          .endpointOverride(URI.create("https://localhost"))
+                                          .build();
+        asyncClient = ProtocolJsonRpcAsyncClient.builder()
+                                                .httpClient(new StubSdkAsyncHttpClient(response, RESPONSE_BODY))
+                                                .credentialsProvider(credentialsProvider())
+                                                .region(Region.US_EAST_1)
+                                                .endpointOverride(URI.create("https://localhost"))
+                                                .build();
+    }
+
+    private static StaticCredentialsProvider credentialsProvider() {
+        return StaticCredentialsProvider.create(AwsBasicCredentials.create("akid", "skid"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        syncClient.close();
+        asyncClient.close();
+    }
+
+    @Benchmark
+    public AllTypesResponse syncCall() {
+        return syncClient.allTypes(request);
+    }
+
+    @Benchmark
+    public AllTypesResponse asyncCall() {
+        return asyncClient.allTypes(request).join();
+    }
+}
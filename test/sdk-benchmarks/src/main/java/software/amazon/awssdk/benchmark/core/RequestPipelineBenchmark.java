@@ -0,0 +1,213 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.core;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Publisher;
+import software.amazon.awssdk.benchmark.utils.BenchmarkRequest;
+import software.amazon.awssdk.benchmark.utils.StubSdkAsyncHttpClient;
+import software.amazon.awssdk.benchmark.utils.StubSdkHttpClient;
+import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
+import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
+import software.amazon.awssdk.core.client.config.SdkClientOption;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.http.ExecutionContext;
+import software.amazon.awssdk.core.http.HttpResponseHandler;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.internal.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.core.internal.http.AmazonAsyncHttpClient;
+import software.amazon.awssdk.core.internal.http.AmazonSyncHttpClient;
+import software.amazon.awssdk.core.internal.interceptor.ExecutionInterceptorChain;
+import software.amazon.awssdk.core.internal.interceptor.InterceptorContext;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.signer.NoOpSigner;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.SdkHttpResponseHandler;
+
+/**
+ * Measures the cost the request pipeline adds to each API call made through {@link AmazonSyncHttpClient} and
+ * {@link AmazonAsyncHttpClient}, using stub HTTP clients so that no I/O is performed.
+ *
+ * <p>Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm} (bytes allocated per call) between SDK versions to see
+ * the effect of changes to the pipeline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RequestPipelineBenchmark {
+
+    private static final SdkHttpFullRequest REQUEST = SdkHttpFullRequest.builder()
+                                                                        .method(SdkHttpMethod.GET)
+                                                                        .protocol("https")
+                                                                        .host("localhost")
+                                                                        .encodedPath("/")
+                                                                        .build();
+
+    private ScheduledExecutorService scheduledExecutor;
+    private AmazonSyncHttpClient syncClient;
+    private AmazonSyncHttpClient syncClientWithTimeouts;
+    private AmazonAsyncHttpClient asyncClient;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        syncClient = new AmazonSyncHttpClient(clientConfiguration().toBuilder()
+                                                                   .option(SdkClientOption.SYNC_HTTP_CLIENT,
+                                                                           StubSdkHttpClient.ok())
+                                                                   .build());
+        syncClientWithTimeouts = new AmazonSyncHttpClient(clientConfiguration().toBuilder()
+                                                                               .option(SdkClientOption.SYNC_HTTP_CLIENT,
+                                                                                       StubSdkHttpClient.ok())
+                                                                               .option(SdkClientOption.API_CALL_TIMEOUT,
+                                                                                       Duration.ofSeconds(30))
+                                                                               .option(SdkClientOption.API_CALL_ATTEMPT_TIMEOUT,
+                                                                                       Duration.ofSeconds(10))
+                                                                               .build());
+        asyncClient = new AmazonAsyncHttpClient(clientConfiguration().toBuilder()
+                                                                     .option(SdkClientOption.ASYNC_HTTP_CLIENT,
+                                                                             StubSdkAsyncHttpClient.ok())
+                                                                     .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        syncClient.close();
+        syncClientWithTimeouts.close();
+        asyncClient.close();
+    }
+
+    @Benchmark
+    public Object syncCall() {
+        // Generated clients create new response handlers for each call, so the benchmark does the same.
+        return syncClient.requestExecutionBuilder()
+                         .request(REQUEST)
+                         .originalRequest(BenchmarkRequest.instance())
+                         .executionContext(executionContext())
+                         .errorResponseHandler(new SyncErrorResponseHandler())
+                         .execute(new SyncResponseHandler());
+    }
+
+    @Benchmark
+    public Object syncCallWithTimeouts() {
+        return syncClientWithTimeouts.requestExecutionBuilder()
+                                     .request(REQUEST)
+                                     .originalRequest(BenchmarkRequest.instance())
+                                     .executionContext(executionContext())
+                                     .errorResponseHandler(new SyncErrorResponseHandler())
+                                     .execute(new SyncResponseHandler());
+    }
+
+    @Benchmark
+    public Object asyncCall() {
+        return asyncClient.requestExecutionBuilder()
+                          .request(REQUEST)
+                          .originalRequest(BenchmarkRequest.instance())
+                          .executionContext(executionContext())
+                          .errorResponseHandler(new AsyncResponseHandler<>())
+                          .execute(new AsyncResponseHandler<>())
+                          .join();
+    }
+
+    private SdkClientConfiguration clientConfiguration() {
+        return SdkClientConfiguration.builder()
+                                     .option(SdkClientOption.EXECUTION_INTERCEPTORS, new ArrayList<>())
+                                     .option(SdkClientOption.ENDPOINT, URI.create("https://localhost"))
+                                     .option(SdkClientOption.RETRY_POLICY, RetryPolicy.defaultRetryPolicy())
+                                     .option(SdkClientOption.ADDITIONAL_HTTP_HEADERS, new HashMap<>())
+                                     .option(SdkClientOption.CRC32_FROM_COMPRESSED_DATA_ENABLED, false)
+                                     .option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE, scheduledExecutor)
+                                     .option(SdkAdvancedClientOption.SIGNER, new NoOpSigner())
+                                     .option(SdkAdvancedClientOption.USER_AGENT_PREFIX, "")
+                                     .option(SdkAdvancedClientOption.USER_AGENT_SUFFIX, "")
+                                     .option(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR, Runnable::run)
+                                     .build();
+    }
+
+    private ExecutionContext executionContext() {
+        InterceptorContext interceptorContext = InterceptorContext.builder()
+                                                                  .request(BenchmarkRequest.instance())
+                                                                  .httpRequest(REQUEST)
+                                                                  .build();
+        return ExecutionContext.builder()
+                               .signer(new NoOpSigner())
+                               .interceptorChain(new ExecutionInterceptorChain(Collections.emptyList()))
+                               .executionAttributes(new ExecutionAttributes())
+                               .interceptorContext(interceptorContext)
+                               .build();
+    }
+
+    private static final class SyncResponseHandler implements HttpResponseHandler<Object> {
+        @Override
+        public Object handle(SdkHttpFullResponse response,
+                             ExecutionAttributes executionAttributes) {
+            return response;
+        }
+    }
+
+    private static final class SyncErrorResponseHandler implements HttpResponseHandler<SdkException> {
+        @Override
+        public SdkException handle(SdkHttpFullResponse response,
+                                   ExecutionAttributes executionAttributes) {
+            return SdkClientException.builder().message("Unexpected error response").build();
+        }
+    }
+
+    private static final class AsyncResponseHandler<T> implements SdkHttpResponseHandler<T> {
+        @Override
+        public void headersReceived(SdkHttpResponse response) {
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> publisher) {
+        }
+
+        @Override
+        public void exceptionOccurred(Throwable throwable) {
+        }
+
+        @Override
+        public T complete() {
+            return null;
+        }
+    }
+}
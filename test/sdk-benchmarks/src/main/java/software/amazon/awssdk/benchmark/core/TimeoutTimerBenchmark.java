@@ -0,0 +1,87 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.core;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.internal.http.timers.HashedWheelTimer;
+import software.amazon.awssdk.core.internal.http.timers.TimeoutTracker;
+import software.amazon.awssdk.core.internal.http.timers.TimerUtils;
+
+/**
+ * Measures the cost of arming and disarming a request timeout, which synchronous clients do twice per API call when both the
+ * api call timeout and the api call attempt timeout are configured. Nearly every timeout is cancelled before it fires, so the
+ * schedule-then-cancel round trip is the cost that matters.
+ *
+ * <p>The benchmark runs on several threads to capture contention on the timer, so run it on a host with more cores than
+ * benchmark threads; otherwise the timer's worker thread is starved and the results mostly measure the OS scheduler.
+ * Multiply the reported time per operation by the target request rate to get the CPU spent on timeouts: at 50,000 requests
+ * per second with both timeouts enabled, every microsecond per operation costs a tenth of a core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(2)
+public class TimeoutTimerBenchmark {
+
+    private static final long TIMEOUT_MILLIS = 30_000;
+
+    private ScheduledThreadPoolExecutor scheduledExecutor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        scheduledExecutor = new ScheduledThreadPoolExecutor(1);
+        scheduledExecutor.setRemoveOnCancelPolicy(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public void hashedWheelTimer() {
+        TimeoutTracker tracker = TimerUtils.timeSyncTaskIfNeeded(HashedWheelTimer.shared(), TIMEOUT_MILLIS,
+                                                                 Thread.currentThread());
+        tracker.cancel();
+    }
+
+    /**
+     * The alternative of a {@link ScheduledFuture} per request on a shared executor, as asynchronous clients do.
+     */
+    @Benchmark
+    public void scheduledExecutor() {
+        ScheduledFuture<?> future = scheduledExecutor.schedule(() -> { }, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        future.cancel(false);
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.eventstream;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.awscore.eventstream.EventStreamAsyncResponseTransformer;
+import software.amazon.awssdk.awscore.eventstream.EventStreamResponseHandler;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.eventstream.HeaderValue;
+import software.amazon.eventstream.Message;
+
+/**
+ * Measures the threads and heap held by {@value #STREAM_COUNT} open event streams that have each received one event and are
+ * waiting for the next, as with many concurrent SubscribeToShard calls. The results of interest are the {@code threads} and
+ * {@code retainedHeapBytes} counters, which hold the values of the last invocation of each iteration. JMH adds them up over
+ * the measurement iterations, so divide them by the number of iterations. The time reported includes forcing garbage
+ * collections and is not meaningful.
+ *
+ * <p>The {@code perStream} executor gives every stream its own delivery thread, for comparison with the executor shared by
+ * all streams that is used by default.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EventStreamFootprintBenchmark {
+
+    private static final int STREAM_COUNT = 1000;
+
+    @Param({"shared", "perStream"})
+    private String executor;
+
+    private ByteBuffer event;
+    private List<Object> openStreams;
+    private final List<ExecutorService> perStreamExecutors = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Map<String, HeaderValue> headers = new HashMap<>();
+        headers.put(":message-type", HeaderValue.fromString("event"));
+        headers.put(":event-type", HeaderValue.fromString("Records"));
+        headers.put(":content-type", HeaderValue.fromString("application/json"));
+        event = new Message(headers, new byte[256]).toByteBuffer();
+    }
+
+    @Benchmark
+    public void openStreams(Footprint footprint) throws InterruptedException {
+        CountDownLatch firstEventsReceived = new CountDownLatch(STREAM_COUNT);
+        openStreams = new ArrayList<>(STREAM_COUNT);
+        for (int i = 0; i < STREAM_COUNT; i++) {
+            openStreams.add(openStream(firstEventsReceived));
+        }
+        firstEventsReceived.await();
+        int threadsWithStreams = ManagementFactory.getThreadMXBean().getThreadCount();
+        long heapWithStreams = usedHeapAfterGc();
+
+        // Measure again once the streams are gone, so that anything else in the JVM cancels out
+        openStreams = null;
+        for (ExecutorService perStreamExecutor : perStreamExecutors) {
+            perStreamExecutor.shutdownNow();
+            perStreamExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        perStreamExecutors.clear();
+        footprint.threads = threadsWithStreams - ManagementFactory.getThreadMXBean().getThreadCount();
+        footprint.retainedHeapBytes = heapWithStreams - usedHeapAfterGc();
+    }
+
+    private Object openStream(CountDownLatch firstEventReceived) {
+        EventStreamAsyncResponseTransformer.Builder<Object, Object> builder =
+            EventStreamAsyncResponseTransformer.builder()
+                                               .eventStreamResponseHandler(new WaitingResponseHandler(firstEventReceived))
+                                               .eventResponseHandler((response, executionAttributes) -> response)
+                                               .future(new CompletableFuture<>());
+        if ("perStream".equals(executor)) {
+            ExecutorService perStreamExecutor = Executors.newSingleThreadExecutor();
+            perStreamExecutors.add(perStreamExecutor);
+            builder.executor(perStreamExecutor);
+        }
+        EventStreamAsyncResponseTransformer<Object, Object> transformer = builder.build();
+        transformer.responseReceived(null);
+        transformer.onStream(SdkPublisher.adapt(new OneEventPublisher(event.duplicate())));
+        return transformer;
+    }
+
+    private static long usedHeapAfterGc() {
+        // A single collection does not always reclaim everything that has become unreachable
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Reported alongside the score. The counters are set rather than incremented, so they are not summed over invocations.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long threads;
+        public long retainedHeapBytes;
+    }
+
+    /**
+     * Publishes one encoded event and then nothing, like a stream waiting for the next event.
+     */
+    private static final class OneEventPublisher implements Publisher<ByteBuffer> {
+        private final ByteBuffer event;
+
+        private OneEventPublisher(ByteBuffer event) {
+            this.event = event;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private boolean published;
+
+                @Override
+                public void request(long n) {
+                    if (!published) {
+                        published = true;
+                        subscriber.onNext(event);
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+    }
+
+    /**
+     * Subscribes to the events and keeps requesting more.
+     */
+    private static final class WaitingResponseHandler implements EventStreamResponseHandler<Object, Object> {
+        private final CountDownLatch firstEventReceived;
+
+        private WaitingResponseHandler(CountDownLatch firstEventReceived) {
+            this.firstEventReceived = firstEventReceived;
+        }
+
+        @Override
+        public void responseReceived(Object response) {
+        }
+
+        @Override
+        public void onEventStream(SdkPublisher<Object> publisher) {
+            publisher.subscribe(new Subscriber<Object>() {
+                private Subscription subscription;
+
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(Object event) {
+                    firstEventReceived.countDown();
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+        }
+
+        @Override
+        public void exceptionOccurred(Throwable throwable) {
+        }
+
+        @Override
+        public void complete() {
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.eventstream;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.eventstream.HeaderValue;
+import software.amazon.eventstream.Message;
+import software.amazon.eventstream.MessageDecoder;
+
+/**
+ * Measures decoding a stream of event-stream messages, with the headers every AWS event carries, as it arrives from the
+ * network in read-only, fixed-size chunks that do not line up with message boundaries. The consumer reads the event type
+ * header and the payload, as an unmarshaller would. The time reported is per stream of {@value #MESSAGE_COUNT} messages.
+ *
+ * <ul>
+ *     <li>{@code byteArray} copies each chunk into an array for {@link MessageDecoder#feed(byte[])}.</li>
+ *     <li>{@code byteBuffer} feeds the chunks to {@link MessageDecoder#feed(ByteBuffer)}.</li>
+ *     <li>{@code zeroCopy} also does not copy the messages out of the chunks.</li>
+ * </ul>
+ *
+ * <p>Run {@link #main} to also report the bytes allocated per stream, which the GC profiler reports as
+ * {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MessageDecoderBenchmark {
+
+    private static final int MESSAGE_COUNT = 100;
+    private static final int CHUNK_SIZE = 8192;
+
+    @Param({"byteArray", "byteBuffer", "zeroCopy"})
+    private String api;
+
+    @Param({"64", "4096"})
+    private int payloadSize;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        Map<String, HeaderValue> headers = new HashMap<>();
+        headers.put(":message-type", HeaderValue.fromString("event"));
+        headers.put(":event-type", HeaderValue.fromString("Records"));
+        headers.put(":content-type", HeaderValue.fromString("application/octet-stream"));
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            byte[] payload = new byte[payloadSize];
+            ThreadLocalRandom.current().nextBytes(payload);
+            new Message(headers, payload).encode(stream);
+        }
+        ByteBuffer encodedStream = ByteBuffer.wrap(stream.toByteArray()).asReadOnlyBuffer();
+        for (int offset = 0; offset < encodedStream.capacity(); offset += CHUNK_SIZE) {
+            encodedStream.limit(Math.min(offset + CHUNK_SIZE, encodedStream.capacity())).position(offset);
+            chunks.add(encodedStream.slice());
+        }
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) {
+        MessageDecoder decoder = "zeroCopy".equals(api)
+                                 ? MessageDecoder.zeroCopy(m -> consume(m, blackhole))
+                                 : new MessageDecoder(m -> consume(m, blackhole));
+        for (ByteBuffer chunk : chunks) {
+            if ("byteArray".equals(api)) {
+                byte[] bytes = new byte[chunk.remaining()];
+                chunk.duplicate().get(bytes);
+                decoder.feed(bytes);
+            } else {
+                decoder.feed(chunk.duplicate());
+            }
+        }
+    }
+
+    private static void consume(Message message, Blackhole blackhole) {
+        blackhole.consume(message.getHeaders().get(":event-type"));
+        blackhole.consume(message.getPayloadBuffer());
+    }
+
+    public static void main(String... args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MessageDecoderBenchmark.class.getSimpleName())
+                                       .addProfiler(GCProfiler.class)
+                                       .build())
+            .run();
+    }
+}
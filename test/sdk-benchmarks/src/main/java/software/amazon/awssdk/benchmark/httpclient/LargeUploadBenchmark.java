@@ -0,0 +1,154 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.httpclient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.benchmark.utils.LocalHttpServer;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkRequestContext;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+
+/**
+ * Measures large uploads with the Apache and UrlConnection clients to a server on the loopback interface, with and without
+ * a Content-Length header. The request body is generated as it is read, so any heap used in proportion to its size is
+ * used by the client. Run with {@code -prof gc} to see how much each upload allocates; the benchmark JVM also has a small
+ * heap, so a client that buffers the whole body fails on the larger uploads rather than just slowing down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx128m")
+public class LargeUploadBenchmark {
+
+    @Param({"apache", "urlConnection"})
+    private String client;
+
+    @Param({"true", "false"})
+    private boolean contentLengthKnown;
+
+    @Param({"1048576", "268435456"})
+    private long uploadSize;
+
+    private final SdkRequestContext context = SdkRequestContext.builder().build();
+    private final byte[] scratch = new byte[8192];
+    private LocalHttpServer server;
+    private SdkHttpClient httpClient;
+    private SdkHttpFullRequest request;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        server = LocalHttpServer.start(0);
+        httpClient = "apache".equals(client) ? ApacheHttpClient.builder().build()
+                                             : UrlConnectionHttpClient.builder().build();
+        SdkHttpFullRequest.Builder requestBuilder = SdkHttpFullRequest.builder()
+                                                                      .method(SdkHttpMethod.PUT)
+                                                                      .protocol("http")
+                                                                      .host("127.0.0.1")
+                                                                      .port(server.port())
+                                                                      .encodedPath("/")
+                                                                      .putHeader("Host", "127.0.0.1");
+        if (contentLengthKnown) {
+            requestBuilder.putHeader("Content-Length", Long.toString(uploadSize));
+        }
+        request = requestBuilder.build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        server.close();
+    }
+
+    @Benchmark
+    public int upload() throws Exception {
+        SdkHttpFullRequest upload = request.toBuilder().content(new GeneratedInputStream(uploadSize)).build();
+        SdkHttpFullResponse response = httpClient.prepareRequest(upload, context).call();
+        if (response.content().isPresent()) {
+            // The body must be read to the end for the connection to be reused.
+            try (AbortableInputStream content = response.content().get()) {
+                drain(content);
+            }
+        }
+        return response.statusCode();
+    }
+
+    private void drain(InputStream content) throws IOException {
+        while (content.read(scratch) != -1) {
+            // Discard the response
+        }
+    }
+
+    /**
+     * A stream of the given number of bytes, which repeats a small block of random bytes so that it does not hold the whole
+     * body in memory.
+     */
+    private static final class GeneratedInputStream extends InputStream {
+        private static final byte[] BLOCK = new byte[64 * 1024];
+
+        static {
+            ThreadLocalRandom.current().nextBytes(BLOCK);
+        }
+
+        private long remaining;
+
+        private GeneratedInputStream(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            if (remaining == 0) {
+                return -1;
+            }
+            return BLOCK[(int) (--remaining % BLOCK.length)] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (remaining == 0) {
+                return -1;
+            }
+            int offset = (int) (remaining % BLOCK.length);
+            int count = (int) Math.min(Math.min(len, remaining), BLOCK.length - offset);
+            System.arraycopy(BLOCK, offset, b, off, count);
+            remaining -= count;
+            return count;
+        }
+    }
+}
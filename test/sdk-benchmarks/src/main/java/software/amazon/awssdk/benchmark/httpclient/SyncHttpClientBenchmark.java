@@ -0,0 +1,110 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.httpclient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.benchmark.utils.LocalHttpServer;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkRequestContext;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+
+/**
+ * Compares the Apache and UrlConnection clients for requests to a server on the loopback interface on a kept-alive
+ * connection, reading the whole response body. The Netty client is measured against the same server by the benchmarks in
+ * the {@code nettyclient} package.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class SyncHttpClientBenchmark {
+
+    @Param({"apache", "urlConnection"})
+    private String client;
+
+    @Param({"256", "65536"})
+    private int bodySize;
+
+    private final byte[] scratch = new byte[8192];
+    private final SdkRequestContext context = SdkRequestContext.builder().build();
+    private LocalHttpServer server;
+    private SdkHttpClient httpClient;
+    private SdkHttpFullRequest request;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        server = LocalHttpServer.start(bodySize);
+        httpClient = "apache".equals(client) ? ApacheHttpClient.builder().build()
+                                             : UrlConnectionHttpClient.builder().build();
+        request = SdkHttpFullRequest.builder()
+                                    .method(SdkHttpMethod.GET)
+                                    .protocol("http")
+                                    .host("127.0.0.1")
+                                    .port(server.port())
+                                    .encodedPath("/")
+                                    .putHeader("Host", "127.0.0.1")
+                                    .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        server.close();
+    }
+
+    @Benchmark
+    public long keptAliveConnection() throws Exception {
+        SdkHttpFullResponse response = httpClient.prepareRequest(request, context).call();
+        if (!response.content().isPresent()) {
+            return 0;
+        }
+        // The body must be read to the end for the connection to be reused.
+        try (AbortableInputStream content = response.content().get()) {
+            return drain(content);
+        }
+    }
+
+    private long drain(InputStream content) throws IOException {
+        long total = 0;
+        int read;
+        while ((read = content.read(scratch)) != -1) {
+            total += read;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.nettyclient;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.benchmark.utils.DrainingResponseHandler;
+import software.amazon.awssdk.benchmark.utils.EmptyRequestProvider;
+import software.amazon.awssdk.benchmark.utils.LocalHttpServer;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkRequestContext;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.utils.AttributeMap;
+
+/**
+ * Measures download throughput of the Netty client from a server on the loopback interface, with response bodies copied to
+ * heap buffers (the default) or published as views of Netty's buffers (
+ * {@link NettyNioAsyncHttpClient.Builder#zeroCopyResponseBody(Boolean)}). Each operation downloads one body over a kept-alive
+ * connection and reads every byte of it.
+ *
+ * <p>Run with {@code -prof gc} to compare the bytes allocated per download, which is where the copy shows up most.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class NettyResponseBodyBenchmark {
+
+    @Param({"false", "true"})
+    private boolean zeroCopy;
+
+    @Param({"65536", "4194304"})
+    private int bodySize;
+
+    private final byte[] scratch = new byte[8192];
+    private final SdkRequestContext context = SdkRequestContext.builder().build();
+    private final EmptyRequestProvider requestProvider = new EmptyRequestProvider();
+    private LocalHttpServer server;
+    private SdkAsyncHttpClient client;
+    private SdkHttpFullRequest request;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        server = LocalHttpServer.start(bodySize);
+        client = NettyNioAsyncHttpClient.builder()
+                                        .zeroCopyResponseBody(zeroCopy)
+                                        .buildWithDefaults(AttributeMap.empty());
+        request = SdkHttpFullRequest.builder()
+                                    .method(SdkHttpMethod.GET)
+                                    .protocol("http")
+                                    .host("127.0.0.1")
+                                    .port(server.port())
+                                    .encodedPath("/")
+                                    .putHeader("Host", "127.0.0.1")
+                                    .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public long download() throws Exception {
+        DrainingResponseHandler handler = new DrainingResponseHandler(scratch);
+        client.prepareRequest(request, context, requestProvider, handler).run();
+        return handler.future().get();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.nettyclient;
+
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.benchmark.utils.DrainingResponseHandler;
+import software.amazon.awssdk.benchmark.utils.EmptyRequestProvider;
+import software.amazon.awssdk.benchmark.utils.LocalHttpServer;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkRequestContext;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
+import software.amazon.awssdk.utils.AttributeMap;
+
+/**
+ * Compares the NIO and native epoll transports of the Netty client for small requests to a server on the loopback interface,
+ * both on a kept-alive connection and on a new connection per request, which adds connection setup and teardown. Linux only:
+ * the epoll variants fail to set up where the native transport is not available.
+ *
+ * <p>The client runs a single event loop thread, so the time per request is also a measure of the CPU spent per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class NettyTransportBenchmark {
+
+    private static final int BODY_SIZE = 256;
+
+    @Param({"nio", "epoll"})
+    private String transport;
+
+    private final byte[] scratch = new byte[BODY_SIZE];
+    private final SdkRequestContext context = SdkRequestContext.builder().build();
+    private final EmptyRequestProvider requestProvider = new EmptyRequestProvider();
+    private LocalHttpServer server;
+    private SdkEventLoopGroup eventLoopGroup;
+    private SdkAsyncHttpClient client;
+    private SdkHttpFullRequest keepAliveRequest;
+    private SdkHttpFullRequest closeRequest;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        server = LocalHttpServer.start(BODY_SIZE);
+        eventLoopGroup = eventLoopGroup();
+        client = NettyNioAsyncHttpClient.builder()
+                                        .eventLoopGroup(eventLoopGroup)
+                                        .buildWithDefaults(AttributeMap.empty());
+        keepAliveRequest = SdkHttpFullRequest.builder()
+                                             .method(SdkHttpMethod.GET)
+                                             .protocol("http")
+                                             .host("127.0.0.1")
+                                             .port(server.port())
+                                             .encodedPath("/")
+                                             .putHeader("Host", "127.0.0.1")
+                                             .build();
+        closeRequest = keepAliveRequest.toBuilder()
+                                       .putHeader("Connection", "close")
+                                       .build();
+    }
+
+    private SdkEventLoopGroup eventLoopGroup() {
+        if ("epoll".equals(transport)) {
+            if (!Epoll.isAvailable()) {
+                throw new IllegalStateException("The native epoll transport is not available", Epoll.unavailabilityCause());
+            }
+            return SdkEventLoopGroup.create(new EpollEventLoopGroup(1), EpollSocketChannel::new);
+        }
+        return SdkEventLoopGroup.create(new NioEventLoopGroup(1), NioSocketChannel::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        eventLoopGroup.eventLoopGroup().shutdownGracefully().syncUninterruptibly();
+        server.close();
+    }
+
+    @Benchmark
+    public long keptAliveConnection() throws Exception {
+        return execute(keepAliveRequest);
+    }
+
+    @Benchmark
+    public long newConnection() throws Exception {
+        return execute(closeRequest);
+    }
+
+    private long execute(SdkHttpFullRequest request) throws Exception {
+        DrainingResponseHandler handler = new DrainingResponseHandler(scratch);
+        client.prepareRequest(request, context, requestProvider, handler).run();
+        return handler.future().get();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.protocol;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.awscore.internal.protocol.json.AwsJsonProtocol;
+import software.amazon.awssdk.awscore.protocol.json.AwsJsonProtocolFactory;
+import software.amazon.awssdk.awscore.protocol.json.AwsJsonProtocolMetadata;
+import software.amazon.awssdk.core.http.HttpResponseHandler;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.protocol.json.JsonClientMetadata;
+import software.amazon.awssdk.core.protocol.json.JsonOperationMetadata;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.transform.QueryResponseUnmarshaller;
+
+/**
+ * Measures unmarshalling a DynamoDB Query response with the generated unmarshaller and the protocol factory the generated
+ * DynamoDB client uses. Each item has string, number, boolean, set, list and map attributes, so the response exercises the
+ * recursive attribute value unmarshaller the way a typical table does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DynamoDbQueryBenchmark {
+
+    @Param({"10", "500"})
+    private int itemCount;
+
+    private final ExecutionAttributes executionAttributes = new ExecutionAttributes();
+    private HttpResponseHandler<QueryResponse> responseHandler;
+    private byte[] responseBody;
+
+    @Setup
+    public void setup() throws Exception {
+        AwsJsonProtocolFactory protocolFactory =
+            new AwsJsonProtocolFactory(new JsonClientMetadata().withSupportsCbor(false)
+                                                               .withSupportsIon(false)
+                                                               .withBaseServiceExceptionClass(DynamoDbException.class),
+                                       AwsJsonProtocolMetadata.builder()
+                                                              .protocolVersion("1.0")
+                                                              .protocol(AwsJsonProtocol.AWS_JSON)
+                                                              .build());
+        JsonOperationMetadata operationMetadata = new JsonOperationMetadata().withPayloadJson(true)
+                                                                             .withHasStreamingSuccessResponse(false);
+        responseHandler = protocolFactory.createResponseHandler(operationMetadata, new QueryResponseUnmarshaller());
+        responseBody = queryResponse(itemCount).getBytes(StandardCharsets.UTF_8);
+
+        QueryResponse response = unmarshall();
+        if (response.count() != itemCount || response.items().size() != itemCount) {
+            throw new IllegalStateException("The response was not unmarshalled correctly: " + response);
+        }
+    }
+
+    @Benchmark
+    public QueryResponse unmarshall() throws Exception {
+        SdkHttpFullResponse response = SdkHttpFullResponse.builder()
+                                                          .statusCode(200)
+                                                          .content(AbortableInputStream.create(
+                                                              new ByteArrayInputStream(responseBody)))
+                                                          .build();
+        return responseHandler.handle(response, executionAttributes);
+    }
+
+    private static String queryResponse(int itemCount) {
+        StringBuilder json = new StringBuilder("{\"Count\":").append(itemCount)
+                                                             .append(",\"ScannedCount\":").append(itemCount)
+                                                             .append(",\"Items\":[");
+        for (int i = 0; i < itemCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"customerId\":{\"S\":\"customer-").append(i % 10).append("\"},")
+                .append("\"orderId\":{\"S\":\"order-").append(i).append("\"},")
+                .append("\"total\":{\"N\":\"").append(i).append(".99\"},")
+                .append("\"shipped\":{\"BOOL\":").append(i % 2 == 0).append("},")
+                .append("\"tags\":{\"SS\":[\"gift\",\"express\",\"priority\"]},")
+                .append("\"lines\":{\"L\":[")
+                .append("{\"M\":{\"sku\":{\"S\":\"sku-1\"},\"quantity\":{\"N\":\"1\"}}},")
+                .append("{\"M\":{\"sku\":{\"S\":\"sku-2\"},\"quantity\":{\"N\":\"2\"}}}]},")
+                .append("\"address\":{\"M\":{\"street\":{\"S\":\"1 Main Street\"},\"city\":{\"S\":\"Seattle\"},")
+                .append("\"zip\":{\"S\":\"98101\"}}}}");
+        }
+        json.append("],\"LastEvaluatedKey\":{\"customerId\":{\"S\":\"customer-0\"},\"orderId\":{\"S\":\"order-")
+            .append(itemCount - 1).append("\"}}}");
+        return json.toString();
+    }
+}
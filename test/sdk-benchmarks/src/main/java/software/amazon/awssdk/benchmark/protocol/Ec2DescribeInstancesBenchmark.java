@@ -0,0 +1,114 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.protocol;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.awscore.http.response.StaxResponseHandler;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.services.ec2.model.DescribeInstancesResponse;
+import software.amazon.awssdk.services.ec2.transform.DescribeInstancesResponseUnmarshaller;
+
+/**
+ * Measures unmarshalling an EC2 DescribeInstances response with the generated StAX unmarshaller and response handler the
+ * generated EC2 client uses. Each reservation holds one instance with the elements EC2 usually returns, including nested
+ * state, placement, security group, block device and tag elements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class Ec2DescribeInstancesBenchmark {
+
+    @Param({"10", "500"})
+    private int reservationCount;
+
+    private final ExecutionAttributes executionAttributes = new ExecutionAttributes();
+    private final StaxResponseHandler<DescribeInstancesResponse> responseHandler =
+        new StaxResponseHandler<>(new DescribeInstancesResponseUnmarshaller());
+    private byte[] responseBody;
+
+    @Setup
+    public void setup() throws Exception {
+        responseBody = describeInstancesResponse(reservationCount).getBytes(StandardCharsets.UTF_8);
+
+        DescribeInstancesResponse response = unmarshall();
+        if (response.reservations().size() != reservationCount) {
+            throw new IllegalStateException("The response was not unmarshalled correctly: " + response);
+        }
+    }
+
+    @Benchmark
+    public DescribeInstancesResponse unmarshall() throws Exception {
+        SdkHttpFullResponse response = SdkHttpFullResponse.builder()
+                                                          .statusCode(200)
+                                                          .content(AbortableInputStream.create(
+                                                              new ByteArrayInputStream(responseBody)))
+                                                          .build();
+        return responseHandler.handle(response, executionAttributes);
+    }
+
+    private static String describeInstancesResponse(int reservationCount) {
+        StringBuilder xml = new StringBuilder("<DescribeInstancesResponse xmlns=\"http://ec2.amazonaws.com/doc/2016-11-15/\">")
+            .append("<requestId>8f7724cf-496f-496e-8fe3-example</requestId><reservationSet>");
+        for (int i = 0; i < reservationCount; i++) {
+            xml.append("<item><reservationId>r-").append(i).append("</reservationId>")
+               .append("<ownerId>123456789012</ownerId><groupSet/><instancesSet><item>")
+               .append("<instanceId>i-").append(i).append("</instanceId>")
+               .append("<imageId>ami-bff32ccc</imageId>")
+               .append("<instanceState><code>16</code><name>running</name></instanceState>")
+               .append("<privateDnsName>ip-192-168-1-88.eu-west-1.compute.internal</privateDnsName>")
+               .append("<dnsName>ec2-54-194-252-215.eu-west-1.compute.amazonaws.com</dnsName>")
+               .append("<reason/><keyName>my_keypair</keyName><amiLaunchIndex>0</amiLaunchIndex><productCodes/>")
+               .append("<instanceType>t2.micro</instanceType>")
+               .append("<launchTime>2018-06-01T12:00:00.000Z</launchTime>")
+               .append("<placement><availabilityZone>eu-west-1c</availabilityZone><groupName/>")
+               .append("<tenancy>default</tenancy></placement>")
+               .append("<monitoring><state>disabled</state></monitoring>")
+               .append("<subnetId>subnet-56f5f633</subnetId><vpcId>vpc-11112222</vpcId>")
+               .append("<privateIpAddress>192.168.1.88</privateIpAddress><ipAddress>54.194.252.215</ipAddress>")
+               .append("<sourceDestCheck>true</sourceDestCheck>")
+               .append("<groupSet><item><groupId>sg-e4076980</groupId><groupName>SecurityGroup1</groupName></item>")
+               .append("</groupSet><architecture>x86_64</architecture><rootDeviceType>ebs</rootDeviceType>")
+               .append("<rootDeviceName>/dev/xvda</rootDeviceName>")
+               .append("<blockDeviceMapping><item><deviceName>/dev/xvda</deviceName><ebs>")
+               .append("<volumeId>vol-1234567890abcdef0</volumeId><status>attached</status>")
+               .append("<attachTime>2018-06-01T12:00:00.000Z</attachTime><deleteOnTermination>true</deleteOnTermination>")
+               .append("</ebs></item></blockDeviceMapping>")
+               .append("<virtualizationType>hvm</virtualizationType><clientToken/>")
+               .append("<tagSet><item><key>Name</key><value>server-").append(i).append("</value></item></tagSet>")
+               .append("<hypervisor>xen</hypervisor><ebsOptimized>false</ebsOptimized>")
+               .append("</item></instancesSet></item>");
+        }
+        return xml.append("</reservationSet></DescribeInstancesResponse>").toString();
+    }
+}
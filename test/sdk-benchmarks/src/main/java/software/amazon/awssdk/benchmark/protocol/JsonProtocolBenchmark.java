@@ -0,0 +1,144 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.protocol;
+
+import java.io.ByteArrayInputStream;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.awscore.internal.protocol.json.AwsJsonProtocol;
+import software.amazon.awssdk.awscore.protocol.json.AwsJsonProtocolFactory;
+import software.amazon.awssdk.awscore.protocol.json.AwsJsonProtocolMetadata;
+import software.amazon.awssdk.core.Request;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.http.HttpResponseHandler;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.protocol.json.JsonClientMetadata;
+import software.amazon.awssdk.core.protocol.json.JsonOperationMetadata;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.services.protocoljsonrpc.model.AllTypesRequest;
+import software.amazon.awssdk.services.protocoljsonrpc.model.AllTypesResponse;
+import software.amazon.awssdk.services.protocoljsonrpc.model.EnumType;
+import software.amazon.awssdk.services.protocoljsonrpc.model.ProtocolJsonRpcException;
+import software.amazon.awssdk.services.protocoljsonrpc.model.SimpleStruct;
+import software.amazon.awssdk.services.protocoljsonrpc.transform.AllTypesRequestMarshaller;
+import software.amazon.awssdk.services.protocoljsonrpc.transform.AllTypesResponseUnmarshaller;
+import software.amazon.awssdk.utils.IoUtils;
+
+/**
+ * Measures marshalling a generated request model to JSON or CBOR and unmarshalling a generated response model from it, with
+ * the same protocol factory, marshaller and response handler a generated JSON RPC client uses. The model has a member of
+ * every type, including lists and maps of structures, so the results are not dominated by any single type.
+ *
+ * <p>CBOR is only used if it is also enabled for the JVM with {@code aws.cborEnabled}, which is the default.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonProtocolBenchmark {
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    private final ExecutionAttributes executionAttributes = new ExecutionAttributes();
+    private AllTypesRequestMarshaller marshaller;
+    private HttpResponseHandler<AllTypesResponse> responseHandler;
+    private AllTypesRequest request;
+    private byte[] responseBody;
+
+    @Setup
+    public void setup() throws Exception {
+        boolean cbor = "cbor".equals(format);
+        AwsJsonProtocolFactory protocolFactory =
+            new AwsJsonProtocolFactory(new JsonClientMetadata().withSupportsCbor(cbor)
+                                                               .withSupportsIon(false)
+                                                               .withBaseServiceExceptionClass(ProtocolJsonRpcException.class),
+                                       AwsJsonProtocolMetadata.builder()
+                                                              .protocolVersion("1.1")
+                                                              .protocol(AwsJsonProtocol.AWS_JSON)
+                                                              .build());
+        marshaller = new AllTypesRequestMarshaller(protocolFactory);
+        JsonOperationMetadata operationMetadata = new JsonOperationMetadata().withPayloadJson(true)
+                                                                             .withHasStreamingSuccessResponse(false);
+        responseHandler = protocolFactory.createResponseHandler(operationMetadata, new AllTypesResponseUnmarshaller());
+        request = allTypesRequest();
+
+        // The request and response have the same members, so the marshalled request doubles as the response.
+        responseBody = IoUtils.toByteArray(marshaller.marshall(request).getContent());
+        AllTypesResponse response = unmarshall();
+        if (!request.stringMember().equals(response.stringMember())) {
+            throw new IllegalStateException("The response was not unmarshalled correctly: " + response);
+        }
+    }
+
+    @Benchmark
+    public Request<AllTypesRequest> marshall() {
+        return marshaller.marshall(request);
+    }
+
+    @Benchmark
+    public AllTypesResponse unmarshall() throws Exception {
+        SdkHttpFullResponse response = SdkHttpFullResponse.builder()
+                                                          .statusCode(200)
+                                                          .content(AbortableInputStream.create(
+                                                              new ByteArrayInputStream(responseBody)))
+                                                          .build();
+        return responseHandler.handle(response, executionAttributes);
+    }
+
+    private static AllTypesRequest allTypesRequest() {
+        Map<String, String> mapOfStringToString = new HashMap<>();
+        Map<String, SimpleStruct> mapOfStringToStruct = new HashMap<>();
+        for (int i = 0; i < 5; i++) {
+            mapOfStringToString.put("key" + i, "value" + i);
+            mapOfStringToStruct.put("key" + i, SimpleStruct.builder().stringMember("value" + i).build());
+        }
+        return AllTypesRequest.builder()
+                              .stringMember("The quick brown fox jumps over the lazy dog")
+                              .integerMember(42)
+                              .booleanMember(true)
+                              .floatMember(1.5f)
+                              .doubleMember(2.25)
+                              .longMember(Long.MAX_VALUE)
+                              .enumMember(EnumType.ENUM_VALUE1)
+                              .simpleList("one", "two", "three", "four", "five")
+                              .listOfStructs(SimpleStruct.builder().stringMember("one").build(),
+                                             SimpleStruct.builder().stringMember("two").build(),
+                                             SimpleStruct.builder().stringMember("three").build())
+                              .mapOfStringToString(mapOfStringToString)
+                              .mapOfStringToStruct(mapOfStringToStruct)
+                              .timestampMember(Instant.parse("2018-06-01T12:00:00Z"))
+                              .structWithNestedTimestampMember(s -> s.nestedTimestamp(Instant.parse("2018-06-01T12:00:00Z")))
+                              .blobArg(SdkBytes.fromUtf8String("Hello, world"))
+                              .build();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.protocol;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.awscore.http.response.StaxResponseHandler;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsResponse;
+import software.amazon.awssdk.services.s3.transform.ListObjectsResponseUnmarshaller;
+
+/**
+ * Measures unmarshalling an S3 ListObjects response with the generated StAX unmarshaller and response handler the generated
+ * S3 client uses. The listing has the flattened list of object entries S3 returns, each with its owner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class S3ListObjectsBenchmark {
+
+    @Param({"10", "1000"})
+    private int objectCount;
+
+    private final ExecutionAttributes executionAttributes = new ExecutionAttributes();
+    private final StaxResponseHandler<ListObjectsResponse> responseHandler =
+        new StaxResponseHandler<>(new ListObjectsResponseUnmarshaller());
+    private byte[] responseBody;
+
+    @Setup
+    public void setup() throws Exception {
+        responseBody = listObjectsResponse(objectCount).getBytes(StandardCharsets.UTF_8);
+
+        ListObjectsResponse response = unmarshall();
+        if (response.contents().size() != objectCount) {
+            throw new IllegalStateException("The response was not unmarshalled correctly: " + response);
+        }
+    }
+
+    @Benchmark
+    public ListObjectsResponse unmarshall() throws Exception {
+        SdkHttpFullResponse response = SdkHttpFullResponse.builder()
+                                                          .statusCode(200)
+                                                          .content(AbortableInputStream.create(
+                                                              new ByteArrayInputStream(responseBody)))
+                                                          .build();
+        return responseHandler.handle(response, executionAttributes);
+    }
+
+    private static String listObjectsResponse(int objectCount) {
+        StringBuilder xml = new StringBuilder("<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">")
+            .append("<Name>bucket</Name><Prefix/><Marker/><MaxKeys>1000</MaxKeys><IsTruncated>false</IsTruncated>");
+        for (int i = 0; i < objectCount; i++) {
+            xml.append("<Contents><Key>photos/2018/06/01/image-").append(i).append(".jpg</Key>")
+               .append("<LastModified>2018-06-01T12:00:00.000Z</LastModified>")
+               .append("<ETag>&quot;fba9dede5f27731c9771645a39863328&quot;</ETag>")
+               .append("<Size>").append(434234 + i).append("</Size>")
+               .append("<Owner><ID>75aa57f09aa0c8caeab4f8c24e99d10f8e7faeebf76c078efc7c6caea54ba06a</ID>")
+               .append("<DisplayName>mtd@amazon.com</DisplayName></Owner>")
+               .append("<StorageClass>STANDARD</StorageClass></Contents>");
+        }
+        return xml.append("</ListBucketResult>").toString();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.protocol;
+
+import java.io.ByteArrayInputStream;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.awscore.http.response.StaxResponseHandler;
+import software.amazon.awssdk.core.Request;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.services.protocolrestxml.model.AllTypesRequest;
+import software.amazon.awssdk.services.protocolrestxml.model.AllTypesResponse;
+import software.amazon.awssdk.services.protocolrestxml.model.SimpleStruct;
+import software.amazon.awssdk.services.protocolrestxml.transform.AllTypesRequestMarshaller;
+import software.amazon.awssdk.services.protocolrestxml.transform.AllTypesResponseUnmarshaller;
+import software.amazon.awssdk.utils.IoUtils;
+
+/**
+ * Measures marshalling a generated request model to XML and unmarshalling a generated response model from it, with the same
+ * marshaller and StAX response handler a generated REST-XML client uses. The model has a member of every type, including
+ * lists of structures and maps, so the results are not dominated by any single type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class XmlProtocolBenchmark {
+
+    private final ExecutionAttributes executionAttributes = new ExecutionAttributes();
+    private final AllTypesRequestMarshaller marshaller = new AllTypesRequestMarshaller();
+    private final StaxResponseHandler<AllTypesResponse> responseHandler =
+        new StaxResponseHandler<>(new AllTypesResponseUnmarshaller());
+    private AllTypesRequest request;
+    private byte[] responseBody;
+
+    @Setup
+    public void setup() throws Exception {
+        request = allTypesRequest();
+
+        // The request and response have the same members, so the marshalled request doubles as the response.
+        responseBody = IoUtils.toByteArray(marshaller.marshall(request).getContent());
+        AllTypesResponse response = unmarshall();
+        if (!request.stringMember().equals(response.stringMember())) {
+            throw new IllegalStateException("The response was not unmarshalled correctly: " + response);
+        }
+    }
+
+    @Benchmark
+    public Request<AllTypesRequest> marshall() {
+        return marshaller.marshall(request);
+    }
+
+    @Benchmark
+    public AllTypesResponse unmarshall() throws Exception {
+        SdkHttpFullResponse response = SdkHttpFullResponse.builder()
+                                                          .statusCode(200)
+                                                          .content(AbortableInputStream.create(
+                                                              new ByteArrayInputStream(responseBody)))
+                                                          .build();
+        return responseHandler.handle(response, executionAttributes);
+    }
+
+    private static AllTypesRequest allTypesRequest() {
+        Map<String, String> mapOfStringToString = new HashMap<>();
+        for (int i = 0; i < 5; i++) {
+            mapOfStringToString.put("key" + i, "value" + i);
+        }
+        return AllTypesRequest.builder()
+                              .stringMember("The quick brown fox jumps over the lazy dog")
+                              .integerMember(42)
+                              .booleanMember(true)
+                              .floatMember(1.5f)
+                              .doubleMember(2.25)
+                              .longMember(Long.MAX_VALUE)
+                              .simpleStructMember(SimpleStruct.builder().stringMember("simple").build())
+                              .simpleList("one", "two", "three", "four", "five")
+                              .listOfStructs(SimpleStruct.builder().stringMember("one").build(),
+                                             SimpleStruct.builder().stringMember("two").build(),
+                                             SimpleStruct.builder().stringMember("three").build())
+                              .mapOfStringToString(mapOfStringToString)
+                              .timestampMember(Instant.parse("2018-06-01T12:00:00Z"))
+                              .structWithNestedTimestampMember(s -> s.nestedTimestamp(Instant.parse("2018-06-01T12:00:00Z")))
+                              .blobArg(SdkBytes.fromUtf8String("Hello, world"))
+                              .build();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.regions;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.regions.internal.GeneratedPartitions;
+import software.amazon.awssdk.regions.internal.PartitionMetadataProvider;
+import software.amazon.awssdk.regions.internal.RegionMetadataLoader;
+import software.amazon.awssdk.regions.internal.model.Partition;
+
+/**
+ * Measures the startup cost of loading the partition metadata and resolving the first endpoint, either by parsing
+ * endpoints.json, as is still done for the override file, or from the partitions generated at build time. Every measurement
+ * runs once in a fresh JVM, so it includes loading and initializing the classes involved, which is what an application pays
+ * when it creates its first client.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(30)
+public class RegionMetadataBenchmark {
+
+    @Benchmark
+    public URI parseEndpointsJson() {
+        return firstEndpoint(RegionMetadataLoader.loadPartitionsFromResource().getPartitions());
+    }
+
+    @Benchmark
+    public URI generatedPartitions() {
+        return firstEndpoint(GeneratedPartitions.partitions());
+    }
+
+    private static URI firstEndpoint(List<Partition> partitions) {
+        return new PartitionMetadataProvider(partitions).getServiceMetadata("s3").endpointFor(Region.US_WEST_2);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.signer;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.signer.Aws4Signer;
+import software.amazon.awssdk.auth.signer.AwsS3V4Signer;
+import software.amazon.awssdk.auth.signer.params.Aws4SignerParams;
+import software.amazon.awssdk.auth.signer.params.AwsS3V4SignerParams;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.regions.Region;
+
+/**
+ * Measures the time and allocations of signing typical S3, DynamoDB and SQS requests with SigV4. The signing key is cached
+ * after the first call, so this measures the per-request work: hashing the payload, building and hashing the canonical
+ * request, and computing the signature.
+ *
+ * <p>Run with {@code -prof gc} to also report {@code gc.alloc.rate.norm} (bytes allocated per signature).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class Aws4SignerBenchmark {
+
+    private static final AwsBasicCredentials CREDENTIALS = AwsBasicCredentials.create("AKIDEXAMPLE",
+                                                                                      "wJalrXUtnFEMI/K7MDENG+bPxRfiCYEXAMPLEKEY");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2018-06-01T12:00:00Z"), ZoneOffset.UTC);
+
+    private final Aws4Signer aws4Signer = Aws4Signer.create();
+    private final AwsS3V4Signer s3Signer = AwsS3V4Signer.create();
+
+    private SdkHttpFullRequest s3GetObject;
+    private AwsS3V4SignerParams s3Params;
+    private SdkHttpFullRequest dynamoDbGetItem;
+    private Aws4SignerParams dynamoDbParams;
+    private SdkHttpFullRequest sqsSendMessage;
+    private Aws4SignerParams sqsParams;
+
+    @Setup
+    public void setup() {
+        s3GetObject = SdkHttpFullRequest.builder()
+                                        .method(SdkHttpMethod.GET)
+                                        .protocol("https")
+                                        .host("my-bucket.s3.us-west-2.amazonaws.com")
+                                        .encodedPath("/photos/2018/06/01/IMG_0001.jpg")
+                                        .putHeader("User-Agent", "aws-sdk-java/2.0.0 Linux/4.14 Java_HotSpot/1.8.0")
+                                        .putHeader("Range", "bytes=0-1048575")
+                                        .putHeader("amz-sdk-invocation-id", "4d2e1c0b-7a5f-4b9e-8c3d-2f1a0b9c8d7e")
+                                        .putHeader("amz-sdk-retry", "0/0/500")
+                                        .build();
+        s3Params = AwsS3V4SignerParams.builder()
+                                      .awsCredentials(CREDENTIALS)
+                                      .signingName("s3")
+                                      .signingRegion(Region.US_WEST_2)
+                                      .signingClockOverride(CLOCK)
+                                      .doubleUrlEncode(false)
+                                      .build();
+
+        dynamoDbGetItem = jsonRequest("dynamodb.us-west-2.amazonaws.com", "DynamoDB_20120810.GetItem",
+                                      "{\"TableName\":\"Music\",\"Key\":{\"Artist\":{\"S\":\"No One You Know\"},"
+                                      + "\"SongTitle\":{\"S\":\"Call Me Today\"}},\"ConsistentRead\":true}");
+        dynamoDbParams = params("dynamodb");
+
+        sqsSendMessage = formRequest("sqs.us-west-2.amazonaws.com",
+                                     "Action=SendMessage&Version=2012-11-05&QueueUrl=https%3A%2F%2Fsqs.us-west-2.amazonaws.com"
+                                     + "%2F123456789012%2FMyQueue&MessageBody=Hello%20from%20the%20benchmark&DelaySeconds=0");
+        sqsParams = params("sqs");
+    }
+
+    @Benchmark
+    public SdkHttpFullRequest s3GetObject() {
+        return s3Signer.sign(s3GetObject, s3Params);
+    }
+
+    @Benchmark
+    public SdkHttpFullRequest dynamoDbGetItem() {
+        return aws4Signer.sign(dynamoDbGetItem, dynamoDbParams);
+    }
+
+    @Benchmark
+    public SdkHttpFullRequest sqsSendMessage() {
+        return aws4Signer.sign(sqsSendMessage, sqsParams);
+    }
+
+    private static Aws4SignerParams params(String signingName) {
+        return Aws4SignerParams.builder()
+                               .awsCredentials(CREDENTIALS)
+                               .signingName(signingName)
+                               .signingRegion(Region.US_WEST_2)
+                               .signingClockOverride(CLOCK)
+                               .build();
+    }
+
+    private static SdkHttpFullRequest jsonRequest(String host, String target, String body) {
+        byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        return SdkHttpFullRequest.builder()
+                                 .method(SdkHttpMethod.POST)
+                                 .protocol("https")
+                                 .host(host)
+                                 .encodedPath("/")
+                                 .putHeader("User-Agent", "aws-sdk-java/2.0.0 Linux/4.14 Java_HotSpot/1.8.0")
+                                 .putHeader("Content-Type", "application/x-amz-json-1.0")
+                                 .putHeader("Content-Length", Integer.toString(content.length))
+                                 .putHeader("X-Amz-Target", target)
+                                 .putHeader("amz-sdk-invocation-id", "4d2e1c0b-7a5f-4b9e-8c3d-2f1a0b9c8d7e")
+                                 .putHeader("amz-sdk-retry", "0/0/500")
+                                 .content(new ByteArrayInputStream(content))
+                                 .build();
+    }
+
+    private static SdkHttpFullRequest formRequest(String host, String body) {
+        byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        return SdkHttpFullRequest.builder()
+                                 .method(SdkHttpMethod.POST)
+                                 .protocol("https")
+                                 .host(host)
+                                 .encodedPath("/")
+                                 .putHeader("User-Agent", "aws-sdk-java/2.0.0 Linux/4.14 Java_HotSpot/1.8.0")
+                                 .putHeader("Content-Type", "application/x-www-form-urlencoded; charset=utf-8")
+                                 .putHeader("Content-Length", Integer.toString(content.length))
+                                 .putHeader("amz-sdk-invocation-id", "4d2e1c0b-7a5f-4b9e-8c3d-2f1a0b9c8d7e")
+                                 .putHeader("amz-sdk-retry", "0/0/500")
+                                 .content(new ByteArrayInputStream(content))
+                                 .build();
+    }
+}
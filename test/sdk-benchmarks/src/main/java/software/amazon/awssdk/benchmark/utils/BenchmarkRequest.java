@@ -0,0 +1,55 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.utils;
+
+import java.util.Optional;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkRequestOverrideConfiguration;
+
+/**
+ * A request with no members, used when a benchmark needs an {@link SdkRequest} but does not care about its content.
+ */
+public final class BenchmarkRequest extends SdkRequest {
+
+    private static final BenchmarkRequest INSTANCE = new BenchmarkRequest();
+
+    private BenchmarkRequest() {
+    }
+
+    public static BenchmarkRequest instance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Optional<SdkRequestOverrideConfiguration> overrideConfiguration() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return new Builder() {
+            @Override
+            public SdkRequestOverrideConfiguration overrideConfiguration() {
+                return null;
+            }
+
+            @Override
+            public SdkRequest build() {
+                return INSTANCE;
+            }
+        };
+    }
+}
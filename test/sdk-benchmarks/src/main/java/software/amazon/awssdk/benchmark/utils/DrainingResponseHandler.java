@@ -0,0 +1,92 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.utils;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.SdkHttpResponseHandler;
+
+/**
+ * Response handler that reads every byte of the body into a scratch array, one buffer at a time, like a consumer that
+ * writes the body to a file would. {@link #future()} completes with the number of bytes read.
+ */
+public final class DrainingResponseHandler implements SdkHttpResponseHandler<Long> {
+
+    private final CompletableFuture<Long> future = new CompletableFuture<>();
+    private final byte[] scratch;
+    private long bytesRead;
+
+    /**
+     * @param scratch Array to copy the body into. It may be shared between handlers that are not used concurrently.
+     */
+    public DrainingResponseHandler(byte[] scratch) {
+        this.scratch = scratch;
+    }
+
+    public CompletableFuture<Long> future() {
+        return future;
+    }
+
+    @Override
+    public void headersReceived(SdkHttpResponse response) {
+    }
+
+    @Override
+    public void onStream(Publisher<ByteBuffer> publisher) {
+        publisher.subscribe(new Subscriber<ByteBuffer>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(ByteBuffer byteBuffer) {
+                while (byteBuffer.hasRemaining()) {
+                    int length = Math.min(byteBuffer.remaining(), scratch.length);
+                    byteBuffer.get(scratch, 0, length);
+                    bytesRead += length;
+                }
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+    }
+
+    @Override
+    public void exceptionOccurred(Throwable throwable) {
+        future.completeExceptionally(throwable);
+    }
+
+    @Override
+    public Long complete() {
+        future.complete(bytesRead);
+        return bytesRead;
+    }
+}
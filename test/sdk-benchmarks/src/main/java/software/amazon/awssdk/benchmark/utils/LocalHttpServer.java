@@ -0,0 +1,119 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.utils;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerExpectContinueHandler;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ThreadLocalRandom;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+/**
+ * A minimal HTTP/1.1 server on the loopback interface that answers every request with a 200 OK and the same body, for
+ * benchmarking HTTP clients without the cost of a real server dominating the results. A request body is discarded as it is
+ * received, and the response is written once all of it has been received. The body is allocated once and every
+ * response writes a view of it, so the server does not copy or allocate per response. Requests with a
+ * {@code Connection: close} header are answered in kind and the connection is closed after the response.
+ */
+public final class LocalHttpServer implements SdkAutoCloseable {
+
+    private final NioEventLoopGroup group = new NioEventLoopGroup(1);
+    private final ByteBuf body;
+    private final Channel serverChannel;
+
+    private LocalHttpServer(int bodySize) throws InterruptedException {
+        byte[] bytes = new byte[bodySize];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        this.body = Unpooled.unreleasableBuffer(Unpooled.directBuffer(bodySize).writeBytes(bytes));
+        this.serverChannel = new ServerBootstrap().group(group)
+                                                  .channel(NioServerSocketChannel.class)
+                                                  .childHandler(new ChannelInitializer<SocketChannel>() {
+                                                      @Override
+                                                      protected void initChannel(SocketChannel ch) {
+                                                          // Answer "Expect: 100-continue" like a real service would,
+                                                          // rather than letting clients time out waiting for it.
+                                                          ch.pipeline().addLast(new HttpServerCodec(),
+                                                                                new HttpServerExpectContinueHandler(),
+                                                                                new ResponseWriter());
+                                                      }
+                                                  })
+                                                  .bind("127.0.0.1", 0)
+                                                  .sync()
+                                                  .channel();
+    }
+
+    /**
+     * Start a server on an ephemeral port.
+     *
+     * @param bodySize Size in bytes of the body of every response.
+     */
+    public static LocalHttpServer start(int bodySize) throws InterruptedException {
+        return new LocalHttpServer(bodySize);
+    }
+
+    public int port() {
+        return ((InetSocketAddress) serverChannel.localAddress()).getPort();
+    }
+
+    @Override
+    public void close() {
+        serverChannel.close().syncUninterruptibly();
+        group.shutdownGracefully().syncUninterruptibly();
+    }
+
+    private final class ResponseWriter extends SimpleChannelInboundHandler<HttpObject> {
+        private boolean keepAlive;
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, HttpObject msg) {
+            if (msg instanceof HttpRequest) {
+                keepAlive = HttpUtil.isKeepAlive((HttpRequest) msg);
+            }
+            if (msg instanceof LastHttpContent) {
+                FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                                                                        body.duplicate());
+                response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, body.readableBytes());
+                if (keepAlive) {
+                    ctx.writeAndFlush(response);
+                } else {
+                    response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+                    ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+                }
+            }
+        }
+    }
+}
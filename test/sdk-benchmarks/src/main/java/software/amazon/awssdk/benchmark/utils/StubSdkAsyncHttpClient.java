@@ -0,0 +1,122 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.utils;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkRequestContext;
+import software.amazon.awssdk.http.async.AbortableRunnable;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkHttpRequestProvider;
+import software.amazon.awssdk.http.async.SdkHttpResponseHandler;
+
+/**
+ * An in-JVM {@link SdkAsyncHttpClient} that completes every request with the same canned response on the calling thread.
+ */
+public final class StubSdkAsyncHttpClient implements SdkAsyncHttpClient {
+
+    private final SdkHttpFullResponse response;
+    private final byte[] body;
+
+    public StubSdkAsyncHttpClient(SdkHttpFullResponse response) {
+        this(response, null);
+    }
+
+    /**
+     * @param response The response, without content.
+     * @param body The body of every response, which is published as a single buffer as soon as it is requested.
+     */
+    public StubSdkAsyncHttpClient(SdkHttpFullResponse response, byte[] body) {
+        this.response = response;
+        this.body = body;
+    }
+
+    /**
+     * @return A stub client that responds to every request with an empty 200 OK.
+     */
+    public static StubSdkAsyncHttpClient ok() {
+        return new StubSdkAsyncHttpClient(SdkHttpFullResponse.builder().statusCode(200).build());
+    }
+
+    @Override
+    public AbortableRunnable prepareRequest(SdkHttpRequest request,
+                                            SdkRequestContext context,
+                                            SdkHttpRequestProvider requestProvider,
+                                            SdkHttpResponseHandler handler) {
+        return new AbortableRunnable() {
+            @Override
+            public void run() {
+                handler.headersReceived(response);
+                if (body != null) {
+                    handler.onStream(new BodyPublisher(body));
+                }
+                handler.complete();
+            }
+
+            @Override
+            public void abort() {
+            }
+        };
+    }
+
+    @Override
+    public <T> Optional<T> getConfigurationValue(SdkHttpConfigurationOption<T> key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Publishes the body on the thread that requests it, so the whole body has been delivered by the time the request
+     * completes.
+     */
+    private static final class BodyPublisher implements Publisher<ByteBuffer> {
+        private final byte[] body;
+
+        private BodyPublisher(byte[] body) {
+            this.body = body;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private boolean done;
+
+                @Override
+                public void request(long n) {
+                    if (!done && n > 0) {
+                        done = true;
+                        subscriber.onNext(ByteBuffer.wrap(body).asReadOnlyBuffer());
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    done = true;
+                }
+            });
+        }
+    }
+}
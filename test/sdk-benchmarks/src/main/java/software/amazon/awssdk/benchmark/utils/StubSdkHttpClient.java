@@ -0,0 +1,84 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.utils;
+
+import java.io.ByteArrayInputStream;
+import java.util.Optional;
+import software.amazon.awssdk.http.AbortableCallable;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.SdkRequestContext;
+
+/**
+ * An in-JVM {@link SdkHttpClient} that returns the same canned response for every request without touching the network, so
+ * that benchmarks measure only the SDK's own overhead.
+ */
+public final class StubSdkHttpClient implements SdkHttpClient {
+
+    private final SdkHttpFullResponse response;
+    private final byte[] body;
+
+    public StubSdkHttpClient(SdkHttpFullResponse response) {
+        this(response, null);
+    }
+
+    /**
+     * @param response The response, without content.
+     * @param body The body of every response, which is read from a new stream for each request.
+     */
+    public StubSdkHttpClient(SdkHttpFullResponse response, byte[] body) {
+        this.response = response;
+        this.body = body;
+    }
+
+    /**
+     * @return A stub client that responds to every request with an empty 200 OK.
+     */
+    public static StubSdkHttpClient ok() {
+        return new StubSdkHttpClient(SdkHttpFullResponse.builder().statusCode(200).build());
+    }
+
+    @Override
+    public AbortableCallable<SdkHttpFullResponse> prepareRequest(SdkHttpFullRequest request, SdkRequestContext requestContext) {
+        return new AbortableCallable<SdkHttpFullResponse>() {
+            @Override
+            public SdkHttpFullResponse call() {
+                if (body == null) {
+                    return response;
+                }
+                return response.toBuilder()
+                               .content(AbortableInputStream.create(new ByteArrayInputStream(body)))
+                               .build();
+            }
+
+            @Override
+            public void abort() {
+            }
+        };
+    }
+
+    @Override
+    public <T> Optional<T> getConfigurationValue(SdkHttpConfigurationOption<T> key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void close() {
+    }
+}
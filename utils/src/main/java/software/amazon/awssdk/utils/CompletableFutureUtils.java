@@ -16,6 +16,7 @@
 package software.amazon.awssdk.utils;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 
 /**
@@ -42,4 +43,56 @@ public final class CompletableFutureUtils {
         cf.completeExceptionally(t);
         return cf;
     }
+
+    /**
+     * Unwrap the {@link CompletionException} that {@link CompletableFuture} wraps around a failure when it passes it on to a
+     * dependent stage, so that the original failure can be reported.
+     *
+     * @param t The failure.
+     * @return The cause of the failure if it is a {@code CompletionException} that has one, or the failure itself otherwise.
+     */
+    public static Throwable unwrap(Throwable t) {
+        if (t instanceof CompletionException && t.getCause() != null) {
+            return t.getCause();
+        }
+        return t;
+    }
+
+    /**
+     * Complete the destination future with the result of the source future when the source future completes. A failure of the
+     * source future is passed on as it is, without the {@link CompletionException} that a dependent stage would add.
+     *
+     * @param src The future whose result is forwarded.
+     * @param dst The future to complete.
+     * @param <T> The type of the result.
+     * @return The source future.
+     */
+    public static <T> CompletableFuture<T> forwardResultTo(CompletableFuture<T> src, CompletableFuture<T> dst) {
+        src.whenComplete((r, e) -> {
+            if (e != null) {
+                dst.completeExceptionally(unwrap(e));
+            } else {
+                dst.complete(r);
+            }
+        });
+        return src;
+    }
+
+    /**
+     * Complete the destination future exceptionally when the source future fails or is cancelled. This is typically used to
+     * pass the cancellation of a future returned to a caller on to the future it is waiting for.
+     *
+     * @param src The future whose failure is forwarded.
+     * @param dst The future to complete exceptionally.
+     * @param <T> The type of the result of the source future.
+     * @return The source future.
+     */
+    public static <T> CompletableFuture<T> forwardExceptionTo(CompletableFuture<T> src, CompletableFuture<?> dst) {
+        src.whenComplete((r, e) -> {
+            if (e != null) {
+                dst.completeExceptionally(e);
+            }
+        });
+        return src;
+    }
 }
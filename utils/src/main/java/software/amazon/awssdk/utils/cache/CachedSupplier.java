@@ -17,13 +17,20 @@ package software.amazon.awssdk.utils.cache;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.ReviewBeforeRelease;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
 import software.amazon.awssdk.utils.Validate;
 
 /**
@@ -32,7 +39,7 @@ import software.amazon.awssdk.utils.Validate;
  * value.
  *
  * For example, the {@link OneCallerBlocks} strategy will have a single caller block to update the value, and the
- * {@link NonBlocking} strategy maintains a thread pool for updating the value asynchronously in the background.
+ * {@link NonBlocking} strategy uses a {@link RefreshScheduler} to update the value asynchronously in the background.
  *
  * This should be created using {@link #builder(Supplier)}.
  */
@@ -44,6 +51,14 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
      */
     private static final Duration BLOCKING_REFRESH_MAX_WAIT = Duration.ofSeconds(5);
 
+    /**
+     * The maximum number of values that are loaded for {@link #getAsync()} at the same time, across all suppliers. The loads
+     * usually make blocking HTTP calls, such as to the instance metadata service or STS, so they are run on their own pool
+     * rather than on the {@link RefreshScheduler#shared()} scheduler, where a few slow loads would delay the background
+     * refresh of every other supplier.
+     */
+    private static final int ASYNC_LOAD_MAX_THREADS = 32;
+
     /**
      * Used as a primitive form of rate limiting for the speed of our refreshes. This will make sure that the backing supplier has
      * a period of time to update the value when the {@link RefreshResult#staleTime} arrives without getting called by every
@@ -70,6 +85,18 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
      */
     private final Supplier<RefreshResult<T>> valueSupplier;
 
+    /**
+     * The updater given to {@link PrefetchStrategy#valueRefreshed}. It is kept here because strategies only hold it weakly.
+     */
+    private final Runnable valueUpdater = this::refreshCache;
+
+    /**
+     * The refresh started by {@link #getAsync()}, if one is in progress, whether the value was stale or only needed to be
+     * prefetched. Callers that find the value stale share it, and no other refresh is started by {@link #getAsync()} until it
+     * is done.
+     */
+    private final AtomicReference<CompletableFuture<T>> asyncRefresh = new AtomicReference<>();
+
     private CachedSupplier(Builder<T> builder) {
         this.valueSupplier = Validate.notNull(builder.supplier, "builder.supplier");
         this.prefetchStrategy = Validate.notNull(builder.prefetchStrategy, "builder.prefetchStrategy");
@@ -95,6 +122,70 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
         return this.cachedValue.value();
     }
 
+    /**
+     * Retrieve the value without blocking the calling thread. If the value is stale, it is refreshed on a pool of threads
+     * shared by all suppliers for this purpose, and the returned future is completed with the new value. A single refresh is
+     * shared by all callers that find the value stale at the same time, and each of them is given its own future, so that
+     * cancelling it does not affect the others. Otherwise, the current value is returned, and once the value's prefetch time
+     * has passed it is also refreshed on that pool, whatever the configured {@link PrefetchStrategy}, so that the caller never
+     * blocks.
+     */
+    public CompletableFuture<T> getAsync() {
+        if (!cacheIsStale()) {
+            T value = this.cachedValue.value();
+            if (shouldInitiateCachePrefetch() && asyncRefresh.get() == null) {
+                CompletableFuture<T> prefetch = new CompletableFuture<>();
+                if (asyncRefresh.compareAndSet(null, prefetch)) {
+                    startAsyncRefresh(prefetch);
+                }
+            }
+            return CompletableFuture.completedFuture(value);
+        }
+
+        while (true) {
+            CompletableFuture<T> inProgress = asyncRefresh.get();
+            if (inProgress != null) {
+                return forCaller(inProgress);
+            }
+            CompletableFuture<T> refresh = new CompletableFuture<>();
+            if (asyncRefresh.compareAndSet(null, refresh)) {
+                startAsyncRefresh(refresh);
+                return forCaller(refresh);
+            }
+        }
+    }
+
+    /**
+     * Create a future for one caller of {@link #getAsync()} that is completed with the result of the shared refresh.
+     */
+    private static <T> CompletableFuture<T> forCaller(CompletableFuture<T> refresh) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFutureUtils.forwardResultTo(refresh, result);
+        return result;
+    }
+
+    /**
+     * Refresh the value on the {@link AsyncLoadExecutorHolder#INSTANCE} pool, and clear {@link #asyncRefresh} once it is done,
+     * so that the next caller can start another refresh. A failure is only reported to the callers waiting for the refresh.
+     */
+    private void startAsyncRefresh(CompletableFuture<T> refresh) {
+        try {
+            AsyncLoadExecutorHolder.INSTANCE.execute(() -> {
+                try {
+                    refreshCache();
+                    asyncRefresh.set(null);
+                    refresh.complete(this.cachedValue.value());
+                } catch (RuntimeException | Error e) {
+                    asyncRefresh.set(null);
+                    refresh.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            asyncRefresh.set(null);
+            refresh.completeExceptionally(e);
+        }
+    }
+
     /**
      * Determines whether the value in this cache is stale, and all threads should block and wait for an updated value.
      */
@@ -131,6 +222,7 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
                 if (cacheIsStale() || shouldInitiateCachePrefetch()) {
                     // It wasn't, call the supplier to update it.
                     cachedValue = valueSupplier.get();
+                    prefetchStrategy.valueRefreshed(cachedValue, valueUpdater);
                 }
             } finally {
                 if (lockAcquired) {
@@ -156,6 +248,25 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
         prefetchStrategy.close();
     }
 
+    /**
+     * The pool that loads values for {@link #getAsync()}. It starts a thread for each load until it has
+     * {@link #ASYNC_LOAD_MAX_THREADS}, after which loads wait for a thread, and idle threads are stopped.
+     */
+    private static final class AsyncLoadExecutorHolder {
+        private static final ExecutorService INSTANCE = createAsyncLoadExecutor();
+
+        private static ExecutorService createAsyncLoadExecutor() {
+            ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(ASYNC_LOAD_MAX_THREADS, ASYNC_LOAD_MAX_THREADS, 60, TimeUnit.SECONDS,
+                                       new LinkedBlockingQueue<>(),
+                                       new ThreadFactoryBuilder().daemonThreads(true)
+                                                                 .threadNamePrefix("sdk-cache-async-load")
+                                                                 .build());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
     /**
      * A Builder for {@link CachedSupplier}, created by {@link #builder(Supplier)}.
      */
@@ -200,6 +311,18 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
          */
         void prefetch(Runnable valueUpdater);
 
+        /**
+         * Invoked after the value of the cache has been updated, whether by a prefetch or because it was stale. Strategies that
+         * update the value in the background may use this to schedule the next update for the new value's
+         * {@link RefreshResult#prefetchTime()}, rather than waiting for a call to {@link CachedSupplier#get()}.
+         *
+         * @param refreshResult The new value of the cache.
+         * @param valueUpdater Updates the cache, in the same way as the value updater given to {@link #prefetch(Runnable)}. It
+         * is only strongly reachable from its {@link CachedSupplier}, so a strategy that keeps it until a later update should
+         * hold it weakly to let an unused supplier be garbage collected.
+         */
+        default void valueRefreshed(RefreshResult<?> refreshResult, Runnable valueUpdater) {}
+
         /**
          * Free any resources associated with the strategy. This is invoked when the {@link CachedSupplier#close()} method is
          * invoked.
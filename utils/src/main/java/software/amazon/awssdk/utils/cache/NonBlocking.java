@@ -15,35 +15,81 @@
 
 package software.amazon.awssdk.utils.cache;
 
-import java.util.concurrent.ExecutorService;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
-import software.amazon.awssdk.utils.ExecutorUtils;
+import software.amazon.awssdk.utils.Validate;
 
 /**
- * A {@link CachedSupplier.PrefetchStrategy} that will run a single thread in the background to update the value. A call to
- * prefetch on this strategy will never return.
+ * A {@link CachedSupplier.PrefetchStrategy} that updates the value in the background on a {@link RefreshScheduler}. A call to
+ * prefetch on this strategy will never block.
+ *
+ * Whenever the value is refreshed, the next refresh is scheduled for shortly after the value's
+ * {@link RefreshResult#prefetchTime()}, so that the value is usually updated before any caller notices that it is about to
+ * expire. A random delay is added to the prefetch time, so that suppliers that were created together do not all refresh
+ * at the same time. If a scheduled refresh fails, the next call to {@link CachedSupplier#get()} initiates another one.
  *
  * Multiple calls to {@link #prefetch(Runnable)} will still only result in one background task performing the update.
  */
 @SdkProtectedApi
 public class NonBlocking implements CachedSupplier.PrefetchStrategy {
+    /**
+     * The maximum random delay added to the prefetch time of a value when scheduling its refresh. The delay is also never more
+     * than half the time between the prefetch time and the stale time of the value.
+     */
+    private static final Duration MAX_JITTER = Duration.ofMinutes(1);
+
+    /**
+     * Refreshes are never scheduled further in the future than this, which is well beyond the lifetime of any credentials.
+     */
+    private static final Duration MAX_DELAY = Duration.ofDays(365);
+
     /**
      * Whether we are currently refreshing the supplier. This is used to make sure only one caller is blocking at a time.
      */
     private final AtomicBoolean currentlyRefreshing = new AtomicBoolean(false);
 
     /**
-     * Single threaded executor to asynchronous refresh the value.
+     * The next refresh scheduled by {@link #valueRefreshed}, if any.
+     */
+    private final AtomicReference<ScheduledFuture<?>> scheduledRefresh = new AtomicReference<>();
+
+    /**
+     * The name of the value, used when logging a failed refresh.
      */
-    private final ExecutorService executor;
+    private final String name;
 
     /**
-     * Create a non-blocking prefetch strategy that uses the provided value for the name of the background thread that will be
-     * performing the update.
+     * The scheduler that refreshes the value.
+     */
+    private final RefreshScheduler scheduler;
+
+    private volatile boolean closed;
+
+    /**
+     * Create a non-blocking prefetch strategy that updates the value on the {@link RefreshScheduler#shared()} scheduler.
+     *
+     * @param asyncThreadName The name of the value, which is used when logging a failed refresh. This used to be the name of
+     * a thread dedicated to the strategy.
      */
     public NonBlocking(String asyncThreadName) {
-        this.executor = ExecutorUtils.newSingleDaemonThreadExecutor(1, asyncThreadName);
+        this(asyncThreadName, RefreshScheduler.shared());
+    }
+
+    /**
+     * Create a non-blocking prefetch strategy that updates the value on the provided scheduler.
+     *
+     * @param name The name of the value, which is used when logging a failed refresh.
+     * @param scheduler The scheduler that refreshes the value. It is not closed with this strategy.
+     */
+    public NonBlocking(String name, RefreshScheduler scheduler) {
+        this.name = name;
+        this.scheduler = Validate.paramNotNull(scheduler, "scheduler");
     }
 
     @Override
@@ -51,7 +97,7 @@ public class NonBlocking implements CachedSupplier.PrefetchStrategy {
         // Only run one async refresh at a time.
         if (currentlyRefreshing.compareAndSet(false, true)) {
             try {
-                executor.submit(() -> {
+                scheduler.execute(name, () -> {
                     try {
                         valueUpdater.run();
                     } finally {
@@ -65,8 +111,59 @@ public class NonBlocking implements CachedSupplier.PrefetchStrategy {
         }
     }
 
+    @Override
+    public void valueRefreshed(RefreshResult<?> refreshResult, Runnable valueUpdater) {
+        Instant now = Instant.now();
+        Instant prefetchTime = refreshResult.prefetchTime();
+        if (closed || prefetchTime == null || !prefetchTime.isAfter(now) || prefetchTime.isAfter(now.plus(MAX_DELAY))) {
+            // Values that already need to be prefetched are refreshed by the next caller, so that a supplier that keeps
+            // returning such values is not refreshed in a loop.
+            cancelScheduledRefresh(null);
+            return;
+        }
+
+        // The scheduler may be shared, so the scheduled task only holds the updater weakly. A supplier that is no longer used
+        // can then be garbage collected instead of being refreshed forever.
+        WeakReference<Runnable> weakValueUpdater = new WeakReference<>(valueUpdater);
+        Duration delay = Duration.between(now, prefetchTime).plus(jitter(prefetchTime, refreshResult.staleTime()));
+        ScheduledFuture<?> refresh = scheduler.schedule(() -> prefetchIfReachable(weakValueUpdater), delay);
+        cancelScheduledRefresh(refresh);
+        if (closed) {
+            cancelScheduledRefresh(null);
+        }
+    }
+
+    private void prefetchIfReachable(WeakReference<Runnable> weakValueUpdater) {
+        Runnable valueUpdater = weakValueUpdater.get();
+        if (valueUpdater != null) {
+            prefetch(valueUpdater);
+        }
+    }
+
+    /**
+     * A random delay of at least one millisecond, so that the refresh is never run before the prefetch time.
+     */
+    private static Duration jitter(Instant prefetchTime, Instant staleTime) {
+        long maxJitterMillis = MAX_JITTER.toMillis();
+        if (staleTime != null && staleTime.isBefore(prefetchTime.plus(MAX_JITTER.multipliedBy(2)))) {
+            maxJitterMillis = Duration.between(prefetchTime, staleTime).toMillis() / 2;
+        }
+        return Duration.ofMillis(1 + ThreadLocalRandom.current().nextLong(Math.max(maxJitterMillis, 1)));
+    }
+
+    private void cancelScheduledRefresh(ScheduledFuture<?> replacement) {
+        ScheduledFuture<?> previous = scheduledRefresh.getAndSet(replacement);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    /**
+     * Cancel the next scheduled refresh. The scheduler is not closed.
+     */
     @Override
     public void close() {
-        executor.shutdown();
+        closed = true;
+        cancelScheduledRefresh(null);
     }
 }
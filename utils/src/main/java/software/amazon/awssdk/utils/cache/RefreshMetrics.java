@@ -0,0 +1,92 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.utils.cache;
+
+import java.time.Duration;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * Snapshot of the background refreshes run by a {@link RefreshScheduler}.
+ */
+@Immutable
+@SdkProtectedApi
+public final class RefreshMetrics {
+
+    private final long successfulRefreshes;
+    private final long failedRefreshes;
+    private final long pendingRefreshes;
+    private final long totalLatencyNanos;
+    private final long maxLatencyNanos;
+
+    RefreshMetrics(long successfulRefreshes, long failedRefreshes, long pendingRefreshes, long totalLatencyNanos,
+                   long maxLatencyNanos) {
+        this.successfulRefreshes = successfulRefreshes;
+        this.failedRefreshes = failedRefreshes;
+        this.pendingRefreshes = pendingRefreshes;
+        this.totalLatencyNanos = totalLatencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+
+    /**
+     * @return Number of refreshes that completed successfully.
+     */
+    public long successfulRefreshes() {
+        return successfulRefreshes;
+    }
+
+    /**
+     * @return Number of refreshes that failed. The value of a supplier whose refresh failed is refreshed again when it is
+     * next used.
+     */
+    public long failedRefreshes() {
+        return failedRefreshes;
+    }
+
+    /**
+     * @return Number of refreshes that are scheduled or waiting for a thread.
+     */
+    public long pendingRefreshes() {
+        return pendingRefreshes;
+    }
+
+    /**
+     * @return Average time taken by the refreshes that completed, successfully or not.
+     */
+    public Duration averageLatency() {
+        long completed = successfulRefreshes + failedRefreshes;
+        return completed == 0 ? Duration.ZERO : Duration.ofNanos(totalLatencyNanos / completed);
+    }
+
+    /**
+     * @return Longest time taken by a refresh that completed, successfully or not.
+     */
+    public Duration maxLatency() {
+        return Duration.ofNanos(maxLatencyNanos);
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("RefreshMetrics")
+                       .add("successfulRefreshes", successfulRefreshes)
+                       .add("failedRefreshes", failedRefreshes)
+                       .add("pendingRefreshes", pendingRefreshes)
+                       .add("averageLatency", averageLatency())
+                       .add("maxLatency", maxLatency())
+                       .build();
+    }
+}
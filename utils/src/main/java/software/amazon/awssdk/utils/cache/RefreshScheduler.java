@@ -0,0 +1,153 @@
+/*
+ * Copyright 2010-2018 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.utils.cache;
+
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A bounded pool of daemon threads that refreshes {@link CachedSupplier}s in the background for the {@link NonBlocking}
+ * prefetch strategy. Any number of suppliers can share one scheduler, so that an application with hundreds of credential
+ * providers does not need a thread for each of them. The threads are only kept while there is a refresh to run or wait for.
+ *
+ * <p>Refreshes are timed by a single thread that never runs them, so a refresh that is slow or hangs does not delay the
+ * refreshes of other suppliers from being started.
+ *
+ * <p>Most applications should use the {@link #shared()} scheduler. The latency and failures of the refreshes run by a
+ * scheduler are reported by {@link #metrics()}.
+ */
+@SdkProtectedApi
+@ThreadSafe
+public final class RefreshScheduler implements SdkAutoCloseable {
+    private static final Logger log = Logger.loggerFor(RefreshScheduler.class);
+
+    /**
+     * The number of threads of the {@link #shared()} scheduler. Refreshes are spread out by {@link NonBlocking}, so a few
+     * threads are enough for many suppliers.
+     */
+    private static final int SHARED_MAX_THREADS = 4;
+
+    private static final Duration IDLE_THREAD_TIMEOUT = Duration.ofSeconds(60);
+
+    private final ScheduledThreadPoolExecutor timer;
+    private final ThreadPoolExecutor executor;
+    private final boolean shared;
+
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    private RefreshScheduler(int maxThreads, String threadNamePrefix, boolean shared) {
+        Validate.isPositive(maxThreads, "maxThreads");
+        ThreadFactory threadFactory = new ThreadFactoryBuilder().daemonThreads(true)
+                                                                .threadNamePrefix(threadNamePrefix)
+                                                                .build();
+        this.timer = new ScheduledThreadPoolExecutor(1, threadFactory);
+        this.timer.setKeepAliveTime(IDLE_THREAD_TIMEOUT.getSeconds(), TimeUnit.SECONDS);
+        this.timer.allowCoreThreadTimeOut(true);
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, IDLE_THREAD_TIMEOUT.getSeconds(), TimeUnit.SECONDS,
+                                               new LinkedBlockingQueue<>(), threadFactory);
+        this.executor.allowCoreThreadTimeOut(true);
+        this.shared = shared;
+    }
+
+    /**
+     * The scheduler shared by all {@link NonBlocking} strategies that are not given one. It cannot be closed.
+     */
+    public static RefreshScheduler shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Create a scheduler that is not shared with the rest of the SDK. It must be closed when it is no longer used.
+     *
+     * @param maxThreads The maximum number of refreshes that may run at the same time.
+     * @param threadNamePrefix The prefix of the names of the threads of the scheduler.
+     */
+    public static RefreshScheduler create(int maxThreads, String threadNamePrefix) {
+        return new RefreshScheduler(maxThreads, threadNamePrefix, false);
+    }
+
+    /**
+     * Run a refresh as soon as a thread is available.
+     */
+    void execute(String name, Runnable refresh) {
+        executor.execute(() -> run(name, refresh));
+    }
+
+    /**
+     * Run a task after the given delay on the timer thread. The task must be quick, such as submitting a refresh with
+     * {@link #execute(String, Runnable)}, because it delays every other scheduled task, and is not included in the
+     * {@link #metrics()}.
+     */
+    ScheduledFuture<?> schedule(Runnable task, Duration delay) {
+        return timer.schedule(task, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void run(String name, Runnable refresh) {
+        long start = System.nanoTime();
+        try {
+            refresh.run();
+            refreshes.increment();
+        } catch (RuntimeException | Error e) {
+            failures.increment();
+            log.warn(() -> "Failed to refresh " + name + " in the background. It will be refreshed again when it is next used.",
+                     e);
+        } finally {
+            long latency = System.nanoTime() - start;
+            totalLatencyNanos.add(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        }
+    }
+
+    /**
+     * @return The number of refreshes run by this scheduler, their latency and how many of them failed.
+     */
+    public RefreshMetrics metrics() {
+        long pending = timer.getQueue().size() + executor.getQueue().size();
+        return new RefreshMetrics(refreshes.sum(), failures.sum(), pending, totalLatencyNanos.sum(), maxLatencyNanos.get());
+    }
+
+    /**
+     * Stop running refreshes, unless this is the {@link #shared()} scheduler.
+     */
+    @Override
+    public void close() {
+        if (!shared) {
+            timer.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class SharedHolder {
+        private static final RefreshScheduler INSTANCE = new RefreshScheduler(SHARED_MAX_THREADS, "sdk-cache-refresh", true);
+    }
+}
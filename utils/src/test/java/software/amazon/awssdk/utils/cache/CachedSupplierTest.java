@@ -19,15 +19,22 @@ import static org.junit.Assert.fail;
 import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
 
 import java.io.Closeable;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 import org.junit.After;
 import org.junit.Assert;
@@ -176,6 +183,67 @@ public class CachedSupplierTest {
         }
     }
 
+    @Test
+    public void staleValueIsRefreshedOnceWithoutBlockingAsyncCalls() throws Exception {
+        try (WaitingSupplier waitingSupplier = new WaitingSupplier(past(), future())) {
+            CachedSupplier<String> cachedSupplier = CachedSupplier.builder(waitingSupplier).build();
+
+            // Neither "getAsync" blocks while the value is loaded, and they share one refresh.
+            CompletableFuture<String> first = cachedSupplier.getAsync();
+            CompletableFuture<String> second = cachedSupplier.getAsync();
+            waitingSupplier.waitForGetsToHaveStarted(1);
+            Assert.assertFalse(first.isDone());
+
+            // Cancelling one caller's future does not cancel the refresh for the other.
+            first.cancel(false);
+
+            waitingSupplier.permits.release(1);
+            Assert.assertEquals("value", second.get(10, TimeUnit.SECONDS));
+            waitingSupplier.waitForGetsToHaveFinished(1);
+        }
+    }
+
+    @Test
+    public void prefetchDoesNotBlockAsyncCallsWithOneCallerBlocks() throws Exception {
+        try (WaitingSupplier waitingSupplier = new WaitingSupplier(future(), past())) {
+            CachedSupplier<String> cachedSupplier = CachedSupplier.builder(waitingSupplier)
+                                                                  .prefetchStrategy(new OneCallerBlocks())
+                                                                  .build();
+
+            // Load the initial value, which is immediately due to be prefetched.
+            waitingSupplier.permits.release(1);
+            Assert.assertEquals("value", cachedSupplier.getAsync().get(10, TimeUnit.SECONDS));
+            waitingSupplier.waitForGetsToHaveFinished(1);
+
+            // The prefetch runs in the background, and calls made while it is running do not start another one.
+            CompletableFuture<String> first = cachedSupplier.getAsync();
+            CompletableFuture<String> second = cachedSupplier.getAsync();
+            Assert.assertEquals("value", first.getNow(null));
+            Assert.assertEquals("value", second.getNow(null));
+            waitingSupplier.waitForGetsToHaveStarted(2);
+
+            waitingSupplier.permits.release(1);
+            waitingSupplier.waitForGetsToHaveFinished(1);
+            Assert.assertFalse(invokeSafely(() -> waitingSupplier.startedGetPermits.tryAcquire(1, 100, TimeUnit.MILLISECONDS)));
+        }
+    }
+
+    @Test
+    public void failedAsyncRefreshCompletesFutureExceptionally() throws Exception {
+        IllegalStateException failure = new IllegalStateException("Refresh failed");
+        Supplier<RefreshResult<Integer>> failingSupplier = () -> {
+            throw failure;
+        };
+        CachedSupplier<Integer> cachedSupplier = CachedSupplier.builder(failingSupplier).build();
+
+        try {
+            cachedSupplier.getAsync().get(10, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            Assert.assertSame(failure, e.getCause());
+        }
+    }
+
     @Test
     public void basicCachingWorks() {
         try (WaitingSupplier waitingSupplier = new WaitingSupplier(future(), future())) {
@@ -238,6 +306,141 @@ public class CachedSupplierTest {
         }
     }
 
+    @Test
+    public void nonBlockingPrefetchStrategyRefreshesAtPrefetchTimeWithoutGets() {
+        AtomicInteger refreshes = new AtomicInteger();
+        try (RefreshScheduler scheduler = RefreshScheduler.create(1, "test-refresh");
+             CachedSupplier<Integer> cachedSupplier = CachedSupplier.builder(() -> expiringSoon(refreshes.incrementAndGet()))
+                                                                    .prefetchStrategy(new NonBlocking("test", scheduler))
+                                                                    .build()) {
+            Assert.assertEquals(1, (int) cachedSupplier.get());
+
+            // The value is refreshed in the background, without any further call to "get".
+            waitUntil(() -> refreshes.get() >= 3);
+            Assert.assertTrue(cachedSupplier.get() >= 3);
+            Assert.assertTrue(scheduler.metrics().successfulRefreshes() >= 2);
+            Assert.assertEquals(0, scheduler.metrics().failedRefreshes());
+        }
+    }
+
+    @Test
+    public void nonBlockingPrefetchStrategyReportsFailedRefreshes() {
+        AtomicInteger refreshes = new AtomicInteger();
+        Supplier<RefreshResult<Integer>> failingAfterFirstCall = () -> {
+            if (refreshes.incrementAndGet() > 1) {
+                throw new IllegalStateException("Refresh failed");
+            }
+            return expiringSoon(1);
+        };
+        try (RefreshScheduler scheduler = RefreshScheduler.create(1, "test-refresh");
+             CachedSupplier<Integer> cachedSupplier = CachedSupplier.builder(failingAfterFirstCall)
+                                                                    .prefetchStrategy(new NonBlocking("test", scheduler))
+                                                                    .build()) {
+            cachedSupplier.get();
+
+            waitUntil(() -> scheduler.metrics().failedRefreshes() == 1);
+
+            // A failed refresh is not rescheduled, and is left to the next "get".
+            Assert.assertEquals(2, refreshes.get());
+            Assert.assertEquals(0, scheduler.metrics().pendingRefreshes());
+        }
+    }
+
+    @Test
+    public void blockedAsyncLoadsDoNotDelayScheduledRefreshOfAnotherSupplier() throws Exception {
+        CountDownLatch blockedLoadsRelease = new CountDownLatch(1);
+        AtomicInteger blockedLoadsStarted = new AtomicInteger();
+        Supplier<RefreshResult<Integer>> blockingSupplier = () -> {
+            blockedLoadsStarted.incrementAndGet();
+            invokeSafely(() -> blockedLoadsRelease.await());
+            return RefreshResult.builder(0).build();
+        };
+
+        AtomicInteger refreshes = new AtomicInteger();
+        try (CachedSupplier<Integer> cachedSupplier = CachedSupplier.builder(() -> expiringSoon(refreshes.incrementAndGet()))
+                                                                    .prefetchStrategy(new NonBlocking("test"))
+                                                                    .build()) {
+            // Block more async loads than the shared scheduler has threads.
+            for (int i = 0; i < 8; i++) {
+                CachedSupplier.builder(blockingSupplier).build().getAsync();
+            }
+            waitUntil(() -> blockedLoadsStarted.get() == 8);
+
+            // The value is still refreshed in the background on the shared scheduler.
+            Assert.assertEquals(1, (int) cachedSupplier.get());
+            waitUntil(() -> refreshes.get() >= 3);
+        } finally {
+            blockedLoadsRelease.countDown();
+        }
+    }
+
+    @Test
+    public void closingNonBlockingPrefetchStrategyCancelsScheduledRefresh() {
+        AtomicInteger refreshes = new AtomicInteger();
+        try (RefreshScheduler scheduler = RefreshScheduler.create(1, "test-refresh")) {
+            CachedSupplier<Integer> cachedSupplier = CachedSupplier.builder(() -> expiringSoon(refreshes.incrementAndGet()))
+                                                                   .prefetchStrategy(new NonBlocking("test", scheduler))
+                                                                   .build();
+            cachedSupplier.get();
+            Assert.assertEquals(1, scheduler.metrics().pendingRefreshes());
+
+            cachedSupplier.close();
+
+            Assert.assertEquals(0, scheduler.metrics().pendingRefreshes());
+        }
+    }
+
+    @Test
+    public void scheduledRefreshDoesNotKeepUnusedSupplierReachable() {
+        try (RefreshScheduler scheduler = RefreshScheduler.create(1, "test-refresh")) {
+            WeakReference<CachedSupplier<Integer>> supplierReference = getOnceAndForget(scheduler);
+            Assert.assertEquals(1, scheduler.metrics().pendingRefreshes());
+
+            waitUntil(() -> {
+                System.gc();
+                return supplierReference.get() == null;
+            });
+        }
+    }
+
+    /**
+     * Load the value of a supplier that is refreshed in an hour, and return a weak reference to the supplier.
+     */
+    private static WeakReference<CachedSupplier<Integer>> getOnceAndForget(RefreshScheduler scheduler) {
+        Instant prefetchTime = Instant.now().plus(Duration.ofHours(1));
+        CachedSupplier<Integer> cachedSupplier =
+            CachedSupplier.builder(() -> RefreshResult.builder(1)
+                                                      .prefetchTime(prefetchTime)
+                                                      .staleTime(prefetchTime.plus(Duration.ofHours(1)))
+                                                      .build())
+                          .prefetchStrategy(new NonBlocking("test", scheduler))
+                          .build();
+        cachedSupplier.get();
+        return new WeakReference<>(cachedSupplier);
+    }
+
+    /**
+     * A value that should be prefetched shortly, and that becomes stale shortly after that.
+     */
+    private static RefreshResult<Integer> expiringSoon(int value) {
+        Instant prefetchTime = Instant.now().plusMillis(50);
+        return RefreshResult.builder(value)
+                            .prefetchTime(prefetchTime)
+                            .staleTime(prefetchTime.plusMillis(100))
+                            .build();
+    }
+
+    /**
+     * Wait for the provided condition to become true, failing the test if it does not within 10 seconds.
+     */
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue("Timed out waiting for condition", System.nanoTime() < deadline);
+            invokeSafely(() -> Thread.sleep(10));
+        }
+    }
+
     /**
      * Asynchronously perform a "get" on the provided supplier, returning the future that will be completed when the "get"
      * finishes.